@@ -0,0 +1,100 @@
+package com.comp2042;
+
+import com.comp2042.core.SpectatorFeed;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.net.BroadcastServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless benchmark of the {@link BroadcastServer}. Broadcasts a two-board bot match
+ * from a {@link SpectatorFeed} to viewers connected over loopback sockets, some of which
+ * read slowly, and prints packets, encoded and sent bytes and keyframe skips per second
+ * to standard error. System properties:
+ * <ul>
+ *   <li>{@code tetris.broadcastViewers}: number of viewers reading at full speed, 500 by default;</li>
+ *   <li>{@code tetris.broadcastSlowViewers}: number of viewers reading 256 bytes a second, 10 by default;</li>
+ *   <li>{@code tetris.broadcastSeconds}: how long to measure, 10 by default;</li>
+ *   <li>{@code tetris.seed}: seed of the match, random by default.</li>
+ * </ul>
+ */
+public class BroadcastMain {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command-line arguments (not used)
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        int viewers = Integer.getInteger("tetris.broadcastViewers", 500);
+        int slowViewers = Integer.getInteger("tetris.broadcastSlowViewers", 10);
+        long seconds = Long.getLong("tetris.broadcastSeconds", 10);
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+
+        BroadcastServer server = new BroadcastServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        LongAdder received = new LongAdder();
+        for (int i = 0; i < viewers + slowViewers; i++) {
+            boolean slow = i >= viewers;
+            Thread.ofVirtual().start(() -> watch(server.getPort(), slow, received));
+        }
+        long deadline = System.nanoTime() + 30 * SECOND;
+        while (server.getViewerCount() < viewers + slowViewers && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(SECOND / 10);
+        }
+
+        SpectatorFeed feed = new SpectatorFeed(2, seed, new SystemGameClock(), 1);
+        feed.setStepListener(server::publish);
+        feed.start();
+        long lastPackets = 0;
+        long lastEncoded = 0;
+        long lastSent = 0;
+        for (long s = 0; s < seconds; s++) {
+            LockSupport.parkNanos(SECOND);
+            long packets = server.getPackets();
+            long encoded = server.getBytesEncoded();
+            long sent = server.getBytesSent();
+            System.err.printf("broadcast: %d viewers, %d packets/s, %.1f KB/s encoded, %.1f KB/s sent, %d skips%n",
+                    server.getViewerCount(), packets - lastPackets, (encoded - lastEncoded) / 1024.0,
+                    (sent - lastSent) / 1024.0, server.getSkips());
+            lastPackets = packets;
+            lastEncoded = encoded;
+            lastSent = sent;
+        }
+        System.err.printf("broadcast: %d keyframes, %.1f MB received by viewers%n",
+                server.getKeyframes(), received.sum() / 1048576.0);
+        feed.shutdown();
+        server.shutdown();
+    }
+
+    /**
+     * Connects one binary viewer and reads until the server closes it.
+     */
+    private static void watch(int port, boolean slow, LongAdder received) {
+        try (Socket socket = new Socket()) {
+            // Set before connecting so the receive window stays small
+            if (slow) socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            socket.getOutputStream().write(new byte[] {0, 1, BroadcastServer.WATCH});
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[slow ? 256 : 8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                received.add(read);
+                if (slow) LockSupport.parkNanos(SECOND);
+            }
+        } catch (IOException e) {
+            // The server shut down
+        }
+    }
+}
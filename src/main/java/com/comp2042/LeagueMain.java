@@ -0,0 +1,133 @@
+package com.comp2042;
+
+import com.comp2042.net.LeagueServer;
+import com.comp2042.net.VersusBotClients;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless benchmark of the {@link LeagueServer}. Opens the requested number of sessions,
+ * reports the heap each idle session costs, then prints gravity steps, writes and bytes
+ * per second to standard error. System properties:
+ * <ul>
+ *   <li>{@code tetris.leagueSessions}: number of sessions, 10000 by default;</li>
+ *   <li>{@code tetris.leagueTransport}: {@code memory} (the default) to attach sessions
+ *   to in-process links that never send input, or {@code socket} to connect
+ *   {@link VersusBotClients} over loopback, which is limited by the open file limit;</li>
+ *   <li>{@code tetris.leagueMistakes}: chance that a bot action is a blind hard drop, 0.3 by default;</li>
+ *   <li>{@code tetris.leagueSeconds}: how long to measure, 10 by default;</li>
+ *   <li>{@code tetris.seed}: seed of the first session, random by default.</li>
+ * </ul>
+ */
+public class LeagueMain {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command-line arguments (not used)
+     * @throws IOException if the server or the bots cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        int sessions = Integer.getInteger("tetris.leagueSessions", 10_000);
+        boolean sockets = "socket".equals(System.getProperty("tetris.leagueTransport", "memory"));
+        double mistakes = Double.parseDouble(System.getProperty("tetris.leagueMistakes", "0.3"));
+        long seconds = Long.getLong("tetris.leagueSeconds", 10);
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+
+        InetSocketAddress address = sockets ? new InetSocketAddress(InetAddress.getLoopbackAddress(), 0) : null;
+        LeagueServer server = new LeagueServer(address, seed);
+        server.start();
+        long heapBefore = usedHeap();
+
+        VersusBotClients bots = null;
+        if (sockets) {
+            bots = new VersusBotClients(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                    sessions, seed, mistakes);
+            bots.start();
+        } else {
+            for (int i = 0; i < sessions; i++) {
+                IdleLink link = new IdleLink();
+                server.open(link, OutputStream.nullOutputStream(), link);
+            }
+        }
+        long deadline = System.nanoTime() + 30 * SECOND;
+        while (server.getSessionCount() < sessions && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(SECOND / 10);
+        }
+        long heapAfter = usedHeap();
+        System.err.printf("league: %d sessions open, %.0f bytes of heap per session%n",
+                server.getSessionCount(), (double) (heapAfter - heapBefore) / Math.max(1, server.getSessionCount()));
+
+        long start = System.nanoTime();
+        long startTicks = server.getGravityTicks();
+        long startWrites = server.getWrites();
+        long startBytes = server.getBytesSent();
+        long lastTicks = startTicks;
+        long lastWrites = startWrites;
+        long lastBytes = startBytes;
+        for (long s = 0; s < seconds; s++) {
+            LockSupport.parkNanos(SECOND);
+            long ticks = server.getGravityTicks();
+            long writes = server.getWrites();
+            long bytes = server.getBytesSent();
+            System.err.printf("league: %d sessions, %d gravity steps/s, %d writes/s, %.1f KB/s, %d games finished, %.1f ms max timer lag%n",
+                    server.getSessionCount(), ticks - lastTicks, writes - lastWrites, (bytes - lastBytes) / 1024.0,
+                    server.getGamesFinished(), server.getMaxTimerLagNanos() / 1e6);
+            lastTicks = ticks;
+            lastWrites = writes;
+            lastBytes = bytes;
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.err.printf("league: average %.0f gravity steps/s, %.0f writes/s over %.1f s%n",
+                (lastTicks - startTicks) / elapsed, (lastWrites - startWrites) / elapsed, elapsed);
+        if (bots != null) bots.shutdown();
+        server.shutdown();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            LockSupport.parkNanos(SECOND / 10);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * In-process link for an idle client: reads block until the link is closed.
+     */
+    private static final class IdleLink extends InputStream implements Closeable {
+
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            try {
+                closed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return read();
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
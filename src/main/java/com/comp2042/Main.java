@@ -1,5 +1,7 @@
 package com.comp2042;
 
+import com.comp2042.core.SaveStore;
+import com.comp2042.model.ScoreService;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,6 +16,16 @@ import java.net.URL;
  */
 public class Main extends Application {
 
+    /**
+     * Starts loading the stored scores and any saved game in the background before any
+     * window is shown, so the screens that display them find them cached.
+     */
+    @Override
+    public void init() {
+        ScoreService.getInstance();
+        SaveStore.getInstance();
+    }
+
     /**
      * Initializes and starts the JavaFX application.
      * Loads the home screen FXML file and displays the main window.
@@ -0,0 +1,89 @@
+package com.comp2042;
+
+import com.comp2042.core.GameLoop;
+import com.comp2042.net.LoopbackLink;
+import com.comp2042.net.RollbackBot;
+import com.comp2042.net.RollbackSession;
+import com.comp2042.net.VersusProtocol;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Headless measurement of {@link RollbackSession}s. Two bot-played peers exchange inputs
+ * over a {@link LoopbackLink} with simulated latency, jitter and loss, on a manual clock,
+ * then the rollback depth histogram, stalls, bandwidth and CPU time per tick are printed
+ * to standard error. System properties:
+ * <ul>
+ *   <li>{@code tetris.rollbackLatency}: one-way latency in milliseconds, 40 by default;</li>
+ *   <li>{@code tetris.rollbackJitter}: largest extra random delay in milliseconds, 20 by default;</li>
+ *   <li>{@code tetris.rollbackLoss}: chance that a packet is lost, 0.02 by default;</li>
+ *   <li>{@code tetris.rollbackDelay}: local input delay in ticks, 2 by default;</li>
+ *   <li>{@code tetris.rollbackMistakes}: chance that a bot move is a blind hard drop, 0.02 by default;</li>
+ *   <li>{@code tetris.rollbackSeconds}: game time to simulate, 60 by default;</li>
+ *   <li>{@code tetris.seed}: seed of the game, random by default.</li>
+ * </ul>
+ */
+public class RollbackMain {
+
+    private static final long MILLIS = 1_000_000L;
+
+    /**
+     * Runs the measurement.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        long latency = Long.getLong("tetris.rollbackLatency", 40) * MILLIS;
+        long jitter = Long.getLong("tetris.rollbackJitter", 20) * MILLIS;
+        double loss = Double.parseDouble(System.getProperty("tetris.rollbackLoss", "0.02"));
+        int delay = Integer.getInteger("tetris.rollbackDelay", 2);
+        double mistakes = Double.parseDouble(System.getProperty("tetris.rollbackMistakes", "0.02"));
+        long seconds = Long.getLong("tetris.rollbackSeconds", 60);
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+
+        LoopbackLink link = new LoopbackLink(latency, jitter, loss, seed);
+        RollbackSession[] peers = new RollbackSession[2];
+        RollbackBot[] bots = new RollbackBot[2];
+        for (int p = 0; p < 2; p++) {
+            peers[p] = new RollbackSession(p, seed, delay, RollbackSession.DEFAULT_MAX_PREDICTION);
+            bots[p] = new RollbackBot(seed + p, mistakes);
+        }
+        ByteBuffer out = ByteBuffer.allocate(peers[0].maxFrameBytes());
+
+        long steps = seconds * 1_000_000_000L / GameLoop.STEP_NANOS;
+        long now = 0;
+        long started = System.nanoTime();
+        for (long step = 0; step < steps; step++) {
+            now += GameLoop.STEP_NANOS;
+            for (RollbackSession peer : peers) {
+                int player = peer.getLocalPlayer();
+                ByteBuffer frame;
+                while ((frame = link.poll(player, now)) != null) {
+                    peer.readInputs(frame.position(VersusProtocol.LENGTH_BYTES));
+                }
+                bots[player].step(peer);
+                out.clear();
+                peer.writeInputs(out);
+                link.send(1 - player, now, out.flip());
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        for (RollbackSession peer : peers) {
+            long[] histogram = peer.getRollbackHistogram();
+            StringBuilder depths = new StringBuilder();
+            for (int depth = 1; depth < histogram.length; depth++) {
+                if (histogram[depth] > 0) depths.append(' ').append(depth).append(':').append(histogram[depth]);
+            }
+            System.err.printf("peer %d: %d ticks, %d rollbacks, %.2f ticks re-simulated per tick, %d stalls%n",
+                    peer.getLocalPlayer(), peer.getTick(), peer.getRollbacks(),
+                    (double) peer.getResimulatedTicks() / peer.getTick(), peer.getStalls());
+            System.err.println("peer " + peer.getLocalPlayer() + ": rollback depths" + depths);
+        }
+        long ticks = peers[0].getTick() + peers[1].getTick();
+        System.err.printf("link: %d packets, %d lost, %.0f bytes/s per peer%n", link.getSent(), link.getDropped(),
+                link.getBytesSent() / 2.0 / seconds);
+        System.err.printf("cpu: %.1f us per tick including rollbacks%n", elapsed / 1000.0 / ticks);
+    }
+}
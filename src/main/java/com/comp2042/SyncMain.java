@@ -0,0 +1,76 @@
+package com.comp2042;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.core.HeadlessRunner;
+import com.comp2042.model.GameMode;
+import com.comp2042.net.SyncDecoder;
+import com.comp2042.net.SyncEncoder;
+import com.comp2042.net.VersusProtocol;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Headless measurement of the delta-compressed board sync. Plays bot games on a manual
+ * clock, encodes every simulation step with a {@link SyncEncoder}, checks each frame by
+ * decoding it, and prints the average bytes per step against sending the full state
+ * every step, both packed and as a raw int matrix. System properties:
+ * <ul>
+ *   <li>{@code tetris.syncGames}: number of games to play, 10 by default;</li>
+ *   <li>{@code tetris.syncSeconds}: game time per game, 300 by default;</li>
+ *   <li>{@code tetris.seed}: seed of the first game, random by default.</li>
+ * </ul>
+ */
+public class SyncMain {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Runs the measurement.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        int games = Integer.getInteger("tetris.syncGames", 10);
+        long seconds = Long.getLong("tetris.syncSeconds", 300);
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+
+        long[] steps = {0};
+        long frames = 0;
+        long fullFrames = 0;
+        long bytes = 0;
+        long desyncs = 0;
+        int fullBytes = 0;
+        int rawBytes = 0;
+        for (int g = 0; g < games; g++) {
+            HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, seed + g);
+            SyncEncoder encoder = new SyncEncoder(runner.getEngine());
+            int[][] board = runner.getEngine().snapshot().getBoardMatrix();
+            SyncDecoder decoder = new SyncDecoder(board.length, board[0].length);
+            ByteBuffer out = ByteBuffer.allocate(encoder.maxFrameBytes());
+            BotPlayer bot = new BotPlayer();
+            runner.setStepHook(engine -> {
+                steps[0]++;
+                bot.accept(engine);
+                out.clear();
+                if (encoder.write(out)) {
+                    out.flip().position(VersusProtocol.LENGTH_BYTES);
+                    decoder.read(out);
+                }
+            });
+            runner.run(seconds * SECOND);
+            frames += encoder.getDeltaFrames() + encoder.getFullFrames();
+            fullFrames += encoder.getFullFrames();
+            bytes += encoder.getBytesWritten();
+            desyncs += decoder.getDesyncs();
+            fullBytes = encoder.fullFrameBytes();
+            rawBytes = board.length * board[0].length * Integer.BYTES;
+        }
+
+        double perStep = (double) bytes / steps[0];
+        System.err.printf("sync: %d steps, %d frames (%d full), %d desyncs%n", steps[0], frames, fullFrames, desyncs);
+        System.err.printf("sync: delta %.2f bytes/step, %.1f bytes/frame%n", perStep, (double) bytes / frames);
+        System.err.printf("sync: full state %d bytes/step packed (%.0fx), %d bytes/step as an int matrix (%.0fx)%n",
+                fullBytes, fullBytes / perStep, rawBytes, rawBytes / perStep);
+    }
+}
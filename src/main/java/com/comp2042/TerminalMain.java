@@ -0,0 +1,69 @@
+package com.comp2042;
+
+import com.comp2042.core.GameClock;
+import com.comp2042.core.SpectatorFeed;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.view.TerminalRenderer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless entry point that shows a live bot-played game in the terminal.
+ * Starts no JavaFX toolkit and needs no display, so it runs on CI machines and over SSH.
+ * The game runs on the {@link SpectatorFeed} thread and is drawn with a
+ * {@link TerminalRenderer}. System properties:
+ * <ul>
+ *   <li>{@code tetris.seed}: seed of the brick sequence, random by default;</li>
+ *   <li>{@code tetris.terminalFps}: frame rate limit, {@value TerminalRenderer#DEFAULT_FPS} by default;</li>
+ *   <li>{@code tetris.terminalSeconds}: how long to run, 0 (the default) to run until interrupted.</li>
+ * </ul>
+ * When it stops it restores the terminal and prints the frame count and output bandwidth
+ * to standard error.
+ */
+public class TerminalMain {
+
+    private static final int STEPS_PER_ACTION = 6;
+
+    private static volatile boolean running = true;
+
+    /**
+     * Runs the terminal game until interrupted or until the configured time has passed.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) {
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+        int fps = Integer.getInteger("tetris.terminalFps", TerminalRenderer.DEFAULT_FPS);
+        long seconds = Long.getLong("tetris.terminalSeconds", 0);
+
+        GameClock clock = new SystemGameClock();
+        SpectatorFeed feed = new SpectatorFeed(1, seed, clock, STEPS_PER_ACTION);
+        TerminalRenderer renderer = new TerminalRenderer(System.out, fps);
+        long frameNanos = 1_000_000_000L / Math.max(1, fps);
+
+        Thread mainThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            running = false;
+            LockSupport.unpark(mainThread);
+            try {
+                mainThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        feed.start();
+        long start = clock.nanoTime();
+        while (running && (seconds <= 0 || clock.nanoTime() - start < seconds * 1_000_000_000L)) {
+            renderer.render(feed.latest(0), clock.nanoTime());
+            LockSupport.parkNanos(frameNanos);
+        }
+        feed.shutdown();
+        renderer.close();
+
+        double elapsed = (clock.nanoTime() - start) / 1e9;
+        System.err.printf("terminal: %d frames, %d bytes, %.0f B/s%n",
+                renderer.getFrameCount(), renderer.getBytesWritten(), renderer.getBytesWritten() / Math.max(elapsed, 1e-9));
+    }
+}
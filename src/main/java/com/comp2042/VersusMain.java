@@ -0,0 +1,67 @@
+package com.comp2042;
+
+import com.comp2042.net.VersusBotClients;
+import com.comp2042.net.VersusServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless entry point that runs the {@link VersusServer} on the loopback interface,
+ * optionally loaded by {@link VersusBotClients}. Prints one line of server statistics
+ * per second to standard error. System properties:
+ * <ul>
+ *   <li>{@code tetris.versusPort}: port to listen on, 0 (the default) for any free port;</li>
+ *   <li>{@code tetris.versusBots}: number of bot clients to connect, 0 by default;</li>
+ *   <li>{@code tetris.versusMistakes}: chance that a bot action is a blind hard drop, 0.3 by default;</li>
+ *   <li>{@code tetris.versusSeconds}: how long to run, 0 (the default) to run until interrupted;</li>
+ *   <li>{@code tetris.seed}: seed of the first match, random by default.</li>
+ * </ul>
+ */
+public class VersusMain {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Runs the server until interrupted or until the configured time has passed.
+     *
+     * @param args command-line arguments (not used)
+     * @throws IOException if the server or the bots cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger("tetris.versusPort", 0);
+        int bots = Integer.getInteger("tetris.versusBots", 0);
+        double mistakes = Double.parseDouble(System.getProperty("tetris.versusMistakes", "0.3"));
+        long seconds = Long.getLong("tetris.versusSeconds", 0);
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+
+        VersusServer server = new VersusServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), seed);
+        server.start();
+        System.err.println("versus: listening on port " + server.getPort());
+        VersusBotClients clients = null;
+        if (bots > 0) {
+            clients = new VersusBotClients(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                    bots, seed, mistakes);
+            clients.start();
+        }
+
+        long start = System.nanoTime();
+        long lastFinished = 0;
+        long lastBytes = 0;
+        while (seconds <= 0 || System.nanoTime() - start < seconds * SECOND) {
+            LockSupport.parkNanos(SECOND);
+            long finished = server.getFinishedMatchCount();
+            long bytes = server.getBytesSent();
+            System.err.printf("versus: %d clients, %d active matches, %d finished (+%d/s), %d garbage rows, %.1f KB/s out, %d dropped%n",
+                    server.getConnectionCount(), server.getActiveMatchCount(), finished, finished - lastFinished,
+                    server.getGarbageRows(), (bytes - lastBytes) / 1024.0, server.getDroppedClients());
+            lastFinished = finished;
+            lastBytes = bytes;
+        }
+        if (clients != null) clients.shutdown();
+        server.shutdown();
+    }
+}
@@ -1,38 +1,56 @@
 package com.comp2042.controller;
 
-import com.comp2042.model.Board;
-import com.comp2042.model.SimpleBoard;
-import com.comp2042.model.ClearRow;
-import com.comp2042.event.DownData;
-import com.comp2042.event.MoveEvent;
-import com.comp2042.event.EventSource;
-import com.comp2042.event.InputEventListener;
-import com.comp2042.view.ViewData;
+import com.comp2042.core.AcceleratedGameClock;
+import com.comp2042.core.GameClock;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.GameSnapshot;
+import com.comp2042.core.SaveCodec;
+import com.comp2042.core.SaveStore;
+import com.comp2042.core.SimulationThread;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.input.InputConfig;
 import com.comp2042.model.HighScore;
-import com.comp2042.model.Level;
 import com.comp2042.model.GameMode;
+import com.comp2042.model.Leaderboard;
+import com.comp2042.model.LeaderboardEntry;
+import com.comp2042.model.ScoreService;
+import com.comp2042.model.StatsStore;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Main controller that coordinates the game logic and view.
- * Implements InputEventListener to handle player input events and manages
- * the interaction between the game board, score, level, and GUI components.
+ * Creates the headless {@link GameEngine} for the selected mode, runs it on a
+ * {@link SimulationThread}, and connects the GUI controller to it. Snapshots published by
+ * the simulation are observed on the JavaFX thread to keep the high score up to date, and
+ * every finished game is recorded on the {@link Leaderboard}, unless it is a practice game.
+ * When the player leaves a game that is still in progress it is saved through the
+ * {@link SaveStore} and can be resumed later with {@link #resume(GuiController, byte[])}.
+ * The statistics of every finished game are appended to the {@link StatsStore}.
  * Supports both classic and sprint game modes.
+ * The system property {@code tetris.timeScale} runs the game on an accelerated clock and
+ * {@code tetris.seed} fixes the brick sequence, which is useful for practice and testing.
+ * Games played with either are practice games and are not added to the leaderboard, even
+ * when they are saved and resumed in a normal session.
  */
-public class GameController implements InputEventListener {
+public class GameController {
 
-    private static final int BOARD_ROWS = 25;
-    private static final int BOARD_COLS = 10;
-    private Board board = new SimpleBoard(BOARD_ROWS, BOARD_COLS);
-    private final HighScore highScore = new HighScore();
+    private final ScoreService scoreService = ScoreService.getInstance();
+    private final HighScore highScore = new HighScore(scoreService, Platform::runLater);
 
     private final GuiController viewGuiController;
-    private final Level level = new Level();
-    private final GameMode gameMode;
-    private static final int SPRINT_TARGET = 3;
+    private final GameEngine engine;
+    private final SimulationThread simulation;
+    private final SaveStore saveStore = SaveStore.getInstance();
+    private final boolean ranked;
+    private int lastClearCount;
+    private int recordedGame = -1;
 
     /**
      * Constructs a GameController with default classic game mode.
-     * 
+     *
      * @param c the GUI controller to coordinate with
      */
     public GameController(GuiController c) {
@@ -41,184 +59,137 @@ public class GameController implements InputEventListener {
 
     /**
      * Constructs a GameController with the specified game mode.
-     * Initializes the board, sets up UI bindings, and configures sprint mode if applicable.
-     * 
+     * Initializes the engine, sets up the UI, configures sprint mode if applicable,
+     * and starts the simulation thread.
+     *
      * @param c the GUI controller to coordinate with
      * @param mode the game mode to use (CLASSIC or SPRINT)
      */
     public GameController(GuiController c, GameMode mode) {
-        this.gameMode = mode;
-        viewGuiController = c;
-        board.createNewBrick();
-        viewGuiController.setEventListener(this);
-        viewGuiController.initGameView(board.getBoardMatrix(), board.getViewData());
-        viewGuiController.bindScore(board.getScore().scoreProperty());
-        viewGuiController.bindHighScore(highScore.highScoreProperty());
-
-        if (gameMode == GameMode.SPRINT) {
-            viewGuiController.setSprintMode(SPRINT_TARGET);
-        }
-
-        viewGuiController.bindLevel(level.levelProperty());
+        this(c, new GameEngine(mode, createClock(), Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong())),
+                System.getProperty("tetris.seed") == null);
     }
 
     /**
-     * {@inheritDoc}
-     * Handles the down movement event. Moves the brick down, merges it when blocked,
-     * clears rows, updates score and level, and checks for game over or sprint win conditions.
-     * 
-     * @param event the move event containing event type and source information
-     * @return DownData containing information about cleared rows and updated view data
+     * Constructs a GameController for an engine, sets up the UI and starts the simulation thread.
+     *
+     * @param c the GUI controller to coordinate with
+     * @param engine the engine to run, new or restored from a save
+     * @param seedRandom false if the brick sequence was fixed by {@code tetris.seed} or the
+     *                   game was saved as a practice game
      */
-    @Override
-    public DownData onDownEvent(MoveEvent event) {
-        boolean canMove = board.moveBrickDown();
-        ClearRow clearRow = null;
-        if (!canMove) {
-            board.mergeBrickToBackground();
-            clearRow = board.clearRows();
-            if (clearRow.getLinesRemoved() > 0) {
-                board.getScore().add(clearRow.getScoreBonus());
-                highScore.checkAndUpdate(board.getScore().scoreProperty().getValue());
-                if (level.addLines(clearRow.getLinesRemoved())) {
-                    viewGuiController.updateGameSpeed(level.getSpeedForCurrentLevel());
-                }
-
-                if (gameMode == GameMode.SPRINT) {
-                    viewGuiController.updateSprintProgress(level.getLinesCleared(), SPRINT_TARGET);
-                    if (level.getLinesCleared() >= SPRINT_TARGET) {
-                        viewGuiController.gameWon();
-                        return new DownData(clearRow, board.getViewData());
-                    }
-                }
-            }
-            if (board.createNewBrick()) {
-                highScore.checkAndUpdate(board.getScore().scoreProperty().getValue());
-                viewGuiController.gameOver();
-            }
+    private GameController(GuiController c, GameEngine engine, boolean seedRandom) {
+        this.engine = engine;
+        this.ranked = seedRandom && !(engine.getClock() instanceof AcceleratedGameClock);
+        engine.setStatsListener(StatsStore.getInstance()::append);
+        simulation = new SimulationThread(engine, InputConfig.fromSystemProperties());
+        viewGuiController = c;
+        viewGuiController.setSimulation(simulation);
+        viewGuiController.setSnapshotListener(this::onSnapshot);
 
-            viewGuiController.refreshGameBackground(board.getBoardMatrix());
+        GameSnapshot initial = simulation.latestSnapshot();
+        viewGuiController.initGameView(initial.getBoardMatrix(), initial.getViewData());
+        viewGuiController.bindHighScore(highScore.highScoreProperty());
+        viewGuiController.setExitListener(this::saveOnExit);
+        lastClearCount = initial.getClearCount();
 
-        } else {
-            if (event.getEventSource() == EventSource.USER) {
-                board.getScore().add(1);
-            }
+        if (engine.getGameMode() == GameMode.SPRINT) {
+            viewGuiController.setSprintMode(engine.getSprintTarget());
         }
-        return new DownData(clearRow, board.getViewData());
+
+        simulation.start();
     }
 
     /**
-     * {@inheritDoc}
-     * Handles the left movement event by moving the current brick left.
-     * 
-     * @param event the move event containing event type and source information
-     * @return ViewData containing the updated brick position and view information
+     * Resumes a saved game. A game saved as a practice game stays one.
+     *
+     * @param c the GUI controller to coordinate with
+     * @param save the save written when the game was left, as kept by the {@link SaveStore}
+     * @return the controller running the resumed game
+     * @throws IOException if the save is corrupt or cannot be restored
      */
-    @Override
-    public ViewData onLeftEvent(MoveEvent event) {
-        board.moveBrickLeft();
-        return board.getViewData();
+    public static GameController resume(GuiController c, byte[] save) throws IOException {
+        GameEngine engine = SaveCodec.decode(save, createClock());
+        return new GameController(c, engine, !SaveCodec.isPractice(save));
     }
 
     /**
-     * {@inheritDoc}
-     * Handles the right movement event by moving the current brick right.
-     * 
-     * @param event the move event containing event type and source information
-     * @return ViewData containing the updated brick position and view information
+     * Called when the player leaves the game. Waits for the simulation to stop, then saves
+     * the game if it is still in progress or discards any earlier save if it is not.
      */
-    @Override
-    public ViewData onRightEvent(MoveEvent event) {
-        board.moveBrickRight();
-        return board.getViewData();
+    private void saveOnExit() {
+        try {
+            if (!simulation.awaitTermination(1000)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (engine.isFinished()) {
+            if (saveStore.hasSave()) saveStore.delete();
+        } else {
+            saveStore.save(SaveCodec.encode(engine, !ranked));
+        }
     }
 
     /**
-     * {@inheritDoc}
-     * Handles the rotation event by rotating the current brick counter-clockwise.
-     * 
-     * @param event the move event containing event type and source information
-     * @return ViewData containing the updated brick rotation and view information
+     * Creates the game clock, accelerated when {@code tetris.timeScale} is set to a
+     * positive value other than 1.
+     *
+     * @return the clock the game runs on
      */
-    @Override
-    public ViewData onRotateEvent(MoveEvent event) {
-        board.rotateLeftBrick();
-        return board.getViewData();
+    private static GameClock createClock() {
+        double timeScale;
+        try {
+            timeScale = Double.parseDouble(System.getProperty("tetris.timeScale", "1"));
+        } catch (NumberFormatException e) {
+            timeScale = 1;
+        }
+        GameClock clock = new SystemGameClock();
+        return timeScale > 0 && timeScale != 1 ? new AcceleratedGameClock(clock, timeScale) : clock;
     }
 
     /**
-     * {@inheritDoc}
-     * Resets the game to start a new game. Clears the board, resets the level,
-     * and updates the game speed.
+     * Called on the JavaFX thread for every newly rendered snapshot.
+     * The high score is checked after line clears and on game over, and a pending save
+     * is flushed when the game ends. Finished classic games and completed sprints are
+     * added to the leaderboard once, and a save of the finished game is discarded.
+     *
+     * @param snapshot the snapshot that was just rendered
      */
-    @Override
-    public void createNewGame() {
-        board.newGame();
-        level.reset();
-        viewGuiController.updateGameSpeed(level.getSpeedForCurrentLevel());
-        viewGuiController.refreshGameBackground(board.getBoardMatrix());
+    private void onSnapshot(GameSnapshot snapshot) {
+        if (snapshot.getClearCount() != lastClearCount || snapshot.isGameOver()) {
+            lastClearCount = snapshot.getClearCount();
+            highScore.checkAndUpdate(snapshot.getScore());
+        }
+        if (snapshot.isGameOver() || snapshot.isGameWon()) {
+            highScore.flush();
+            if (snapshot.getGameNumber() != recordedGame) {
+                recordedGame = snapshot.getGameNumber();
+                recordResult(snapshot);
+                if (saveStore.hasSave()) saveStore.delete();
+            }
+        }
     }
 
     /**
-     * {@inheritDoc}
-     * Handles the hard drop event. Instantly drops the brick to its lowest position,
-     * merges it, clears rows, and checks for game over or sprint win conditions.
-     * 
-     * @param event the move event containing event type and source information
-     * @return DownData containing information about cleared rows and updated view data
+     * Adds a finished game to the leaderboard. Sprints only count when the target was reached,
+     * and practice games on an accelerated clock or a fixed seed never count.
+     *
+     * @param snapshot the snapshot of the finished game
      */
-    @Override
-    public DownData onHardDropEvent(MoveEvent event) {
-        board.hardDrop();
-        board.mergeBrickToBackground();
-        ClearRow clearRow = board.clearRows();
-        if (clearRow.getLinesRemoved() > 0) {
-            board.getScore().add(clearRow.getScoreBonus());
-            highScore.checkAndUpdate(board.getScore().scoreProperty().getValue());
-            if (level.addLines(clearRow.getLinesRemoved())) {
-                viewGuiController.updateGameSpeed(level.getSpeedForCurrentLevel());
-            }
-
-            if (gameMode == GameMode.SPRINT) {
-                viewGuiController.updateSprintProgress(level.getLinesCleared(), SPRINT_TARGET);
-                if (level.getLinesCleared() >= SPRINT_TARGET) {
-                    viewGuiController.gameWon();
-                    return new DownData(clearRow, board.getViewData());
-                }
-            }
-        }
-        if (board.createNewBrick()) {
-            highScore.checkAndUpdate(board.getScore().scoreProperty().getValue());
-            viewGuiController.gameOver();
-        }
-        viewGuiController.refreshGameBackground(board.getBoardMatrix());
-        return new DownData(clearRow, board.getViewData());
+    private void recordResult(GameSnapshot snapshot) {
+        GameMode mode = engine.getGameMode();
+        if (!ranked || (mode == GameMode.SPRINT && !snapshot.isGameWon())) return;
+        scoreService.getLeaderboard().record(new LeaderboardEntry(mode, snapshot.getScore(), snapshot.getLinesCleared(),
+                snapshot.getElapsedNanos(engine.getClock().nanoTime()), System.currentTimeMillis(), engine.getSeed()));
     }
 
     /**
      * Gets the HighScore instance for this game session.
-     * 
+     *
      * @return the HighScore object
      */
     public HighScore getHighScore() {
         return highScore;
     }
-
-    /**
-     * Gets the Level instance for this game session.
-     * 
-     * @return the Level object
-     */
-    public Level getLevel() {
-        return level;
-    }
-
-    /**
-     * Gets the current state of the game board matrix.
-     * 
-     * @return a 2D array representing the board state
-     */
-    public int[][] getBoardMatrix() {
-        return board.getBoardMatrix();
-    }
 }
@@ -1,21 +1,23 @@
 package com.comp2042.controller;
 
-import com.comp2042.view.BoardRenderer;
+import com.comp2042.view.BoardView;
+import com.comp2042.view.FrameTimeStats;
+import com.comp2042.view.NextPiecePreview;
+import com.comp2042.view.RenderScheduler;
 import com.comp2042.input.InputHandler;
 import com.comp2042.view.ViewData;
 import com.comp2042.view.GameOverPanel;
-import com.comp2042.view.NotificationPanel;
-import com.comp2042.event.DownData;
-import com.comp2042.event.MoveEvent;
-import com.comp2042.event.EventType;
-import com.comp2042.event.EventSource;
-import com.comp2042.event.InputEventListener;
+import com.comp2042.view.NotificationPool;
+import com.comp2042.view.QualityGovernor;
+import com.comp2042.view.RenderQuality;
 import com.comp2042.state.GameState;
 import com.comp2042.state.PlayingState;
 import com.comp2042.state.PausedState;
 import com.comp2042.state.GameOverState;
-import com.comp2042.core.GameLoop;
+import com.comp2042.core.GameSnapshot;
+import com.comp2042.core.SimulationThread;
 import com.comp2042.model.ClearRow;
+import com.comp2042.util.TimeFormatter;
 
 import javafx.beans.property.IntegerProperty;
 import javafx.event.ActionEvent;
@@ -28,15 +30,21 @@ import javafx.scene.control.Label;
 
 import java.net.URL;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 import javafx.scene.layout.VBox;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import javafx.event.EventHandler;
 
 /**
  * Controller for the game's graphical user interface.
- * Manages UI components, rendering, input handling, game loop, and state transitions.
+ * Manages UI components, rendering, input handling, and state transitions.
+ * The game itself runs on a {@link SimulationThread}; this controller forwards input to it
+ * and renders the latest published {@link GameSnapshot} once per JavaFX pulse.
  * Implements Initializable to set up the FXML-injected components.
  */
 public class GuiController implements Initializable {
@@ -82,16 +90,33 @@ public class GuiController implements Initializable {
     private Label timerLabel;
 
     private int sprintTarget = 0;
-    private long sprintStartTime;
-    private javafx.animation.Timeline sprintTimer;
-
-    private InputEventListener eventListener;
-    private GameLoop gameLoop;
+    private final TimeFormatter sprintTime = new TimeFormatter("Time: ", 2);
+
+    private SimulationThread simulation;
+    private Consumer<GameSnapshot> snapshotListener;
+    private Runnable exitListener;
+    private EventHandler<WindowEvent> closeHandler;
+    private boolean left;
+    private RenderScheduler renderScheduler;
     private GameState currentState = new PlayingState();
 
-    private BoardRenderer renderer;
+    private BoardView renderer;
+    private NextPiecePreview nextPreview;
+    private NotificationPool notifications;
+    private QualityGovernor qualityGovernor;
     private InputHandler inputHandler;
-    private static final int GAME_TICK_MS = 400;
+
+    private final FrameTimeStats renderStats = new FrameTimeStats();
+    private final FrameTimeStats pulseStats = new FrameTimeStats();
+    private long lastPulseNanos = -1;
+
+    private GameSnapshot lastSnapshot;
+    private int expectedGameNumber;
+    private int lastBoardVersion = -1;
+    private int lastClearCount;
+    private int lastScore = -1;
+    private int lastLevel = -1;
+    private int lastLinesCleared = -1;
 
     /**
      * Initializes the GUI controller. Called automatically by JavaFX after FXML loading.
@@ -111,48 +136,121 @@ public class GuiController implements Initializable {
 
     /**
      * Initializes the game view with the board matrix and initial brick data.
-     * Sets up the board renderer, input handler, and game loop.
+     * Sets up the board renderer selected by the {@code tetris.renderer} property,
+     * the input handler, and the render pulse.
      * 
      * @param boardMatrix the initial game board matrix
      * @param brick the initial falling brick data
      */
     public void initGameView(int[][] boardMatrix, ViewData brick) {
-        if (renderer == null) renderer = new BoardRenderer(gamePanel, brickPanel);
+        if (renderer == null) renderer = BoardView.fromSystemProperties(gamePanel, brickPanel);
 
         renderer.initBoard(boardMatrix);
         renderer.initPreview(brick);
+        if (notifications == null) notifications = new NotificationPool(groupNotification, NotificationPool.DEFAULT_SIZE);
+        if (qualityGovernor == null) qualityGovernor = QualityGovernor.fromSystemProperties(this::applyQuality);
+        if (nextPreview == null) {
+            nextPreview = new NextPiecePreview(NextPiecePreview.slotCountFromSystemProperties(), nextPanel1, nextPanel2);
+        }
 
         if (inputHandler == null) {
-            inputHandler = new InputHandler(gamePanel, eventListener);
+            inputHandler = new InputHandler(gamePanel, simulation.getInputQueue());
+            inputHandler.setInputEnabled(() -> currentState.canAcceptInput());
             inputHandler.setPauseCallback(() -> pauseGame(null));
-            inputHandler.setPreviewConsumer(viewData -> {
-                if (currentState.canAcceptInput()) {
-                    renderer.refreshPreview(viewData);
-                    updateNextPiecesPreview(viewData.getNextBrickData(), viewData.getSecondNextBrickData());
-                }
-            });
-            inputHandler.setDownConsumer(downData -> {
-                if (currentState.canAcceptInput()) {
-                    showScoreNotification(downData.getClearRow());
-                    renderer.refreshPreview(downData.getViewData());
-                }
-                gamePanel.requestFocus();
-            });
+            inputHandler.setNewGameCallback(() -> newGame(null));
         }
 
-        gameLoop = new GameLoop(() -> {
+        if (renderScheduler == null) {
+            renderScheduler = new RenderScheduler(this::timedRender, this::onPulse);
+            simulation.setPublishListener(renderScheduler::markDirty);
+        }
+        renderScheduler.start();
 
-            if (!currentState.canProcessGameTick()) {
-                return;
-            }
-            DownData downData = eventListener.onDownEvent(new MoveEvent(EventType.DOWN, EventSource.THREAD));
-            showScoreNotification(downData.getClearRow());
-            renderer.refreshPreview(downData.getViewData());
-            updateNextPiecesPreview(downData.getViewData().getNextBrickData(), downData.getViewData().getSecondNextBrickData());
-        }, GAME_TICK_MS);
+    }
+
+    /**
+     * Runs at the end of every JavaFX pulse, after any render: updates the sprint timer,
+     * records frame times and feeds them to the quality governor.
+     * 
+     * @param now the pulse time in nanoseconds
+     */
+    private void onPulse(long now) {
+        updateTimerDisplay();
+        if (lastPulseNanos >= 0) {
+            pulseStats.record(now - lastPulseNanos);
+            qualityGovernor.onFrame(now - lastPulseNanos);
+        }
+        lastPulseNanos = now;
+    }
+
+    /**
+     * Applies a quality step chosen by the {@link QualityGovernor}: glow on the score
+     * notifications, cell arcs and ghost style in the renderer, and the render rate.
+     * The simulation is unaffected and keeps running at full rate.
+     * 
+     * @param quality the new render quality
+     */
+    private void applyQuality(RenderQuality quality) {
+        if (renderer != null) renderer.setQuality(quality);
+        if (notifications != null) notifications.setEffectsEnabled(quality.effectsEnabled());
+        if (renderScheduler != null) renderScheduler.setPulsesPerRender(quality.reducedRate() ? 2 : 1);
+    }
+
+    private void timedRender() {
+        long start = System.nanoTime();
+        renderLatestSnapshot();
+        renderStats.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Renders the most recent snapshot published by the simulation, if it is newer than
+     * the one already on screen. Scheduled by the {@link RenderScheduler}, so however many
+     * snapshots are published between two pulses, this runs at most once per pulse.
+     */
+    private void renderLatestSnapshot() {
+        if (simulation == null) return;
+        GameSnapshot snapshot = simulation.latestSnapshot();
+        if (snapshot == lastSnapshot || snapshot.getGameNumber() < expectedGameNumber) return;
+        lastSnapshot = snapshot;
+
+        if (snapshot.getBoardVersion() != lastBoardVersion) {
+            lastBoardVersion = snapshot.getBoardVersion();
+            refreshGameBackground(snapshot.getBoardMatrix());
+        }
+        if (snapshot.getClearCount() != lastClearCount) {
+            lastClearCount = snapshot.getClearCount();
+            showScoreNotification(snapshot.getLastClear());
+        }
+
+        ViewData viewData = snapshot.getViewData();
+        refreshBrick(viewData);
+        updateNextPiecesPreview(viewData);
+        updateStats(snapshot);
 
-        gameLoop.start();
+        if (!(currentState instanceof GameOverState)) {
+            if (snapshot.isGameWon()) {
+                gameWon();
+            } else if (snapshot.isGameOver()) {
+                gameOver();
+            }
+        }
+        if (snapshotListener != null) snapshotListener.accept(snapshot);
+    }
 
+    private void updateStats(GameSnapshot snapshot) {
+        if (snapshot.getScore() != lastScore) {
+            lastScore = snapshot.getScore();
+            scoreLabel.setText(String.valueOf(lastScore));
+        }
+        if (sprintTarget > 0) {
+            if (snapshot.getLinesCleared() != lastLinesCleared) {
+                lastLinesCleared = snapshot.getLinesCleared();
+                updateSprintProgress(lastLinesCleared, sprintTarget);
+            }
+        } else if (snapshot.getLevel() != lastLevel) {
+            lastLevel = snapshot.getLevel();
+            levelLabel.setText(String.valueOf(lastLevel));
+        }
     }
 
     /**
@@ -179,86 +277,97 @@ public class GuiController implements Initializable {
     private void showScoreNotification(ClearRow clearRow) {
         if (clearRow != null && clearRow.getLinesRemoved() > 0) {
 
-            int[] rows = clearRow.getClearedRows();
-            flashRowsWhite(rows, true);
-
+            if (renderer != null) renderer.flashRows(clearRow.getClearedRows());
 
-            javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(javafx.util.Duration.millis(150));
-            pause.setOnFinished(e -> {
-
-                if (renderer != null && eventListener != null) {
-                    renderer.refreshBoard(((com.comp2042.controller.GameController) eventListener).getBoardMatrix());
-                }
-            });
-            pause.play();
-
-            NotificationPanel notificationPanel = new NotificationPanel("+" + clearRow.getScoreBonus());
-            groupNotification.getChildren().add(notificationPanel);
-            notificationPanel.showScore(groupNotification.getChildren());
+            notifications.show("+" + clearRow.getScoreBonus());
         }
     }
 
-    private void flashRowsWhite(int[] rows, boolean flash) {
-        for (int row : rows) {
-            int displayRow = row - 2;  // Adjust for hidden top rows
-            if (displayRow >= 0) {
-                for (var node : gamePanel.getChildren()) {
-                    Integer rowIndex = GridPane.getRowIndex(node);
-                    if (rowIndex != null && rowIndex == displayRow && node instanceof javafx.scene.shape.Rectangle rect) {
-                        if (flash) {
-                            rect.setFill(javafx.scene.paint.Color.WHITE);
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * Sets the simulation that runs the game engine for this view.
+     * 
+     * @param simulation the SimulationThread to send input to and read snapshots from
+     */
+    public void setSimulation(SimulationThread simulation) {
+        this.simulation = simulation;
     }
 
     /**
-     * Sets the input event listener to handle game logic events.
+     * Sets a listener that is notified on the JavaFX thread after each new snapshot is rendered.
      * 
-     * @param eventListener the InputEventListener to receive events
+     * @param snapshotListener the consumer to call with each rendered snapshot
      */
-    public void setEventListener(InputEventListener eventListener) {
-        this.eventListener = eventListener;
+    public void setSnapshotListener(Consumer<GameSnapshot> snapshotListener) {
+        this.snapshotListener = snapshotListener;
     }
 
     /**
-     * Binds the score label to the score property for automatic UI updates.
+     * Sets a listener run once on the JavaFX thread when the player leaves the game, either
+     * through the home button or by closing the window, after the simulation has been asked
+     * to stop. Must be called once the game view is shown in its window.
      * 
-     * @param integerProperty the score property to bind
+     * @param exitListener the listener, or null for none
      */
-    public void bindScore(IntegerProperty integerProperty) {
-        scoreLabel.textProperty().bind(integerProperty.asString());
+    public void setExitListener(Runnable exitListener) {
+        this.exitListener = exitListener;
+        Window window = gamePanel.getScene() == null ? null : gamePanel.getScene().getWindow();
+        if (window != null && closeHandler == null) {
+            closeHandler = event -> leaveGame();
+            window.addEventHandler(WindowEvent.WINDOW_CLOSE_REQUEST, closeHandler);
+        }
     }
 
     /**
-     * Handles the game over state. Stops the game loop and timer, displays the game over panel,
-     * and transitions to GameOverState.
+     * Stops rendering and the simulation and notifies the exit listener, once.
+     */
+    private void leaveGame() {
+        if (left) return;
+        left = true;
+        if (renderScheduler != null) renderScheduler.stop();
+        if (simulation != null) simulation.shutdown();
+        if (exitListener != null) exitListener.run();
+    }
+
+    /**
+     * Handles the game over state. Displays the game over panel, transitions to
+     * GameOverState, and stops rendering and notification animations.
      */
     public void gameOver() {
-        if (gameLoop != null) gameLoop.stop();
-        if (sprintTimer != null) sprintTimer.stop();
         gameOverPanel.setVisible(true);
         currentState = new GameOverState();
         updateStateDisplay();
+        suspendRendering();
+        if (notifications != null) notifications.dismissAll();
+    }
+
+    /**
+     * Stops the render pulse. Used while paused and on the game-over screen, where nothing
+     * on the board changes, so the UI does no work until rendering is resumed.
+     */
+    private void suspendRendering() {
+        if (renderScheduler != null) renderScheduler.stop();
+        if (qualityGovernor != null) qualityGovernor.reset();
+        lastPulseNanos = -1;
+    }
+
+    /**
+     * Restarts the render pulse after {@link #suspendRendering()}; the latest snapshot is
+     * drawn on the first pulse.
+     */
+    private void resumeRendering() {
+        if (renderScheduler != null && !renderScheduler.isRunning()) renderScheduler.start();
     }
 
     /**
-     * Starts a new game. Resets the game loop, clears UI overlays, resets sprint mode if active,
-     * and initializes a new game through the event listener.
+     * Starts a new game. Clears UI overlays, resets sprint mode if active,
+     * and requests a new game from the simulation.
      * 
      * @param actionEvent the action event that triggered this method (from UI button)
      */
     public void newGame(ActionEvent actionEvent) {
-        if (gameLoop != null) gameLoop.stop();
         gameOverPanel.setVisible(false);
         if (pauseOverlay != null) pauseOverlay.setVisible(false);
 
-        if (sprintTimer != null) {
-            sprintTimer.stop();
-            sprintTimer = null;
-        }
         sprintTarget = 0;
         if (timerLabel != null) timerLabel.setVisible(false);
         if (sprintNotification != null) {
@@ -268,20 +377,17 @@ public class GuiController implements Initializable {
 
         if (highScoreLabel != null) highScoreLabel.setVisible(true);
 
-        eventListener.createNewGame();
-        ViewData newBrickData = eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER));
-        if (renderer != null) {
-            renderer.refreshPreview(newBrickData);
-        }
+        // Snapshots of the previous game are skipped until the new one is published
+        expectedGameNumber = simulation.requestNewGame();
+        simulation.setPaused(false);
+        if (notifications != null) notifications.dismissAll();
+        resumeRendering();
+        lastLevel = -1;
+        lastLinesCleared = -1;
 
         gamePanel.requestFocus();
-        if (gameLoop != null) gameLoop.start();
         currentState = new PlayingState();
 
-        if (sprintTimer != null) {
-            sprintTimer.stop();
-            sprintTimer = null;
-        }
         sprintTarget = 0;
         if (timerLabel != null) timerLabel.setVisible(false);
         if (sprintNotification != null) sprintNotification.setVisible(false);
@@ -291,6 +397,8 @@ public class GuiController implements Initializable {
     /**
      * Toggles the pause state of the game. If playing, pauses the game.
      * If paused, resumes the game. Does nothing if the game is over.
+     * While paused the simulation thread, the render pulse and the notification
+     * animations are all stopped; the play timer continues from where it was paused.
      * 
      * @param actionEvent the action event that triggered this method (from UI button or key press)
      */
@@ -303,6 +411,9 @@ public class GuiController implements Initializable {
 
         if (currentState instanceof PlayingState) {
             currentState = new PausedState();
+            simulation.setPaused(true);
+            suspendRendering();
+            if (notifications != null) notifications.pauseAll();
             if (pauseOverlay != null) pauseOverlay.setVisible(true);
         } else if (currentState instanceof PausedState) {
             resumeGame(null);
@@ -329,51 +440,72 @@ public class GuiController implements Initializable {
     }
 
     /**
-     * Updates the game loop speed based on the current level.
+     * Resumes the game from paused state. Transitions from PausedState to PlayingState
+     * and hides the pause overlay.
      * 
-     * @param speedMs the new speed in milliseconds (time between ticks)
+     * @param actionEvent the action event that triggered this method (from UI button)
      */
-    public void updateGameSpeed(int speedMs) {
-        if (gameLoop != null) {
-            gameLoop.setInterval(speedMs);
+    public void resumeGame(ActionEvent actionEvent) {
+        if (currentState instanceof PausedState) {
+            currentState = new PlayingState();
+            simulation.setPaused(false);
+            resumeRendering();
+            if (notifications != null) notifications.resumeAll();
+            if (pauseOverlay != null) pauseOverlay.setVisible(false);
+            updateStateDisplay();
         }
+        gamePanel.requestFocus();
     }
 
     /**
-     * Binds the level label to the level property for automatic UI updates.
-     * Only binds if sprint mode is not active.
+     * Gets the time spent updating the scene on each pulse that rendered, for comparing renderers.
      * 
-     * @param levelProperty the level property to bind
+     * @return the per-pulse render work statistics
      */
-    public void bindLevel(IntegerProperty levelProperty) {
-        if (sprintTarget == 0) {
-            levelLabel.textProperty().bind(levelProperty.asString());
-        }
+    public FrameTimeStats getRenderStats() {
+        return renderStats;
     }
 
     /**
-     * Resumes the game from paused state. Transitions from PausedState to PlayingState
-     * and hides the pause overlay.
+     * Gets the scheduler that coalesces snapshot renders, whose counters show how many
+     * renders each pulse performed.
      * 
-     * @param actionEvent the action event that triggered this method (from UI button)
+     * @return the render scheduler, or null before the game view is initialized
      */
-    public void resumeGame(ActionEvent actionEvent) {
-        if (currentState instanceof PausedState) {
-            currentState = new PlayingState();
-            if (pauseOverlay != null) pauseOverlay.setVisible(false);
-            updateStateDisplay();
-        }
-        gamePanel.requestFocus();
+    public RenderScheduler getRenderScheduler() {
+        return renderScheduler;
+    }
+
+    /**
+     * Gets the time between consecutive pulses, which includes the CSS, layout and
+     * drawing work JavaFX does for the scene graph.
+     * 
+     * @return the pulse interval statistics
+     */
+    public FrameTimeStats getPulseStats() {
+        return pulseStats;
     }
 
     /**
      * Exits the game view and returns to the home screen.
-     * Stops the game loop and loads the home screen FXML.
+     * Shuts down the simulation, notifies the exit listener, prints the frame-time
+     * statistics of the renderer in use when {@code tetris.frameStats} is set, and loads
+     * the home screen FXML.
      * 
      * @param actionEvent the action event that triggered this method (from UI button)
      */
     public void exitToHome(ActionEvent actionEvent) {
-        if (gameLoop != null) gameLoop.stop();
+        leaveGame();
+        if (closeHandler != null) {
+            gamePanel.getScene().getWindow().removeEventHandler(WindowEvent.WINDOW_CLOSE_REQUEST, closeHandler);
+            closeHandler = null;
+        }
+        if (renderer != null && FrameTimeStats.isPrintEnabled()) {
+            System.err.println(renderStats.summary("render[" + renderer.getName() + "]"));
+            System.err.println(pulseStats.summary("pulse[" + renderer.getName() + "]"));
+            System.err.println("renders=" + renderScheduler.getRenderCount() + " pulses=" + renderScheduler.getPulseCount()
+                    + " coalesced=" + renderScheduler.getCoalescedCount());
+        }
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getClassLoader().getResource("homeScreen.fxml"));
             Parent homeRoot = loader.load();
@@ -389,34 +521,13 @@ public class GuiController implements Initializable {
     }
 
     /**
-     * Updates the preview panels to show the next two upcoming bricks.
+     * Updates the preview slots to show the upcoming bricks. Slots only change
+     * when the brick queue advances.
      * 
-     * @param next1 the matrix representation of the first next brick
-     * @param next2 the matrix representation of the second next brick
+     * @param viewData the view data listing the upcoming brick types
      */
-    public void updateNextPiecesPreview(int[][] next1, int[][] next2) {
-        renderPreviewPanel(nextPanel1, next1);
-        renderPreviewPanel(nextPanel2, next2);
-    }
-
-    private void renderPreviewPanel(GridPane panel, int[][] shape) {
-        if (panel == null || shape == null) return;
-
-        panel.getChildren().clear();
-
-        for (int i = 0; i < shape.length; i++) {
-            for (int j = 0; j < shape[i].length; j++) {
-                javafx.scene.shape.Rectangle rect = new javafx.scene.shape.Rectangle(12, 12);
-                if (shape[i][j] != 0) {
-                    rect.setFill(getColorForValue(shape[i][j]));
-                    rect.setArcHeight(4);
-                    rect.setArcWidth(4);
-                } else {
-                    rect.setFill(javafx.scene.paint.Color.TRANSPARENT);
-                }
-                panel.add(rect, j, i);
-            }
-        }
+    public void updateNextPiecesPreview(ViewData viewData) {
+        if (nextPreview != null) nextPreview.show(viewData);
     }
 
     /**
@@ -450,7 +561,6 @@ public class GuiController implements Initializable {
 
 
         showSprintNotification(target);
-        startSprintTimer();
     }
 
     private void showSprintNotification(int target) {
@@ -468,23 +578,15 @@ public class GuiController implements Initializable {
 
     }
 
-    private void startSprintTimer() {
-        sprintStartTime = System.currentTimeMillis();
-
-        sprintTimer = new javafx.animation.Timeline(
-                new javafx.animation.KeyFrame(javafx.util.Duration.millis(100), e -> updateTimerDisplay())
-        );
-        sprintTimer.setCycleCount(javafx.animation.Animation.INDEFINITE);
-        sprintTimer.play();
-    }
-
+    /**
+     * Refreshes the sprint timer label once per frame from the play timer in the latest
+     * snapshot. The label text is only replaced when the displayed value changes.
+     */
     private void updateTimerDisplay() {
-        if (timerLabel != null && sprintTarget > 0) {
-            long elapsed = System.currentTimeMillis() - sprintStartTime;
-            long seconds = (elapsed / 1000) % 60;
-            long minutes = (elapsed / 1000) / 60;
-            long millis = (elapsed % 1000) / 10;
-            timerLabel.setText(String.format("Time: %02d:%02d.%02d", minutes, seconds, millis));
+        if (timerLabel != null && sprintTarget > 0 && lastSnapshot != null) {
+            if (sprintTime.update(lastSnapshot.getElapsedNanos(simulation.getClock().nanoTime()))) {
+                timerLabel.setText(sprintTime.getText());
+            }
         }
     }
 
@@ -501,20 +603,18 @@ public class GuiController implements Initializable {
     }
 
     /**
-     * Handles the sprint mode win condition. Stops the game loop and timer,
-     * displays the win message with completion time, and transitions to GameOverState.
+     * Handles the sprint mode win condition. Displays the win message with the completion
+     * time, which the engine stamped when the final line was cleared, to the millisecond,
+     * and transitions to GameOverState.
      */
     public void gameWon() {
-        if (gameLoop != null) gameLoop.stop();
-        if (sprintTimer != null) sprintTimer.stop();
         currentState = new GameOverState();
         updateStateDisplay();
+        suspendRendering();
 
-        long elapsed = System.currentTimeMillis() - sprintStartTime;
-        long seconds = (elapsed / 1000) % 60;
-        long minutes = (elapsed / 1000) / 60;
-        long millis = (elapsed % 1000) / 10;
-        String finalTime = String.format("%02d:%02d.%02d", minutes, seconds, millis);
+        TimeFormatter finalTimeFormatter = new TimeFormatter("", 3);
+        finalTimeFormatter.update(lastSnapshot != null ? lastSnapshot.getElapsedNanos(simulation.getClock().nanoTime()) : 0);
+        String finalTime = finalTimeFormatter.getText();
 
         javafx.application.Platform.runLater(() -> {
             if (sprintNotification != null) {
@@ -526,18 +626,4 @@ public class GuiController implements Initializable {
             gameOverPanel.setVisible(true);
         });
     }
-
-
-    private javafx.scene.paint.Paint getColorForValue(int value) {
-        return switch (value) {
-            case 1 -> javafx.scene.paint.Color.AQUA;
-            case 2 -> javafx.scene.paint.Color.BLUEVIOLET;
-            case 3 -> javafx.scene.paint.Color.DARKGREEN;
-            case 4 -> javafx.scene.paint.Color.YELLOW;
-            case 5 -> javafx.scene.paint.Color.RED;
-            case 6 -> javafx.scene.paint.Color.BEIGE;
-            case 7 -> javafx.scene.paint.Color.BURLYWOOD;
-            default -> javafx.scene.paint.Color.WHITE;
-        };
-    }
 }
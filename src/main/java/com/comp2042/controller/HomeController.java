@@ -1,27 +1,76 @@
 package com.comp2042.controller;
 
-import com.comp2042.model.HighScore;
+import com.comp2042.core.SaveStore;
+import com.comp2042.model.GameMode;
+import com.comp2042.model.Leaderboard;
+import com.comp2042.model.LeaderboardEntry;
+import com.comp2042.model.ScoreService;
+import com.comp2042.util.TimeFormatter;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the home screen/main menu.
- * Handles navigation between the home screen and game modes (Classic and Sprint),
- * displays high score, and manages application exit.
+ * Handles navigation between the home screen, the game modes (Classic and Sprint)
+ * and the spectator wall, offers to resume a saved game, displays high score, and manages
+ * application exit.
  */
 public class HomeController {
 
     @FXML
     private Label highScoreDisplay;
 
-    private final HighScore highScore = new HighScore();
+    @FXML
+    private Button resumeButton;
+
+    private final ScoreService scoreService = ScoreService.getInstance();
+    private final SaveStore saveStore = SaveStore.getInstance();
+
+    /**
+     * Shows the "Resume" button when a saved game is available. Reads only the cached save;
+     * if it is still loading, the button appears once it is ready.
+     */
+    @FXML
+    public void initialize() {
+        if (resumeButton == null) return;
+        saveStore.loaded().thenRun(() -> Platform.runLater(() -> {
+            boolean available = saveStore.hasSave();
+            resumeButton.setVisible(available);
+            resumeButton.setManaged(available);
+        }));
+    }
+
+    /**
+     * Resumes the saved game.
+     * Called when the "Resume" button is clicked.
+     * 
+     * @param event the action event from the button click
+     */
+    @FXML
+    public void resumeGame(ActionEvent event) {
+        byte[] save = saveStore.getSave();
+        if (save == null) return;
+        GuiController guiController = showGameLayout();
+        if (guiController == null) return;
+        try {
+            GameController.resume(guiController, save);
+        } catch (IOException e) {
+            // The save cannot be used again; start a new game instead
+            System.err.println("Could not resume saved game: " + e.getMessage());
+            saveStore.delete();
+            new GameController(guiController, GameMode.CLASSIC);
+        }
+    }
 
     /**
      * Starts a new classic mode game.
@@ -51,34 +100,68 @@ public class HomeController {
      * @param mode the game mode to start (CLASSIC or SPRINT)
      */
     private void startGameWithMode(com.comp2042.model.GameMode mode) {
+        GuiController guiController = showGameLayout();
+        if (guiController != null) new GameController(guiController, mode);
+    }
+
+    /**
+     * Loads the game layout and shows it in this window.
+     * 
+     * @return the controller of the game layout, or null if it could not be loaded
+     */
+    private GuiController showGameLayout() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getClassLoader().getResource("gameLayout.fxml"));
             Parent gameRoot = loader.load();
-            GuiController guiController = loader.getController();
 
             Stage stage = (Stage) highScoreDisplay.getScene().getWindow();
             Scene gameScene = new Scene(gameRoot, 600, 510);
             stage.setScene(gameScene);
-
-            new GameController(guiController, mode);
+            return loader.getController();
 
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     /**
-     * Displays the current high score on the home screen.
-     * Called when the "High Score" button is clicked.
+     * Opens the spectator wall showing bot-played games.
+     * Called when the "Watch Bots" button is clicked.
+     * 
+     * @param event the action event from the button click
+     */
+    @FXML
+    public void watchBots(ActionEvent event) {
+        Stage stage = (Stage) highScoreDisplay.getScene().getWindow();
+        new SpectatorController(stage, 600, 510);
+    }
+
+    /**
+     * Displays the current high score and the best sprint time on the home screen.
+     * Called when the "High Score" button is clicked. Reads only the cached values of the
+     * shared {@link ScoreService}; if the scores are still loading, the display is
+     * refreshed once they are ready.
      * 
      * @param event the action event from the button click
      */
     @FXML
     public void showHighScore(ActionEvent event) {
-        if (highScoreDisplay != null) {
-            highScoreDisplay.setText("Best Score: " + highScore.getHighScore());
-            highScoreDisplay.setVisible(true);
+        if (highScoreDisplay == null) return;
+        Leaderboard leaderboard = scoreService.getLeaderboard();
+        String text = "Best Score: " + scoreService.getHighScore();
+        if (scoreService.isLoaded() && leaderboard.isLoaded()) {
+            LeaderboardEntry sprint = leaderboard.best(GameMode.SPRINT);
+            if (sprint != null) {
+                TimeFormatter formatter = new TimeFormatter("Best Sprint: ", 2);
+                formatter.update(sprint.getPlayNanos());
+                text += "\n" + formatter.getText();
+            }
+        } else {
+            CompletableFuture.allOf(scoreService.loaded(), leaderboard.loaded()).thenRun(() -> Platform.runLater(() -> showHighScore(event)));
         }
+        highScoreDisplay.setText(text);
+        highScoreDisplay.setVisible(true);
     }
 
     /**
@@ -89,6 +172,6 @@ public class HomeController {
      */
     @FXML
     public void exitGame(ActionEvent event) {
-        javafx.application.Platform.exit();
+        Platform.exit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.comp2042.controller;
+
+import com.comp2042.core.SpectatorFeed;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.view.FrameTimeStats;
+import com.comp2042.view.SpectatorWall;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Controller for the spectator wall, which shows many bot-played games at once.
+ * Creates a {@link SpectatorFeed} running the games in the background and a
+ * {@link SpectatorWall} drawing them. The number of boards is set with the
+ * {@code tetris.spectatorBoards} system property (16 by default, at most 64);
+ * Escape returns to the home screen.
+ */
+public class SpectatorController {
+
+    /** System property that sets the number of boards on the wall. */
+    public static final String BOARDS_PROPERTY = "tetris.spectatorBoards";
+
+    private static final int DEFAULT_BOARDS = 16;
+    private static final int STEPS_PER_ACTION = 6;
+
+    private final Stage stage;
+    private final SpectatorFeed feed;
+    private final SpectatorWall wall;
+
+    /**
+     * Constructs a SpectatorController and shows the wall in the specified stage.
+     *
+     * @param stage the stage to show the wall in
+     * @param width the width of the wall in pixels
+     * @param height the height of the wall in pixels
+     */
+    public SpectatorController(Stage stage, double width, double height) {
+        this.stage = stage;
+        int boards = Math.max(1, Math.min(SpectatorFeed.MAX_BOARDS, Integer.getInteger(BOARDS_PROPERTY, DEFAULT_BOARDS)));
+        long seed = Long.getLong("tetris.seed", ThreadLocalRandom.current().nextLong());
+        feed = new SpectatorFeed(boards, seed, new SystemGameClock(), STEPS_PER_ACTION);
+        wall = new SpectatorWall(feed, width, height);
+
+        StackPane root = new StackPane(wall.getCanvas());
+        Scene scene = new Scene(root, width, height);
+        scene.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ESCAPE) exitToHome();
+        });
+        stage.setScene(scene);
+
+        wall.start();
+        feed.start();
+    }
+
+    /**
+     * Stops the games and the wall, prints the wall's frame-time statistics when
+     * {@code tetris.frameStats} is set, and returns to the home screen.
+     */
+    public void exitToHome() {
+        wall.stop();
+        feed.shutdown();
+        if (FrameTimeStats.isPrintEnabled()) {
+            System.err.println(wall.getRenderStats().summary("spectator[" + feed.size() + " boards, " + wall.getDetail() + "]"));
+        }
+        try {
+            FXMLLoader loader = new FXMLLoader(getClass().getClassLoader().getResource("homeScreen.fxml"));
+            Parent homeRoot = loader.load();
+            stage.setScene(new Scene(homeRoot, 300, 510));
+        } catch (Exception e) {
+            e.printStackTrace();
+            javafx.application.Platform.exit();
+        }
+    }
+}
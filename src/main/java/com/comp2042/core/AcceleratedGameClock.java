@@ -0,0 +1,46 @@
+package com.comp2042.core;
+
+/**
+ * Clock that runs at a multiple of another clock's speed.
+ * Time starts at the base clock's reading when the accelerated clock is created
+ * and then advances {@code multiplier} times as fast.
+ */
+public final class AcceleratedGameClock implements GameClock {
+
+    private final GameClock base;
+    private final double multiplier;
+    private final long origin;
+
+    /**
+     * Constructs an AcceleratedGameClock.
+     *
+     * @param base the clock to accelerate
+     * @param multiplier how many times faster than the base clock to run (must be positive)
+     */
+    public AcceleratedGameClock(GameClock base, double multiplier) {
+        if (multiplier <= 0) {
+            throw new IllegalArgumentException("multiplier must be positive: " + multiplier);
+        }
+        this.base = base;
+        this.multiplier = multiplier;
+        this.origin = base.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Returns the base clock's elapsed time scaled by the multiplier.
+     */
+    @Override
+    public long nanoTime() {
+        return origin + (long) ((base.nanoTime() - origin) * multiplier);
+    }
+
+    /**
+     * Gets the speed multiplier.
+     *
+     * @return how many times faster than the base clock this clock runs
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+}
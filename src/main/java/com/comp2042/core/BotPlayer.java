@@ -0,0 +1,210 @@
+package com.comp2042.core;
+
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.util.MatrixOperations;
+import com.comp2042.view.ViewData;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Simple computer player used for spectator and soak-test games.
+ * When a new brick appears the bot tries every rotation and column, scores the resulting
+ * board by aggregate height, completed lines, holes and bumpiness, and then plays the
+ * best placement one action at a time: rotations first, then sideways moves, then a hard
+ * drop. It is meant to be used as a per-step hook, for example with
+ * {@link HeadlessRunner#setStepHook(Consumer)}; the bot is deterministic, so seeded games
+ * played by it can be replayed exactly. Remote games are played through
+ * {@link #act(int, int, int[][], ViewData, InputEventListener)}.
+ */
+public class BotPlayer implements Consumer<GameEngine> {
+
+    private static final MoveEvent LEFT = new MoveEvent(EventType.LEFT, EventSource.USER);
+    private static final MoveEvent RIGHT = new MoveEvent(EventType.RIGHT, EventSource.USER);
+    private static final MoveEvent ROTATE = new MoveEvent(EventType.ROTATE, EventSource.USER);
+    private static final MoveEvent HARD_DROP = new MoveEvent(EventType.HARD_DROP, EventSource.USER);
+
+    private static final double HEIGHT_WEIGHT = -0.510066;
+    private static final double LINES_WEIGHT = 0.760666;
+    private static final double HOLES_WEIGHT = -0.35663;
+    private static final double BUMPINESS_WEIGHT = -0.184483;
+
+    private static final Map<BrickFactory.BrickType, List<int[][]>> ROTATIONS = new EnumMap<>(BrickFactory.BrickType.class);
+
+    static {
+        for (BrickFactory.BrickType type : BrickFactory.getAllTypes()) {
+            ROTATIONS.put(type, BrickFactory.createBrick(type).getShapeMatrix());
+        }
+    }
+
+    private final int stepsPerAction;
+    private int stepCounter;
+
+    private int plannedGame = -1;
+    private int plannedBoard = -1;
+    private int rotationsLeft;
+    private int targetX;
+    private int lastX;
+
+    private int[][] scratch;
+    private int[] nonFullBelow;
+
+    /**
+     * Constructs a BotPlayer that acts on every simulation step.
+     */
+    public BotPlayer() {
+        this(1);
+    }
+
+    /**
+     * Constructs a BotPlayer that acts once every given number of simulation steps,
+     * which slows the bot down to a watchable pace.
+     *
+     * @param stepsPerAction the number of steps between two actions
+     */
+    public BotPlayer(int stepsPerAction) {
+        this.stepsPerAction = Math.max(1, stepsPerAction);
+    }
+
+    /**
+     * Called once per simulation step; performs at most one action.
+     *
+     * @param engine the engine to play
+     */
+    @Override
+    public void accept(GameEngine engine) {
+        if (engine.isFinished() || ++stepCounter < stepsPerAction) return;
+        stepCounter = 0;
+
+        GameSnapshot snapshot = engine.snapshot();
+        act(snapshot.getGameNumber(), snapshot.getBoardVersion(), snapshot.getBoardMatrix(), snapshot.getViewData(), engine);
+    }
+
+    /**
+     * Performs one action for the given state, which may come from a local engine or from
+     * a remote game. A new placement is planned whenever the game or board version changes;
+     * the action must have been applied before the next call describes the state again.
+     *
+     * @param gameNumber the number of the game being played
+     * @param boardVersion the version of the background board
+     * @param board the background board, without the falling brick
+     * @param view the falling brick
+     * @param target the listener that receives the action
+     */
+    public void act(int gameNumber, int boardVersion, int[][] board, ViewData view, InputEventListener target) {
+        if (gameNumber != plannedGame || boardVersion != plannedBoard) {
+            plannedGame = gameNumber;
+            plannedBoard = boardVersion;
+            plan(board, view);
+            lastX = Integer.MIN_VALUE;
+        }
+
+        if (rotationsLeft > 0) {
+            rotationsLeft--;
+            target.onRotateEvent(ROTATE);
+            return;
+        }
+        int x = view.getxPosition();
+        if (x == targetX || x == lastX) {
+            // Aligned, or the last sideways move was blocked
+            target.onHardDropEvent(HARD_DROP);
+            return;
+        }
+        lastX = x;
+        if (x < targetX) {
+            target.onRightEvent(RIGHT);
+        } else {
+            target.onLeftEvent(LEFT);
+        }
+    }
+
+    /**
+     * Chooses the rotation and column for the falling brick.
+     *
+     * @param board the background board
+     * @param view the falling brick at its spawn position
+     */
+    private void plan(int[][] board, ViewData view) {
+        rotationsLeft = 0;
+        targetX = view.getxPosition();
+        if (view.getBrickType() == null) return;
+
+        List<int[][]> shapes = ROTATIONS.get(view.getBrickType());
+        int spawnY = view.getyPosition();
+        int cols = board[0].length;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int rotation = 0; rotation < shapes.size(); rotation++) {
+            int[][] shape = shapes.get(rotation);
+            for (int x = -shape[0].length; x < cols; x++) {
+                if (MatrixOperations.intersect(board, shape, x, spawnY)) continue;
+                int y = spawnY;
+                while (!MatrixOperations.intersect(board, shape, x, y + 1)) y++;
+                double score = evaluate(board, shape, x, y);
+                if (score > best) {
+                    best = score;
+                    rotationsLeft = rotation;
+                    targetX = x;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scores the board that results from placing a shape, with completed rows removed.
+     */
+    private double evaluate(int[][] board, int[][] shape, int x, int y) {
+        int rows = board.length;
+        int cols = board[0].length;
+        if (scratch == null || scratch.length != rows || scratch[0].length != cols) {
+            scratch = new int[rows][cols];
+            nonFullBelow = new int[rows + 1];
+        }
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(board[i], 0, scratch[i], 0, cols);
+        }
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) scratch[y + i][x + j] = shape[i][j];
+            }
+        }
+
+        int lines = 0;
+        nonFullBelow[rows] = 0;
+        for (int i = rows - 1; i >= 0; i--) {
+            boolean full = true;
+            for (int j = 0; j < cols && full; j++) {
+                full = scratch[i][j] != 0;
+            }
+            if (full) lines++;
+            nonFullBelow[i] = nonFullBelow[i + 1] + (full ? 0 : 1);
+        }
+
+        int aggregateHeight = 0;
+        int holes = 0;
+        int bumpiness = 0;
+        int previousHeight = -1;
+        for (int j = 0; j < cols; j++) {
+            int height = 0;
+            for (int i = 0; i < rows; i++) {
+                boolean full = nonFullBelow[i] == nonFullBelow[i + 1];
+                if (full) continue;
+                if (scratch[i][j] != 0) {
+                    if (height == 0) height = nonFullBelow[i];
+                } else if (height > 0) {
+                    holes++;
+                }
+            }
+            aggregateHeight += height;
+            if (previousHeight >= 0) bumpiness += Math.abs(height - previousHeight);
+            previousHeight = height;
+        }
+        return HEIGHT_WEIGHT * aggregateHeight + LINES_WEIGHT * lines
+                + HOLES_WEIGHT * holes + BUMPINESS_WEIGHT * bumpiness;
+    }
+}
@@ -0,0 +1,17 @@
+package com.comp2042.core;
+
+/**
+ * Source of time for the game loop, level speed and play timer.
+ * All game timing reads the current time through a clock rather than from the system
+ * directly, so tests and headless simulations can step time manually or run it faster
+ * than real time while producing exactly the same results.
+ */
+public interface GameClock {
+
+    /**
+     * Gets the current time on this clock. Only differences between readings are meaningful.
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime();
+}
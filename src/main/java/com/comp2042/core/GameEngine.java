@@ -0,0 +1,494 @@
+package com.comp2042.core;
+
+import com.comp2042.event.DownData;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.Board;
+import com.comp2042.model.ClearRow;
+import com.comp2042.model.GameMode;
+import com.comp2042.model.GameStats;
+import com.comp2042.model.GameStatsCollector;
+import com.comp2042.model.GameTimer;
+import com.comp2042.model.Level;
+import com.comp2042.model.SimpleBoard;
+import com.comp2042.view.ViewData;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Headless game logic for a single game session.
+ * Owns the board, level, game mode and play timer, applies input and gravity events, and
+ * detects game over and sprint completion. The timer is stopped when the deciding brick
+ * locks, so sprint times are exact to the nanosecond clock.
+ * The engine has no JavaFX dependencies on the scene graph and is confined to one thread.
+ * Other threads observe it only through the immutable {@link GameSnapshot}s it produces.
+ * Key presses, locked pieces and level times are counted by a {@link GameStatsCollector},
+ * whose {@link GameStats} are handed to the stats listener when a game ends. Moves
+ * repeated by a held key come from {@link EventSource#REPEAT} and are not counted.
+ */
+public class GameEngine implements InputEventListener {
+
+    private static final int BOARD_ROWS = 25;
+    private static final int BOARD_COLS = 10;
+    private static final int SPRINT_TARGET = 3;
+    private static final MoveEvent GRAVITY = new MoveEvent(EventType.DOWN, EventSource.THREAD);
+
+    private final Board board;
+    private final RandomBrickGenerator generator;
+    private final long seed;
+    private final Level level = new Level();
+    private final GameMode gameMode;
+    private final GameClock clock;
+    private final GameTimer timer = new GameTimer();
+    private final GameStatsCollector stats = new GameStatsCollector();
+    private Consumer<GameStats> statsListener;
+    private IntConsumer clearListener;
+
+    private int gameNumber;
+    private long version;
+    private int boardVersion;
+    private int clearCount;
+    private ClearRow lastClear;
+    private boolean gameOver;
+    private boolean gameWon;
+    private int[][] publishedBoard;
+    private int publishedBoardVersion = -1;
+
+    /**
+     * Constructs a GameEngine for the specified game mode on the real-time clock,
+     * with a random brick sequence, and spawns the first brick.
+     *
+     * @param gameMode the game mode to play (CLASSIC or SPRINT)
+     */
+    public GameEngine(GameMode gameMode) {
+        this(gameMode, new SystemGameClock(), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a GameEngine with a seeded brick sequence. Two engines created with the
+     * same seed and driven by the same inputs on manual clocks produce identical games.
+     *
+     * @param gameMode the game mode to play (CLASSIC or SPRINT)
+     * @param clock the clock used for the play timer and by the loop that drives this engine
+     * @param seed the seed for the brick sequence
+     */
+    public GameEngine(GameMode gameMode, GameClock clock, long seed) {
+        this.gameMode = gameMode;
+        this.clock = clock;
+        this.seed = seed;
+        this.generator = new RandomBrickGenerator(seed);
+        this.board = new SimpleBoard(BOARD_ROWS, BOARD_COLS, generator);
+        board.createNewBrick();
+    }
+
+    private long now() {
+        return clock.nanoTime();
+    }
+
+    /**
+     * Starts or resumes the play timer.
+     *
+     * @param now the time to resume from, in nanoseconds
+     */
+    public void resumeTimer(long now) {
+        if (isFinished() || timer.isRunning()) return;
+        timer.resume(now);
+        version++;
+    }
+
+    /**
+     * Pauses the play timer.
+     *
+     * @param now the time at which the game was paused, in nanoseconds
+     */
+    public void pauseTimer(long now) {
+        if (!timer.isRunning()) return;
+        timer.pause(now);
+        version++;
+    }
+
+    /**
+     * Advances gravity by one cell, as triggered by the game loop.
+     */
+    public void tick() {
+        // Same as a down event, without building view data nobody reads
+        if (!isFinished()) moveDown(GRAVITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Moves the brick down, merges it when blocked, clears rows, updates score and level,
+     * and checks for game over or sprint win conditions.
+     */
+    @Override
+    public DownData onDownEvent(MoveEvent event) {
+        if (isFinished()) return new DownData(null, board.getViewData());
+        return new DownData(moveDown(event), board.getViewData());
+    }
+
+    /**
+     * Moves the brick down one cell, locking it when blocked.
+     *
+     * @param event the event that moved the brick
+     * @return the result of clearing rows if the brick locked, or null if it moved
+     */
+    private ClearRow moveDown(MoveEvent event) {
+        if (event.getEventSource() == EventSource.USER) stats.onInput();
+        version++;
+        if (!board.moveBrickDown()) {
+            return lockBrick();
+        }
+        if (event.getEventSource() != EventSource.THREAD) {
+            board.getScore().add(1);
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Moves the current brick left.
+     */
+    @Override
+    public ViewData onLeftEvent(MoveEvent event) {
+        countInput(event);
+        if (!isFinished() && board.moveBrickLeft()) version++;
+        return board.getViewData();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Moves the current brick right.
+     */
+    @Override
+    public ViewData onRightEvent(MoveEvent event) {
+        countInput(event);
+        if (!isFinished() && board.moveBrickRight()) version++;
+        return board.getViewData();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Rotates the current brick counter-clockwise.
+     */
+    @Override
+    public ViewData onRotateEvent(MoveEvent event) {
+        countInput(event);
+        if (!isFinished() && board.rotateLeftBrick()) version++;
+        return board.getViewData();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Drops the brick to its lowest position, merges it and clears rows.
+     */
+    @Override
+    public DownData onHardDropEvent(MoveEvent event) {
+        if (isFinished()) return new DownData(null, board.getViewData());
+        countInput(event);
+        version++;
+        board.hardDrop();
+        return new DownData(lockBrick(), board.getViewData());
+    }
+
+    /**
+     * {@inheritDoc}
+     * Clears the board, resets the level and starts the next game number.
+     */
+    @Override
+    public void createNewGame() {
+        board.newGame();
+        level.reset();
+        gameOver = false;
+        gameWon = false;
+        lastClear = null;
+        timer.restart(now());
+        stats.start(0, level.getLevel(), false);
+        gameNumber++;
+        boardVersion++;
+        version++;
+    }
+
+    /**
+     * Merges the current brick, clears completed rows, applies score and level changes,
+     * and spawns the next brick unless the sprint target has been reached.
+     *
+     * @return the result of clearing rows
+     */
+    private ClearRow lockBrick() {
+        board.mergeBrickToBackground();
+        ClearRow clearRow = board.clearRows();
+        boardVersion++;
+        if (clearRow.getLinesRemoved() > 0) {
+            board.getScore().add(clearRow.getScoreBonus());
+            level.addLines(clearRow.getLinesRemoved());
+            lastClear = clearRow;
+            clearCount++;
+            if (clearListener != null) clearListener.accept(clearRow.getLinesRemoved());
+        }
+        stats.onPieceLocked(clearRow.getLinesRemoved(), level.getLevel(), timer.elapsedNanos(now()));
+        if (gameMode == GameMode.SPRINT && clearRow.getLinesRemoved() > 0 && level.getLinesCleared() >= SPRINT_TARGET) {
+            timer.pause(now());
+            gameWon = true;
+            publishStats();
+            return clearRow;
+        }
+        if (board.createNewBrick()) {
+            timer.pause(now());
+            gameOver = true;
+            publishStats();
+        }
+        return clearRow;
+    }
+
+    /**
+     * Pushes the stack up by garbage rows sent by an opponent. Ends the game if the stack
+     * is pushed off the top or the falling brick has no room left.
+     *
+     * @param lines the number of garbage rows
+     * @param holeColumn the column left empty in every garbage row
+     * @throws IllegalArgumentException if the hole column is not a column of the board
+     */
+    public void addGarbage(int lines, int holeColumn) {
+        if (isFinished() || lines <= 0) return;
+        if (board.addGarbage(lines, holeColumn)) {
+            timer.pause(now());
+            gameOver = true;
+            publishStats();
+        }
+        boardVersion++;
+        version++;
+    }
+
+    /**
+     * Sets a listener called on the engine's thread with the number of lines removed by
+     * every line clear, for example to send garbage to an opponent. It may change other
+     * engines but must not change this one.
+     *
+     * @param clearListener the listener, or null for none
+     */
+    public void setClearListener(IntConsumer clearListener) {
+        this.clearListener = clearListener;
+    }
+
+    private void countInput(MoveEvent event) {
+        if (!isFinished() && event != null && event.getEventSource() == EventSource.USER) stats.onInput();
+    }
+
+    /**
+     * Hands the statistics of the game that just ended to the stats listener.
+     */
+    private void publishStats() {
+        Consumer<GameStats> listener = statsListener;
+        if (listener == null) return;
+        int[][] matrix = board.getBoardMatrix();
+        int top = 0;
+        while (top < matrix.length && isEmptyRow(matrix[top])) top++;
+        listener.accept(stats.finish(gameMode, gameOver, gameWon, System.currentTimeMillis(), seed,
+                timer.elapsedNanos(now()), board.getScore().scoreProperty().get(), level.getLinesCleared(),
+                matrix.length - top));
+    }
+
+    private static boolean isEmptyRow(int[] row) {
+        for (int cell : row) {
+            if (cell != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Sets a listener called on the engine's thread with the statistics of every game
+     * that ends. Must be set before the engine is started and must return quickly.
+     *
+     * @param statsListener the listener, or null for none
+     */
+    public void setStatsListener(Consumer<GameStats> statsListener) {
+        this.statsListener = statsListener;
+    }
+
+    /**
+     * Gets the collector counting the statistics of the current game.
+     *
+     * @return the statistics collector
+     */
+    public GameStatsCollector getStatsCollector() {
+        return stats;
+    }
+
+    /**
+     * Builds an immutable snapshot of the current engine state.
+     *
+     * @return a snapshot that can be safely handed to another thread
+     */
+    public GameSnapshot snapshot() {
+        // The board only changes on merges and clears, so its copy is shared between snapshots
+        if (publishedBoardVersion != boardVersion) {
+            publishedBoard = board.getBoardMatrix();
+            publishedBoardVersion = boardVersion;
+        }
+        return new GameSnapshot(version, gameNumber, boardVersion, publishedBoard, board.getViewData(),
+                board.getScore().scoreProperty().get(), level.getLevel(), level.getLinesCleared(),
+                clearCount, lastClear, gameOver, gameWon, timer.getAccumulatedNanos(), timer.getStartedAt(),
+                timer.isRunning());
+    }
+
+    /**
+     * Checks whether the game has ended, either by topping out or by winning a sprint.
+     *
+     * @return true if no further moves are accepted
+     */
+    public boolean isFinished() {
+        return gameOver || gameWon;
+    }
+
+    /**
+     * Gets the version counter, which changes whenever the visible state changes.
+     *
+     * @return the current state version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of the game currently being played, incremented on every new game.
+     *
+     * @return the current game number
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Gets the clock this engine stamps its play timer with.
+     *
+     * @return the game clock
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the Level instance for this game session.
+     *
+     * @return the Level object
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the game mode of this session.
+     *
+     * @return the game mode
+     */
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    /**
+     * Gets the seed the brick sequence of this session was started with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the rotation state of the falling brick, which together with its type
+     * determines its shape.
+     *
+     * @return the rotation index (0-based)
+     */
+    public int getBrickRotation() {
+        return board.getBrickRotation();
+    }
+
+    /**
+     * Gets the board, for saving and restoring the game.
+     *
+     * @return the board
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the brick generator, for saving and restoring the game.
+     *
+     * @return the brick generator
+     */
+    RandomBrickGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Gets the play timer, for saving and restoring the game.
+     *
+     * @return the play timer
+     */
+    GameTimer getTimer() {
+        return timer;
+    }
+
+    /**
+     * Gets the number of line clears in the current game.
+     *
+     * @return the clear count
+     */
+    int getClearCount() {
+        return clearCount;
+    }
+
+    /**
+     * Checks whether the current game ended by topping out.
+     *
+     * @return true after a game over
+     */
+    boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Checks whether the current sprint was won.
+     *
+     * @return true once the sprint target was reached
+     */
+    boolean isGameWon() {
+        return gameWon;
+    }
+
+    /**
+     * Restores the engine's counters after the board, generator, score, level and timer
+     * have been restored, and marks the whole state as changed.
+     *
+     * @param gameNumber the game number
+     * @param clearCount the number of line clears
+     * @param gameOver whether the game ended by topping out
+     * @param gameWon whether the sprint target was reached
+     */
+    void restore(int gameNumber, int clearCount, boolean gameOver, boolean gameWon) {
+        this.gameNumber = gameNumber;
+        this.clearCount = clearCount;
+        this.gameOver = gameOver;
+        this.gameWon = gameWon;
+        this.lastClear = null;
+        stats.start(timer.elapsedNanos(now()), level.getLevel(), true);
+        boardVersion++;
+        version++;
+    }
+
+    /**
+     * Gets the number of lines to clear to win in sprint mode.
+     *
+     * @return the sprint target line count
+     */
+    public int getSprintTarget() {
+        return SPRINT_TARGET;
+    }
+}
@@ -1,38 +1,96 @@
 package com.comp2042.core;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
+import java.util.function.DoubleConsumer;
 
 /**
- * Manages the game's timing loop using JavaFX Timeline.
- * Provides periodic execution of game logic at specified intervals,
- * with the ability to start, stop, and adjust the tick interval.
+ * Manages the game's timing loop using a fixed simulation step.
+ * The owning thread (see {@link SimulationThread}) calls {@link #advance()}, which reads the
+ * loop's {@link GameClock}; the loop accumulates elapsed nanoseconds and advances the
+ * simulation in fixed steps. Gravity is accumulated separately, so the tick interval can change at any
+ * time without rebuilding the loop or resetting its phase, and several gravity ticks can
+ * run within a single frame when the interval is short.
  */
 public class GameLoop {
-    private Timeline timeline;
+
+    /** Length of one simulation step in nanoseconds (120 steps per second). */
+    public static final long STEP_NANOS = 1_000_000_000L / 120;
+
+    /** Longest frame that is simulated in one go, so a long stall cannot snowball. */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private final GameClock clock;
     private Runnable tickCallback;
-    private double intervalMs;
+    private Runnable stepCallback;
+    private DoubleConsumer renderCallback;
+    private long intervalNanos;
+    private long lastFrameNanos;
+    private boolean started;
+    private long stepAccumulator;
+    private long gravityAccumulator;
+    private boolean running;
 
     /**
-     * Constructs a GameLoop with the specified callback and initial interval.
-     * 
+     * Constructs a GameLoop on the real-time clock with the specified callback and initial interval.
+     *
      * @param tickCallback the Runnable to execute on each game tick
      * @param initialIntervalMs the initial interval between ticks in milliseconds
      */
     public GameLoop(Runnable tickCallback, double initialIntervalMs) {
+        this(tickCallback, initialIntervalMs, new SystemGameClock());
+    }
+
+    /**
+     * Constructs a GameLoop with the specified callback, initial interval and clock.
+     *
+     * @param tickCallback the Runnable to execute on each game tick
+     * @param initialIntervalMs the initial interval between ticks in milliseconds
+     * @param clock the clock the loop reads the current time from
+     */
+    public GameLoop(Runnable tickCallback, double initialIntervalMs, GameClock clock) {
         this.tickCallback = tickCallback;
-        this.intervalMs = initialIntervalMs;
-        createTimeline();
+        this.intervalNanos = toNanos(initialIntervalMs);
+        this.clock = clock;
     }
 
     /**
-     * Creates a new Timeline with the current interval setting.
-     * The timeline runs indefinitely, calling the tick callback at each interval.
+     * Advances the loop to the clock's current time. Runs as many fixed simulation steps
+     * as fit into the elapsed time, then invokes the render callback once with the fraction
+     * of a step left over in the accumulator.
      */
-    private void createTimeline() {
-        timeline = new Timeline(new KeyFrame(Duration.millis(intervalMs), e -> runTick()));
-        timeline.setCycleCount(Timeline.INDEFINITE);
+    public void advance() {
+        if (!running) return;
+        long nowNanos = clock.nanoTime();
+        if (!started) {
+            lastFrameNanos = nowNanos;
+            started = true;
+            return;
+        }
+
+        long frameNanos = Math.min(nowNanos - lastFrameNanos, MAX_FRAME_NANOS);
+        lastFrameNanos = nowNanos;
+        stepAccumulator += Math.max(frameNanos, 0);
+
+        while (running && stepAccumulator >= STEP_NANOS) {
+            stepAccumulator -= STEP_NANOS;
+            step();
+        }
+
+        if (renderCallback != null) {
+            renderCallback.accept((double) stepAccumulator / STEP_NANOS);
+        }
+    }
+
+    /**
+     * Runs a single fixed simulation step: the step callback first, then one gravity
+     * tick for every full interval accumulated.
+     */
+    private void step() {
+        if (stepCallback != null) stepCallback.run();
+        gravityAccumulator += STEP_NANOS;
+        while (running && gravityAccumulator >= intervalNanos) {
+            gravityAccumulator -= intervalNanos;
+            runTick();
+        }
     }
 
     /**
@@ -43,50 +101,94 @@ public class GameLoop {
     }
 
     /**
-     * Starts the game loop. Creates a new timeline if one doesn't exist.
+     * Starts the game loop. The first frame after starting only records the time,
+     * so no steps are simulated for the time the loop was stopped.
      */
     public void start() {
-        if (timeline == null) createTimeline();
-        timeline.play();
+        if (running) return;
+        running = true;
+        started = false;
     }
 
     /**
      * Stops the game loop.
      */
     public void stop() {
-        if (timeline != null) timeline.stop();
+        running = false;
+        started = false;
     }
 
     /**
      * Checks if the game loop is currently running.
-     * 
-     * @return true if the timeline is running, false otherwise
+     *
+     * @return true if the loop is running, false otherwise
      */
     public boolean isRunning() {
-        return timeline != null && timeline.getStatus() == javafx.animation.Animation.Status.RUNNING;
+        return running;
     }
 
     /**
      * Sets a new interval for the game loop.
-     * If the loop is currently running, it restarts with the new interval.
-     * 
+     * Takes effect from the next simulation step; the loop keeps running and the
+     * gravity time already accumulated is carried over.
+     *
      * @param intervalMs the new interval between ticks in milliseconds
      */
     public void setInterval(double intervalMs) {
-        this.intervalMs = intervalMs;
-        boolean running = isRunning();
-        if (timeline != null) timeline.stop();
-        createTimeline();
-        if (running) timeline.play();
+        this.intervalNanos = toNanos(intervalMs);
+    }
+
+    /**
+     * Sets a new interval for the game loop in clock nanoseconds.
+     *
+     * @param intervalNanos the new interval between ticks in nanoseconds
+     * @see #setInterval(double)
+     */
+    public void setIntervalNanos(long intervalNanos) {
+        this.intervalNanos = Math.max(1L, intervalNanos);
+    }
+
+    /**
+     * Gets the clock this loop reads time from.
+     *
+     * @return the game clock
+     */
+    public GameClock getClock() {
+        return clock;
     }
 
     /**
      * Sets or changes the tick callback that executes on each game tick.
-     * 
+     *
      * @param tickCallback the Runnable to execute on each tick
      */
     public void setTickCallback(Runnable tickCallback) {
         this.tickCallback = tickCallback;
     }
-}
 
+    /**
+     * Sets the callback invoked at the start of every fixed simulation step,
+     * before gravity is applied. Input is processed here so that it is evaluated
+     * at the same rate regardless of frame timing.
+     *
+     * @param stepCallback the Runnable to execute on each step
+     */
+    public void setStepCallback(Runnable stepCallback) {
+        this.stepCallback = stepCallback;
+    }
+
+    /**
+     * Sets the callback invoked once per frame after the simulation steps have run.
+     * The callback receives the interpolation factor between the last step and the next,
+     * in the range [0, 1).
+     *
+     * @param renderCallback the consumer to call with the interpolation factor
+     */
+    public void setRenderCallback(DoubleConsumer renderCallback) {
+        this.renderCallback = renderCallback;
+    }
+
+    private static long toNanos(double intervalMs) {
+        return Math.max(1L, (long) (intervalMs * 1_000_000L));
+    }
+}
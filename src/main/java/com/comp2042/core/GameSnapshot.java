@@ -0,0 +1,191 @@
+package com.comp2042.core;
+
+import com.comp2042.model.ClearRow;
+import com.comp2042.util.MatrixOperations;
+import com.comp2042.view.ViewData;
+
+/**
+ * Immutable view of a game engine's state at one point in time.
+ * Snapshots are produced on the simulation thread and published to the UI thread,
+ * which renders the most recent one on each pulse. Because a snapshot is never modified
+ * after construction it can be shared between threads without locking.
+ */
+public final class GameSnapshot {
+
+    private final long version;
+    private final int gameNumber;
+    private final int boardVersion;
+    private final int[][] boardMatrix;
+    private final ViewData viewData;
+    private final int score;
+    private final int level;
+    private final int linesCleared;
+    private final int clearCount;
+    private final ClearRow lastClear;
+    private final boolean gameOver;
+    private final boolean gameWon;
+    private final long timerAccumulatedNanos;
+    private final long timerStartedAt;
+    private final boolean timerRunning;
+
+    /**
+     * Constructs a GameSnapshot. The board matrix must be a private copy owned by the snapshot.
+     *
+     * @param version the engine state version this snapshot was taken at
+     * @param gameNumber the number of the game in progress
+     * @param boardVersion the version of the background board, changed on every merge or clear
+     * @param boardMatrix a private copy of the board matrix
+     * @param viewData the view data of the falling brick and preview
+     * @param score the current score
+     * @param level the current level
+     * @param linesCleared the total lines cleared in this game
+     * @param clearCount the number of line clears so far, used to detect new clears
+     * @param lastClear the most recent line clear, or null if none happened yet
+     * @param gameOver whether the game ended by topping out
+     * @param gameWon whether the sprint target was reached
+     * @param timerAccumulatedNanos play time accumulated before the current running segment
+     * @param timerStartedAt start of the current running segment, ignored if the timer is stopped
+     * @param timerRunning whether the play timer is running
+     */
+    public GameSnapshot(long version, int gameNumber, int boardVersion, int[][] boardMatrix, ViewData viewData,
+                        int score, int level, int linesCleared, int clearCount, ClearRow lastClear,
+                        boolean gameOver, boolean gameWon, long timerAccumulatedNanos, long timerStartedAt,
+                        boolean timerRunning) {
+        this.version = version;
+        this.gameNumber = gameNumber;
+        this.boardVersion = boardVersion;
+        this.boardMatrix = boardMatrix;
+        this.viewData = viewData;
+        this.score = score;
+        this.level = level;
+        this.linesCleared = linesCleared;
+        this.clearCount = clearCount;
+        this.lastClear = lastClear;
+        this.gameOver = gameOver;
+        this.gameWon = gameWon;
+        this.timerAccumulatedNanos = timerAccumulatedNanos;
+        this.timerStartedAt = timerStartedAt;
+        this.timerRunning = timerRunning;
+    }
+
+    /**
+     * Gets the engine state version this snapshot was taken at.
+     *
+     * @return the state version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of the game in progress when the snapshot was taken.
+     *
+     * @return the game number
+     */
+    public int getGameNumber() {
+        return gameNumber;
+    }
+
+    /**
+     * Gets the version of the background board. Renderers only need to redraw
+     * the board when this value changes.
+     *
+     * @return the board version
+     */
+    public int getBoardVersion() {
+        return boardVersion;
+    }
+
+    /**
+     * Gets a copy of the board matrix.
+     *
+     * @return a copy of the board matrix
+     */
+    public int[][] getBoardMatrix() {
+        return MatrixOperations.copy(boardMatrix);
+    }
+
+    /**
+     * Gets the view data of the falling brick, ghost and upcoming bricks.
+     *
+     * @return the view data
+     */
+    public ViewData getViewData() {
+        return viewData;
+    }
+
+    /**
+     * Gets the score at the time of the snapshot.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the level at the time of the snapshot.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the total number of lines cleared in this game.
+     *
+     * @return the lines cleared
+     */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    /**
+     * Gets the number of line clears that have happened in this game.
+     * A change in this value between snapshots means a new clear occurred.
+     *
+     * @return the clear count
+     */
+    public int getClearCount() {
+        return clearCount;
+    }
+
+    /**
+     * Gets the most recent line clear.
+     *
+     * @return the last ClearRow, or null if no lines were cleared yet
+     */
+    public ClearRow getLastClear() {
+        return lastClear;
+    }
+
+    /**
+     * Checks whether the game ended by topping out.
+     *
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Checks whether the sprint target was reached.
+     *
+     * @return true if the game was won
+     */
+    public boolean isGameWon() {
+        return gameWon;
+    }
+
+    /**
+     * Gets the play time at the given moment. While the timer runs the result keeps
+     * increasing between snapshots; once the game is paused or over it is fixed.
+     *
+     * @param now the current time in nanoseconds, on the same clock as the engine
+     * @return the elapsed play time in nanoseconds
+     */
+    public long getElapsedNanos(long now) {
+        return timerRunning ? timerAccumulatedNanos + Math.max(0, now - timerStartedAt) : timerAccumulatedNanos;
+    }
+}
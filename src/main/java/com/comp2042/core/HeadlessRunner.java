@@ -0,0 +1,84 @@
+package com.comp2042.core;
+
+import com.comp2042.model.GameMode;
+
+import java.util.function.Consumer;
+
+/**
+ * Runs a {@link GameEngine} without a window on a {@link ManualGameClock}.
+ * The clock is advanced one simulation step at a time and the engine is driven by the same
+ * {@link GameLoop} the live game uses, so an hour of play takes only as long as the CPU needs
+ * to compute it. Runs with the same seed and the same step hook produce identical games.
+ */
+public class HeadlessRunner {
+
+    private final ManualGameClock clock = new ManualGameClock();
+    private final GameEngine engine;
+    private final GameLoop gameLoop;
+    private Consumer<GameEngine> stepHook;
+
+    /**
+     * Constructs a HeadlessRunner for a new seeded game.
+     *
+     * @param gameMode the game mode to play
+     * @param seed the seed for the brick sequence
+     */
+    public HeadlessRunner(GameMode gameMode, long seed) {
+        this.engine = new GameEngine(gameMode, clock, seed);
+        this.gameLoop = new GameLoop(engine::tick, engine.getLevel().getSpeedForCurrentLevel(), clock);
+        this.gameLoop.setStepCallback(this::onStep);
+    }
+
+    /**
+     * Sets a hook called once per simulation step before gravity is applied,
+     * for example to feed moves from a bot.
+     *
+     * @param stepHook the hook receiving the engine, or null for none
+     */
+    public void setStepHook(Consumer<GameEngine> stepHook) {
+        this.stepHook = stepHook;
+    }
+
+    private void onStep() {
+        if (stepHook != null) stepHook.accept(engine);
+    }
+
+    /**
+     * Simulates up to the given amount of game time, stopping early when the game ends.
+     *
+     * @param durationNanos the game time to simulate in nanoseconds
+     * @return the simulated time that actually elapsed, in nanoseconds
+     */
+    public long run(long durationNanos) {
+        long start = clock.nanoTime();
+        engine.resumeTimer(start);
+        gameLoop.start();
+        gameLoop.advance();
+        while (!engine.isFinished() && clock.nanoTime() - start < durationNanos) {
+            clock.advance(GameLoop.STEP_NANOS);
+            gameLoop.advance();
+            gameLoop.setIntervalNanos(engine.getLevel().getGravityNanos());
+        }
+        gameLoop.stop();
+        engine.pauseTimer(clock.nanoTime());
+        return clock.nanoTime() - start;
+    }
+
+    /**
+     * Gets the engine being simulated.
+     *
+     * @return the game engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the manual clock the run is stepped on.
+     *
+     * @return the game clock
+     */
+    public ManualGameClock getClock() {
+        return clock;
+    }
+}
@@ -0,0 +1,29 @@
+package com.comp2042.core;
+
+/**
+ * Clock that only moves when told to.
+ * Used by tests and headless runs to step the game deterministically,
+ * as fast as the CPU allows.
+ */
+public final class ManualGameClock implements GameClock {
+
+    private long now;
+
+    /**
+     * {@inheritDoc}
+     * Returns the time the clock was last advanced to.
+     */
+    @Override
+    public long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param nanos the amount of time to advance by, in nanoseconds
+     */
+    public void advance(long nanos) {
+        now += Math.max(0, nanos);
+    }
+}
@@ -0,0 +1,295 @@
+package com.comp2042.core;
+
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import com.comp2042.model.Board;
+import com.comp2042.model.GameMode;
+import com.comp2042.view.ViewData;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Compact, versioned binary encoding of a complete game state.
+ * Everything needed to continue a game exactly is stored: the board, the falling brick and
+ * its rotation, the brick generator's random state and queue, score, lines, play time and
+ * the engine's counters. Each board row is stored as a bit mask of occupied cells followed
+ * by the piece type of every occupied cell packed two to a byte, so empty rows cost two
+ * bytes and a typical save is a few hundred bytes. A CRC32 of the whole encoding is
+ * appended. Saving a game and restoring it on a manual clock yields an engine that plays
+ * on identically to the original, so the format also serves tools that need to store or
+ * ship game states. A save can be marked as a practice game, which the caller reads back
+ * with {@link #isPractice(byte[])} so that resuming it does not make it count.
+ * <p>
+ * Layout, big-endian: magic, version, mode, rows, columns, seed, game number, clear count,
+ * score, lines, play time, flags, brick type, rotation, x, y, random state, queue length,
+ * queued types, rows, CRC32.
+ */
+public final class SaveCodec {
+
+    /** Version of the encoding written by {@link #encode(GameEngine)}. */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x54534156;
+    private static final int FIXED_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 8 + 1 + 4 + 8 + 1 + 4;
+    private static final int MAX_QUEUE = 255;
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_GAME_WON = 2;
+    private static final int FLAG_PRACTICE = 4;
+    private static final int FLAGS_OFFSET = 4 + 1 + 1 + 1 + 1 + 8 + 4 + 4 + 4 + 4 + 8;
+    private static final GameMode[] MODES = GameMode.values();
+    private static final BrickFactory.BrickType[] TYPES = BrickFactory.getAllTypes();
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private SaveCodec() {
+
+    }
+
+    /**
+     * Encodes the state of an engine. Must be called on the thread that owns the engine,
+     * or while no thread is running it.
+     *
+     * @param engine the engine to save
+     * @return the encoded state
+     */
+    public static byte[] encode(GameEngine engine) {
+        return encode(engine, false);
+    }
+
+    /**
+     * Encodes the state of an engine, marked as a practice game or not. Must be called on
+     * the thread that owns the engine, or while no thread is running it.
+     *
+     * @param engine the engine to save
+     * @param practice true if the game must not be ranked when it is resumed
+     * @return the encoded state
+     */
+    public static byte[] encode(GameEngine engine, boolean practice) {
+        ByteBuffer out = ByteBuffer.allocate(maxBytes(engine));
+        int length = write(engine, practice, out);
+        return Arrays.copyOf(out.array(), length);
+    }
+
+    /**
+     * Checks whether a save was marked as a practice game by
+     * {@link #encode(GameEngine, boolean)}.
+     *
+     * @param data the encoded state
+     * @return true if the save is of a practice game
+     * @throws IOException if the data is too short to be a save
+     */
+    public static boolean isPractice(byte[] data) throws IOException {
+        if (data.length < FIXED_BYTES) throw new IOException("save too short: " + data.length + " bytes");
+        return (data[FLAGS_OFFSET] & FLAG_PRACTICE) != 0;
+    }
+
+    /**
+     * Gets the size of the largest encoding of an engine's state, for sizing the buffers
+     * passed to {@link #encode(GameEngine, ByteBuffer)}.
+     *
+     * @param engine the engine to be saved
+     * @return the maximum encoded size in bytes
+     */
+    public static int maxBytes(GameEngine engine) {
+        int[][] matrix = engine.getBoard().getBoardMatrix();
+        int cols = matrix[0].length;
+        return FIXED_BYTES + MAX_QUEUE + matrix.length * ((cols + 7) / 8 + (cols + 1) / 2);
+    }
+
+    /**
+     * Encodes the state of an engine into a buffer, without allocating a new array, so
+     * states can be saved many times a second. Must be called on the thread that owns the
+     * engine, or while no thread is running it.
+     *
+     * @param engine the engine to save
+     * @param out the buffer to write to; needs {@link #maxBytes(GameEngine)} bytes free
+     * @return the number of bytes written
+     */
+    public static int encode(GameEngine engine, ByteBuffer out) {
+        return write(engine, false, out);
+    }
+
+    private static int write(GameEngine engine, boolean practice, ByteBuffer out) {
+        Board board = engine.getBoard();
+        int[][] matrix = board.getBoardMatrix();
+        int cols = matrix[0].length;
+        int maskBytes = (cols + 7) / 8;
+        RandomBrickGenerator generator = engine.getGenerator();
+        BrickFactory.BrickType[] queue = generator.getQueuedTypes();
+        ViewData view = board.getViewData();
+
+        int start = out.position();
+        out.putInt(MAGIC)
+                .put((byte) FORMAT_VERSION)
+                .put((byte) engine.getGameMode().ordinal())
+                .put((byte) matrix.length)
+                .put((byte) cols)
+                .putLong(engine.getSeed())
+                .putInt(engine.getGameNumber())
+                .putInt(engine.getClearCount())
+                .putInt(board.getScore().scoreProperty().get())
+                .putInt(engine.getLevel().getLinesCleared())
+                .putLong(engine.getTimer().elapsedNanos(engine.getClock().nanoTime()))
+                .put((byte) ((engine.isGameOver() ? FLAG_GAME_OVER : 0) | (engine.isGameWon() ? FLAG_GAME_WON : 0)
+                        | (practice ? FLAG_PRACTICE : 0)))
+                .put((byte) view.getBrickType().ordinal())
+                .put((byte) board.getBrickRotation())
+                .put((byte) view.getxPosition())
+                .put((byte) view.getyPosition())
+                .putLong(generator.getRandomState())
+                .put((byte) queue.length);
+        for (BrickFactory.BrickType type : queue) {
+            out.put((byte) type.ordinal());
+        }
+
+        for (int[] row : matrix) {
+            long mask = 0;
+            for (int j = 0; j < cols; j++) {
+                if (row[j] != 0) mask |= 1L << j;
+            }
+            for (int b = 0; b < maskBytes; b++) {
+                out.put((byte) (mask >>> (8 * b)));
+            }
+            int packed = 0;
+            boolean half = false;
+            for (int j = 0; j < cols; j++) {
+                if (row[j] == 0) continue;
+                if (row[j] < 0 || row[j] > 15) {
+                    throw new IllegalStateException("cell value out of range: " + row[j]);
+                }
+                if (half) {
+                    out.put((byte) (packed | (row[j] << 4)));
+                } else {
+                    packed = row[j];
+                }
+                half = !half;
+            }
+            if (half) out.put((byte) packed);
+        }
+        out.putInt(checksum(out, start, out.position() - start));
+        return out.position() - start;
+    }
+
+    /**
+     * Decodes a state written by {@link #encode(GameEngine)} into a new engine. The engine's
+     * play timer is stopped at the saved play time and resumes when the engine is next started.
+     *
+     * @param data the encoded state
+     * @param clock the clock the restored engine runs on
+     * @return the restored engine
+     * @throws IOException if the data is corrupt, of another version or for another board size
+     */
+    public static GameEngine decode(byte[] data, GameClock clock) throws IOException {
+        return read(ByteBuffer.wrap(data), null, clock);
+    }
+
+    /**
+     * Restores a state written by {@link #encode(GameEngine, ByteBuffer)} into an existing
+     * engine of the same game mode and seed, in place, for example to roll a game back to an
+     * earlier step. The engine's play timer is stopped at the saved play time. Listeners
+     * are not called, and the statistics collector starts over as for a resumed game.
+     *
+     * @param engine the engine to restore
+     * @param data the encoded state, from its position to its limit
+     * @throws IOException if the data is corrupt, of another version or for another game
+     */
+    public static void restore(GameEngine engine, ByteBuffer data) throws IOException {
+        read(data, engine, engine.getClock());
+    }
+
+    private static GameEngine read(ByteBuffer in, GameEngine target, GameClock clock) throws IOException {
+        int length = in.remaining();
+        if (length < FIXED_BYTES) throw new IOException("save too short: " + length + " bytes");
+        int end = in.position() + length;
+        if (in.getInt(end - 4) != checksum(in, in.position(), length - 4)) {
+            throw new IOException("save checksum mismatch");
+        }
+        if (in.getInt() != MAGIC) throw new IOException("not a saved game");
+        int version = in.get();
+        if (version != FORMAT_VERSION) throw new IOException("unsupported save format " + version);
+
+        try {
+            GameMode mode = MODES[checkIndex(in.get(), MODES.length, "mode")];
+            int rows = in.get() & 0xFF;
+            int cols = in.get() & 0xFF;
+            long seed = in.getLong();
+            int gameNumber = in.getInt();
+            int clearCount = in.getInt();
+            int score = in.getInt();
+            int lines = in.getInt();
+            long playNanos = in.getLong();
+            int flags = in.get();
+            BrickFactory.BrickType brickType = TYPES[checkIndex(in.get(), TYPES.length, "brick type")];
+            int rotation = in.get();
+            int x = in.get();
+            int y = in.get();
+            long randomState = in.getLong();
+            BrickFactory.BrickType[] queue = new BrickFactory.BrickType[in.get() & 0xFF];
+            for (int i = 0; i < queue.length; i++) {
+                queue[i] = TYPES[checkIndex(in.get(), TYPES.length, "queued brick type")];
+            }
+
+            GameEngine engine = target != null ? target : new GameEngine(mode, clock, seed);
+            if (engine.getGameMode() != mode || engine.getSeed() != seed) {
+                throw new IOException("save is for another game");
+            }
+            Board board = engine.getBoard();
+            int[][] current = board.getBoardMatrix();
+            if (rows != current.length || cols != current[0].length) {
+                throw new IOException("save is for a " + rows + "x" + cols + " board");
+            }
+            int[][] matrix = new int[rows][cols];
+            int maskBytes = (cols + 7) / 8;
+            for (int[] row : matrix) {
+                long mask = 0;
+                for (int b = 0; b < maskBytes; b++) {
+                    mask |= (in.get() & 0xFFL) << (8 * b);
+                }
+                int packed = 0;
+                boolean half = false;
+                for (int j = 0; j < cols; j++) {
+                    if ((mask & (1L << j)) == 0) continue;
+                    if (half) {
+                        row[j] = packed >>> 4;
+                    } else {
+                        packed = in.get() & 0xFF;
+                        row[j] = packed & 0x0F;
+                    }
+                    half = !half;
+                }
+            }
+            if (in.position() != end - 4) throw new IOException("unexpected data after board");
+            if (rotation < 0 || rotation >= BrickFactory.createBrick(brickType).getShapeMatrix().size()) {
+                throw new IOException("rotation out of range: " + rotation);
+            }
+
+            engine.getGenerator().restore(randomState, queue);
+            board.restore(matrix, brickType, rotation, x, y);
+            board.getScore().set(score);
+            engine.getLevel().restore(lines);
+            engine.getTimer().restore(playNanos);
+            engine.restore(gameNumber, clearCount, (flags & FLAG_GAME_OVER) != 0, (flags & FLAG_GAME_WON) != 0);
+            in.position(end);
+            return engine;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("save truncated", e);
+        }
+    }
+
+    private static int checkIndex(int index, int length, String what) throws IOException {
+        if (index < 0 || index >= length) throw new IOException(what + " out of range: " + index);
+        return index;
+    }
+
+    private static int checksum(ByteBuffer data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate().limit(offset + length).position(offset));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,128 @@
+package com.comp2042.core;
+
+import com.comp2042.util.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the saved game in progress, encoded with {@link SaveCodec}.
+ * The save file is read once in the background when the store is created and cached, so
+ * the home screen can offer to resume without touching the disk. Saves and deletions are
+ * applied to the cache at once and written in order on a background thread, each save
+ * replacing the file through {@link AtomicFiles}. The thread is not a daemon and ends
+ * when idle, so a save made while the application closes is still written.
+ */
+public class SaveStore {
+
+    private static final String DEFAULT_FILE = "savegame.dat";
+
+    private final Path file;
+    private final ThreadPoolExecutor executor;
+    private final CompletableFuture<byte[]> loaded;
+    private volatile byte[] cached;
+    private volatile boolean modified;
+
+    private static final class InstanceHolder {
+        private static final SaveStore INSTANCE = new SaveStore(Path.of(DEFAULT_FILE));
+    }
+
+    /**
+     * Gets the shared store backed by {@code savegame.dat}, starting to read it on first use.
+     *
+     * @return the shared save store
+     */
+    public static SaveStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Constructs a SaveStore and starts reading the save file in the background.
+     *
+     * @param file the save file
+     */
+    public SaveStore(Path file) {
+        this.file = file;
+        this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "save-store"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.loaded = CompletableFuture.supplyAsync(() -> {
+            try {
+                // A save or deletion made while loading wins over the file
+                byte[] data = Files.exists(file) ? Files.readAllBytes(file) : null;
+                if (!modified) cached = data;
+            } catch (IOException e) {
+                System.err.println("Could not read saved game: " + e.getMessage());
+            }
+            return cached;
+        }, executor);
+    }
+
+    /**
+     * Gets a future completed with the saved game once the file has been read.
+     *
+     * @return the load future, completed with the encoded save or null if there is none
+     */
+    public CompletableFuture<byte[]> loaded() {
+        return loaded;
+    }
+
+    /**
+     * Gets the cached save. Never touches the disk.
+     *
+     * @return the encoded save, or null if there is none or it is still loading
+     */
+    public byte[] getSave() {
+        return cached;
+    }
+
+    /**
+     * Checks whether a saved game is available.
+     *
+     * @return true if a save is cached
+     */
+    public boolean hasSave() {
+        return cached != null;
+    }
+
+    /**
+     * Replaces the saved game. The cache changes at once; the file is written in the background.
+     *
+     * @param data the encoded save
+     * @return a future completed when the save is on disk
+     */
+    public CompletableFuture<Void> save(byte[] data) {
+        modified = true;
+        cached = data;
+        return CompletableFuture.runAsync(() -> {
+            try {
+                AtomicFiles.write(file, ByteBuffer.wrap(data));
+            } catch (IOException e) {
+                System.err.println("Could not save game: " + e.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * Removes the saved game. The cache changes at once; the file is deleted in the background.
+     *
+     * @return a future completed when the file is gone
+     */
+    public CompletableFuture<Void> delete() {
+        modified = true;
+        cached = null;
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                System.err.println("Could not delete saved game: " + e.getMessage());
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,260 @@
+package com.comp2042.core;
+
+import com.comp2042.input.InputConfig;
+import com.comp2042.input.InputRingBuffer;
+import com.comp2042.input.KeyStateTracker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a {@link GameEngine} on a dedicated thread, separate from the JavaFX application thread.
+ * The UI pushes key presses and releases into a single-producer single-consumer
+ * {@link InputRingBuffer}, which is drained once per simulation step by a
+ * {@link KeyStateTracker}, and reads back the latest published
+ * {@link GameSnapshot}; neither side ever waits on a lock held by the other, so a slow
+ * layout pass cannot delay gravity and a busy simulation step cannot stall a frame.
+ */
+public class SimulationThread implements Runnable {
+
+    private static final int INPUT_CAPACITY = 256;
+
+    private final GameEngine engine;
+    private final GameClock clock;
+    private final GameLoop gameLoop;
+    private final InputRingBuffer inputs = new InputRingBuffer(INPUT_CAPACITY);
+    private final KeyStateTracker keyState;
+    private final AtomicReference<GameSnapshot> latest;
+    private final AtomicInteger requestedGame = new AtomicInteger();
+    private final Thread thread;
+
+    private volatile boolean alive = true;
+    private volatile boolean paused;
+    private volatile long pausedAt;
+    private volatile long resumedAt;
+    private volatile Runnable publishListener;
+    private volatile boolean idle;
+    private long publishedVersion;
+    private int currentSpeedMs;
+
+    /**
+     * Constructs a SimulationThread for the specified engine with default input timings.
+     *
+     * @param engine the engine to run; from now on it must only be touched by this thread
+     */
+    public SimulationThread(GameEngine engine) {
+        this(engine, InputConfig.DEFAULT);
+    }
+
+    /**
+     * Constructs a SimulationThread for the specified engine. The thread is not started
+     * until {@link #start()} is called.
+     *
+     * @param engine the engine to run; from now on it must only be touched by this thread
+     * @param inputConfig the DAS, ARR and soft drop settings for held keys
+     */
+    public SimulationThread(GameEngine engine, InputConfig inputConfig) {
+        this.engine = engine;
+        this.clock = engine.getClock();
+        this.keyState = new KeyStateTracker(inputConfig);
+        this.currentSpeedMs = engine.getLevel().getSpeedForCurrentLevel();
+        this.keyState.setGravityNanos(engine.getLevel().getGravityNanos());
+        this.gameLoop = new GameLoop(engine::tick, currentSpeedMs, clock);
+        this.gameLoop.setStepCallback(this::processInput);
+        this.latest = new AtomicReference<>(engine.snapshot());
+        this.publishedVersion = engine.getVersion();
+        this.requestedGame.set(engine.getGameNumber());
+        this.thread = new Thread(this, "simulation");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the simulation thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Main loop of the simulation thread. Advances the game loop to the current time,
+     * which processes input and gravity step by step, and publishes a snapshot when the
+     * state has changed, then parks until the next step is due. While paused, and once
+     * the game is over until a new game is requested, the thread parks without a timeout
+     * and uses no CPU at all.
+     */
+    @Override
+    public void run() {
+        engine.resumeTimer(clock.nanoTime());
+        gameLoop.start();
+        while (alive) {
+            if (paused) {
+                if (gameLoop.isRunning()) {
+                    gameLoop.stop();
+                    engine.pauseTimer(pausedAt);
+                    publish();
+                }
+                idle = true;
+                LockSupport.park(this);
+                idle = false;
+                continue;
+            }
+            if (engine.isFinished() && engine.getGameNumber() >= requestedGame.get()) {
+                if (gameLoop.isRunning()) {
+                    gameLoop.stop();
+                    publish();
+                }
+                idle = true;
+                LockSupport.park(this);
+                idle = false;
+                continue;
+            }
+            if (!gameLoop.isRunning()) {
+                // Releases may have been missed while paused
+                keyState.releaseAll();
+                engine.resumeTimer(resumedAt);
+                gameLoop.start();
+            }
+
+            handleNewGameRequest();
+            gameLoop.advance();
+            applyLevelSpeed();
+            publish();
+
+            LockSupport.parkNanos(this, GameLoop.STEP_NANOS);
+        }
+    }
+
+    private void handleNewGameRequest() {
+        while (engine.getGameNumber() < requestedGame.get()) {
+            engine.createNewGame();
+        }
+    }
+
+    /**
+     * Runs at the start of every simulation step: applies queued presses and releases,
+     * then lets the key state tracker apply auto-shift and soft drop.
+     */
+    private void processInput() {
+        int code;
+        while ((code = inputs.poll()) != InputRingBuffer.EMPTY) {
+            keyState.onInput(code, engine);
+        }
+        keyState.update(GameLoop.STEP_NANOS, engine);
+    }
+
+    private void applyLevelSpeed() {
+        int speedMs = engine.getLevel().getSpeedForCurrentLevel();
+        if (speedMs != currentSpeedMs) {
+            currentSpeedMs = speedMs;
+            gameLoop.setIntervalNanos(engine.getLevel().getGravityNanos());
+            keyState.setGravityNanos(engine.getLevel().getGravityNanos());
+        }
+    }
+
+    private void publish() {
+        if (engine.getVersion() != publishedVersion) {
+            publishedVersion = engine.getVersion();
+            latest.set(engine.snapshot());
+            Runnable listener = publishListener;
+            if (listener != null) listener.run();
+        }
+    }
+
+    /**
+     * Sets a listener run on the simulation thread each time a new snapshot is published.
+     * It must return quickly, for example by only marking the view as needing a render.
+     *
+     * @param publishListener the listener, or null for none
+     */
+    public void setPublishListener(Runnable publishListener) {
+        this.publishListener = publishListener;
+    }
+
+    /**
+     * Gets the queue that key presses and releases are written to.
+     * Only the JavaFX application thread may write to it.
+     *
+     * @return the input queue consumed by this simulation
+     */
+    public InputRingBuffer getInputQueue() {
+        return inputs;
+    }
+
+    /**
+     * Requests a new game. The engine is reset on the simulation thread at its next step.
+     *
+     * @return the game number snapshots of the new game will carry
+     */
+    public int requestNewGame() {
+        int gameNumber = requestedGame.incrementAndGet();
+        LockSupport.unpark(thread);
+        return gameNumber;
+    }
+
+    /**
+     * Gets the clock the simulation runs on. Snapshot times are readings of this clock.
+     *
+     * @return the game clock
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the most recently published snapshot. Never blocks.
+     *
+     * @return the latest snapshot
+     */
+    public GameSnapshot latestSnapshot() {
+        return latest.get();
+    }
+
+    /**
+     * Pauses or resumes the simulation. While paused the thread is parked and no gravity
+     * or input is processed; on resume the loop restarts without catching up on paused time.
+     *
+     * @param paused true to pause, false to resume
+     */
+    public void setPaused(boolean paused) {
+        // The play timer is stamped with the time of the request, not when the thread notices it
+        if (paused) {
+            pausedAt = clock.nanoTime();
+        } else {
+            resumedAt = clock.nanoTime();
+        }
+        this.paused = paused;
+        if (!paused) LockSupport.unpark(thread);
+    }
+
+    /**
+     * Checks whether the thread is parked waiting for a resume or a new game.
+     *
+     * @return true if the simulation is idle
+     */
+    public boolean isIdle() {
+        return idle;
+    }
+
+    /**
+     * Stops the simulation thread. The engine must not be used afterwards, except to read
+     * its final state once {@link #awaitTermination(long)} has returned true.
+     */
+    public void shutdown() {
+        alive = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the thread to end after {@link #shutdown()}. Once this returns true the
+     * engine is no longer touched by the simulation and may be read by the caller.
+     *
+     * @param millis the longest time to wait
+     * @return true if the thread has ended or was never started
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long millis) throws InterruptedException {
+        thread.join(millis);
+        return !thread.isAlive();
+    }
+}
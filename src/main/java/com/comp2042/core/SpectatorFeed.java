@@ -0,0 +1,176 @@
+package com.comp2042.core;
+
+import com.comp2042.model.GameMode;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a set of bot-played games on one background thread and publishes their snapshots.
+ * Every board has its own {@link GameEngine}, {@link GameLoop} and {@link BotPlayer}; all
+ * of them read the same clock and are advanced in turn on a daemon thread named
+ * "spectator". Finished games are restarted after a short delay so the wall never runs
+ * dry. Board {@code i} is seeded with {@code seed + i}, so a feed started with the same
+ * seed on a manual clock replays the same games.
+ */
+public class SpectatorFeed implements Runnable {
+
+    /** Largest number of boards a feed can run. */
+    public static final int MAX_BOARDS = 64;
+
+    private static final long RESTART_DELAY_NANOS = 2_000_000_000L;
+
+    private final GameClock clock;
+    private final GameEngine[] engines;
+    private final GameLoop[] loops;
+    private final AtomicReferenceArray<GameSnapshot> latest;
+    private final long[] publishedVersions;
+    private final long[] finishedAt;
+    private final Thread thread;
+    private volatile boolean alive = true;
+    private final List<GameEngine> engineList;
+    private volatile Runnable publishListener;
+    private volatile Consumer<List<GameEngine>> stepListener;
+
+    /**
+     * Constructs a SpectatorFeed. The thread is not started until {@link #start()} is called.
+     *
+     * @param boards the number of boards, between 1 and {@value #MAX_BOARDS}
+     * @param seed the seed of the first board
+     * @param clock the clock all games run on
+     * @param stepsPerAction the number of simulation steps between two bot actions
+     * @throws IllegalArgumentException if the board count is out of range
+     */
+    public SpectatorFeed(int boards, long seed, GameClock clock, int stepsPerAction) {
+        if (boards < 1 || boards > MAX_BOARDS) {
+            throw new IllegalArgumentException("boards must be between 1 and " + MAX_BOARDS + ": " + boards);
+        }
+        this.clock = clock;
+        this.engines = new GameEngine[boards];
+        this.loops = new GameLoop[boards];
+        this.latest = new AtomicReferenceArray<>(boards);
+        this.publishedVersions = new long[boards];
+        this.finishedAt = new long[boards];
+        for (int i = 0; i < boards; i++) {
+            GameEngine engine = new GameEngine(GameMode.CLASSIC, clock, seed + i);
+            BotPlayer bot = new BotPlayer(stepsPerAction);
+            GameLoop loop = new GameLoop(engine::tick, engine.getLevel().getSpeedForCurrentLevel(), clock);
+            loop.setStepCallback(() -> bot.accept(engine));
+            engines[i] = engine;
+            loops[i] = loop;
+            latest.set(i, engine.snapshot());
+            publishedVersions[i] = engine.getVersion();
+            finishedAt[i] = -1;
+        }
+        this.engineList = List.of(engines);
+        this.thread = new Thread(this, "spectator");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the background thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Main loop: advances every board to the current time, restarts finished games,
+     * publishes changed snapshots, then parks until the next step is due.
+     */
+    @Override
+    public void run() {
+        while (alive) {
+            step();
+            LockSupport.parkNanos(this, GameLoop.STEP_NANOS);
+        }
+    }
+
+    /**
+     * Advances every board to the current time and publishes the boards that changed.
+     * Called by the feed's own thread; tests with a manual clock may call it directly
+     * instead of starting the thread.
+     */
+    public void step() {
+        long now = clock.nanoTime();
+        boolean changed = false;
+        for (int i = 0; i < engines.length; i++) {
+            GameEngine engine = engines[i];
+            if (!loops[i].isRunning()) {
+                engine.resumeTimer(now);
+                loops[i].start();
+            }
+            if (engine.isFinished()) {
+                if (finishedAt[i] < 0) {
+                    finishedAt[i] = now;
+                } else if (now - finishedAt[i] >= RESTART_DELAY_NANOS) {
+                    finishedAt[i] = -1;
+                    engine.createNewGame();
+                    loops[i].stop();
+                    loops[i].start();
+                }
+            }
+            loops[i].advance();
+            loops[i].setIntervalNanos(engine.getLevel().getGravityNanos());
+            if (engine.getVersion() != publishedVersions[i]) {
+                publishedVersions[i] = engine.getVersion();
+                latest.set(i, engine.snapshot());
+                changed = true;
+            }
+        }
+        Consumer<List<GameEngine>> engines = stepListener;
+        if (engines != null) engines.accept(engineList);
+        Runnable listener = publishListener;
+        if (changed && listener != null) listener.run();
+    }
+
+    /**
+     * Gets the number of boards in the feed.
+     *
+     * @return the board count
+     */
+    public int size() {
+        return engines.length;
+    }
+
+    /**
+     * Gets the latest snapshot of a board. Never blocks.
+     *
+     * @param board the board index
+     * @return the latest snapshot of that board
+     */
+    public GameSnapshot latest(int board) {
+        return latest.get(board);
+    }
+
+    /**
+     * Sets a listener run on the feed thread whenever at least one board published
+     * a new snapshot during a step.
+     *
+     * @param publishListener the listener, or null for none
+     */
+    public void setPublishListener(Runnable publishListener) {
+        this.publishListener = publishListener;
+    }
+
+    /**
+     * Sets a listener run on the feed thread after every step with all of the feed's
+     * engines, for example to encode them for a broadcast. It may read the engines but
+     * must not change them.
+     *
+     * @param stepListener the listener, or null for none
+     */
+    public void setStepListener(Consumer<List<GameEngine>> stepListener) {
+        this.stepListener = stepListener;
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public void shutdown() {
+        alive = false;
+        LockSupport.unpark(thread);
+    }
+}
@@ -0,0 +1,16 @@
+package com.comp2042.core;
+
+/**
+ * Real-time clock backed by {@link System#nanoTime()}.
+ */
+public final class SystemGameClock implements GameClock {
+
+    /**
+     * {@inheritDoc}
+     * Returns the monotonic system time.
+     */
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+}
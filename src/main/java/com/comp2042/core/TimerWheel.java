@@ -0,0 +1,216 @@
+package com.comp2042.core;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel shared by any number of games.
+ * <p>
+ * Time is cut into ticks of a fixed length and every timeout is hashed into the bucket
+ * of the tick it is due in, so scheduling and cancelling cost the same no matter how
+ * many timeouts are pending, and each tick only visits one bucket. Timeouts due more
+ * than one turn of the wheel ahead wait in their bucket for the remaining turns.
+ * Timeouts fire at the end of their tick, so they run up to one tick late and never early.
+ * <p>
+ * {@link #schedule} may be called from any thread. Tasks run on the wheel's thread, or on
+ * the thread calling {@link #advance()} when the wheel is driven manually, and must be
+ * short; anything that can block should be handed to another thread.
+ */
+public class TimerWheel implements Runnable {
+
+    private final GameClock clock;
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final long startNanos;
+    private long tick;
+
+    private volatile boolean alive = true;
+    private volatile long expired;
+    private volatile long maxLagNanos;
+
+    /**
+     * Constructs a TimerWheel. It does not tick until {@link #start()} is called or
+     * {@link #advance()} is called directly.
+     *
+     * @param clock the clock deadlines are measured on
+     * @param tickNanos the length of one tick in nanoseconds
+     * @param bucketCount the number of buckets, rounded up to a power of two
+     */
+    public TimerWheel(GameClock clock, long tickNanos, int bucketCount) {
+        if (tickNanos <= 0) throw new IllegalArgumentException("tick must be positive: " + tickNanos);
+        int size = Integer.highestOneBit(Math.max(1, bucketCount - 1)) << 1;
+        this.clock = clock;
+        this.tickNanos = tickNanos;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.startNanos = clock.nanoTime();
+        this.thread = new Thread(this, "timer-wheel");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the wheel's thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task the task to run once the delay has passed
+     * @param delayNanos the delay in nanoseconds; zero or less runs it on the next tick
+     * @return a handle that can cancel the task
+     */
+    public Timeout schedule(Runnable task, long delayNanos) {
+        Timeout timeout = new Timeout(task, clock.nanoTime() + Math.max(0, delayNanos));
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Main loop: sleeps until the end of each tick, then expires its bucket.
+     */
+    @Override
+    public void run() {
+        while (alive) {
+            long wait = startNanos + (tick + 1) * tickNanos - clock.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                advance();
+            }
+        }
+    }
+
+    /**
+     * Processes every tick that has ended by the clock's current time: files newly
+     * scheduled timeouts into their buckets and runs the ones that are due.
+     */
+    public void advance() {
+        long now = clock.nanoTime();
+        while (startNanos + (tick + 1) * tickNanos <= now) {
+            long tickEnd = startNanos + (tick + 1) * tickNanos;
+            transferAdded();
+            expireBucket(tickEnd, now);
+            tick++;
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.cancelled) continue;
+            long dueTick = Math.max((timeout.deadline - startNanos) / tickNanos, tick);
+            timeout.rounds = (dueTick - tick) / buckets.length;
+            int index = (int) (dueTick & mask);
+            timeout.next = buckets[index];
+            buckets[index] = timeout;
+        }
+    }
+
+    private void expireBucket(long tickEnd, long now) {
+        int index = (int) (tick & mask);
+        Timeout previous = null;
+        Timeout timeout = buckets[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.cancelled || timeout.rounds <= 0) {
+                if (previous == null) {
+                    buckets[index] = next;
+                } else {
+                    previous.next = next;
+                }
+                timeout.next = null;
+                if (!timeout.cancelled) fire(timeout, now);
+            } else {
+                timeout.rounds--;
+                previous = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    private void fire(Timeout timeout, long now) {
+        long lag = now - timeout.deadline;
+        if (lag > maxLagNanos) maxLagNanos = lag;
+        expired++;
+        try {
+            timeout.task.run();
+        } catch (RuntimeException e) {
+            System.err.println("Timer task failed: " + e);
+        }
+    }
+
+    /**
+     * Stops the wheel's thread. Pending timeouts never fire.
+     */
+    public void shutdown() {
+        alive = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Gets the length of one tick.
+     *
+     * @return the tick length in nanoseconds
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Gets the number of timeouts that have fired.
+     *
+     * @return the expired count
+     */
+    public long getExpiredCount() {
+        return expired;
+    }
+
+    /**
+     * Gets the longest delay seen between a timeout's deadline and the moment it fired.
+     * Stays below one tick unless the wheel's thread falls behind.
+     *
+     * @return the maximum lag in nanoseconds
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    /**
+     * A scheduled task. Pending timeouts form a singly linked list per bucket.
+     */
+    public static final class Timeout {
+
+        private final Runnable task;
+        private final long deadline;
+        private Timeout next;
+        private long rounds;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task. A task that is already running is not interrupted.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Checks whether the task was cancelled.
+         *
+         * @return true if {@link #cancel()} was called
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -6,6 +6,8 @@ package com.comp2042.event;
 public enum EventSource {
     /** Event triggered by player input (keyboard) */
     USER,
+    /** Event repeated while the player holds a key (auto-repeat or soft drop) */
+    REPEAT,
     /** Event triggered by the game loop (automatic brick falling) */
     THREAD
 }
@@ -11,5 +11,7 @@ public enum EventType {
     /** Event for moving the brick right */
     RIGHT,
     /** Event for rotating the brick counter-clockwise */
-    ROTATE
+    ROTATE,
+    /** Event for dropping the brick straight to its landing position */
+    HARD_DROP
 }
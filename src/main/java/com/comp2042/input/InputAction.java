@@ -0,0 +1,51 @@
+package com.comp2042.input;
+
+/**
+ * Enum representing the game actions that can be bound to keys.
+ * Each action can be pressed and released; the simulation tracks which
+ * actions are currently held to drive auto-shift and soft drop.
+ */
+public enum InputAction {
+    /** Shift the brick left, repeating while held */
+    LEFT,
+    /** Shift the brick right, repeating while held */
+    RIGHT,
+    /** Rotate the brick counter-clockwise */
+    ROTATE,
+    /** Drop the brick faster than gravity while held */
+    SOFT_DROP,
+    /** Drop the brick straight to its landing position */
+    HARD_DROP;
+
+    private static final InputAction[] VALUES = values();
+
+    /**
+     * Encodes a press or release of this action into a single int for the input queue.
+     *
+     * @param pressed true for a key press, false for a release
+     * @return the encoded input code
+     */
+    public int encode(boolean pressed) {
+        return (ordinal() << 1) | (pressed ? 1 : 0);
+    }
+
+    /**
+     * Decodes the action from an input code produced by {@link #encode(boolean)}.
+     *
+     * @param code the encoded input code
+     * @return the action the code refers to
+     */
+    public static InputAction decode(int code) {
+        return VALUES[code >>> 1];
+    }
+
+    /**
+     * Checks whether an input code represents a key press.
+     *
+     * @param code the encoded input code
+     * @return true for a press, false for a release
+     */
+    public static boolean isPress(int code) {
+        return (code & 1) != 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.comp2042.input;
+
+/**
+ * Timing settings for held keys.
+ * Delayed auto shift (DAS) is how long a direction must be held before the brick starts
+ * repeating, auto-repeat rate (ARR) is the time between repeats after that, and the soft
+ * drop factor is how many times faster than gravity the brick falls while soft drop is held.
+ * Values can be overridden with the system properties {@code tetris.das}, {@code tetris.arr}
+ * and {@code tetris.sdf}.
+ */
+public final class InputConfig {
+
+    /** Default settings: 167 ms DAS, 33 ms ARR and a soft drop 20 times faster than gravity. */
+    public static final InputConfig DEFAULT = new InputConfig(167, 33, 20);
+
+    private final int dasMs;
+    private final int arrMs;
+    private final int softDropFactor;
+
+    /**
+     * Constructs an InputConfig with the specified timings.
+     *
+     * @param dasMs the delayed auto shift in milliseconds
+     * @param arrMs the auto-repeat rate in milliseconds; 0 shifts straight to the wall
+     * @param softDropFactor how many times faster than gravity soft drop falls (at least 1)
+     */
+    public InputConfig(int dasMs, int arrMs, int softDropFactor) {
+        this.dasMs = Math.max(0, dasMs);
+        this.arrMs = Math.max(0, arrMs);
+        this.softDropFactor = Math.max(1, softDropFactor);
+    }
+
+    /**
+     * Creates an InputConfig from system properties, falling back to the defaults.
+     *
+     * @return the configured input settings
+     */
+    public static InputConfig fromSystemProperties() {
+        return new InputConfig(
+                Integer.getInteger("tetris.das", DEFAULT.dasMs),
+                Integer.getInteger("tetris.arr", DEFAULT.arrMs),
+                Integer.getInteger("tetris.sdf", DEFAULT.softDropFactor));
+    }
+
+    /**
+     * Gets the delayed auto shift.
+     *
+     * @return the DAS in nanoseconds
+     */
+    public long getDasNanos() {
+        return dasMs * 1_000_000L;
+    }
+
+    /**
+     * Gets the auto-repeat rate.
+     *
+     * @return the ARR in nanoseconds
+     */
+    public long getArrNanos() {
+        return arrMs * 1_000_000L;
+    }
+
+    /**
+     * Gets the soft drop factor.
+     *
+     * @return how many times faster than gravity soft drop falls
+     */
+    public int getSoftDropFactor() {
+        return softDropFactor;
+    }
+}
@@ -1,69 +1,57 @@
 package com.comp2042.input;
 
-import com.comp2042.event.EventSource;
-import com.comp2042.event.EventType;
-import com.comp2042.event.MoveEvent;
-import com.comp2042.view.ViewData;
-import com.comp2042.event.DownData;
-import com.comp2042.event.InputEventListener;
 import javafx.scene.Node;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
-import java.util.function.Consumer;
+import java.util.function.BooleanSupplier;
 
 /**
- * Handles keyboard input and translates key presses into game actions.
+ * Handles keyboard input and translates key presses and releases into game actions.
  * Manages key bindings for movement, rotation, hard drop, pause, and new game.
- * Uses consumers to provide callbacks for preview updates and down events.
+ * Game actions are encoded and written to an {@link InputRingBuffer} read by the
+ * simulation thread; no game logic runs on the JavaFX thread. Releases are always
+ * forwarded so the simulation never believes a key is stuck down.
  */
 public class InputHandler {
     private final Node root;
-    private InputEventListener eventListener;
+    private final InputRingBuffer inputQueue;
 
-
-    private Consumer<ViewData> previewConsumer;     // left/right/rotate results
-    private Consumer<DownData> downConsumer;        // moveDown results
+    private BooleanSupplier inputEnabled = () -> true;
     private Runnable pauseCallback;              // pause toggle callback
+    private Runnable newGameCallback;            // new game callback
 
     /**
      * Constructs an InputHandler attached to the specified node.
-     * Sets up key event listeners for the root node.
-     * 
+     * Sets up key press and release listeners for the root node.
+     *
      * @param root the JavaFX node to attach key listeners to
-     * @param eventListener the InputEventListener to receive game events
+     * @param inputQueue the queue that receives encoded game actions
      */
-    public InputHandler(Node root, InputEventListener eventListener) {
+    public InputHandler(Node root, InputRingBuffer inputQueue) {
         this.root = root;
-        this.eventListener = eventListener;
+        this.inputQueue = inputQueue;
         attach();
     }
 
     private void attach() {
-        root.setOnKeyPressed(this::handleKey);
-    }
-
-    /**
-     * Sets the consumer callback for preview updates (left, right, rotate events).
-     * 
-     * @param previewConsumer the consumer to call with ViewData for preview updates
-     */
-    public void setPreviewConsumer(Consumer<ViewData> previewConsumer) {
-        this.previewConsumer = previewConsumer;
+        root.setOnKeyPressed(this::handleKeyPressed);
+        root.setOnKeyReleased(this::handleKeyReleased);
     }
 
     /**
-     * Sets the consumer callback for down events (move down and hard drop).
-     * 
-     * @param downConsumer the consumer to call with DownData for down events
+     * Sets the condition under which key presses are forwarded to the game,
+     * for example only while the game is being played.
+     *
+     * @param inputEnabled supplier returning true when presses should be forwarded
      */
-    public void setDownConsumer(Consumer<DownData> downConsumer) {
-        this.downConsumer = downConsumer;
+    public void setInputEnabled(BooleanSupplier inputEnabled) {
+        this.inputEnabled = inputEnabled;
     }
 
     /**
      * Sets the callback for pause toggle actions.
-     * 
+     *
      * @param pauseCallback the runnable to call when pause is triggered
      */
     public void setPauseCallback(Runnable pauseCallback) {
@@ -71,52 +59,49 @@ public class InputHandler {
     }
 
     /**
-     * Handles key press events and translates them into game actions.
+     * Sets the callback for starting a new game.
+     *
+     * @param newGameCallback the runnable to call when a new game is requested
+     */
+    public void setNewGameCallback(Runnable newGameCallback) {
+        this.newGameCallback = newGameCallback;
+    }
+
+    /**
+     * Maps a key to the game action bound to it.
      * Key bindings:
      * - Left/A: Move brick left
      * - Right/D: Move brick right
      * - Up/W: Rotate brick
-     * - Down/S: Move brick down
+     * - Down/S: Soft drop
      * - Space: Hard drop
-     * - P: Pause/unpause
-     * - N: New game
-     * 
-     * @param keyEvent the key event to process
+     *
+     * @param code the key code to map
+     * @return the bound action, or null if the key is not bound to a game action
      */
-    private void handleKey(KeyEvent keyEvent) {
-        if (eventListener == null) return;
+    private static InputAction actionFor(KeyCode code) {
+        return switch (code) {
+            case LEFT, A -> InputAction.LEFT;
+            case RIGHT, D -> InputAction.RIGHT;
+            case UP, W -> InputAction.ROTATE;
+            case DOWN, S -> InputAction.SOFT_DROP;
+            case SPACE -> InputAction.HARD_DROP;
+            default -> null;
+        };
+    }
 
+    /**
+     * Handles key press events. Game actions are queued for the simulation;
+     * P toggles pause and N starts a new game.
+     *
+     * @param keyEvent the key event to process
+     */
+    private void handleKeyPressed(KeyEvent keyEvent) {
         KeyCode code = keyEvent.getCode();
 
-        if (code == KeyCode.LEFT || code == KeyCode.A) {
-            ViewData v = eventListener.onLeftEvent(new MoveEvent(EventType.LEFT, EventSource.USER));
-            if (previewConsumer != null) previewConsumer.accept(v);
-            keyEvent.consume();
-            return;
-        }
-        if (code == KeyCode.RIGHT || code == KeyCode.D) {
-            ViewData v = eventListener.onRightEvent(new MoveEvent(EventType.RIGHT, EventSource.USER));
-            if (previewConsumer != null) previewConsumer.accept(v);
-            keyEvent.consume();
-            return;
-        }
-        if (code == KeyCode.UP || code == KeyCode.W) {
-            ViewData v = eventListener.onRotateEvent(new MoveEvent(EventType.ROTATE, EventSource.USER));
-            if (previewConsumer != null) previewConsumer.accept(v);
-            keyEvent.consume();
-            return;
-        }
-
-        if (code == KeyCode.DOWN || code == KeyCode.S) {
-            DownData d = eventListener.onDownEvent(new MoveEvent(EventType.DOWN, EventSource.USER));
-            if (downConsumer != null) downConsumer.accept(d);
-            keyEvent.consume();
-            return;
-        }
-
-        if (code == KeyCode.SPACE) {
-            DownData d = eventListener.onHardDropEvent(new MoveEvent(EventType.DOWN, EventSource.USER));
-            if (downConsumer != null) downConsumer.accept(d);
+        InputAction action = actionFor(code);
+        if (action != null) {
+            if (inputEnabled.getAsBoolean()) inputQueue.offer(action.encode(true));
             keyEvent.consume();
             return;
         }
@@ -128,9 +113,22 @@ public class InputHandler {
         }
 
         if (code == KeyCode.N) {
-            eventListener.createNewGame();
+            if (newGameCallback != null) newGameCallback.run();
             keyEvent.consume();
         }
 
     }
+
+    /**
+     * Handles key release events by queueing the release of the bound game action.
+     *
+     * @param keyEvent the key event to process
+     */
+    private void handleKeyReleased(KeyEvent keyEvent) {
+        InputAction action = actionFor(keyEvent.getCode());
+        if (action != null) {
+            inputQueue.offer(action.encode(false));
+            keyEvent.consume();
+        }
+    }
 }
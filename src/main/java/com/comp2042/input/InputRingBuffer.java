@@ -0,0 +1,75 @@
+package com.comp2042.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer single-consumer queue of encoded input codes.
+ * The JavaFX thread is the only producer and the simulation thread the only consumer,
+ * so each index is written by exactly one thread and the handoff needs only
+ * release/acquire ordering: no locks, no CAS loops and no allocation per element.
+ */
+public final class InputRingBuffer {
+
+    /** Value returned by {@link #poll()} when the queue is empty. */
+    public static final int EMPTY = -1;
+
+    private final int[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead;    // producer's last view of head
+    private long cachedTail;    // consumer's last view of tail
+
+    /**
+     * Constructs an InputRingBuffer able to hold at least the requested number of codes.
+     *
+     * @param capacity the minimum capacity; rounded up to a power of two
+     */
+    public InputRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        buffer = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a code to the queue. Must only be called from the producer thread.
+     *
+     * @param code the non-negative input code to add
+     * @return true if the code was queued, false if the queue was full
+     */
+    public boolean offer(int code) {
+        long t = tail.getPlain();
+        if (t - cachedHead >= buffer.length) {
+            cachedHead = head.getAcquire();
+            if (t - cachedHead >= buffer.length) return false;
+        }
+        buffer[(int) t & mask] = code;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest code from the queue. Must only be called from the consumer thread.
+     *
+     * @return the oldest code, or {@link #EMPTY} if the queue is empty
+     */
+    public int poll() {
+        long h = head.getPlain();
+        if (h >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (h >= cachedTail) return EMPTY;
+        }
+        int code = buffer[(int) h & mask];
+        head.setRelease(h + 1);
+        return code;
+    }
+
+    /**
+     * Gets the capacity of the queue.
+     *
+     * @return the number of codes the queue can hold
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+}
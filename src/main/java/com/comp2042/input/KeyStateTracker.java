@@ -0,0 +1,226 @@
+package com.comp2042.input;
+
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tracks which actions are held and turns them into moves on the simulation thread.
+ * Presses and releases arrive from the input queue; {@link #update(long, InputEventListener)}
+ * is called once per simulation step to apply delayed auto shift, auto-repeat and soft drop,
+ * so held-key movement depends only on the configured timings and never on the
+ * operating system's key-repeat rate. Only the move made by a press comes from
+ * {@link EventSource#USER}; the moves repeated while a key is held come from
+ * {@link EventSource#REPEAT}, so they are not counted as separate inputs.
+ */
+public class KeyStateTracker {
+
+    private static final MoveEvent LEFT = new MoveEvent(EventType.LEFT, EventSource.USER);
+    private static final MoveEvent RIGHT = new MoveEvent(EventType.RIGHT, EventSource.USER);
+    private static final MoveEvent ROTATE = new MoveEvent(EventType.ROTATE, EventSource.USER);
+    private static final MoveEvent SOFT_DROP = new MoveEvent(EventType.DOWN, EventSource.USER);
+    private static final MoveEvent HARD_DROP = new MoveEvent(EventType.HARD_DROP, EventSource.USER);
+    private static final MoveEvent LEFT_REPEAT = new MoveEvent(EventType.LEFT, EventSource.REPEAT);
+    private static final MoveEvent RIGHT_REPEAT = new MoveEvent(EventType.RIGHT, EventSource.REPEAT);
+    private static final MoveEvent SOFT_DROP_REPEAT = new MoveEvent(EventType.DOWN, EventSource.REPEAT);
+
+    /** Size of the state written by {@link #writeState(ByteBuffer)}. */
+    public static final int STATE_BYTES = 3 + 4 * Long.BYTES;
+
+    /** Moves applied per step when ARR is zero; enough to cross any board. */
+    private static final int INSTANT_SHIFT_MOVES = 10;
+
+    private final InputConfig config;
+    private final boolean[] held = new boolean[InputAction.values().length];
+
+    private InputAction shiftDirection;
+    private boolean autoShifting;
+    private long shiftCharge;
+    private long repeatCharge;
+    private long softDropCharge;
+    private long gravityNanos = 400_000_000L;
+
+    /**
+     * Constructs a KeyStateTracker with the specified timings.
+     *
+     * @param config the DAS, ARR and soft drop settings
+     */
+    public KeyStateTracker(InputConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Applies an encoded press or release. Presses of a key that is already held are
+     * ignored, so operating system key repeat has no effect.
+     *
+     * @param code the input code read from the input queue
+     * @param target the listener that receives the resulting moves
+     */
+    public void onInput(int code, InputEventListener target) {
+        InputAction action = InputAction.decode(code);
+        if (InputAction.isPress(code)) {
+            press(action, target);
+        } else {
+            release(action);
+        }
+    }
+
+    private void press(InputAction action, InputEventListener target) {
+        if (held[action.ordinal()]) return;
+        held[action.ordinal()] = true;
+
+        switch (action) {
+            case LEFT, RIGHT -> {
+                startShift(action);
+                shift(target, false);
+            }
+            case ROTATE -> target.onRotateEvent(ROTATE);
+            case SOFT_DROP -> {
+                softDropCharge = 0;
+                target.onDownEvent(SOFT_DROP);
+            }
+            case HARD_DROP -> target.onHardDropEvent(HARD_DROP);
+        }
+    }
+
+    private void release(InputAction action) {
+        held[action.ordinal()] = false;
+        if (action == shiftDirection) {
+            // Fall back to the opposite direction if it is still held, charging DAS afresh
+            InputAction other = action == InputAction.LEFT ? InputAction.RIGHT : InputAction.LEFT;
+            if (held[other.ordinal()]) {
+                startShift(other);
+            } else {
+                shiftDirection = null;
+            }
+        }
+    }
+
+    private void startShift(InputAction direction) {
+        shiftDirection = direction;
+        autoShifting = false;
+        shiftCharge = 0;
+        repeatCharge = 0;
+    }
+
+    /**
+     * Advances held-key timers by one simulation step and applies any auto-shift
+     * or soft drop moves that became due.
+     *
+     * @param stepNanos the length of the simulation step in nanoseconds
+     * @param target the listener that receives the resulting moves
+     */
+    public void update(long stepNanos, InputEventListener target) {
+        if (shiftDirection != null) {
+            updateShift(stepNanos, target);
+        }
+        if (held[InputAction.SOFT_DROP.ordinal()]) {
+            long interval = Math.max(1, gravityNanos / config.getSoftDropFactor());
+            softDropCharge += stepNanos;
+            while (softDropCharge >= interval) {
+                softDropCharge -= interval;
+                target.onDownEvent(SOFT_DROP_REPEAT);
+            }
+        }
+    }
+
+    private void updateShift(long stepNanos, InputEventListener target) {
+        shiftCharge += stepNanos;
+        if (!autoShifting) {
+            if (shiftCharge < config.getDasNanos()) return;
+            autoShifting = true;
+            repeatCharge = shiftCharge - config.getDasNanos();
+            shift(target, true);
+        } else {
+            repeatCharge += stepNanos;
+        }
+
+        long arr = config.getArrNanos();
+        if (arr == 0) {
+            for (int i = 0; i < INSTANT_SHIFT_MOVES; i++) shift(target, true);
+            return;
+        }
+        while (repeatCharge >= arr) {
+            repeatCharge -= arr;
+            shift(target, true);
+        }
+    }
+
+    private void shift(InputEventListener target, boolean repeat) {
+        if (shiftDirection == InputAction.LEFT) {
+            target.onLeftEvent(repeat ? LEFT_REPEAT : LEFT);
+        } else {
+            target.onRightEvent(repeat ? RIGHT_REPEAT : RIGHT);
+        }
+    }
+
+    /**
+     * Sets the current gravity interval, which soft drop speeds up by the configured factor.
+     *
+     * @param gravityNanos the time between gravity ticks in nanoseconds
+     */
+    public void setGravityNanos(long gravityNanos) {
+        this.gravityNanos = gravityNanos;
+    }
+
+    /**
+     * Checks whether an action is currently held.
+     *
+     * @param action the action to check
+     * @return true if the action's key is held down
+     */
+    public boolean isHeld(InputAction action) {
+        return held[action.ordinal()];
+    }
+
+    /**
+     * Writes the held actions and all timers, so the tracker can later be put back
+     * exactly as it is, for example when a networked game is rolled back.
+     *
+     * @param out the buffer to write {@link #STATE_BYTES} bytes to
+     */
+    public void writeState(ByteBuffer out) {
+        int heldMask = 0;
+        for (int i = 0; i < held.length; i++) {
+            if (held[i]) heldMask |= 1 << i;
+        }
+        out.put((byte) heldMask)
+                .put((byte) (shiftDirection == null ? -1 : shiftDirection.ordinal()))
+                .put((byte) (autoShifting ? 1 : 0))
+                .putLong(shiftCharge)
+                .putLong(repeatCharge)
+                .putLong(softDropCharge)
+                .putLong(gravityNanos);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(ByteBuffer)}.
+     *
+     * @param in the buffer to read {@link #STATE_BYTES} bytes from
+     */
+    public void readState(ByteBuffer in) {
+        int heldMask = in.get();
+        for (int i = 0; i < held.length; i++) {
+            held[i] = (heldMask & (1 << i)) != 0;
+        }
+        int direction = in.get();
+        shiftDirection = direction < 0 ? null : InputAction.values()[direction];
+        autoShifting = in.get() != 0;
+        shiftCharge = in.getLong();
+        repeatCharge = in.getLong();
+        softDropCharge = in.getLong();
+        gravityNanos = in.getLong();
+    }
+
+    /**
+     * Releases every held action, for example after the game was paused and
+     * key releases may have been missed.
+     */
+    public void releaseAll() {
+        java.util.Arrays.fill(held, false);
+        shiftDirection = null;
+    }
+}
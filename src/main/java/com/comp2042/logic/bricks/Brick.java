@@ -16,4 +16,11 @@ public interface Brick {
      * @return a list of 2D integer arrays, each representing a rotation state of the brick
      */
     List<int[][]> getShapeMatrix();
+
+    /**
+     * Gets the type of this brick.
+     * 
+     * @return the BrickType of this brick
+     */
+    BrickFactory.BrickType getType();
 }
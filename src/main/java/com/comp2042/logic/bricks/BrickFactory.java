@@ -27,6 +27,14 @@ public class BrickFactory {
         Z
     }
 
+    private static final Brick[] SHARED = new Brick[BrickType.values().length];
+
+    static {
+        for (BrickType type : BrickType.values()) {
+            SHARED[type.ordinal()] = createBrick(type);
+        }
+    }
+
     /**
      * Creates a new brick instance of the specified type.
      * 
@@ -45,6 +53,17 @@ public class BrickFactory {
         };
     }
 
+    /**
+     * Gets the shared instance of a brick type. Bricks are immutable, so queues and
+     * boards can hold the shared instances instead of allocating their own rotation states.
+     *
+     * @param type the type of brick
+     * @return the shared Brick instance of the specified type
+     */
+    public static Brick getBrick(BrickType type) {
+        return SHARED[type.ordinal()];
+    }
+
     /**
      * Creates a new brick instance of a randomly selected type.
      * 
@@ -22,8 +22,8 @@ public interface BrickGenerator {
     Brick getNextBrick();
 
     /**
-     * Gets an array of preview bricks for display in the UI.
-     * Typically returns the next two upcoming bricks.
+     * Gets an array of preview bricks for display in the UI, nearest first.
+     * The UI shows as many of them as it has preview slots.
      * 
      * @return an array of Brick instances representing upcoming bricks
      */
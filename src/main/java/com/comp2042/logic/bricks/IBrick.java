@@ -41,4 +41,12 @@ final class IBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BrickFactory.BrickType getType() {
+        return BrickFactory.BrickType.I;
+    }
+
 }
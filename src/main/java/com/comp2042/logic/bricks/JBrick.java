@@ -52,4 +52,12 @@ final class JBrick implements Brick {
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BrickFactory.BrickType getType() {
+        return BrickFactory.BrickType.J;
+    }
 }
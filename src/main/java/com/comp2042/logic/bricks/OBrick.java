@@ -35,4 +35,12 @@ final class OBrick implements Brick {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BrickFactory.BrickType getType() {
+        return BrickFactory.BrickType.O;
+    }
+
 }
@@ -2,27 +2,67 @@ package com.comp2042.logic.bricks;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of BrickGenerator that creates random bricks using a queue system.
  * Maintains a preview of upcoming bricks to allow players to see what's coming next.
- * Uses a deque to manage the brick queue efficiently.
+ * Uses a deque to manage the brick queue efficiently. Bricks are drawn from a seeded
+ * SplitMix64 sequence, so two generators created with the same seed always produce
+ * the same bricks.
  */
 public class RandomBrickGenerator implements BrickGenerator {
 
     private final Deque<Brick> nextBricks = new ArrayDeque<>();
 
-    private static final int PREVIEW_COUNT = 3;
+    /** Number of upcoming bricks, after the one in play, that can be previewed. */
+    public static final int MAX_PREVIEW_COUNT = 5;
+
+    private static final int QUEUE_SIZE = MAX_PREVIEW_COUNT + 1;
+
+    private long randomState;
 
     /**
-     * Constructs a RandomBrickGenerator and initializes the queue with random bricks.
+     * Constructs a RandomBrickGenerator with a random seed and initializes the queue with random bricks.
      */
     public RandomBrickGenerator() {
-        for (int i = 0; i < PREVIEW_COUNT; i++) {
-            nextBricks.add(BrickFactory.createRandomBrick());
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a RandomBrickGenerator with the specified seed and initializes the queue.
+     * 
+     * @param seed the seed for the brick sequence
+     */
+    public RandomBrickGenerator(long seed) {
+        this.randomState = seed;
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            nextBricks.add(nextRandomBrick());
         }
     }
 
+    /**
+     * Creates the next brick in the seeded sequence.
+     * 
+     * @return a new Brick of the next random type
+     */
+    private Brick nextRandomBrick() {
+        BrickFactory.BrickType[] types = BrickFactory.getAllTypes();
+        return BrickFactory.getBrick(types[(int) Math.floorMod(nextLong(), (long) types.length)]);
+    }
+
+    /**
+     * Advances the SplitMix64 state and returns the next value.
+     * 
+     * @return the next pseudo-random long
+     */
+    private long nextLong() {
+        long z = (randomState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     /**
      * {@inheritDoc}
      * Returns the next brick from the queue and ensures the queue maintains
@@ -30,27 +70,66 @@ public class RandomBrickGenerator implements BrickGenerator {
      */
     @Override
     public Brick getBrick() {
-        while (nextBricks.size() < PREVIEW_COUNT) {
-            nextBricks.add(BrickFactory.createRandomBrick());
+        while (nextBricks.size() < QUEUE_SIZE) {
+            nextBricks.add(nextRandomBrick());
         }
         return nextBricks.poll();
     }
 
     /**
      * {@inheritDoc}
-     * Returns an array containing the next two bricks in the queue for preview display.
+     * Returns an array containing the next {@value #MAX_PREVIEW_COUNT} bricks in the queue for preview display.
      */
     @Override
     public Brick[] getPreviewBricks() {
-        Brick[] preview = new Brick[2];
+        Brick[] preview = new Brick[MAX_PREVIEW_COUNT];
         int i = 0;
         for (Brick brick : nextBricks) {
-            if (i >= 2) break;
+            if (i >= MAX_PREVIEW_COUNT) break;
             preview[i++] = brick;
         }
         return preview;
     }
 
+    /**
+     * Gets the state of the random sequence, which together with the queued types
+     * is enough to continue the sequence exactly.
+     * 
+     * @return the SplitMix64 state
+     */
+    public long getRandomState() {
+        return randomState;
+    }
+
+    /**
+     * Gets the types of the bricks waiting in the queue, next first.
+     * 
+     * @return the queued brick types
+     */
+    public BrickFactory.BrickType[] getQueuedTypes() {
+        BrickFactory.BrickType[] types = new BrickFactory.BrickType[nextBricks.size()];
+        int i = 0;
+        for (Brick brick : nextBricks) {
+            types[i++] = brick.getType();
+        }
+        return types;
+    }
+
+    /**
+     * Restores the generator to a state saved with {@link #getRandomState()} and
+     * {@link #getQueuedTypes()}.
+     * 
+     * @param randomState the SplitMix64 state
+     * @param queuedTypes the types of the queued bricks, next first
+     */
+    public void restore(long randomState, BrickFactory.BrickType[] queuedTypes) {
+        this.randomState = randomState;
+        nextBricks.clear();
+        for (BrickFactory.BrickType type : queuedTypes) {
+            nextBricks.add(BrickFactory.getBrick(type));
+        }
+    }
+
     /**
      * {@inheritDoc}
      * Returns the next brick without removing it from the queue.
@@ -40,4 +40,12 @@ final class SBrick implements Brick {
     public List<int[][]> getShapeMatrix() {
         return MatrixOperations.deepCopyList(brickMatrix);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BrickFactory.BrickType getType() {
+        return BrickFactory.BrickType.S;
+    }
 }
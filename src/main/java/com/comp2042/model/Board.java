@@ -1,6 +1,6 @@
 package com.comp2042.model;
 
-
+import com.comp2042.logic.bricks.BrickFactory;
 import com.comp2042.view.ViewData;
 
 /**
@@ -10,6 +10,9 @@ import com.comp2042.view.ViewData;
  */
 public interface Board {
 
+    /** Cell value of garbage rows added by {@link #addGarbage(int, int)}. */
+    int GARBAGE = 8;
+
     /**
      * Attempts to move the current falling brick down by one cell.
      * 
@@ -98,4 +101,35 @@ public interface Board {
      * @return the y-coordinate (row) for the ghost piece
      */
     int getGhostY();
+
+    /**
+     * Gets the rotation state of the falling brick.
+     *
+     * @return the rotation index (0-based)
+     */
+    int getBrickRotation();
+
+    /**
+     * Replaces the board and the falling brick, for example when a saved game is restored.
+     * The brick generator and the score are restored separately.
+     *
+     * @param boardMatrix the background board, which is copied
+     * @param brickType the type of the falling brick
+     * @param rotation the rotation state of the falling brick
+     * @param x the column of the falling brick
+     * @param y the row of the falling brick
+     */
+    void restore(int[][] boardMatrix, BrickFactory.BrickType brickType, int rotation, int x, int y);
+
+    /**
+     * Pushes the stack up and fills the bottom with garbage rows, each full except for
+     * one hole. The falling brick is lifted out of the way if it can be.
+     *
+     * @param lines the number of garbage rows
+     * @param holeColumn the column left empty in every garbage row
+     * @return true if cells were pushed off the top or the brick has no room left,
+     *         indicating game over
+     * @throws IllegalArgumentException if the hole column is not a column of the board
+     */
+    boolean addGarbage(int lines, int holeColumn);
 }
@@ -1,6 +1,10 @@
 package com.comp2042.model;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.util.MatrixOperations;
+
+import java.util.List;
 
 /**
  * Manages the rotation state of the current brick.
@@ -10,6 +14,7 @@ import com.comp2042.logic.bricks.Brick;
 public class BrickRotator {
 
     private Brick brick;
+    private List<int[][]> shapes;
     private int currentShape = 0;
 
     /**
@@ -20,8 +25,8 @@ public class BrickRotator {
      */
     public NextShapeInfo getNextShape() {
         int nextShape = currentShape;
-        nextShape = (++nextShape) % brick.getShapeMatrix().size();
-        return new NextShapeInfo(brick.getShapeMatrix().get(nextShape), nextShape);
+        nextShape = (++nextShape) % shapes.size();
+        return new NextShapeInfo(MatrixOperations.copy(shapes.get(nextShape)), nextShape);
     }
 
     /**
@@ -30,7 +35,25 @@ public class BrickRotator {
      * @return a 2D array representing the current shape of the brick
      */
     public int[][] getCurrentShape() {
-        return brick.getShapeMatrix().get(currentShape);
+        return MatrixOperations.copy(shapes.get(currentShape));
+    }
+
+    /**
+     * Gets the type of the current brick.
+     * 
+     * @return the BrickType of the current brick
+     */
+    public BrickFactory.BrickType getBrickType() {
+        return brick.getType();
+    }
+
+    /**
+     * Gets the index of the brick's current rotation state.
+     * 
+     * @return the rotation index (0-based)
+     */
+    public int getCurrentShapeIndex() {
+        return currentShape;
     }
 
     /**
@@ -44,11 +67,14 @@ public class BrickRotator {
 
     /**
      * Sets a new brick and resets the rotation state to the first state.
+     * The brick's rotation states are copied once here, so later lookups only copy
+     * the one state they return.
      * 
      * @param brick the new brick to manage rotation for
      */
     public void setBrick(Brick brick) {
         this.brick = brick;
+        this.shapes = brick.getShapeMatrix();
         currentShape = 0;
     }
 
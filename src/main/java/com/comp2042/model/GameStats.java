@@ -0,0 +1,230 @@
+package com.comp2042.model;
+
+/**
+ * Statistics of one finished game, as gathered by a {@link GameStatsCollector} and kept
+ * in the {@link StatsStore}. Instances are immutable.
+ * <p>
+ * The counters cover the tracked part of the game, which is all of it unless the game
+ * was resumed from a save; rates such as pieces per second use the tracked time.
+ */
+public final class GameStats {
+
+    /** Number of levels timed separately; later levels share the last slot. */
+    public static final int LEVEL_SLOTS = 12;
+
+    /** Largest number of lines a single clear can remove. */
+    public static final int MAX_CLEAR = 4;
+
+    private final GameMode mode;
+    private final boolean gameOver;
+    private final boolean gameWon;
+    private final boolean resumed;
+    private final long dateMillis;
+    private final long seed;
+    private final long playNanos;
+    private final long trackedNanos;
+    private final int score;
+    private final int lines;
+    private final int level;
+    private final int pieces;
+    private final int inputs;
+    private final int[] clears;
+    private final int deathHeight;
+    private final int[] levelMillis;
+
+    GameStats(GameMode mode, boolean gameOver, boolean gameWon, boolean resumed, long dateMillis, long seed,
+              long playNanos, long trackedNanos, int score, int lines, int level, int pieces, int inputs,
+              int[] clears, int deathHeight, int[] levelMillis) {
+        this.mode = mode;
+        this.gameOver = gameOver;
+        this.gameWon = gameWon;
+        this.resumed = resumed;
+        this.dateMillis = dateMillis;
+        this.seed = seed;
+        this.playNanos = playNanos;
+        this.trackedNanos = trackedNanos;
+        this.score = score;
+        this.lines = lines;
+        this.level = level;
+        this.pieces = pieces;
+        this.inputs = inputs;
+        this.clears = clears.clone();
+        this.deathHeight = deathHeight;
+        this.levelMillis = levelMillis.clone();
+    }
+
+    /**
+     * Gets the mode the game was played in.
+     *
+     * @return the game mode
+     */
+    public GameMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks whether the game ended by topping out.
+     *
+     * @return true after a game over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Checks whether the game was a completed sprint.
+     *
+     * @return true if the sprint target was reached
+     */
+    public boolean isGameWon() {
+        return gameWon;
+    }
+
+    /**
+     * Checks whether the game was resumed from a save, in which case only the part played
+     * after resuming was tracked.
+     *
+     * @return true for a resumed game
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    /**
+     * Gets when the game ended.
+     *
+     * @return the end time in milliseconds since the epoch
+     */
+    public long getDateMillis() {
+        return dateMillis;
+    }
+
+    /**
+     * Gets the seed of the brick sequence the game was played with.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the total play time of the game.
+     *
+     * @return the play time in nanoseconds
+     */
+    public long getPlayNanos() {
+        return playNanos;
+    }
+
+    /**
+     * Gets the play time covered by the counters.
+     *
+     * @return the tracked play time in nanoseconds
+     */
+    public long getTrackedNanos() {
+        return trackedNanos;
+    }
+
+    /**
+     * Gets the final score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the total lines cleared.
+     *
+     * @return the lines cleared
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the level the game ended on.
+     *
+     * @return the final level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the number of pieces locked.
+     *
+     * @return the piece count
+     */
+    public int getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Gets the number of moves, rotations and drops made by the player, auto-repeats included.
+     *
+     * @return the input count
+     */
+    public int getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Gets the number of clears that removed the given number of lines at once.
+     *
+     * @param lines the lines per clear, from 1 to {@link #MAX_CLEAR}
+     * @return the clear count
+     */
+    public int getClears(int lines) {
+        return clears[lines - 1];
+    }
+
+    /**
+     * Gets the height of the stack when the game ended.
+     *
+     * @return the number of rows from the floor to the highest filled cell
+     */
+    public int getDeathHeight() {
+        return deathHeight;
+    }
+
+    /**
+     * Gets the tracked play time spent on a level. The last slot holds all later levels.
+     *
+     * @param level the level, from 1
+     * @return the time in milliseconds
+     */
+    public int getLevelMillis(int level) {
+        return levelMillis[slotOf(level)];
+    }
+
+    /**
+     * Gets the pieces locked per second of tracked play time.
+     *
+     * @return the rate, or 0 if no time was tracked
+     */
+    public double getPiecesPerSecond() {
+        return trackedNanos > 0 ? pieces * 1e9 / trackedNanos : 0;
+    }
+
+    /**
+     * Gets the average number of inputs per locked piece.
+     *
+     * @return the average, or 0 if no piece was locked
+     */
+    public double getInputsPerPiece() {
+        return pieces > 0 ? (double) inputs / pieces : 0;
+    }
+
+    /**
+     * Gets the level time slot a level is counted in.
+     *
+     * @param level the level, from 1
+     * @return the slot index
+     */
+    static int slotOf(int level) {
+        return Math.min(Math.max(level, 1), LEVEL_SLOTS) - 1;
+    }
+}
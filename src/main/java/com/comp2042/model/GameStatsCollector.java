@@ -0,0 +1,114 @@
+package com.comp2042.model;
+
+import java.util.Arrays;
+
+/**
+ * Gathers the statistics of the game being played.
+ * Fed by the engine on its own thread; every event only bumps a primitive counter, so
+ * collecting costs nothing measurable per step and allocates nothing until the game ends
+ * and {@link #finish} builds the {@link GameStats}.
+ */
+public class GameStatsCollector {
+
+    private final int[] clears = new int[GameStats.MAX_CLEAR];
+    private final long[] levelNanos = new long[GameStats.LEVEL_SLOTS];
+    private boolean resumed;
+    private long startNanos;
+    private int pieces;
+    private int inputs;
+    private int level;
+    private long levelStartNanos;
+
+    /**
+     * Constructs a GameStatsCollector ready for a new game.
+     */
+    public GameStatsCollector() {
+        start(0, 1, false);
+    }
+
+    /**
+     * Starts tracking a new game, discarding the counters of the previous one.
+     *
+     * @param playNanos the play time at which tracking starts
+     * @param level the current level
+     * @param resumed whether the game was resumed from a save rather than started fresh
+     */
+    public void start(long playNanos, int level, boolean resumed) {
+        Arrays.fill(clears, 0);
+        Arrays.fill(levelNanos, 0);
+        this.resumed = resumed;
+        this.startNanos = playNanos;
+        this.pieces = 0;
+        this.inputs = 0;
+        this.level = level;
+        this.levelStartNanos = playNanos;
+    }
+
+    /**
+     * Counts a move, rotation or drop made by the player.
+     */
+    public void onInput() {
+        inputs++;
+    }
+
+    /**
+     * Counts a locked piece and the lines it cleared, and closes the time spent on the
+     * previous level when the level changed.
+     *
+     * @param linesRemoved the lines cleared by the piece, possibly 0
+     * @param newLevel the level after the clear
+     * @param playNanos the current play time
+     */
+    public void onPieceLocked(int linesRemoved, int newLevel, long playNanos) {
+        pieces++;
+        if (linesRemoved > 0) clears[Math.min(linesRemoved, GameStats.MAX_CLEAR) - 1]++;
+        if (newLevel != level) {
+            levelNanos[GameStats.slotOf(level)] += playNanos - levelStartNanos;
+            level = newLevel;
+            levelStartNanos = playNanos;
+        }
+    }
+
+    /**
+     * Gets the number of pieces locked so far.
+     *
+     * @return the piece count
+     */
+    public int getPieces() {
+        return pieces;
+    }
+
+    /**
+     * Gets the number of inputs counted so far.
+     *
+     * @return the input count
+     */
+    public int getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Builds the statistics of the finished game.
+     *
+     * @param mode the game mode
+     * @param gameOver whether the game ended by topping out
+     * @param gameWon whether the sprint target was reached
+     * @param dateMillis when the game ended, in milliseconds since the epoch
+     * @param seed the seed of the brick sequence
+     * @param playNanos the final play time
+     * @param score the final score
+     * @param lines the lines cleared
+     * @param deathHeight the height of the stack at the end
+     * @return the statistics
+     */
+    public GameStats finish(GameMode mode, boolean gameOver, boolean gameWon, long dateMillis, long seed,
+                            long playNanos, int score, int lines, int deathHeight) {
+        int[] levelMillis = new int[GameStats.LEVEL_SLOTS];
+        for (int i = 0; i < levelMillis.length; i++) {
+            long nanos = levelNanos[i] + (i == GameStats.slotOf(level) ? playNanos - levelStartNanos : 0);
+            levelMillis[i] = (int) Math.min(Integer.MAX_VALUE, nanos / 1_000_000);
+        }
+        return new GameStats(mode, gameOver, gameWon, resumed, dateMillis, seed, playNanos, playNanos - startNanos,
+                score, lines, level, pieces, inputs, clears, deathHeight, levelMillis);
+    }
+}
@@ -0,0 +1,99 @@
+package com.comp2042.model;
+
+/**
+ * Measures play time for a game on a monotonic nanosecond clock.
+ * Time only accumulates while the timer is running, so pauses are excluded,
+ * and stopping the timer freezes the elapsed time at the exact moment given.
+ * All methods take the current time as a parameter so the caller decides
+ * which clock reading a change is stamped with.
+ */
+public final class GameTimer {
+
+    private long accumulatedNanos;
+    private long startedAt;
+    private boolean running;
+
+    /**
+     * Resets the timer to zero and starts it.
+     *
+     * @param now the current time in nanoseconds
+     */
+    public void restart(long now) {
+        accumulatedNanos = 0;
+        startedAt = now;
+        running = true;
+    }
+
+    /**
+     * Sets the accumulated time and leaves the timer stopped, for example when a saved
+     * game is restored. {@link #resume(long)} continues from there.
+     *
+     * @param accumulatedNanos the play time already accumulated
+     */
+    public void restore(long accumulatedNanos) {
+        this.accumulatedNanos = accumulatedNanos;
+        this.running = false;
+    }
+
+    /**
+     * Resumes the timer if it is not already running.
+     *
+     * @param now the current time in nanoseconds
+     */
+    public void resume(long now) {
+        if (running) return;
+        startedAt = now;
+        running = true;
+    }
+
+    /**
+     * Pauses the timer, adding the running segment to the accumulated time.
+     * Also used to stop the timer for good when a game ends.
+     *
+     * @param now the current time in nanoseconds
+     */
+    public void pause(long now) {
+        if (running) {
+            accumulatedNanos += Math.max(0, now - startedAt);
+            running = false;
+        }
+    }
+
+    /**
+     * Gets the elapsed play time.
+     *
+     * @param now the current time in nanoseconds
+     * @return the elapsed time in nanoseconds, excluding paused periods
+     */
+    public long elapsedNanos(long now) {
+        return running ? accumulatedNanos + Math.max(0, now - startedAt) : accumulatedNanos;
+    }
+
+    /**
+     * Checks whether the timer is running.
+     *
+     * @return true if time is currently accumulating
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the time accumulated up to the start of the current running segment.
+     *
+     * @return the accumulated time in nanoseconds
+     */
+    public long getAccumulatedNanos() {
+        return accumulatedNanos;
+    }
+
+    /**
+     * Gets the time at which the current running segment started. Only meaningful while
+     * {@link #isRunning()} is true.
+     *
+     * @return the start time in nanoseconds
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+}
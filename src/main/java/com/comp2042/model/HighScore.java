@@ -3,28 +3,37 @@ package com.comp2042.model;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
-import java.io.*;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
 
 /**
- * Manages the high score functionality with persistent storage.
- * Loads the high score from a file on creation and saves it when a new high score is achieved.
- * Provides JavaFX property binding for UI updates.
+ * Exposes the high score of the shared {@link ScoreService} as a JavaFX property.
+ * Creating one does no disk I/O: the property starts at the service's cached value and
+ * follows every new high score the service publishes, including the stored value once it
+ * has finished loading. New records are handed to the service, which saves them in the
+ * background.
  */
 public class HighScore {
 
-    private static final String HIGH_SCORE_FILE = "highscore.dat";
     private final IntegerProperty highScore = new SimpleIntegerProperty(0);
+    private final ScoreService service;
+    private final IntConsumer listener = this::onHighScore;
 
     /**
-     * Constructs a HighScore instance and loads the saved high score from file.
+     * Constructs a HighScore view of the given service.
+     *
+     * @param service the score service holding the high score
+     * @param executor the executor property updates are run on, normally {@code Platform::runLater}
      */
-    public HighScore() {
-        load();
+    public HighScore(ScoreService service, Executor executor) {
+        this.service = service;
+        service.addListener(listener, executor);
+        highScore.setValue(service.getHighScore());
     }
 
     /**
      * Returns the high score as a JavaFX property for UI binding.
-     * 
+     *
      * @return the IntegerProperty representing the current high score
      */
     public IntegerProperty highScoreProperty() {
@@ -33,7 +42,7 @@ public class HighScore {
 
     /**
      * Gets the current high score value.
-     * 
+     *
      * @return the current high score
      */
     public int getHighScore() {
@@ -42,44 +51,36 @@ public class HighScore {
 
     /**
      * Checks if the new score is higher than the current high score.
-     * If so, updates the high score and saves it to file.
-     * 
+     * If so, updates the high score and hands it to the service to be saved in the background.
+     *
      * @param newScore the score to check against the current high score
      * @return true if the high score was updated, false otherwise
      */
     public boolean checkAndUpdate(int newScore) {
-        if (newScore > highScore.getValue()) {
+        if (service.submitScore(newScore)) {
             highScore.setValue(newScore);
-            save();
             return true;
         }
         return false;
     }
 
     /**
-     * Saves the current high score to a file.
-     * The score is persisted to "highscore.dat" for retrieval in future sessions.
+     * Writes any high score still waiting to be saved without further delay.
+     * Does not block; called at game over so the record reaches the disk promptly.
      */
-    private void save() {
-        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(HIGH_SCORE_FILE))) {
-            out.writeInt(highScore.getValue());
-        } catch (IOException e) {
-            System.err.println("Could not save high score: " + e.getMessage());
-        }
+    public void flush() {
+        service.flush();
     }
 
     /**
-     * Loads the high score from file if it exists.
-     * If the file doesn't exist or an error occurs, the high score remains at 0.
+     * Stops following the service's high score.
      */
-    private void load() {
-        File file = new File(HIGH_SCORE_FILE);
-        if (file.exists()) {
-            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
-                highScore.setValue(in.readInt());
-            } catch (IOException e) {
-                System.err.println("Could not load high score: " + e.getMessage());
-            }
-        }
+    public void dispose() {
+        service.removeListener(listener);
+    }
+
+    private void onHighScore(int value) {
+        // Publications can arrive out of order; the high score only ever rises
+        if (value > highScore.getValue()) highScore.setValue(value);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.comp2042.model;
+
+import com.comp2042.util.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Writes the high score to disk on a background thread.
+ * Scores are submitted without blocking; only the latest one is kept, and it is written
+ * after a short delay so a run of new records produces a single write. {@link #flush()}
+ * skips the delay, for example at game over. Each write replaces the file through
+ * {@link AtomicFiles}, so a crash leaves either the old or the new score, never a partial
+ * file. The file holds a magic number, a format version, the score and a CRC32 of the
+ * preceding bytes. A score whose write fails stays pending and is retried after a second,
+ * up to {@value #MAX_ATTEMPTS} times. It only counts as written once a write succeeds.
+ * <p>
+ * The writer thread is not a daemon and ends as soon as nothing is pending, so the JVM
+ * does not exit before a submitted score has been written.
+ */
+public class HighScoreWriter {
+
+    /** Default time a submitted score waits for newer ones before it is written. */
+    public static final long DEFAULT_DELAY_MILLIS = 250;
+
+    private static final int MAGIC = 0x54485343;
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECORD_BYTES = 16;
+    private static final int LEGACY_BYTES = 4;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path file;
+    private final long delayNanos;
+    private final Object lock = new Object();
+
+    private int pendingScore;
+    private boolean pending;
+    private boolean flushRequested;
+    private long pendingDue;
+    private int failedAttempts;
+    private long submitted;
+    private long written;
+    private long writeCount;
+    private Thread thread;
+
+    /**
+     * Constructs a HighScoreWriter with the default delay.
+     *
+     * @param file the high score file
+     */
+    public HighScoreWriter(Path file) {
+        this(file, DEFAULT_DELAY_MILLIS);
+    }
+
+    /**
+     * Constructs a HighScoreWriter.
+     *
+     * @param file the high score file
+     * @param delayMillis how long a submitted score waits for newer ones before it is written
+     */
+    public HighScoreWriter(Path file, long delayMillis) {
+        this.file = file;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    }
+
+    /**
+     * Queues a score to be written. Never blocks on disk I/O; a score still waiting is replaced.
+     *
+     * @param score the score to persist
+     */
+    public void submit(int score) {
+        synchronized (lock) {
+            pendingScore = score;
+            if (!pending) {
+                pending = true;
+                pendingDue = System.nanoTime() + delayNanos;
+            }
+            submitted++;
+            if (thread == null) {
+                thread = new Thread(this::run, "highscore-writer");
+                thread.start();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Asks for any waiting score to be written now instead of after the delay. Does not block.
+     */
+    public void flush() {
+        synchronized (lock) {
+            flushRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Writes any waiting score now and waits until every submitted score is on disk.
+     *
+     * @param timeoutMillis the longest time to wait
+     * @return true if everything submitted was written in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean flushAndWait(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (lock) {
+            flushRequested = true;
+            lock.notifyAll();
+            while (written < submitted) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Gets the number of writes performed so far.
+     *
+     * @return the write count
+     */
+    public long getWriteCount() {
+        synchronized (lock) {
+            return writeCount;
+        }
+    }
+
+    /**
+     * Writer thread: waits out the delay, takes the latest score and writes it,
+     * and ends when nothing is left to write.
+     */
+    private void run() {
+        while (true) {
+            int score;
+            long sequence;
+            synchronized (lock) {
+                if (!pending) {
+                    thread = null;
+                    return;
+                }
+                long wait = pendingDue - System.nanoTime();
+                if (!flushRequested && wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, wait);
+                    } catch (InterruptedException e) {
+                        flushRequested = true;
+                    }
+                    continue;
+                }
+                score = pendingScore;
+                sequence = submitted;
+                pending = false;
+                flushRequested = false;
+            }
+            boolean saved;
+            try {
+                write(score);
+                saved = true;
+            } catch (IOException e) {
+                System.err.println("Could not save high score: " + e.getMessage());
+                saved = false;
+            }
+            synchronized (lock) {
+                if (saved) {
+                    written = sequence;
+                    writeCount++;
+                    failedAttempts = 0;
+                } else if (!pending && ++failedAttempts < MAX_ATTEMPTS) {
+                    // Retry the same score later unless a newer one has replaced it
+                    pendingScore = score;
+                    pending = true;
+                    pendingDue = System.nanoTime() + Math.max(delayNanos, RETRY_DELAY_NANOS);
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void write(int score) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(score);
+        buffer.putInt(checksum(buffer.array(), RECORD_BYTES - 4));
+        buffer.flip();
+        AtomicFiles.write(file, buffer);
+    }
+
+    /**
+     * Reads a high score file. Files written before the checksummed format, which hold a
+     * single int, are still accepted.
+     *
+     * @param file the high score file
+     * @return the stored score, or 0 if the file does not exist
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static int read(Path file) throws IOException {
+        if (!Files.exists(file)) return 0;
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length == LEGACY_BYTES) return buffer.getInt();
+        if (bytes.length != RECORD_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("not a high score file: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unsupported high score format " + version + ": " + file);
+        }
+        int score = buffer.getInt();
+        if (buffer.getInt() != checksum(bytes, RECORD_BYTES - 4)) {
+            throw new IOException("high score checksum mismatch: " + file);
+        }
+        return score;
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,504 @@
+package com.comp2042.model;
+
+import com.comp2042.util.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the best finished games of each {@link GameMode}, up to a fixed number per mode.
+ * <p>
+ * Entries are stored in an append-only log of fixed-size, checksummed records that is
+ * memory-mapped, so adding an entry is a memory write. Only entries that make the top of
+ * their mode are appended; entries pushed out later stay in the log as dead records until
+ * they outnumber the live ones. The log is then compacted: the live entries are written
+ * through {@link AtomicFiles} to a new file, named after the log with the next generation
+ * number appended, and appends switch to it. The mapped file is never moved over or
+ * truncated, which some platforms refuse while a mapping is alive. Older generations are
+ * deleted once they can be, and loading picks the newest generation. A record torn by a
+ * crash fails its checksum and ends the log on the next load.
+ * <p>
+ * Loading, appending and compaction all run on one background thread, so callers never
+ * block on the disk. Each mode's entries are kept sorted by {@link LeaderboardEntry#rankKey()};
+ * after every batch of changes an immutable copy is published, which readers on any thread
+ * query without locking, finding the rank of a result by binary search.
+ */
+public class Leaderboard {
+
+    /** Default number of entries kept per mode. */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    private static final int MAGIC = 0x544C4231;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_BYTES = 40;
+    private static final int RECORD_TAG = 0x4C450000;
+    private static final int TAG_MASK = 0xFFFF0000;
+    private static final long MIN_MAP_BYTES = 64 * 1024;
+    private static final long COMPACT_MIN_DEAD = 1024;
+    private static final GameMode[] MODES = GameMode.values();
+
+    private final Path file;
+    private final int capacity;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentLinkedQueue<LeaderboardEntry> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final CompletableFuture<Leaderboard> loaded;
+
+    // Owned by the background thread
+    private final LeaderboardEntry[][] ranked;
+    private final int[] sizes;
+    private final byte[] record = new byte[RECORD_BYTES];
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer map;
+    private long generation;
+    private long writePosition;
+
+    private volatile LeaderboardEntry[][] published;
+    private volatile long logRecords;
+    private volatile long compactions;
+
+    /**
+     * Constructs a Leaderboard and starts loading it in the background.
+     *
+     * @param file the log file; compacted generations are kept next to it
+     * @param capacity the number of entries kept per mode
+     */
+    public Leaderboard(Path file, int capacity) {
+        this.file = file;
+        this.capacity = Math.max(1, capacity);
+        this.ranked = new LeaderboardEntry[MODES.length][this.capacity];
+        this.sizes = new int[MODES.length];
+        LeaderboardEntry[][] empty = new LeaderboardEntry[MODES.length][];
+        Arrays.fill(empty, new LeaderboardEntry[0]);
+        this.published = empty;
+
+        // One non-daemon thread that ends when idle, so pending entries are written before exit
+        this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "leaderboard"));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.loaded = CompletableFuture.supplyAsync(() -> {
+            try {
+                load();
+            } catch (IOException e) {
+                System.err.println("Could not load leaderboard: " + e.getMessage());
+                closeChannel();
+            }
+            compactIfNeeded();
+            publish();
+            return this;
+        }, executor);
+    }
+
+    /**
+     * Gets a future completed once the stored entries have been loaded.
+     *
+     * @return the load future
+     */
+    public CompletableFuture<Leaderboard> loaded() {
+        return loaded;
+    }
+
+    /**
+     * Checks whether the stored entries have been loaded.
+     *
+     * @return true once loading has finished
+     */
+    public boolean isLoaded() {
+        return loaded.isDone();
+    }
+
+    /**
+     * Adds a finished game. Returns immediately; the entry is stored in the background
+     * and shows up in queries once its batch is published.
+     *
+     * @param entry the entry to add
+     */
+    public void record(LeaderboardEntry entry) {
+        incoming.add(entry);
+        if (drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stores all entries recorded so far and forces the log to disk.
+     *
+     * @return a future completed when the entries are stored and published
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            drain();
+            if (map != null) map.force();
+        }, executor);
+    }
+
+    /**
+     * Stores all recorded entries, forces the log to disk and closes it.
+     * The leaderboard must not be used afterwards.
+     */
+    public void close() {
+        flush().join();
+        CompletableFuture.runAsync(this::closeChannel, executor).join();
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the best entries of a mode, best first.
+     *
+     * @param mode the game mode
+     * @param count the largest number of entries to return
+     * @return an immutable list of at most {@code count} entries
+     */
+    public List<LeaderboardEntry> top(GameMode mode, int count) {
+        LeaderboardEntry[] entries = published[mode.ordinal()];
+        return List.of(Arrays.copyOf(entries, Math.min(Math.max(0, count), entries.length)));
+    }
+
+    /**
+     * Gets the best entry of a mode.
+     *
+     * @param mode the game mode
+     * @return the best entry, or null if the mode has none
+     */
+    public LeaderboardEntry best(GameMode mode) {
+        LeaderboardEntry[] entries = published[mode.ordinal()];
+        return entries.length > 0 ? entries[0] : null;
+    }
+
+    /**
+     * Gets the number of entries kept for a mode.
+     *
+     * @param mode the game mode
+     * @return the entry count, at most the capacity
+     */
+    public int size(GameMode mode) {
+        return published[mode.ordinal()].length;
+    }
+
+    /**
+     * Gets the rank a result would have among the kept entries of its mode, in O(log n).
+     * Rank 1 is the best; a result that ties an entry ranks alongside it. Results below
+     * every kept entry of a full leaderboard get rank {@code capacity + 1}.
+     *
+     * @param mode the game mode
+     * @param rankKey the result's ranking key, see {@link LeaderboardEntry#rankKey(GameMode, int, long)}
+     * @return the rank
+     */
+    public int rankOf(GameMode mode, long rankKey) {
+        LeaderboardEntry[] entries = published[mode.ordinal()];
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].rankKey() > rankKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low + 1;
+    }
+
+    /**
+     * Gets the number of records in the log, live and dead.
+     *
+     * @return the log record count
+     */
+    public long getLogRecordCount() {
+        return logRecords;
+    }
+
+    /**
+     * Gets the number of times the log has been compacted.
+     *
+     * @return the compaction count
+     */
+    public long getCompactionCount() {
+        return compactions;
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        boolean changed = false;
+        LeaderboardEntry entry;
+        while ((entry = incoming.poll()) != null) {
+            if (insert(entry)) {
+                append(entry);
+                changed = true;
+            }
+        }
+        if (changed) {
+            compactIfNeeded();
+            publish();
+        }
+    }
+
+    /**
+     * Inserts an entry after any entries it ties with, dropping the last entry if the mode is full.
+     *
+     * @return true if the entry made the leaderboard
+     */
+    private boolean insert(LeaderboardEntry entry) {
+        int mode = entry.getMode().ordinal();
+        LeaderboardEntry[] entries = ranked[mode];
+        int size = sizes[mode];
+        long key = entry.rankKey();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].rankKey() >= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low >= capacity) return false;
+        if (size == capacity) size--;
+        System.arraycopy(entries, low, entries, low + 1, size - low);
+        entries[low] = entry;
+        sizes[mode] = size + 1;
+        return true;
+    }
+
+    private int liveCount() {
+        int live = 0;
+        for (int size : sizes) {
+            live += size;
+        }
+        return live;
+    }
+
+    private void publish() {
+        LeaderboardEntry[][] copy = new LeaderboardEntry[MODES.length][];
+        for (int i = 0; i < MODES.length; i++) {
+            copy[i] = Arrays.copyOf(ranked[i], sizes[i]);
+        }
+        published = copy;
+    }
+
+    private void load() throws IOException {
+        generation = latestGeneration();
+        Path log = generationFile(generation);
+        channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            channel.read(header, 0);
+            if (size < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("not a leaderboard file: " + log);
+            }
+        }
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_MAP_BYTES));
+        if (size == 0) {
+            map.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putLong(8, generation);
+        }
+        deleteOldGenerations();
+
+        long position = HEADER_BYTES;
+        long records = 0;
+        while (position + RECORD_BYTES <= map.capacity()) {
+            LeaderboardEntry entry = decode((int) position);
+            if (entry == null) break;
+            insert(entry);
+            position += RECORD_BYTES;
+            records++;
+        }
+        writePosition = position;
+        logRecords = records;
+    }
+
+    private void append(LeaderboardEntry entry) {
+        if (map == null) return;
+        try {
+            if (writePosition + RECORD_BYTES > map.capacity()) {
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, map.capacity() * 2L);
+            }
+            encode(entry);
+            map.put((int) writePosition, record);
+            writePosition += RECORD_BYTES;
+            logRecords++;
+        } catch (IOException e) {
+            System.err.println("Could not save leaderboard entry: " + e.getMessage());
+        }
+    }
+
+    private void compactIfNeeded() {
+        long dead = logRecords - liveCount();
+        if (map == null || dead < Math.max(COMPACT_MIN_DEAD, liveCount())) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            System.err.println("Could not compact leaderboard: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the live entries to the next generation of the log and switches appends to it.
+     * If anything fails before the switch, the current log stays in use unchanged.
+     */
+    private void compact() throws IOException {
+        int live = liveCount();
+        long next = generation + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + live * RECORD_BYTES);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(next);
+        for (int mode = 0; mode < MODES.length; mode++) {
+            for (int i = 0; i < sizes[mode]; i++) {
+                encode(ranked[mode][i]);
+                buffer.put(record);
+            }
+        }
+        buffer.flip();
+        long end = buffer.limit();
+
+        Path log = generationFile(next);
+        AtomicFiles.write(log, buffer);
+        FileChannel nextChannel = null;
+        MappedByteBuffer nextMap;
+        try {
+            nextChannel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            nextMap = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(MIN_MAP_BYTES, end * 2));
+        } catch (IOException e) {
+            // Otherwise the next load would pick this generation and miss later appends
+            if (nextChannel != null) nextChannel.close();
+            Files.deleteIfExists(log);
+            throw e;
+        }
+
+        // The old mapping stays alive until it is collected, so its file may not be deletable yet
+        closeChannel();
+        channel = nextChannel;
+        map = nextMap;
+        generation = next;
+        writePosition = end;
+        logRecords = live;
+        compactions++;
+        deleteOldGenerations();
+    }
+
+    /**
+     * Gets the file of a generation of the log: the log file itself for generation 0,
+     * otherwise the log file's name followed by a dot and the generation number.
+     */
+    private Path generationFile(long generation) {
+        return generation == 0 ? file : file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    /**
+     * Parses the generation number of a file next to the log.
+     *
+     * @return the generation, or -1 if the file is not a generation of the log
+     */
+    private long generationOf(Path candidate) {
+        String name = candidate.getFileName().toString();
+        String prefix = file.getFileName() + ".";
+        if (name.equals(file.getFileName().toString())) return 0;
+        if (!name.startsWith(prefix) || name.length() == prefix.length()) return -1;
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private long latestGeneration() throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(file.toAbsolutePath().getParent(),
+                file.getFileName() + ".*")) {
+            for (Path candidate : files) {
+                latest = Math.max(latest, generationOf(candidate));
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Deletes the generations older than the current one. A file that cannot be deleted
+     * yet, for example because it is still mapped, is left for a later attempt.
+     */
+    private void deleteOldGenerations() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(file.toAbsolutePath().getParent(),
+                file.getFileName() + "*")) {
+            for (Path candidate : files) {
+                long candidateGeneration = generationOf(candidate);
+                if (candidateGeneration < 0 || candidateGeneration >= generation) continue;
+                try {
+                    Files.deleteIfExists(candidate);
+                } catch (IOException e) {
+                    // Still in use; retried after the next load or compaction
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not clean up leaderboard logs: " + e.getMessage());
+        }
+    }
+
+    private void closeChannel() {
+        map = null;
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close leaderboard: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Encodes an entry into the record buffer: tag and mode, score, lines, play time,
+     * date, replay id and a CRC32 of the preceding bytes.
+     */
+    private void encode(LeaderboardEntry entry) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(RECORD_TAG | (entry.getMode().ordinal() + 1))
+                .putInt(entry.getScore())
+                .putInt(entry.getLines())
+                .putLong(entry.getPlayNanos())
+                .putLong(entry.getDateMillis())
+                .putLong(entry.getReplayId());
+        buffer.putInt(checksum());
+    }
+
+    /**
+     * Decodes the record at a position of the mapped log.
+     *
+     * @return the entry, or null if the position holds no valid record
+     */
+    private LeaderboardEntry decode(int position) {
+        int tag = map.getInt(position);
+        int mode = (tag & ~TAG_MASK) - 1;
+        if ((tag & TAG_MASK) != RECORD_TAG || mode < 0 || mode >= MODES.length) return null;
+        map.get(position, record);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        if (buffer.getInt(RECORD_BYTES - 4) != checksum()) return null;
+        buffer.position(4);
+        return new LeaderboardEntry(MODES[mode], buffer.getInt(), buffer.getInt(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    private int checksum() {
+        crc.reset();
+        crc.update(record, 0, RECORD_BYTES - 4);
+        return (int) crc.getValue();
+    }
+}
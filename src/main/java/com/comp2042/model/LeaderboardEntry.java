@@ -0,0 +1,111 @@
+package com.comp2042.model;
+
+/**
+ * One finished game on the {@link Leaderboard}.
+ * Entries are immutable. How entries of a mode are ordered is given by {@link #rankKey()}:
+ * classic games rank by score, sprints by time.
+ */
+public final class LeaderboardEntry {
+
+    private final GameMode mode;
+    private final int score;
+    private final int lines;
+    private final long playNanos;
+    private final long dateMillis;
+    private final long replayId;
+
+    /**
+     * Constructs a LeaderboardEntry.
+     *
+     * @param mode the mode the game was played in
+     * @param score the final score
+     * @param lines the lines cleared
+     * @param playNanos the play time in nanoseconds
+     * @param dateMillis when the game ended, in milliseconds since the epoch
+     * @param replayId the seed of the brick sequence the game was played with
+     */
+    public LeaderboardEntry(GameMode mode, int score, int lines, long playNanos, long dateMillis, long replayId) {
+        this.mode = mode;
+        this.score = score;
+        this.lines = lines;
+        this.playNanos = playNanos;
+        this.dateMillis = dateMillis;
+        this.replayId = replayId;
+    }
+
+    /**
+     * Gets the ranking key of a result in the given mode; higher is better.
+     * Classic games rank by score and sprints by the negated play time.
+     *
+     * @param mode the game mode
+     * @param score the final score
+     * @param playNanos the play time in nanoseconds
+     * @return the ranking key
+     */
+    public static long rankKey(GameMode mode, int score, long playNanos) {
+        return mode == GameMode.SPRINT ? -playNanos : score;
+    }
+
+    /**
+     * Gets the ranking key of this entry; higher is better.
+     *
+     * @return the ranking key
+     */
+    public long rankKey() {
+        return rankKey(mode, score, playNanos);
+    }
+
+    /**
+     * Gets the mode the game was played in.
+     *
+     * @return the game mode
+     */
+    public GameMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the final score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the number of lines cleared.
+     *
+     * @return the lines cleared
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the play time.
+     *
+     * @return the play time in nanoseconds
+     */
+    public long getPlayNanos() {
+        return playNanos;
+    }
+
+    /**
+     * Gets when the game ended.
+     *
+     * @return the end time in milliseconds since the epoch
+     */
+    public long getDateMillis() {
+        return dateMillis;
+    }
+
+    /**
+     * Gets the seed of the brick sequence the game was played with.
+     *
+     * @return the replay id
+     */
+    public long getReplayId() {
+        return replayId;
+    }
+}
@@ -82,6 +82,28 @@ public class Level {
         return Math.max(speed, MIN_SPEED_MS);
     }
 
+    /**
+     * Gets the gravity interval for the current level in game clock nanoseconds.
+     * The game loop measures this interval on its {@code GameClock}, so an accelerated
+     * or manually stepped clock speeds up or steps gravity accordingly.
+     * 
+     * @return the time between gravity ticks in nanoseconds
+     */
+    public long getGravityNanos() {
+        return getSpeedForCurrentLevel() * 1_000_000L;
+    }
+
+    /**
+     * Sets the lines cleared and derives the level from them, for example when a saved
+     * game is restored.
+     * 
+     * @param lines the total lines cleared
+     */
+    public void restore(int lines) {
+        linesCleared.setValue(lines);
+        level.setValue((lines / LINES_PER_LEVEL) + 1);
+    }
+
     /**
      * Resets the level and lines cleared to their initial values.
      * Used when starting a new game.
@@ -29,6 +29,15 @@ public final class Score {
         score.setValue(score.getValue() + i);
     }
 
+    /**
+     * Sets the score, for example when a saved game is restored.
+     * 
+     * @param value the new score
+     */
+    public void set(int value) {
+        score.setValue(value);
+    }
+
     /**
      * Resets the score to zero.
      */
@@ -0,0 +1,206 @@
+package com.comp2042.model;
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Application-wide home of the high score and the {@link Leaderboard}.
+ * The stored high score is read once, on a background thread, when the service is first
+ * used; afterwards every screen reads the cached value, so scene changes never touch the
+ * disk and all screens agree. New records are cached at once, written through a
+ * {@link HighScoreWriter} once the stored score is known, and published to every
+ * registered listener on the executor the listener chose. Listeners are held weakly, so
+ * a screen that is discarded without unregistering does not leak.
+ */
+public class ScoreService {
+
+    private static final String HIGH_SCORE_FILE = "highscore.dat";
+    private static final String LEADERBOARD_FILE = "leaderboard.dat";
+
+    private final Callable<Integer> reader;
+    private final HighScoreWriter writer;
+    private final Leaderboard leaderboard;
+    private final CompletableFuture<ScoreService> loaded = new CompletableFuture<>();
+    private final CopyOnWriteArrayList<Registration> listeners = new CopyOnWriteArrayList<>();
+    private int highScore;
+    private boolean storedRead;
+
+    private record Registration(WeakReference<IntConsumer> listener, Executor executor) {
+    }
+
+    private static final class InstanceHolder {
+        private static final ScoreService INSTANCE = new ScoreService(Path.of(HIGH_SCORE_FILE),
+                new Leaderboard(Path.of(LEADERBOARD_FILE), Leaderboard.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Gets the shared service backed by {@code highscore.dat} and {@code leaderboard.dat},
+     * starting to load both on first use.
+     *
+     * @return the shared score service
+     */
+    public static ScoreService getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Constructs a ScoreService and starts loading the high score in the background.
+     *
+     * @param highScoreFile the high score file
+     * @param leaderboard the leaderboard to share
+     */
+    public ScoreService(Path highScoreFile, Leaderboard leaderboard) {
+        this(highScoreFile, leaderboard, () -> HighScoreWriter.read(highScoreFile));
+    }
+
+    /**
+     * Constructs a ScoreService that reads the stored high score with the given reader.
+     *
+     * @param highScoreFile the high score file new records are written to
+     * @param leaderboard the leaderboard to share
+     * @param reader reads the stored high score on the loading thread
+     */
+    ScoreService(Path highScoreFile, Leaderboard leaderboard, Callable<Integer> reader) {
+        this.reader = reader;
+        this.writer = new HighScoreWriter(highScoreFile);
+        this.leaderboard = leaderboard;
+        Thread loader = new Thread(this::load, "score-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        int stored = 0;
+        try {
+            stored = reader.call();
+        } catch (Exception e) {
+            System.err.println("Could not load high score: " + e.getMessage());
+        }
+        boolean raised;
+        synchronized (this) {
+            // A record set while loading is kept, and only now written, if it beats the stored score
+            raised = stored > highScore;
+            if (raised) {
+                highScore = stored;
+            } else if (highScore > stored) {
+                writer.submit(highScore);
+            }
+            storedRead = true;
+        }
+        if (raised) publish(stored);
+        loaded.complete(this);
+    }
+
+    /**
+     * Gets a future completed once the stored high score has been read.
+     *
+     * @return the load future
+     */
+    public CompletableFuture<ScoreService> loaded() {
+        return loaded;
+    }
+
+    /**
+     * Checks whether the stored high score has been read.
+     *
+     * @return true once loading has finished
+     */
+    public boolean isLoaded() {
+        return loaded.isDone();
+    }
+
+    /**
+     * Gets the cached high score. Never touches the disk.
+     *
+     * @return the high score, or 0 while it is still loading and no record was set
+     */
+    public synchronized int getHighScore() {
+        return highScore;
+    }
+
+    /**
+     * Records a score if it beats the high score: the cache is updated at once, the new
+     * value is queued for the background writer and published to all listeners. Until
+     * the stored score has been read nothing is queued, so a record set meanwhile can
+     * never overwrite a higher stored one.
+     *
+     * @param score the score to check
+     * @return true if the score is a new high score
+     */
+    public boolean submitScore(int score) {
+        synchronized (this) {
+            if (score <= highScore) return false;
+            highScore = score;
+            if (storedRead) writer.submit(score);
+        }
+        publish(score);
+        return true;
+    }
+
+    /**
+     * Registers a listener for new high scores. The listener is held weakly, so the caller
+     * must keep a reference to it for as long as it should be notified.
+     *
+     * @param listener the listener receiving each new high score
+     * @param executor the executor the listener is run on, for example {@code Platform::runLater}
+     */
+    public void addListener(IntConsumer listener, Executor executor) {
+        listeners.add(new Registration(new WeakReference<>(listener), executor));
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(IntConsumer listener) {
+        listeners.removeIf(registration -> {
+            IntConsumer registered = registration.listener().get();
+            return registered == null || registered == listener;
+        });
+    }
+
+    private void publish(int score) {
+        boolean collected = false;
+        for (Registration registration : listeners) {
+            IntConsumer listener = registration.listener().get();
+            if (listener == null) {
+                collected = true;
+            } else {
+                registration.executor().execute(() -> listener.accept(score));
+            }
+        }
+        if (collected) listeners.removeIf(registration -> registration.listener().get() == null);
+    }
+
+    /**
+     * Asks for a pending high score to be written now instead of after the writer's delay.
+     * Does not block.
+     */
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Gets the background writer that persists the high score.
+     *
+     * @return the high score writer
+     */
+    public HighScoreWriter getWriter() {
+        return writer;
+    }
+
+    /**
+     * Gets the shared leaderboard.
+     *
+     * @return the leaderboard
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+}
@@ -1,12 +1,14 @@
 package com.comp2042.model;
 
 import com.comp2042.logic.bricks.Brick;
+import com.comp2042.logic.bricks.BrickFactory;
 import com.comp2042.logic.bricks.BrickGenerator;
 import com.comp2042.logic.bricks.RandomBrickGenerator;
 import com.comp2042.view.ViewData;
 import com.comp2042.util.MatrixOperations;
 
 import java.awt.Point;
+import java.util.Arrays;
 
 /**
  * Implementation of the Board interface representing the game board for Tetris.
@@ -33,10 +35,22 @@ public class SimpleBoard implements Board {
      * @param height the number of columns in the board
      */
     public SimpleBoard(int width, int height) {
+        this(width, height, new RandomBrickGenerator());
+    }
+
+    /**
+     * Constructs a new SimpleBoard with the specified dimensions and brick generator.
+     * Passing a seeded generator makes the sequence of bricks reproducible.
+     * 
+     * @param width the number of rows in the board
+     * @param height the number of columns in the board
+     * @param brickGenerator the generator that supplies new bricks
+     */
+    public SimpleBoard(int width, int height, BrickGenerator brickGenerator) {
         this.width = width;
         this.height = height;
         currentGameMatrix = new int[width][height];
-        brickGenerator = new RandomBrickGenerator();
+        this.brickGenerator = brickGenerator;
         brickRotator = new BrickRotator();
         score = new Score();
     }
@@ -47,10 +61,9 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean moveBrickDown() {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
         Point p = new Point(currentOffset);
         p.translate(0, 1);
-        boolean conflict = MatrixOperations.intersect(currentMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
         if (conflict) {
             return false;
         } else {
@@ -65,10 +78,9 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean moveBrickLeft() {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
         Point p = new Point(currentOffset);
         p.translate(-1, 0);
-        boolean conflict = MatrixOperations.intersect(currentMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
         if (conflict) {
             return false;
         } else {
@@ -83,10 +95,9 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean moveBrickRight() {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
         Point p = new Point(currentOffset);
         p.translate(1, 0);
-        boolean conflict = MatrixOperations.intersect(currentMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
+        boolean conflict = MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), (int) p.getX(), (int) p.getY());
         if (conflict) {
             return false;
         } else {
@@ -102,36 +113,35 @@ public class SimpleBoard implements Board {
      */
     @Override
     public boolean rotateLeftBrick() {
-        int[][] currentMatrix = MatrixOperations.copy(currentGameMatrix);
         NextShapeInfo nextShape = brickRotator.getNextShape();
         int[][] shape = nextShape.getShape();
         int x = (int) currentOffset.getX();
         int y = (int) currentOffset.getY();
 
-        if (!MatrixOperations.intersect(currentMatrix, shape, x, y)) {
+        if (!MatrixOperations.intersect(currentGameMatrix, shape, x, y)) {
             brickRotator.setCurrentShape(nextShape.getPosition());
             return true;
         }
 
-        if (!MatrixOperations.intersect(currentMatrix, shape, x + 1, y)) {
+        if (!MatrixOperations.intersect(currentGameMatrix, shape, x + 1, y)) {
             currentOffset = new Point(x + 1, y);
             brickRotator.setCurrentShape(nextShape.getPosition());
             return true;
         }
 
-        if (!MatrixOperations.intersect(currentMatrix, shape, x - 1, y)) {
+        if (!MatrixOperations.intersect(currentGameMatrix, shape, x - 1, y)) {
             currentOffset = new Point(x - 1, y);
             brickRotator.setCurrentShape(nextShape.getPosition());
             return true;
         }
 
-        if (!MatrixOperations.intersect(currentMatrix, shape, x, y - 1)) {
+        if (!MatrixOperations.intersect(currentGameMatrix, shape, x, y - 1)) {
             currentOffset = new Point(x, y - 1);
             brickRotator.setCurrentShape(nextShape.getPosition());
             return true;
         }
 
-        if (!MatrixOperations.intersect(currentMatrix, shape, x + 2, y)) {
+        if (!MatrixOperations.intersect(currentGameMatrix, shape, x + 2, y)) {
             currentOffset = new Point(x + 2, y);
             brickRotator.setCurrentShape(nextShape.getPosition());
             return true;
@@ -165,15 +175,23 @@ public class SimpleBoard implements Board {
     /**
      * {@inheritDoc}
      * Creates and returns ViewData containing the current brick position,
-     * ghost piece position, and preview of the next two bricks.
+     * ghost piece position, and preview of the upcoming bricks.
      */
     @Override
     public ViewData getViewData() {
         Brick[] previewBricks = brickGenerator.getPreviewBricks();
-        int[][] nextShape = previewBricks[0] != null ? previewBricks[0].getShapeMatrix().get(0) : new int[4][4];
-        int[][] secondShape = previewBricks[1] != null ? previewBricks[1].getShapeMatrix().get(0) : new int[4][4];
+        int[][] nextShape = previewBricks.length > 0 && previewBricks[0] != null ? previewBricks[0].getShapeMatrix().get(0) : new int[4][4];
+        int[][] secondShape = previewBricks.length > 1 && previewBricks[1] != null ? previewBricks[1].getShapeMatrix().get(0) : new int[4][4];
+
+        int previewCount = 0;
+        while (previewCount < previewBricks.length && previewBricks[previewCount] != null) previewCount++;
+        BrickFactory.BrickType[] nextTypes = new BrickFactory.BrickType[previewCount];
+        for (int i = 0; i < previewCount; i++) {
+            nextTypes[i] = previewBricks[i].getType();
+        }
 
-        return new ViewData(brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY(), getGhostY(), nextShape, secondShape);
+        return new ViewData(brickRotator.getCurrentShape(), (int) currentOffset.getX(), (int) currentOffset.getY(), getGhostY(), nextShape, secondShape,
+                brickRotator.getBrickType(), nextTypes);
     }
 
     /**
@@ -238,13 +256,69 @@ public class SimpleBoard implements Board {
     @Override
     public int getGhostY() {
         int ghostY = (int) currentOffset.getY();
+        int[][] shape = brickRotator.getCurrentShape();
 
         // Keep moving down until we hit something
-        while (!MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(),
-                (int) currentOffset.getX(), ghostY + 1)) {
+        while (!MatrixOperations.intersect(currentGameMatrix, shape, (int) currentOffset.getX(), ghostY + 1)) {
             ghostY++;
         }
 
         return ghostY;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getBrickRotation() {
+        return brickRotator.getCurrentShapeIndex();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The board matrix must have the dimensions of this board.
+     */
+    @Override
+    public void restore(int[][] boardMatrix, BrickFactory.BrickType brickType, int rotation, int x, int y) {
+        currentGameMatrix = MatrixOperations.copy(boardMatrix);
+        brickRotator.setBrick(BrickFactory.getBrick(brickType));
+        brickRotator.setCurrentShape(rotation);
+        currentOffset = new Point(x, y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addGarbage(int lines, int holeColumn) {
+        int rows = currentGameMatrix.length;
+        int cols = currentGameMatrix[0].length;
+        if (holeColumn < 0 || holeColumn >= cols) {
+            throw new IllegalArgumentException("hole column " + holeColumn + " outside 0.." + (cols - 1));
+        }
+        lines = Math.min(lines, rows);
+        boolean overflow = false;
+        for (int i = 0; i < lines && !overflow; i++) {
+            for (int cell : currentGameMatrix[i]) {
+                if (cell != 0) {
+                    overflow = true;
+                    break;
+                }
+            }
+        }
+        int[][] next = new int[rows][];
+        System.arraycopy(currentGameMatrix, lines, next, 0, rows - lines);
+        for (int i = rows - lines; i < rows; i++) {
+            next[i] = new int[cols];
+            Arrays.fill(next[i], GARBAGE);
+            next[i][holeColumn] = 0;
+        }
+        currentGameMatrix = next;
+
+        int x = (int) currentOffset.getX();
+        int y = (int) currentOffset.getY();
+        while (y > 0 && MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), x, y)) y--;
+        currentOffset = new Point(x, y);
+        return overflow || MatrixOperations.intersect(currentGameMatrix, brickRotator.getCurrentShape(), x, y);
+    }
 }
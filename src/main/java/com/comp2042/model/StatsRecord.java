@@ -0,0 +1,278 @@
+package com.comp2042.model;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.zip.CRC32;
+
+/**
+ * A view of one fixed-width statistics record inside a buffer, as handed out by
+ * {@link StatsStore#scan}. The view is reused for every record of a scan and reads the
+ * fields straight from the mapped file, so scanning allocates nothing per record; it is
+ * only valid during the call it is passed to. {@link #toStats()} copies a record out.
+ * <p>
+ * Layout, big-endian, {@value #RECORD_BYTES} bytes: tag with the mode, flags, level,
+ * end date, seed, play time, tracked time, score, lines, pieces, inputs, clears of one to
+ * four lines, death height, time per level in milliseconds, CRC32 of the preceding bytes.
+ */
+public final class StatsRecord {
+
+    /** Size of one record in bytes. */
+    public static final int RECORD_BYTES = 128;
+
+    private static final int RECORD_TAG = 0x47530000;
+    private static final int TAG_MASK = 0xFFFF0000;
+    private static final int FLAG_GAME_OVER = 1;
+    private static final int FLAG_GAME_WON = 2;
+    private static final int FLAG_RESUMED = 4;
+    private static final GameMode[] MODES = GameMode.values();
+
+    private static final int FLAGS = 4;
+    private static final int LEVEL = 6;
+    private static final int DATE = 8;
+    private static final int SEED = 16;
+    private static final int PLAY = 24;
+    private static final int TRACKED = 32;
+    private static final int SCORE = 40;
+    private static final int LINES = 44;
+    private static final int PIECES = 48;
+    private static final int INPUTS = 52;
+    private static final int CLEARS = 56;
+    private static final int DEATH_HEIGHT = CLEARS + 4 * GameStats.MAX_CLEAR;
+    private static final int LEVEL_MILLIS = DEATH_HEIGHT + 4;
+    private static final int CRC = RECORD_BYTES - 4;
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    StatsRecord() {
+
+    }
+
+    /**
+     * Points this view at a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the position of the record in the buffer
+     */
+    void bind(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    /**
+     * Checks the tag and checksum of the record this view points at.
+     *
+     * @param crc a checksum instance to reuse
+     * @return true if the record is intact
+     */
+    boolean isValid(CRC32 crc) {
+        int tag = buffer.getInt(offset);
+        int mode = (tag & ~TAG_MASK) - 1;
+        if ((tag & TAG_MASK) != RECORD_TAG || mode < 0 || mode >= MODES.length) return false;
+        crc.reset();
+        crc.update(buffer.slice(offset, CRC));
+        return buffer.getInt(offset + CRC) == (int) crc.getValue();
+    }
+
+    /**
+     * Writes a record for the given statistics.
+     *
+     * @param stats the statistics
+     * @param out a buffer with at least {@value #RECORD_BYTES} bytes remaining; its
+     *            position is advanced past the record
+     */
+    static void encode(GameStats stats, ByteBuffer out) {
+        int start = out.position();
+        int flags = (stats.isGameOver() ? FLAG_GAME_OVER : 0) | (stats.isGameWon() ? FLAG_GAME_WON : 0)
+                | (stats.isResumed() ? FLAG_RESUMED : 0);
+        out.putInt(RECORD_TAG | (stats.getMode().ordinal() + 1))
+                .put((byte) flags)
+                .put((byte) 0)
+                .putShort((short) Math.min(stats.getLevel(), Short.MAX_VALUE))
+                .putLong(stats.getDateMillis())
+                .putLong(stats.getSeed())
+                .putLong(stats.getPlayNanos())
+                .putLong(stats.getTrackedNanos())
+                .putInt(stats.getScore())
+                .putInt(stats.getLines())
+                .putInt(stats.getPieces())
+                .putInt(stats.getInputs());
+        for (int lines = 1; lines <= GameStats.MAX_CLEAR; lines++) {
+            out.putInt(stats.getClears(lines));
+        }
+        out.putInt(stats.getDeathHeight());
+        for (int level = 1; level <= GameStats.LEVEL_SLOTS; level++) {
+            out.putInt(stats.getLevelMillis(level));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.duplicate().position(start).limit(start + CRC));
+        out.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Gets the mode the game was played in.
+     *
+     * @return the game mode
+     */
+    public GameMode getMode() {
+        return MODES[(buffer.getInt(offset) & ~TAG_MASK) - 1];
+    }
+
+    /**
+     * Checks whether the game ended by topping out.
+     *
+     * @return true after a game over
+     */
+    public boolean isGameOver() {
+        return (buffer.get(offset + FLAGS) & FLAG_GAME_OVER) != 0;
+    }
+
+    /**
+     * Checks whether the game was a completed sprint.
+     *
+     * @return true if the sprint target was reached
+     */
+    public boolean isGameWon() {
+        return (buffer.get(offset + FLAGS) & FLAG_GAME_WON) != 0;
+    }
+
+    /**
+     * Checks whether the game was resumed from a save.
+     *
+     * @return true for a resumed game
+     */
+    public boolean isResumed() {
+        return (buffer.get(offset + FLAGS) & FLAG_RESUMED) != 0;
+    }
+
+    /**
+     * Gets when the game ended.
+     *
+     * @return the end time in milliseconds since the epoch
+     */
+    public long getDateMillis() {
+        return buffer.getLong(offset + DATE);
+    }
+
+    /**
+     * Gets the Monday of the week the game ended in.
+     *
+     * @param zone the time zone weeks are counted in
+     * @return the first day of the week
+     */
+    public LocalDate getWeekStart(ZoneId zone) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(getDateMillis()), zone)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Gets the total play time of the game.
+     *
+     * @return the play time in nanoseconds
+     */
+    public long getPlayNanos() {
+        return buffer.getLong(offset + PLAY);
+    }
+
+    /**
+     * Gets the play time covered by the counters.
+     *
+     * @return the tracked play time in nanoseconds
+     */
+    public long getTrackedNanos() {
+        return buffer.getLong(offset + TRACKED);
+    }
+
+    /**
+     * Gets the final score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return buffer.getInt(offset + SCORE);
+    }
+
+    /**
+     * Gets the total lines cleared.
+     *
+     * @return the lines cleared
+     */
+    public int getLines() {
+        return buffer.getInt(offset + LINES);
+    }
+
+    /**
+     * Gets the level the game ended on.
+     *
+     * @return the final level
+     */
+    public int getLevel() {
+        return buffer.getShort(offset + LEVEL);
+    }
+
+    /**
+     * Gets the number of pieces locked.
+     *
+     * @return the piece count
+     */
+    public int getPieces() {
+        return buffer.getInt(offset + PIECES);
+    }
+
+    /**
+     * Gets the number of player inputs.
+     *
+     * @return the input count
+     */
+    public int getInputs() {
+        return buffer.getInt(offset + INPUTS);
+    }
+
+    /**
+     * Gets the number of clears that removed the given number of lines at once.
+     *
+     * @param lines the lines per clear, from 1 to {@link GameStats#MAX_CLEAR}
+     * @return the clear count
+     */
+    public int getClears(int lines) {
+        return buffer.getInt(offset + CLEARS + 4 * (lines - 1));
+    }
+
+    /**
+     * Gets the height of the stack when the game ended.
+     *
+     * @return the death height in rows
+     */
+    public int getDeathHeight() {
+        return buffer.getInt(offset + DEATH_HEIGHT);
+    }
+
+    /**
+     * Gets the tracked play time spent on a level. The last slot holds all later levels.
+     *
+     * @param level the level, from 1
+     * @return the time in milliseconds
+     */
+    public int getLevelMillis(int level) {
+        return buffer.getInt(offset + LEVEL_MILLIS + 4 * GameStats.slotOf(level));
+    }
+
+    /**
+     * Copies the record into an immutable {@link GameStats}.
+     *
+     * @return the statistics held by the record
+     */
+    public GameStats toStats() {
+        int[] clears = new int[GameStats.MAX_CLEAR];
+        for (int i = 0; i < clears.length; i++) clears[i] = getClears(i + 1);
+        int[] levelMillis = new int[GameStats.LEVEL_SLOTS];
+        for (int i = 0; i < levelMillis.length; i++) levelMillis[i] = getLevelMillis(i + 1);
+        return new GameStats(getMode(), isGameOver(), isGameWon(), isResumed(), getDateMillis(),
+                buffer.getLong(offset + SEED), getPlayNanos(), getTrackedNanos(), getScore(), getLines(),
+                getLevel(), getPieces(), getInputs(), clears, getDeathHeight(), levelMillis);
+    }
+}
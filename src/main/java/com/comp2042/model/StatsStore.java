@@ -0,0 +1,252 @@
+package com.comp2042.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Long-term store of per-game statistics.
+ * <p>
+ * Every finished game is appended as one fixed-width {@link StatsRecord} to a file that
+ * only ever grows, so a year of daily play takes a few megabytes. Appends are queued and
+ * written on a background thread; the thread is not a daemon and ends when idle, so a
+ * game finished just before the application closes is still stored. A record torn by a
+ * crash is cut off before the next append.
+ * <p>
+ * Queries stream over the file: it is memory-mapped read-only a window at a time and
+ * every record is visited through one reused {@link StatsRecord} view, so a scan keeps
+ * only its aggregates on the heap however long the history. Records failing their
+ * checksum are skipped.
+ */
+public class StatsStore {
+
+    private static final String DEFAULT_FILE = "stats.dat";
+    private static final int MAGIC = 0x54535431;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final long WINDOW_BYTES = 32L * 1024 * 1024;
+
+    private final Path file;
+    private final long windowBytes;
+    private final ThreadPoolExecutor executor;
+
+    // Owned by the background thread
+    private FileChannel channel;
+    private boolean failed;
+
+    private static final class InstanceHolder {
+        private static final StatsStore INSTANCE = new StatsStore(Path.of(DEFAULT_FILE));
+    }
+
+    /**
+     * Gets the shared store backed by {@code stats.dat}.
+     *
+     * @return the shared statistics store
+     */
+    public static StatsStore getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Constructs a StatsStore. The file is created on the first append.
+     *
+     * @param file the statistics file
+     */
+    public StatsStore(Path file) {
+        this(file, WINDOW_BYTES);
+    }
+
+    /**
+     * Constructs a StatsStore that maps the file in windows of the given size when scanning.
+     *
+     * @param file the statistics file
+     * @param windowBytes the largest part of the file mapped at once
+     */
+    StatsStore(Path file, long windowBytes) {
+        this.file = file;
+        this.windowBytes = Math.max(StatsRecord.RECORD_BYTES, windowBytes);
+        this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "stats-store"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues a finished game to be appended. Returns immediately and may be called from
+     * any thread, including the simulation thread.
+     *
+     * @param stats the statistics of the game
+     */
+    public void append(GameStats stats) {
+        ByteBuffer record = ByteBuffer.allocate(StatsRecord.RECORD_BYTES);
+        StatsRecord.encode(stats, record);
+        record.flip();
+        executor.execute(() -> write(record));
+    }
+
+    /**
+     * Forces every game appended so far to disk.
+     *
+     * @return a future completed once the records are stored
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                if (channel != null) channel.force(false);
+            } catch (IOException e) {
+                System.err.println("Could not flush statistics: " + e.getMessage());
+            }
+        }, executor);
+    }
+
+    /**
+     * Stores every appended game and closes the file. The store must not be used afterwards.
+     */
+    public void close() {
+        flush().join();
+        CompletableFuture.runAsync(this::closeChannel, executor).join();
+        executor.shutdown();
+    }
+
+    private void write(ByteBuffer record) {
+        if (failed) return;
+        try {
+            if (channel == null) open();
+            long position = channel.size();
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not store statistics: " + e.getMessage());
+            closeChannel();
+        }
+    }
+
+    /**
+     * Opens the file for appending, writing the header of a new file, refusing a file of
+     * another format and cutting off a torn last record.
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(StatsRecord.RECORD_BYTES).putInt(0).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        try {
+            checkHeader(header.flip(), file);
+        } catch (IOException e) {
+            // Never append to a file this store does not understand
+            failed = true;
+            throw e;
+        }
+        long torn = (size - HEADER_BYTES) % StatsRecord.RECORD_BYTES;
+        if (torn != 0) channel.truncate(size - torn);
+    }
+
+    private static void checkHeader(ByteBuffer header, Path file) throws IOException {
+        if (header.getInt() != MAGIC) {
+            throw new IOException("not a statistics file: " + file);
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION || header.getInt() != StatsRecord.RECORD_BYTES) {
+            throw new IOException("unsupported statistics format " + version + ": " + file);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close statistics: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Visits every intact record in the order the games were stored. Runs on the calling
+     * thread and only sees games written before the scan started; call {@link #flush()}
+     * first to include games still queued.
+     *
+     * @param visitor called with a view of each record, valid only during the call
+     * @return the number of records visited
+     * @throws IOException if the file cannot be read or is of another format
+     */
+    public long scan(Consumer<StatsRecord> visitor) throws IOException {
+        if (!Files.exists(file)) return 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < HEADER_BYTES) return 0;
+            checkHeader(in.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES), file);
+            long recordBytes = (size - HEADER_BYTES) / StatsRecord.RECORD_BYTES * StatsRecord.RECORD_BYTES;
+            long window = windowBytes / StatsRecord.RECORD_BYTES * StatsRecord.RECORD_BYTES;
+            StatsRecord record = new StatsRecord();
+            CRC32 checksum = new CRC32();
+            long visited = 0;
+            for (long start = 0; start < recordBytes; start += window) {
+                int length = (int) Math.min(window, recordBytes - start);
+                MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + start, length);
+                for (int offset = 0; offset < length; offset += StatsRecord.RECORD_BYTES) {
+                    record.bind(map, offset);
+                    if (!record.isValid(checksum)) continue;
+                    visitor.accept(record);
+                    visited++;
+                }
+            }
+            return visited;
+        }
+    }
+
+    /**
+     * Aggregates the stored games into groups in a single streaming pass.
+     *
+     * @param groupBy gives the group of a record
+     * @param <K> the group key type
+     * @return the summary of each group, in the order the groups first appear
+     * @throws IOException if the file cannot be read or is of another format
+     */
+    public <K> Map<K, StatsSummary> summarize(Function<StatsRecord, K> groupBy) throws IOException {
+        Map<K, StatsSummary> groups = new LinkedHashMap<>();
+        scan(record -> groups.computeIfAbsent(groupBy.apply(record), key -> new StatsSummary()).add(record));
+        return groups;
+    }
+
+    /**
+     * Aggregates the stored games per mode and week.
+     *
+     * @param zone the time zone weeks are counted in
+     * @return the summary of each mode and week, in the order they first appear
+     * @throws IOException if the file cannot be read or is of another format
+     */
+    public Map<ModeWeek, StatsSummary> summarizeByModeAndWeek(ZoneId zone) throws IOException {
+        return summarize(record -> new ModeWeek(record.getMode(), record.getWeekStart(zone)));
+    }
+
+    /**
+     * Group key of {@link #summarizeByModeAndWeek(ZoneId)}.
+     *
+     * @param mode the game mode
+     * @param weekStart the Monday of the week
+     */
+    public record ModeWeek(GameMode mode, LocalDate weekStart) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.comp2042.model;
+
+/**
+ * Running totals over a group of games, filled one record at a time during a
+ * {@link StatsStore} scan so that any number of games can be aggregated in constant memory.
+ * Averages are over the games added; rates are weighted by play time.
+ */
+public class StatsSummary {
+
+    private long games;
+    private long trackedNanos;
+    private long pieces;
+    private long inputs;
+    private long score;
+    private long lines;
+    private final long[] clears = new long[GameStats.MAX_CLEAR];
+    private long deaths;
+    private long deathHeight;
+    private final long[] levelMillis = new long[GameStats.LEVEL_SLOTS];
+    private final long[] levelGames = new long[GameStats.LEVEL_SLOTS];
+
+    /**
+     * Adds a game to the totals.
+     *
+     * @param record the record of the game
+     */
+    public void add(StatsRecord record) {
+        games++;
+        trackedNanos += record.getTrackedNanos();
+        pieces += record.getPieces();
+        inputs += record.getInputs();
+        score += record.getScore();
+        lines += record.getLines();
+        for (int i = 0; i < clears.length; i++) {
+            clears[i] += record.getClears(i + 1);
+        }
+        if (record.isGameOver()) {
+            deaths++;
+            deathHeight += record.getDeathHeight();
+        }
+        for (int i = 0; i < levelMillis.length; i++) {
+            int millis = record.getLevelMillis(i + 1);
+            if (millis > 0) {
+                levelMillis[i] += millis;
+                levelGames[i]++;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of games added.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the pieces locked per second over all tracked play time.
+     *
+     * @return the rate, or 0 if no time was tracked
+     */
+    public double getPiecesPerSecond() {
+        return trackedNanos > 0 ? pieces * 1e9 / trackedNanos : 0;
+    }
+
+    /**
+     * Gets the average number of inputs per locked piece.
+     *
+     * @return the average, or 0 if no piece was locked
+     */
+    public double getInputsPerPiece() {
+        return pieces > 0 ? (double) inputs / pieces : 0;
+    }
+
+    /**
+     * Gets the average final score.
+     *
+     * @return the average score, or 0 without games
+     */
+    public double getAverageScore() {
+        return games > 0 ? (double) score / games : 0;
+    }
+
+    /**
+     * Gets the average number of lines cleared per game.
+     *
+     * @return the average lines, or 0 without games
+     */
+    public double getAverageLines() {
+        return games > 0 ? (double) lines / games : 0;
+    }
+
+    /**
+     * Gets the share of clears that removed the given number of lines at once.
+     *
+     * @param lines the lines per clear, from 1 to {@link GameStats#MAX_CLEAR}
+     * @return the share between 0 and 1, or 0 without clears
+     */
+    public double getClearShare(int lines) {
+        long total = 0;
+        for (long count : clears) total += count;
+        return total > 0 ? (double) clears[lines - 1] / total : 0;
+    }
+
+    /**
+     * Gets the total number of clears that removed the given number of lines at once.
+     *
+     * @param lines the lines per clear, from 1 to {@link GameStats#MAX_CLEAR}
+     * @return the clear count
+     */
+    public long getClears(int lines) {
+        return clears[lines - 1];
+    }
+
+    /**
+     * Gets the average stack height at game over, over games that ended by topping out.
+     *
+     * @return the average height in rows, or 0 without such games
+     */
+    public double getAverageDeathHeight() {
+        return deaths > 0 ? (double) deathHeight / deaths : 0;
+    }
+
+    /**
+     * Gets the average time spent on a level, over games that played it.
+     *
+     * @param level the level, from 1; the last slot holds all later levels
+     * @return the average time in milliseconds, or 0 if no game played the level
+     */
+    public double getAverageLevelMillis(int level) {
+        int slot = GameStats.slotOf(level);
+        return levelGames[slot] > 0 ? (double) levelMillis[slot] / levelGames[slot] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d pps=%.2f ipp=%.2f score=%.0f lines=%.1f clears=%.2f/%.2f/%.2f/%.2f death=%.1f",
+                games, getPiecesPerSecond(), getInputsPerPiece(), getAverageScore(), getAverageLines(),
+                getClearShare(1), getClearShare(2), getClearShare(3), getClearShare(4), getAverageDeathHeight());
+    }
+}
@@ -0,0 +1,96 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameEngine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes {@link VersusProtocol#BOARD} frames for one engine. Each frame carries the player
+ * index and the number of that player's inputs applied so far, followed by the
+ * {@link SyncProtocol} frame of a {@link SyncEncoder} when the game itself changed, so a
+ * frame that only acknowledges inputs stays a few bytes long.
+ * Confined to the thread that owns the engine.
+ */
+final class BoardEncoder {
+
+    /** Bytes of a board frame body before the sync frame: type, player and applied inputs. */
+    private static final int HEADER_BYTES = 1 + 1 + 4;
+
+    private final GameEngine engine;
+    private final SyncEncoder sync;
+    private final int rows;
+    private final int cols;
+    private long sentVersion = -1;
+    private int sentApplied = -1;
+
+    /**
+     * Constructs a BoardEncoder for an engine.
+     *
+     * @param engine the engine whose boards will be written
+     * @throws IllegalArgumentException if the engine's board is too large for the sync format
+     */
+    BoardEncoder(GameEngine engine) {
+        int[][] board = engine.snapshot().getBoardMatrix();
+        this.engine = engine;
+        this.sync = new SyncEncoder(engine);
+        this.rows = board.length;
+        this.cols = board[0].length;
+    }
+
+    /**
+     * Gets the number of board rows.
+     *
+     * @return the row count
+     */
+    int rows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of board columns.
+     *
+     * @return the column count
+     */
+    int cols() {
+        return cols;
+    }
+
+    /**
+     * Gets the size of the largest frame this encoder writes, length prefix included.
+     *
+     * @return the maximum frame size in bytes
+     */
+    int maxFrameBytes() {
+        return VersusProtocol.LENGTH_BYTES + HEADER_BYTES + sync.maxFrameBytes();
+    }
+
+    /**
+     * Makes the next frame carry the whole state, after a client sent
+     * {@link SyncProtocol#SYNC_RESYNC}.
+     */
+    void requestFull() {
+        sync.requestFull();
+        sentVersion = -1;
+    }
+
+    /**
+     * Writes a board frame if the game or the applied input count changed since the last frame.
+     *
+     * @param player the player index written into the frame
+     * @param applied the number of the player's inputs applied so far
+     * @param out the buffer to write the frame to
+     * @return true if a frame was written
+     */
+    boolean write(int player, int applied, ByteBuffer out) {
+        if (engine.getVersion() == sentVersion && applied == sentApplied) return false;
+        sentVersion = engine.getVersion();
+        sentApplied = applied;
+
+        int start = VersusProtocol.beginFrame(out, VersusProtocol.BOARD);
+        out.put((byte) player).putInt(applied);
+        // Nothing follows if only the inputs changed, for example a move into a wall
+        sync.write(out);
+        VersusProtocol.endFrame(out, start);
+        return true;
+    }
+}
@@ -0,0 +1,328 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameEngine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Broadcasts one set of games, such as a tournament match, to many spectators.
+ * <p>
+ * Once per simulation step the thread running the games calls {@link #publish(List)}. What
+ * changed on each board is encoded once, as {@link SyncProtocol} frames wrapped in
+ * {@link #TICK} frames, into an immutable packet that is added to a ring shared by every
+ * viewer. Every {@value #KEYFRAME_INTERVAL} steps the packet is a keyframe holding full
+ * frames of all boards. Each viewer has a virtual thread that writes the shared packets
+ * to its client in order, so nothing is encoded per viewer and a slow client blocks
+ * only its own thread, never the games. A viewer that falls more than
+ * {@value #MAX_LAG} packets behind skips ahead to the latest keyframe. New viewers also
+ * start at the latest keyframe.
+ * <p>
+ * Clients connect to one port and choose a format with their first bytes. A
+ * {@link #WATCH} frame asks for the binary frames. An HTTP {@code GET} asks for
+ * Server-Sent Events; each packet is then one event whose data is the packet's binary
+ * frames in Base64, also encoded once.
+ */
+public class BroadcastServer implements Runnable {
+
+    /** Frame a binary viewer sends first, with an empty body. */
+    public static final byte WATCH = 24;
+
+    /** Frame holding a board index and one complete, length-prefixed {@link SyncProtocol} frame. */
+    public static final byte TICK = 25;
+
+    /** Number of steps between two keyframes; two seconds of play. */
+    public static final int KEYFRAME_INTERVAL = 240;
+
+    /** Number of packets kept for viewers that lag behind. */
+    static final int RING_SIZE = 1024;
+
+    /** Number of packets a viewer may lag behind before it skips to a keyframe. */
+    static final int MAX_LAG = RING_SIZE / 2;
+
+    private static final int SEND_BUFFER_BYTES = 16 * 1024;
+
+    private final AtomicReferenceArray<Packet> ring = new AtomicReferenceArray<>(RING_SIZE);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final ThreadFactory viewerThreads = Thread.ofVirtual().name("broadcast-viewer-", 0).factory();
+    private final Set<BroadcastViewer> viewers = ConcurrentHashMap.newKeySet();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder skips = new LongAdder();
+    private final ServerSocket server;
+    private final List<SyncEncoder> encoders = new ArrayList<>();
+    private ByteBuffer scratch;
+    private long steps;
+    private volatile long head;
+    private volatile long lastKeyframe;
+    private volatile long keyframes;
+    private volatile long bytesEncoded;
+    private volatile boolean alive = true;
+
+    /**
+     * Constructs a BroadcastServer listening on the given address, or on no address when
+     * viewers are only opened through {@link #open}. Nothing is accepted until {@link #start()}.
+     *
+     * @param address the address to listen on, or null for none; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public BroadcastServer(InetSocketAddress address) throws IOException {
+        if (address == null) {
+            this.server = null;
+        } else {
+            this.server = new ServerSocket();
+            this.server.bind(address, 1024);
+        }
+    }
+
+    /**
+     * Starts the virtual thread accepting viewers when listening.
+     */
+    public void start() {
+        if (server != null) Thread.ofVirtual().name("broadcast-acceptor").start(this);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the local port, or -1 when not listening
+     */
+    public int getPort() {
+        return server == null ? -1 : server.getLocalPort();
+    }
+
+    /**
+     * Accept loop: opens a viewer for every client until the server is shut down.
+     */
+    @Override
+    public void run() {
+        while (alive) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                // Keep a slow viewer's lag in sight instead of queued in the kernel
+                socket.setSendBufferSize(SEND_BUFFER_BYTES);
+                open(socket.getInputStream(), socket.getOutputStream(), socket);
+            } catch (IOException e) {
+                if (alive) System.err.println("Could not accept viewer: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Opens a viewer on any pair of blocking streams, for example an in-process link.
+     *
+     * @param in the stream the viewer's choice of format is read from
+     * @param out the stream packets are written to
+     * @param resource closed when the viewer ends, which must also unblock writes to {@code out}
+     */
+    public void open(InputStream in, OutputStream out, Closeable resource) {
+        BroadcastViewer viewer = new BroadcastViewer(this, in, out, resource);
+        viewers.add(viewer);
+        if (!alive) {
+            viewer.close();
+            return;
+        }
+        viewerThreads.newThread(viewer).start();
+    }
+
+    /**
+     * Encodes the changes of one simulation step and hands them to every viewer. Must be
+     * called on the thread that runs the engines, with the same engines every time.
+     *
+     * @param engines the boards to broadcast, at most 256
+     * @return true if anything changed and a packet was published
+     * @throws IllegalArgumentException if the number of boards differs from the first call
+     */
+    public boolean publish(List<GameEngine> engines) {
+        if (encoders.isEmpty()) {
+            if (engines.isEmpty() || engines.size() > 256) throw new IllegalArgumentException("1 to 256 boards");
+            int bytes = 0;
+            for (GameEngine engine : engines) {
+                SyncEncoder encoder = new SyncEncoder(engine);
+                encoders.add(encoder);
+                bytes += VersusProtocol.LENGTH_BYTES + 2 + encoder.maxFrameBytes();
+            }
+            scratch = ByteBuffer.allocate(bytes);
+        } else if (engines.size() != encoders.size()) {
+            throw new IllegalArgumentException("expected " + encoders.size() + " boards, got " + engines.size());
+        }
+
+        boolean keyframe = steps++ % KEYFRAME_INTERVAL == 0;
+        scratch.clear();
+        for (int i = 0; i < encoders.size(); i++) {
+            SyncEncoder encoder = encoders.get(i);
+            if (keyframe) encoder.requestFull();
+            int start = VersusProtocol.beginFrame(scratch, TICK);
+            scratch.put((byte) i);
+            if (encoder.write(scratch)) {
+                VersusProtocol.endFrame(scratch, start);
+            } else {
+                scratch.position(start);
+            }
+        }
+        if (scratch.position() == 0) return false;
+
+        long sequence = head;
+        byte[] binary = Arrays.copyOf(scratch.array(), scratch.position());
+        byte[] event = ("id: " + sequence + "\ndata: " + Base64.getEncoder().encodeToString(binary) + "\n\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        ring.set((int) (sequence & (RING_SIZE - 1)), new Packet(sequence, binary, event));
+        if (keyframe) {
+            lastKeyframe = sequence;
+            keyframes++;
+        }
+        bytesEncoded += binary.length + event.length;
+        head = sequence + 1;
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Waits for a packet to be published.
+     *
+     * @param sequence the sequence number of the packet
+     * @return the packet, one with a later sequence number if it was overwritten, or null
+     *         once the server is shut down
+     * @throws InterruptedException if the viewer's thread is interrupted while waiting
+     */
+    Packet await(long sequence) throws InterruptedException {
+        if (sequence >= head) {
+            lock.lock();
+            try {
+                while (alive && sequence >= head) published.await();
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!alive) return null;
+        return ring.get((int) (sequence & (RING_SIZE - 1)));
+    }
+
+    /**
+     * Stops accepting viewers and closes every viewer.
+     */
+    public void shutdown() {
+        alive = false;
+        try {
+            if (server != null) server.close();
+        } catch (IOException e) {
+            System.err.println("Could not close broadcast server: " + e.getMessage());
+        }
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (BroadcastViewer viewer : viewers) viewer.close();
+    }
+
+    long getHead() {
+        return head;
+    }
+
+    long getLastKeyframe() {
+        return lastKeyframe;
+    }
+
+    void onClosed(BroadcastViewer viewer) {
+        viewers.remove(viewer);
+    }
+
+    void countSent(int bytes) {
+        bytesSent.add(bytes);
+    }
+
+    void countSkip() {
+        skips.increment();
+    }
+
+    /**
+     * Gets the number of connected viewers.
+     *
+     * @return the viewer count
+     */
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    /**
+     * Gets the number of packets published.
+     *
+     * @return the packet count
+     */
+    public long getPackets() {
+        return head;
+    }
+
+    /**
+     * Gets the number of keyframes published.
+     *
+     * @return the keyframe count
+     */
+    public long getKeyframes() {
+        return keyframes;
+    }
+
+    /**
+     * Gets the number of bytes encoded, in both formats, once for all viewers.
+     *
+     * @return the encoded byte count
+     */
+    public long getBytesEncoded() {
+        return bytesEncoded;
+    }
+
+    /**
+     * Gets the number of bytes written to viewers.
+     *
+     * @return the sent byte count
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * Gets the number of times a lagging viewer skipped ahead to a keyframe.
+     *
+     * @return the skip count
+     */
+    public long getSkips() {
+        return skips.sum();
+    }
+
+    /**
+     * One published step, encoded once and shared by every viewer. The arrays must not
+     * be changed.
+     *
+     * @param sequence the packet's sequence number
+     * @param binary the {@link #TICK} frames
+     * @param event the same frames as a Server-Sent Event
+     */
+    record Packet(long sequence, byte[] binary, byte[] event) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.comp2042.net;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One spectator of a {@link BroadcastServer}.
+ * <p>
+ * The viewer's virtual thread reads the client's choice of format, then writes the
+ * server's shared packets in order, blocking on the client as long as it needs to. Packets
+ * are copied into a small write buffer that is flushed whenever the viewer has caught up,
+ * so a viewer that is behind sends several packets per write. When the viewer finds itself
+ * more than {@link BroadcastServer#MAX_LAG} packets behind, it skips to the latest keyframe.
+ */
+final class BroadcastViewer implements Runnable {
+
+    private static final byte[] WATCH_FRAME = {0, 1, BroadcastServer.WATCH};
+    private static final int MAX_REQUEST_BYTES = 8192;
+    private static final int WRITE_BUFFER_BYTES = 8192;
+    private static final byte[] EVENT_STREAM_HEADERS = ("HTTP/1.1 200 OK\r\n"
+            + "Content-Type: text/event-stream\r\n"
+            + "Cache-Control: no-cache\r\n"
+            + "Connection: keep-alive\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private final BroadcastServer server;
+    private final InputStream in;
+    private final OutputStream out;
+    private final Closeable resource;
+    private volatile boolean closed;
+
+    BroadcastViewer(BroadcastServer server, InputStream in, OutputStream out, Closeable resource) {
+        this.server = server;
+        this.in = in;
+        this.out = out;
+        this.resource = resource;
+    }
+
+    /**
+     * Reads the format, then writes packets until the client or the server goes away.
+     */
+    @Override
+    public void run() {
+        try {
+            boolean events = readFormat();
+            OutputStream buffered = new BufferedOutputStream(out, WRITE_BUFFER_BYTES);
+            if (events) {
+                buffered.write(EVENT_STREAM_HEADERS);
+                buffered.flush();
+            }
+            long next = server.getLastKeyframe();
+            while (!closed) {
+                BroadcastServer.Packet packet = server.await(next);
+                if (packet == null) break;
+                if (packet.sequence() != next || server.getHead() - next > BroadcastServer.MAX_LAG) {
+                    // Lagged too far: drop what is queued and start again from a keyframe
+                    next = server.getLastKeyframe();
+                    server.countSkip();
+                    continue;
+                }
+                byte[] bytes = events ? packet.event() : packet.binary();
+                buffered.write(bytes);
+                server.countSent(bytes.length);
+                if (++next >= server.getHead()) buffered.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // The client went away or the server is shutting down
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Reads the first bytes from the client: a {@link BroadcastServer#WATCH} frame for the
+     * binary format, or an HTTP request, whose headers are skipped, for Server-Sent Events.
+     *
+     * @return true for Server-Sent Events
+     * @throws IOException if the client sent anything else or went away
+     */
+    private boolean readFormat() throws IOException {
+        int first = in.read();
+        if (first == 'G') {
+            int matched = 0;
+            for (int read = 1; matched < 4; read++) {
+                int b = in.read();
+                if (b < 0 || read > MAX_REQUEST_BYTES) throw new IOException("incomplete request");
+                // Count the bytes of the blank line ending the headers
+                matched = b == (matched % 2 == 0 ? '\r' : '\n') ? matched + 1 : (b == '\r' ? 1 : 0);
+            }
+            return true;
+        }
+        if (first != WATCH_FRAME[0]) throw new IOException("unknown viewer format");
+        for (int i = 1; i < WATCH_FRAME.length; i++) {
+            if (in.read() != WATCH_FRAME[i]) throw new IOException("unknown viewer format");
+        }
+        return false;
+    }
+
+    /**
+     * Ends the viewer and closes its resource.
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            resource.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        server.onClosed(this);
+    }
+}
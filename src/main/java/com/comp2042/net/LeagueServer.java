@@ -0,0 +1,216 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameClock;
+import com.comp2042.core.GameLoop;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.core.TimerWheel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server for bot leagues: tens of thousands of endless single-player games in one process.
+ * <p>
+ * Every session gets its own virtual thread that reads its client with plain blocking
+ * I/O, so an idle session costs a parked virtual thread and its engine rather than a
+ * platform thread. Gravity for all games runs on one shared {@link TimerWheel} instead of
+ * a timer per game; each expiry hands the step to a short-lived virtual thread. Sessions
+ * speak the {@link VersusProtocol}: a {@link VersusProtocol#MATCH_START} for player 0,
+ * {@link VersusProtocol#BOARD} deltas after every change and a
+ * {@link VersusProtocol#GAME_OVER} whenever a game ends, and accept
+ * {@link VersusProtocol#INPUT} frames of taps and {@link SyncProtocol#SYNC_RESYNC}
+ * requests. Held keys do not auto-repeat.
+ */
+public class LeagueServer implements Runnable {
+
+    /** Buckets on the gravity wheel; one turn covers about four seconds. */
+    private static final int WHEEL_BUCKETS = 512;
+
+    private final GameClock clock = new SystemGameClock();
+    private final TimerWheel wheel = new TimerWheel(clock, GameLoop.STEP_NANOS, WHEEL_BUCKETS);
+    private final ThreadFactory sessionThreads = Thread.ofVirtual().name("league-session-", 0).factory();
+    private final ThreadFactory stepThreads = Thread.ofVirtual().factory();
+    private final Set<LeagueSession> sessions = ConcurrentHashMap.newKeySet();
+    private final ServerSocket server;
+    private final AtomicLong nextSeed;
+    private final LongAdder gravityTicks = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private volatile boolean alive = true;
+
+    /**
+     * Constructs a LeagueServer listening on the given address, or on no address when
+     * sessions are only opened through {@link #open}. Nothing runs until {@link #start()}.
+     *
+     * @param address the address to listen on, or null for none; port 0 picks a free port
+     * @param seed the seed of the first session; later sessions use the following seeds
+     * @throws IOException if the address cannot be bound
+     */
+    public LeagueServer(InetSocketAddress address, long seed) throws IOException {
+        this.nextSeed = new AtomicLong(seed);
+        if (address == null) {
+            this.server = null;
+        } else {
+            this.server = new ServerSocket();
+            this.server.bind(address, 1024);
+        }
+    }
+
+    /**
+     * Starts the timer wheel and, when listening, the virtual thread accepting clients.
+     */
+    public void start() {
+        wheel.start();
+        if (server != null) Thread.ofVirtual().name("league-acceptor").start(this);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the local port, or -1 when not listening
+     */
+    public int getPort() {
+        return server == null ? -1 : server.getLocalPort();
+    }
+
+    /**
+     * Accept loop: opens a session for every client until the server is shut down.
+     */
+    @Override
+    public void run() {
+        while (alive) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                open(socket.getInputStream(), socket.getOutputStream(), socket);
+            } catch (IOException e) {
+                if (alive) System.err.println("Could not accept league client: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Opens a session on any pair of blocking streams, for example an in-process link.
+     *
+     * @param in the stream input frames are read from
+     * @param out the stream frames are written to
+     * @param resource closed when the session ends, which must also unblock reads from {@code in}
+     */
+    public void open(InputStream in, OutputStream out, Closeable resource) {
+        LeagueSession session = new LeagueSession(this, nextSeed.getAndIncrement(), in, out, resource);
+        sessions.add(session);
+        if (!alive) {
+            session.close();
+            return;
+        }
+        sessionThreads.newThread(session).start();
+    }
+
+    /**
+     * Stops accepting clients and closes every session.
+     */
+    public void shutdown() {
+        alive = false;
+        try {
+            if (server != null) server.close();
+        } catch (IOException e) {
+            System.err.println("Could not close league server: " + e.getMessage());
+        }
+        for (LeagueSession session : sessions) session.close();
+        wheel.shutdown();
+    }
+
+    GameClock getClock() {
+        return clock;
+    }
+
+    TimerWheel getTimerWheel() {
+        return wheel;
+    }
+
+    void startVirtual(Runnable task) {
+        stepThreads.newThread(task).start();
+    }
+
+    void onClosed(LeagueSession session) {
+        sessions.remove(session);
+    }
+
+    void countGravityTick() {
+        gravityTicks.increment();
+    }
+
+    void countGameFinished() {
+        gamesFinished.increment();
+    }
+
+    void countSent(int bytes) {
+        writes.increment();
+        bytesSent.add(bytes);
+    }
+
+    /**
+     * Gets the number of open sessions.
+     *
+     * @return the session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of gravity steps run across all sessions.
+     *
+     * @return the gravity tick count
+     */
+    public long getGravityTicks() {
+        return gravityTicks.sum();
+    }
+
+    /**
+     * Gets the number of games that have ended across all sessions.
+     *
+     * @return the finished game count
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    /**
+     * Gets the number of writes made to clients, each carrying one or more frames.
+     *
+     * @return the write count
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * Gets the number of bytes written to clients.
+     *
+     * @return the byte count
+     */
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    /**
+     * Gets the longest time a gravity timeout fired after its deadline.
+     *
+     * @return the maximum lag in nanoseconds
+     */
+    public long getMaxTimerLagNanos() {
+        return wheel.getMaxLagNanos();
+    }
+}
@@ -0,0 +1,208 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameEngine;
+import com.comp2042.input.InputAction;
+import com.comp2042.input.InputConfig;
+import com.comp2042.input.KeyStateTracker;
+import com.comp2042.model.GameMode;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One endless single-player game on the {@link LeagueServer}.
+ * <p>
+ * The session's virtual thread blocks reading input frames and applies each one as it
+ * arrives. Gravity is a timeout on the server's shared wheel; when it fires a short-lived
+ * virtual thread moves the brick down and schedules the next one. Both paths change the
+ * engine and write the resulting frames under the session's lock, so frames leave in the
+ * order the changes were made. A client that stops reading only stalls its own session.
+ * When a game ends a {@link VersusProtocol#GAME_OVER} frame is sent and the next game
+ * starts at once.
+ */
+final class LeagueSession implements Runnable {
+
+    private static final int MAX_INPUT_CODE = InputAction.values().length * 2;
+
+    /** Largest input frame body: type, count and up to 255 codes. */
+    private static final int MAX_INPUT_FRAME = 2 + 255;
+
+    private static final int GAME_OVER_BYTES = VersusProtocol.LENGTH_BYTES + 1 + 4 + 2;
+
+    private final LeagueServer server;
+    private final GameEngine engine;
+    private final KeyStateTracker keys = new KeyStateTracker(InputConfig.DEFAULT);
+    private final BoardEncoder encoder;
+    private final InputStream in;
+    private final OutputStream out;
+    private final Closeable resource;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final byte[] frame = new byte[MAX_INPUT_FRAME];
+    private final ByteBuffer output;
+    private final long seed;
+    private int applied;
+    private long nextGravity;
+    private volatile boolean closed;
+
+    LeagueSession(LeagueServer server, long seed, InputStream in, OutputStream out, Closeable resource) {
+        this.server = server;
+        this.seed = seed;
+        this.engine = new GameEngine(GameMode.CLASSIC, server.getClock(), seed);
+        this.encoder = new BoardEncoder(engine);
+        // Room for the board before and after a game over, and the game over itself
+        this.output = ByteBuffer.allocate(2 * encoder.maxFrameBytes() + GAME_OVER_BYTES);
+        this.in = in;
+        this.out = out;
+        this.resource = resource;
+    }
+
+    /**
+     * Session thread: sends the start of the game, then reads and applies input frames
+     * until the client leaves or breaks the protocol.
+     */
+    @Override
+    public void run() {
+        try {
+            lock.lock();
+            try {
+                long now = server.getClock().nanoTime();
+                engine.resumeTimer(now);
+                nextGravity = now;
+                int start = VersusProtocol.beginFrame(output, VersusProtocol.MATCH_START);
+                output.put((byte) 0).putLong(seed).put((byte) encoder.rows()).put((byte) encoder.cols());
+                VersusProtocol.endFrame(output, start);
+                sendChanges();
+                scheduleGravity();
+            } finally {
+                lock.unlock();
+            }
+            while (!closed) {
+                int length = readFrame();
+                if (length == 3 && frame[0] == SyncProtocol.SYNC_RESYNC) {
+                    resync();
+                    continue;
+                }
+                if (length < 2 || frame[0] != VersusProtocol.INPUT || (frame[1] & 0xFF) != length - 2) break;
+                applyInput(length);
+            }
+        } catch (IOException e) {
+            // The client left; nothing to report
+        } finally {
+            close();
+        }
+    }
+
+    private int readFrame() throws IOException {
+        readFully(2);
+        int length = ((frame[0] & 0xFF) << 8) | (frame[1] & 0xFF);
+        if (length > frame.length) return -1;
+        readFully(length);
+        return length;
+    }
+
+    private void readFully(int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int count = in.read(frame, read, length - read);
+            if (count < 0) throw new EOFException();
+            read += count;
+        }
+    }
+
+    private void applyInput(int length) throws IOException {
+        lock.lock();
+        try {
+            for (int i = 2; i < length; i++) {
+                int code = frame[i] & 0xFF;
+                if (code >= MAX_INPUT_CODE) throw new IOException("bad input code " + code);
+                keys.onInput(code, engine);
+                applied++;
+            }
+            sendChanges();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resync() throws IOException {
+        lock.lock();
+        try {
+            encoder.requestFull();
+            sendChanges();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs on the wheel's thread when gravity is due and hands the work to a virtual thread,
+     * since writing the result may block.
+     */
+    private void onGravityDue() {
+        if (!closed) server.startVirtual(this::fall);
+    }
+
+    private void fall() {
+        lock.lock();
+        try {
+            if (closed) return;
+            engine.tick();
+            server.countGravityTick();
+            sendChanges();
+            scheduleGravity();
+        } catch (IOException e) {
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleGravity() {
+        long interval = engine.getLevel().getGravityNanos();
+        long now = server.getClock().nanoTime();
+        nextGravity += interval;
+        // After a long stall start counting again from now instead of falling several rows at once
+        if (nextGravity < now) nextGravity = now;
+        server.getTimerWheel().schedule(this::onGravityDue, nextGravity - now);
+    }
+
+    /**
+     * Writes the frames for everything that changed, starting the next game if this one
+     * has ended. Called with the lock held.
+     */
+    private void sendChanges() throws IOException {
+        encoder.write(0, applied, output);
+        if (engine.isFinished()) {
+            int start = VersusProtocol.beginFrame(output, VersusProtocol.GAME_OVER);
+            output.putInt(engine.snapshot().getScore()).putShort((short) engine.snapshot().getLinesCleared());
+            VersusProtocol.endFrame(output, start);
+            server.countGameFinished();
+            engine.createNewGame();
+            encoder.write(0, applied, output);
+        }
+        if (output.position() == 0) return;
+        out.write(output.array(), 0, output.position());
+        out.flush();
+        server.countSent(output.position());
+        output.clear();
+    }
+
+    /**
+     * Closes the session and its connection. Safe to call more than once and from any thread.
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            resource.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        server.onClosed(this);
+    }
+}
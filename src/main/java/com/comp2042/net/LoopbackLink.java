@@ -0,0 +1,120 @@
+package com.comp2042.net;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * An in-memory datagram link between two endpoints, 0 and 1, that delays every packet by a
+ * fixed latency plus a random jitter and drops a share of them, for testing netcode such as
+ * {@link RollbackSession} without a network. Jitter reorders packets just as it would on
+ * a real network. Time is whatever the caller passes in, so runs on a manual clock are
+ * repeatable for a given seed. Confined to one thread.
+ */
+public final class LoopbackLink {
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double lossRate;
+    private final SplittableRandom random;
+    private final List<PriorityQueue<Packet>> queues = List.of(new PriorityQueue<>(), new PriorityQueue<>());
+    private long sequence;
+    private long sent;
+    private long dropped;
+    private long bytesSent;
+
+    /**
+     * Constructs a LoopbackLink.
+     *
+     * @param latencyNanos the one-way delay every packet has
+     * @param jitterNanos the largest random delay added on top, uniformly distributed
+     * @param lossRate the chance that a packet is lost, from 0 to 1
+     * @param seed the seed of the jitter and losses
+     */
+    public LoopbackLink(long latencyNanos, long jitterNanos, double lossRate, long seed) {
+        this.latencyNanos = latencyNanos;
+        this.jitterNanos = jitterNanos;
+        this.lossRate = lossRate;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Sends a copy of a packet to an endpoint.
+     *
+     * @param to the receiving endpoint, 0 or 1
+     * @param now the current time in nanoseconds
+     * @param packet the packet, from its position to its limit
+     */
+    public void send(int to, long now, ByteBuffer packet) {
+        sent++;
+        bytesSent += packet.remaining();
+        if (random.nextDouble() < lossRate) {
+            dropped++;
+            return;
+        }
+        byte[] data = new byte[packet.remaining()];
+        packet.get(data);
+        long jitter = jitterNanos > 0 ? random.nextLong(jitterNanos + 1) : 0;
+        queues.get(to).add(new Packet(now + latencyNanos + jitter, sequence++, data));
+    }
+
+    /**
+     * Takes the next packet that has arrived at an endpoint.
+     *
+     * @param to the receiving endpoint, 0 or 1
+     * @param now the current time in nanoseconds
+     * @return the packet, or null if none has arrived yet
+     */
+    public ByteBuffer poll(int to, long now) {
+        Packet next = queues.get(to).peek();
+        if (next == null || next.deliverAt > now) return null;
+        queues.get(to).poll();
+        return ByteBuffer.wrap(next.data);
+    }
+
+    /**
+     * Gets the number of packets still on their way to either endpoint.
+     *
+     * @return the in-flight packet count
+     */
+    public int getInFlight() {
+        return queues.get(0).size() + queues.get(1).size();
+    }
+
+    /**
+     * Gets the number of packets sent, including those lost.
+     *
+     * @return the sent packet count
+     */
+    public long getSent() {
+        return sent;
+    }
+
+    /**
+     * Gets the number of packets lost.
+     *
+     * @return the lost packet count
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Gets the number of bytes sent, including those lost.
+     *
+     * @return the byte count
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    private record Packet(long deliverAt, long sequence, byte[] data) implements Comparable<Packet> {
+
+        @Override
+        public int compareTo(Packet other) {
+            int order = Long.compare(deliverAt, other.deliverAt);
+            return order != 0 ? order : Long.compare(sequence, other.sequence);
+        }
+    }
+}
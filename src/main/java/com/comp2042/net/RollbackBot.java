@@ -0,0 +1,138 @@
+package com.comp2042.net;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.GameSnapshot;
+import com.comp2042.event.DownData;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.input.InputAction;
+import com.comp2042.view.ViewData;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Plays the local side of a {@link RollbackSession} with a {@link BotPlayer}, for loopback
+ * tests and measurements. Every move of the bot becomes an action held for one tick,
+ * followed by empty ticks until the move has been applied despite the input delay. To make
+ * games end, each move is replaced by a hard drop with the configured mistake rate.
+ */
+public final class RollbackBot implements InputEventListener {
+
+    private final BotPlayer bot = new BotPlayer();
+    private final SplittableRandom random;
+    private final double mistakeRate;
+    private int input = -1;
+    private int wait;
+
+    /**
+     * Constructs a RollbackBot.
+     *
+     * @param seed the seed of the bot's mistakes
+     * @param mistakeRate the chance that a move is replaced by a hard drop, from 0 to 1
+     */
+    public RollbackBot(long seed, double mistakeRate) {
+        this.random = new SplittableRandom(seed);
+        this.mistakeRate = mistakeRate;
+    }
+
+    /**
+     * Chooses the input for the session's next tick, unless one is still waiting after a
+     * stall, and advances the session with it.
+     *
+     * @param session the session to play
+     * @return true if the session advanced, false if it stalled
+     */
+    public boolean step(RollbackSession session) {
+        if (input < 0) input = nextInput(session);
+        if (!session.advance(input)) return false;
+        input = -1;
+        return true;
+    }
+
+    private int nextInput(RollbackSession session) {
+        GameEngine engine = session.getEngine(session.getLocalPlayer());
+        if (wait > 0) {
+            wait--;
+            return 0;
+        }
+        if (engine.isFinished()) return 0;
+        wait = session.getInputDelay() + 1;
+        input = 0;
+        if (random.nextDouble() < mistakeRate) {
+            onHardDropEvent(null);
+        } else {
+            GameSnapshot snapshot = engine.snapshot();
+            // Rollbacks bump the board version without changing the board, which would
+            // make the bot plan again halfway through a placement, so key on the contents
+            int[][] board = snapshot.getBoardMatrix();
+            int boardKey = 31 * Arrays.deepHashCode(board) + snapshot.getScore();
+            bot.act(snapshot.getGameNumber(), boardKey, board, snapshot.getViewData(), this);
+        }
+        return input;
+    }
+
+    private void hold(InputAction action) {
+        input = 1 << action.ordinal();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Holds the soft drop for the next tick.
+     */
+    @Override
+    public DownData onDownEvent(MoveEvent event) {
+        hold(InputAction.SOFT_DROP);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Holds the left shift for the next tick.
+     */
+    @Override
+    public ViewData onLeftEvent(MoveEvent event) {
+        hold(InputAction.LEFT);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Holds the right shift for the next tick.
+     */
+    @Override
+    public ViewData onRightEvent(MoveEvent event) {
+        hold(InputAction.RIGHT);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Holds the rotation for the next tick.
+     */
+    @Override
+    public ViewData onRotateEvent(MoveEvent event) {
+        hold(InputAction.ROTATE);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Holds the hard drop for the next tick.
+     */
+    @Override
+    public DownData onHardDropEvent(MoveEvent event) {
+        hold(InputAction.HARD_DROP);
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Does nothing.
+     */
+    @Override
+    public void createNewGame() {
+        // Games are not restarted in a rollback session
+    }
+}
@@ -0,0 +1,410 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameClock;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.GameLoop;
+import com.comp2042.core.SaveCodec;
+import com.comp2042.input.InputAction;
+import com.comp2042.input.InputConfig;
+import com.comp2042.input.KeyStateTracker;
+import com.comp2042.model.GameMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * One peer of a 1v1 game played with rollback netcode instead of a {@link VersusServer}.
+ * Both peers simulate both players' engines from the same seed, one fixed simulation step
+ * per tick, and exchange only their inputs: the set of actions held during each tick.
+ * <p>
+ * The local input of a tick is applied at once, after an optional delay of a few ticks.
+ * The opponent's input is predicted to be the same as the last one received. The state at
+ * the start of every tick is saved into a ring of snapshots: both engines in the
+ * {@link SaveCodec} format, both players' held-key timers, gravity timers and garbage
+ * counters. When an input arrives that contradicts its prediction, the session restores
+ * the snapshot of that tick and simulates again up to the present with the real input.
+ * The depth of every rollback is counted in a histogram. A peer stalls instead of running
+ * further ahead of the opponent's inputs than the prediction window allows.
+ * <p>
+ * Inputs travel in {@link #INPUT} frames on the usual {@link VersusProtocol} framing. Every
+ * frame repeats all inputs the opponent has not acknowledged yet, so frames may be lost,
+ * duplicated or reordered, as over UDP. The simulation depends only on the seed and the
+ * inputs: the engines run on a clock that counts ticks, and garbage holes are derived
+ * from the seed and the number of garbage rows sent. Confined to one thread.
+ */
+public final class RollbackSession {
+
+    /** Frame carrying inputs: acknowledged tick, first tick, count and one byte per tick. */
+    public static final byte INPUT = 23;
+
+    /** Default number of ticks a peer may run ahead of the opponent's last known input. */
+    public static final int DEFAULT_MAX_PREDICTION = 24;
+
+    private static final int INPUT_HEADER = 1 + 4 + 4 + 1;
+    private static final int MAX_INPUTS_PER_FRAME = 255;
+    private static final InputAction[] ACTIONS = InputAction.values();
+
+    private final int local;
+    private final int remote;
+    private final long seed;
+    private final int inputDelay;
+    private final int maxPrediction;
+    private final int ringMask;
+    private final int cols;
+    private final GameEngine[] engines = new GameEngine[2];
+    private final KeyStateTracker[] keys = new KeyStateTracker[2];
+    private final long[] gravityCharge = new long[2];
+    private final int[] garbageSent = new int[2];
+    private final byte[][] inputs;
+    private final ByteBuffer[] snapshots;
+    private final long[] rollbackDepths;
+
+    private int clockTick;
+    private int tick;
+    private int localInputEnd;
+    private int remoteConfirmed;
+    private int remoteAcked;
+    private int firstMismatch = Integer.MAX_VALUE;
+    private long rollbacks;
+    private long resimulatedTicks;
+    private long stalls;
+    private long framesDropped;
+
+    /**
+     * Constructs a session with the default prediction window and no input delay.
+     *
+     * @param localPlayer the local player's index, 0 or 1
+     * @param seed the seed shared by both peers
+     */
+    public RollbackSession(int localPlayer, long seed) {
+        this(localPlayer, seed, 0, DEFAULT_MAX_PREDICTION);
+    }
+
+    /**
+     * Constructs a session.
+     *
+     * @param localPlayer the local player's index, 0 or 1
+     * @param seed the seed shared by both peers
+     * @param inputDelay the number of ticks local inputs are delayed by, which trades
+     *                   responsiveness for fewer rollbacks
+     * @param maxPrediction the number of ticks the session may simulate past the
+     *                      opponent's last known input before it stalls
+     * @throws IllegalArgumentException if the player index or a tick count is out of range
+     */
+    public RollbackSession(int localPlayer, long seed, int inputDelay, int maxPrediction) {
+        if (localPlayer != 0 && localPlayer != 1) throw new IllegalArgumentException("player must be 0 or 1");
+        if (inputDelay < 0 || maxPrediction < 1 || inputDelay + maxPrediction > MAX_INPUTS_PER_FRAME / 2) {
+            throw new IllegalArgumentException("input delay or prediction window out of range");
+        }
+        this.local = localPlayer;
+        this.remote = 1 - localPlayer;
+        this.seed = seed;
+        this.inputDelay = inputDelay;
+        this.maxPrediction = maxPrediction;
+        // Unacknowledged local inputs span at most two prediction windows plus the delay
+        int capacity = Integer.highestOneBit(2 * (maxPrediction + inputDelay) + 1) << 1;
+        this.ringMask = capacity - 1;
+        this.inputs = new byte[2][capacity];
+        this.rollbackDepths = new long[maxPrediction + 1];
+
+        GameClock clock = () -> clockTick * GameLoop.STEP_NANOS;
+        for (int p = 0; p < 2; p++) {
+            int player = p;
+            engines[p] = new GameEngine(GameMode.CLASSIC, clock, seed);
+            engines[p].setClearListener(lines -> sendGarbage(player, lines));
+            engines[p].resumeTimer(0);
+            keys[p] = new KeyStateTracker(InputConfig.DEFAULT);
+        }
+        this.cols = engines[0].snapshot().getBoardMatrix()[0].length;
+        int snapshotBytes = 2 * (2 + SaveCodec.maxBytes(engines[0]) + KeyStateTracker.STATE_BYTES + 8 + 4);
+        this.snapshots = new ByteBuffer[capacity];
+        for (int i = 0; i < capacity; i++) snapshots[i] = ByteBuffer.allocate(snapshotBytes);
+        this.localInputEnd = inputDelay;
+    }
+
+    /**
+     * Rolls back for any contradicted prediction, then simulates one tick with the given
+     * local input. Does nothing if the session is as far ahead of the opponent's inputs as
+     * the prediction window allows; the caller should keep exchanging frames and try again
+     * with the same input on its next tick.
+     *
+     * @param localInput the local actions held during the tick, one bit per
+     *                   {@link InputAction} ordinal
+     * @return true if the tick was simulated, false if the session stalled
+     */
+    public boolean advance(int localInput) {
+        rollback();
+        if (tick - remoteConfirmed >= maxPrediction) {
+            stalls++;
+            return false;
+        }
+        inputs[local][localInputEnd & ringMask] = (byte) localInput;
+        localInputEnd++;
+        save(tick);
+        simulate(tick);
+        tick++;
+        return true;
+    }
+
+    /**
+     * Restores the snapshot of the earliest tick whose predicted opponent input turned out
+     * wrong and simulates again up to the present. Called by {@link #advance(int)}; can be
+     * called directly to bring the state up to date after frames were read.
+     */
+    public void rollback() {
+        if (firstMismatch >= tick) {
+            firstMismatch = Integer.MAX_VALUE;
+            return;
+        }
+        int from = firstMismatch;
+        firstMismatch = Integer.MAX_VALUE;
+        int depth = tick - from;
+        rollbacks++;
+        resimulatedTicks += depth;
+        rollbackDepths[Math.min(depth, rollbackDepths.length - 1)]++;
+        restore(from);
+        for (int t = from; t < tick; t++) {
+            if (t > from) save(t);
+            simulate(t);
+        }
+    }
+
+    /**
+     * Writes an input frame with the acknowledgement of the opponent's inputs and every
+     * local input the opponent has not acknowledged.
+     *
+     * @param out the buffer to write to; needs {@link #maxFrameBytes()} bytes free
+     */
+    public void writeInputs(ByteBuffer out) {
+        int first = Math.max(remoteAcked, localInputEnd - MAX_INPUTS_PER_FRAME);
+        int start = VersusProtocol.beginFrame(out, INPUT);
+        out.putInt(remoteConfirmed).putInt(first).put((byte) (localInputEnd - first));
+        for (int t = first; t < localInputEnd; t++) out.put(inputs[local][t & ringMask]);
+        VersusProtocol.endFrame(out, start);
+    }
+
+    /**
+     * Reads an input frame from the opponent. Inputs already known are skipped; a frame
+     * that leaves a gap after the last known input cannot be used and is dropped.
+     *
+     * @param frame the frame body, starting at its type byte
+     */
+    public void readInputs(ByteBuffer frame) {
+        if (frame.get() != INPUT) return;
+        int ack = frame.getInt();
+        int first = frame.getInt();
+        int count = frame.get() & 0xFF;
+        remoteAcked = Math.max(remoteAcked, Math.min(ack, localInputEnd));
+        if (first > remoteConfirmed) {
+            framesDropped++;
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int input = frame.get();
+            if (first + i >= remoteConfirmed) addRemoteInput(first + i, input);
+        }
+    }
+
+    /**
+     * Records the opponent's input for the next tick that has none.
+     *
+     * @param t the tick, which must equal the number of opponent inputs known so far
+     * @param input the opponent's held actions
+     */
+    void addRemoteInput(int t, int input) {
+        if (t != remoteConfirmed || t - tick >= ringMask - maxPrediction) return;
+        int slot = t & ringMask;
+        if (t < tick && inputs[remote][slot] != (byte) input) {
+            firstMismatch = Math.min(firstMismatch, t);
+        }
+        inputs[remote][slot] = (byte) input;
+        remoteConfirmed++;
+    }
+
+    /**
+     * Gets the input of a player for a tick still held in the input ring.
+     *
+     * @param player the player index
+     * @param t the tick
+     * @return the held actions, predicted if the tick is not confirmed
+     */
+    int getInput(int player, int t) {
+        return inputs[player][t & ringMask];
+    }
+
+    private void simulate(int t) {
+        clockTick = t;
+        if (t >= remoteConfirmed) {
+            // Predict that the opponent keeps holding what they held last
+            inputs[remote][t & ringMask] = remoteConfirmed == 0 ? 0 : inputs[remote][(remoteConfirmed - 1) & ringMask];
+        }
+        for (int p = 0; p < 2; p++) {
+            GameEngine engine = engines[p];
+            KeyStateTracker tracker = keys[p];
+            int input = inputs[p][t & ringMask];
+            for (InputAction action : ACTIONS) {
+                boolean held = (input & (1 << action.ordinal())) != 0;
+                if (held != tracker.isHeld(action)) tracker.onInput(action.encode(held), engine);
+            }
+            long gravity = engine.getLevel().getGravityNanos();
+            tracker.setGravityNanos(gravity);
+            tracker.update(GameLoop.STEP_NANOS, engine);
+            gravityCharge[p] += GameLoop.STEP_NANOS;
+            while (gravityCharge[p] >= gravity) {
+                gravityCharge[p] -= gravity;
+                engine.tick();
+            }
+        }
+        clockTick = t + 1;
+    }
+
+    private void sendGarbage(int player, int lines) {
+        int rows = VersusMatch.GARBAGE_FOR_LINES[Math.min(lines, VersusMatch.GARBAGE_FOR_LINES.length - 1)];
+        if (rows == 0) return;
+        long z = seed + (garbageSent[player] * 2L + player + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        garbageSent[player] += rows;
+        engines[1 - player].addGarbage(rows, (int) Math.floorMod(z ^ (z >>> 31), (long) cols));
+    }
+
+    private void save(int t) {
+        ByteBuffer out = snapshots[t & ringMask].clear();
+        clockTick = t;
+        for (int p = 0; p < 2; p++) {
+            int lengthAt = out.position();
+            out.putShort((short) 0);
+            out.putShort(lengthAt, (short) SaveCodec.encode(engines[p], out));
+            keys[p].writeState(out);
+            out.putLong(gravityCharge[p]).putInt(garbageSent[p]);
+        }
+    }
+
+    private void restore(int t) {
+        ByteBuffer in = snapshots[t & ringMask].flip();
+        clockTick = t;
+        for (int p = 0; p < 2; p++) {
+            int length = in.getShort() & 0xFFFF;
+            try {
+                SaveCodec.restore(engines[p], in.slice(in.position(), length));
+            } catch (IOException e) {
+                throw new IllegalStateException("snapshot of tick " + t + " is unreadable", e);
+            }
+            in.position(in.position() + length);
+            keys[p].readState(in);
+            gravityCharge[p] = in.getLong();
+            garbageSent[p] = in.getInt();
+            engines[p].resumeTimer(engines[p].getClock().nanoTime());
+        }
+    }
+
+    /**
+     * Gets the size of the largest input frame, length prefix included.
+     *
+     * @return the maximum frame size in bytes
+     */
+    public int maxFrameBytes() {
+        return VersusProtocol.LENGTH_BYTES + INPUT_HEADER + MAX_INPUTS_PER_FRAME;
+    }
+
+    /**
+     * Gets the engine of a player, as simulated up to the present with predicted inputs.
+     *
+     * @param player the player index
+     * @return the engine
+     */
+    public GameEngine getEngine(int player) {
+        return engines[player];
+    }
+
+    /**
+     * Gets the local player's index.
+     *
+     * @return 0 or 1
+     */
+    public int getLocalPlayer() {
+        return local;
+    }
+
+    /**
+     * Gets the number of ticks simulated.
+     *
+     * @return the current tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the number of ticks for which the opponent's input is known.
+     *
+     * @return the number of confirmed opponent inputs
+     */
+    public int getConfirmedTick() {
+        return remoteConfirmed;
+    }
+
+    /**
+     * Gets the number of local inputs the opponent has acknowledged.
+     *
+     * @return the acknowledged input count
+     */
+    public int getAckedTick() {
+        return remoteAcked;
+    }
+
+    /**
+     * Gets the number of ticks the local input is delayed by.
+     *
+     * @return the input delay
+     */
+    public int getInputDelay() {
+        return inputDelay;
+    }
+
+    /**
+     * Gets the number of rollbacks of every depth, in ticks simulated again. The last
+     * entry is the maximum, as the prediction window bounds the depth.
+     *
+     * @return a copy of the histogram, indexed by depth
+     */
+    public long[] getRollbackHistogram() {
+        return rollbackDepths.clone();
+    }
+
+    /**
+     * Gets the number of rollbacks.
+     *
+     * @return the rollback count
+     */
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    /**
+     * Gets the number of ticks simulated again by rollbacks.
+     *
+     * @return the re-simulated tick count
+     */
+    public long getResimulatedTicks() {
+        return resimulatedTicks;
+    }
+
+    /**
+     * Gets the number of calls to {@link #advance(int)} that stalled.
+     *
+     * @return the stall count
+     */
+    public long getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Gets the number of input frames dropped because they left a gap.
+     *
+     * @return the dropped frame count
+     */
+    public long getFramesDropped() {
+        return framesDropped;
+    }
+}
@@ -0,0 +1,105 @@
+package com.comp2042.net;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Rebuilds a board from {@link SyncProtocol} frames and notices when it has lost sync:
+ * a sequence number that does not follow the last one, a checksum that does not match,
+ * or a frame that cannot be read. After that, deltas are skipped until the next full frame.
+ */
+public final class SyncDecoder {
+
+    /**
+     * What became of a frame handed to {@link #read}.
+     */
+    public enum Result {
+        /** The frame was applied and the state is in sync. */
+        APPLIED,
+        /** Sync was just lost; the caller should send {@link SyncProtocol#SYNC_RESYNC}. */
+        RESYNC,
+        /** The frame was ignored while waiting for a full frame, or was of another type. */
+        SKIPPED
+    }
+
+    private final SyncState state;
+    private boolean synced;
+    private long desyncs;
+
+    /**
+     * Constructs a SyncDecoder for boards of the given size. It is out of sync until the
+     * first full frame arrives.
+     *
+     * @param rows the number of board rows
+     * @param cols the number of board columns
+     */
+    public SyncDecoder(int rows, int cols) {
+        this.state = new SyncState(rows, cols);
+    }
+
+    /**
+     * Reads one frame.
+     *
+     * @param frame the frame body, starting at its type byte
+     * @return what became of the frame
+     */
+    public Result read(ByteBuffer frame) {
+        byte type = frame.get();
+        if (type != SyncProtocol.SYNC_FULL && type != SyncProtocol.SYNC_DELTA) return Result.SKIPPED;
+        try {
+            int sequence = frame.getShort() & 0xFFFF;
+            if (type == SyncProtocol.SYNC_FULL) {
+                state.readFull(frame, sequence);
+                synced = true;
+                return Result.APPLIED;
+            }
+            if (!synced) return Result.SKIPPED;
+            if (sequence == ((state.getSequence() + 1) & 0xFFFF) && state.applyDelta(frame, sequence)) {
+                return Result.APPLIED;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // A damaged frame is handled like a checksum mismatch
+        }
+        synced = false;
+        desyncs++;
+        return Result.RESYNC;
+    }
+
+    /**
+     * Writes a resync request.
+     *
+     * @param out the buffer to write the frame to
+     */
+    public void writeResync(ByteBuffer out) {
+        int start = VersusProtocol.beginFrame(out, SyncProtocol.SYNC_RESYNC);
+        out.putShort((short) state.getSequence());
+        VersusProtocol.endFrame(out, start);
+    }
+
+    /**
+     * Checks whether the state is in sync with the sender as far as the decoder can tell.
+     *
+     * @return true once a full frame has been applied and no error seen since
+     */
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Gets the rebuilt state.
+     *
+     * @return the state
+     */
+    public SyncState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of times sync was lost.
+     *
+     * @return the desync count
+     */
+    public long getDesyncs() {
+        return desyncs;
+    }
+}
@@ -0,0 +1,249 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.GameSnapshot;
+import com.comp2042.view.ViewData;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes {@link SyncProtocol} frames for one engine: a full frame to start with, after a
+ * new game or on request, and otherwise one small delta per call holding only what
+ * changed since the previous frame.
+ * <p>
+ * Board changes are described as the cells a locked brick merged and the rows its lock
+ * cleared. The encoder works them out by comparing the engine's board with its own copy
+ * of what the receiver holds, using the engine's last clear for the cleared rows, then
+ * applies the delta to that copy exactly as a receiver would. Any change that does not
+ * check out that way, such as two bricks locking between calls or garbage pushing the
+ * stack up, is sent as a full frame instead. Confined to the thread that owns the engine.
+ */
+public final class SyncEncoder {
+
+    /** Number of deltas between checksums. */
+    public static final int CHECKSUM_INTERVAL = 16;
+
+    /** Bytes of a full frame body before the board: type, sequence, size, piece and stats. */
+    private static final int FULL_HEADER = 1 + 2 + 2 + 2 + 7;
+
+    /** Bytes of the largest delta body apart from the cleared row indices. */
+    private static final int MAX_DELTA = 1 + 2 + 1 + 2 + 255 + 1 + 2 + 7 + 4;
+
+    private final GameEngine engine;
+    private final SyncState sent;
+    private final int[] cells;
+    private int sentGameNumber = -1;
+    private int sentBoardVersion = -1;
+    private int sentClearCount;
+    private int sequence;
+    private int deltasSinceChecksum;
+    private boolean fullRequested = true;
+    private long deltaFrames;
+    private long fullFrames;
+    private long bytesWritten;
+
+    /**
+     * Constructs a SyncEncoder for an engine. The first frame written is a full frame.
+     *
+     * @param engine the engine to encode
+     * @throws IllegalArgumentException if the engine's board is too large for the format
+     */
+    public SyncEncoder(GameEngine engine) {
+        int[][] board = engine.snapshot().getBoardMatrix();
+        int rows = board.length;
+        int cols = board[0].length;
+        if (rows > SyncProtocol.MAX_ROWS || cols > SyncProtocol.MAX_COLS || rows * cols > 256) {
+            throw new IllegalArgumentException("a " + rows + "x" + cols + " board cannot be synced");
+        }
+        this.engine = engine;
+        this.sent = new SyncState(rows, cols);
+        this.cells = new int[rows * cols];
+    }
+
+    /**
+     * Asks for the next frame to be a full frame, for example after a receiver sent
+     * {@link SyncProtocol#SYNC_RESYNC}.
+     */
+    public void requestFull() {
+        fullRequested = true;
+    }
+
+    /**
+     * Writes a frame if anything changed since the previous one.
+     *
+     * @param out the buffer to write to; needs {@link #maxFrameBytes()} bytes free
+     * @return true if a frame was written
+     */
+    public boolean write(ByteBuffer out) {
+        GameSnapshot snapshot = engine.snapshot();
+        ViewData view = snapshot.getViewData();
+        int piece = snapshot.isGameOver() || snapshot.isGameWon() ? SyncProtocol.NO_PIECE
+                : SyncProtocol.packPiece(view.getBrickType(), engine.getBrickRotation(), view.getxPosition(), view.getyPosition());
+        if (fullRequested || snapshot.getGameNumber() != sentGameNumber) return writeFull(snapshot, piece, out);
+
+        int start = VersusProtocol.beginFrame(out, SyncProtocol.SYNC_DELTA);
+        int next = (sequence + 1) & 0xFFFF;
+        out.putShort((short) next);
+        int flagsPosition = out.position();
+        out.put((byte) 0);
+        int flags = 0;
+        boolean boardChanged = snapshot.getBoardVersion() != sentBoardVersion;
+        if (boardChanged) {
+            int edit = writeBoardEdit(snapshot, out);
+            if (edit < 0) {
+                out.position(start);
+                return writeFull(snapshot, piece, out);
+            }
+            flags |= edit;
+        }
+        if (piece != sent.getPiece()) {
+            flags |= SyncProtocol.PIECE;
+            out.putShort((short) piece);
+        }
+        if (snapshot.getScore() != sent.getScore() || snapshot.getLinesCleared() != sent.getLines()
+                || snapshot.getLevel() != sent.getLevel()) {
+            flags |= SyncProtocol.STATS;
+            out.putInt(snapshot.getScore()).putShort((short) snapshot.getLinesCleared()).put((byte) snapshot.getLevel());
+        }
+        if (flags == 0) {
+            out.position(start);
+            sentBoardVersion = snapshot.getBoardVersion();
+            return false;
+        }
+
+        out.put(flagsPosition, (byte) flags);
+        ByteBuffer written = out.duplicate().limit(out.position()).position(flagsPosition);
+        sent.applyDelta(written, next);
+        if (boardChanged && !Arrays.deepEquals(sent.getBoard(), snapshot.getBoardMatrix())) {
+            out.position(start);
+            return writeFull(snapshot, piece, out);
+        }
+        if (++deltasSinceChecksum >= CHECKSUM_INTERVAL) {
+            deltasSinceChecksum = 0;
+            out.put(flagsPosition, (byte) (flags | SyncProtocol.CHECKSUM));
+            out.putInt(sent.checksum());
+        }
+        VersusProtocol.endFrame(out, start);
+        sequence = next;
+        sentBoardVersion = snapshot.getBoardVersion();
+        sentClearCount = snapshot.getClearCount();
+        deltaFrames++;
+        bytesWritten += out.position() - start;
+        return true;
+    }
+
+    /**
+     * Writes the merged cells and cleared rows that turn the receiver's board into the
+     * engine's. The board before the clear is rebuilt by putting the cleared rows back
+     * between the rows that survived; every cell that is filled there but empty on the
+     * receiver's board was merged.
+     *
+     * @return the flags written, or -1 if the change cannot be described this way
+     */
+    private int writeBoardEdit(GameSnapshot snapshot, ByteBuffer out) {
+        int clears = snapshot.getClearCount() - sentClearCount;
+        if (clears > 1) return -1;
+        int[] cleared = clears == 1 ? snapshot.getLastClear().getClearedRows() : new int[0];
+        int[][] board = snapshot.getBoardMatrix();
+        int[][] before = sent.getBoard();
+        int cols = sent.getCols();
+        int count = 0;
+        int value = 0;
+        int next = cleared.length;
+        int c = 0;
+        for (int i = 0; i < before.length; i++) {
+            boolean clearedRow = c < cleared.length && cleared[c] == i;
+            if (clearedRow) c++;
+            int[] row = clearedRow ? null : board[next++];
+            for (int j = 0; j < cols; j++) {
+                if (clearedRow) {
+                    if (before[i][j] == 0) cells[count++] = i * cols + j;
+                    continue;
+                }
+                int now = row[j];
+                if (now == before[i][j]) continue;
+                // Outside cleared rows cells are only ever filled, all with the brick's value
+                if (before[i][j] != 0 || (value != 0 && value != now)) return -1;
+                value = now;
+                cells[count++] = i * cols + j;
+            }
+        }
+        if (count > 255) return -1;
+        int flags = 0;
+        if (count > 0) {
+            flags |= SyncProtocol.MERGE;
+            // Cells merged only into cleared rows disappear, so any value will do
+            out.put((byte) Math.max(value, 1)).put((byte) count);
+            for (int k = 0; k < count; k++) out.put((byte) cells[k]);
+        }
+        if (cleared.length > 0) {
+            flags |= SyncProtocol.CLEAR;
+            out.put((byte) cleared.length);
+            for (int row : cleared) out.put((byte) row);
+        }
+        return flags;
+    }
+
+    private boolean writeFull(GameSnapshot snapshot, int piece, ByteBuffer out) {
+        sequence = (sequence + 1) & 0xFFFF;
+        sent.load(snapshot.getBoardMatrix(), piece, snapshot.getScore(), snapshot.getLinesCleared(), snapshot.getLevel(), sequence);
+        int start = VersusProtocol.beginFrame(out, SyncProtocol.SYNC_FULL);
+        out.putShort((short) sequence);
+        sent.writeFull(out);
+        VersusProtocol.endFrame(out, start);
+        sentGameNumber = snapshot.getGameNumber();
+        sentBoardVersion = snapshot.getBoardVersion();
+        sentClearCount = snapshot.getClearCount();
+        fullRequested = false;
+        deltasSinceChecksum = 0;
+        fullFrames++;
+        bytesWritten += out.position() - start;
+        return true;
+    }
+
+    /**
+     * Gets the size of the largest frame this encoder writes, length prefix included.
+     *
+     * @return the maximum frame size in bytes
+     */
+    public int maxFrameBytes() {
+        return Math.max(fullFrameBytes(), VersusProtocol.LENGTH_BYTES + MAX_DELTA + sent.getRows());
+    }
+
+    /**
+     * Gets the size of a full frame for this encoder's board, length prefix included.
+     *
+     * @return the full frame size in bytes
+     */
+    public int fullFrameBytes() {
+        return VersusProtocol.LENGTH_BYTES + FULL_HEADER + sent.getRows() * VersusProtocol.rowBytes(sent.getCols());
+    }
+
+    /**
+     * Gets the number of delta frames written.
+     *
+     * @return the delta frame count
+     */
+    public long getDeltaFrames() {
+        return deltaFrames;
+    }
+
+    /**
+     * Gets the number of full frames written.
+     *
+     * @return the full frame count
+     */
+    public long getFullFrames() {
+        return fullFrames;
+    }
+
+    /**
+     * Gets the number of bytes written, length prefixes included.
+     *
+     * @return the byte count
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,130 @@
+package com.comp2042.net;
+
+import com.comp2042.logic.bricks.BrickFactory;
+
+/**
+ * Wire format of the delta-compressed board sync, written by {@link SyncEncoder} and read
+ * by {@link SyncDecoder}. Frames use the length prefix of {@link VersusProtocol}.
+ * <p>
+ * A {@link #SYNC_FULL} frame carries the whole state: sequence number, board rows and
+ * columns, falling piece, score, lines, level and every row with its cells packed two to
+ * a byte. After it, each {@link #SYNC_DELTA} frame carries the next sequence number, a
+ * flags byte and only the parts named by the flags, in this order:
+ * <ul>
+ *     <li>{@link #MERGE}: a cell value, a count and that many cell indices
+ *     ({@code row * cols + col}) set to the value, as when a brick locks;</li>
+ *     <li>{@link #CLEAR}: a count and that many ascending row indices removed after the
+ *     merge, the rows above moving down;</li>
+ *     <li>{@link #PIECE}: the falling piece packed into 16 bits by {@link #packPiece};</li>
+ *     <li>{@link #STATS}: score, lines and level;</li>
+ *     <li>{@link #CHECKSUM}: the {@link SyncState#checksum()} of the whole state after the
+ *     delta is applied, sent every {@value SyncEncoder#CHECKSUM_INTERVAL} deltas.</li>
+ * </ul>
+ * A receiver that sees a sequence gap or a checksum mismatch sends {@link #SYNC_RESYNC}
+ * with the last sequence number it applied and ignores deltas until the next full frame.
+ * All numbers are big-endian; sequence numbers are 16 bits and wrap.
+ */
+public final class SyncProtocol {
+
+    /** Changes since the previous frame. */
+    public static final byte SYNC_DELTA = 20;
+
+    /** The whole state. */
+    public static final byte SYNC_FULL = 21;
+
+    /** Receiver to sender: the receiver lost sync and needs a full frame. */
+    public static final byte SYNC_RESYNC = 22;
+
+    /** Delta flag: cells merged into the board. */
+    public static final int MERGE = 0x01;
+
+    /** Delta flag: rows cleared from the board. */
+    public static final int CLEAR = 0x02;
+
+    /** Delta flag: the falling piece moved, turned or was replaced. */
+    public static final int PIECE = 0x04;
+
+    /** Delta flag: score, lines or level changed. */
+    public static final int STATS = 0x08;
+
+    /** Delta flag: a checksum of the state follows. */
+    public static final int CHECKSUM = 0x10;
+
+    /** Packed piece sent while there is no falling piece. */
+    public static final int NO_PIECE = 0xFFFF;
+
+    /** Added to piece coordinates so that slightly negative ones can be packed. */
+    public static final int COORD_OFFSET = 8;
+
+    /** Widest board whose piece columns fit the packed piece. */
+    public static final int MAX_COLS = 32 - COORD_OFFSET;
+
+    /** Tallest board whose piece rows fit the packed piece. */
+    public static final int MAX_ROWS = 64 - COORD_OFFSET;
+
+    private static final BrickFactory.BrickType[] TYPES = BrickFactory.getAllTypes();
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private SyncProtocol() {
+
+    }
+
+    /**
+     * Packs a falling piece into 16 bits: 3 bits of type, 2 of rotation, 5 of column and
+     * 6 of row, the coordinates offset by {@value #COORD_OFFSET}.
+     *
+     * @param type the brick type, or null for none
+     * @param rotation the rotation index, from 0 to 3
+     * @param x the piece's column
+     * @param y the piece's row
+     * @return the packed piece, or {@link #NO_PIECE}
+     */
+    public static int packPiece(BrickFactory.BrickType type, int rotation, int x, int y) {
+        if (type == null) return NO_PIECE;
+        return type.ordinal() << 13 | (rotation & 0x3) << 11 | ((x + COORD_OFFSET) & 0x1F) << 6 | ((y + COORD_OFFSET) & 0x3F);
+    }
+
+    /**
+     * Gets the brick type of a packed piece.
+     *
+     * @param piece the packed piece
+     * @return the brick type, or null for {@link #NO_PIECE}
+     */
+    public static BrickFactory.BrickType pieceType(int piece) {
+        int type = piece >>> 13;
+        return piece == NO_PIECE || type >= TYPES.length ? null : TYPES[type];
+    }
+
+    /**
+     * Gets the rotation index of a packed piece.
+     *
+     * @param piece the packed piece
+     * @return the rotation index
+     */
+    public static int pieceRotation(int piece) {
+        return (piece >>> 11) & 0x3;
+    }
+
+    /**
+     * Gets the column of a packed piece.
+     *
+     * @param piece the packed piece
+     * @return the column
+     */
+    public static int pieceX(int piece) {
+        return ((piece >>> 6) & 0x1F) - COORD_OFFSET;
+    }
+
+    /**
+     * Gets the row of a packed piece.
+     *
+     * @param piece the packed piece
+     * @return the row
+     */
+    public static int pieceY(int piece) {
+        return (piece & 0x3F) - COORD_OFFSET;
+    }
+}
@@ -0,0 +1,226 @@
+package com.comp2042.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A board as a {@link SyncDecoder} rebuilds it from {@link SyncProtocol} frames. The
+ * {@link SyncEncoder} keeps one too, applying every delta it writes through the same code,
+ * so sender and receiver cannot drift apart because of different interpretations.
+ */
+public final class SyncState {
+
+    private final int rows;
+    private final int cols;
+    private final int[][] board;
+    private final byte[] checksumScratch;
+    private final CRC32 crc = new CRC32();
+    private int piece = SyncProtocol.NO_PIECE;
+    private int score;
+    private int lines;
+    private int level;
+    private int sequence;
+
+    /**
+     * Constructs an empty SyncState.
+     *
+     * @param rows the number of board rows
+     * @param cols the number of board columns
+     */
+    public SyncState(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.board = new int[rows][cols];
+        this.checksumScratch = new byte[rows * cols + 9];
+    }
+
+    /**
+     * Replaces the whole state with the body of a full frame.
+     *
+     * @param in the frame, positioned after the sequence number
+     * @param sequence the frame's sequence number
+     * @throws IllegalArgumentException if the frame is for a board of another size
+     */
+    void readFull(ByteBuffer in, int sequence) {
+        int frameRows = in.get() & 0xFF;
+        int frameCols = in.get() & 0xFF;
+        if (frameRows != rows || frameCols != cols) {
+            throw new IllegalArgumentException("board is " + frameRows + "x" + frameCols + ", expected " + rows + "x" + cols);
+        }
+        piece = in.getShort() & 0xFFFF;
+        score = in.getInt();
+        lines = in.getShort() & 0xFFFF;
+        level = in.get() & 0xFF;
+        for (int[] row : board) VersusProtocol.getRow(in, row);
+        this.sequence = sequence;
+    }
+
+    /**
+     * Replaces the whole state, as the sender does before writing a full frame.
+     *
+     * @param cells the board cells by row and column
+     * @param piece the packed falling piece
+     * @param score the score
+     * @param lines the number of lines cleared
+     * @param level the level
+     * @param sequence the sequence number of the full frame
+     */
+    void load(int[][] cells, int piece, int score, int lines, int level, int sequence) {
+        for (int i = 0; i < rows; i++) System.arraycopy(cells[i], 0, board[i], 0, cols);
+        this.piece = piece;
+        this.score = score;
+        this.lines = lines;
+        this.level = level;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Writes the whole state as the body of a full frame.
+     *
+     * @param out the buffer to write to, positioned after the sequence number
+     */
+    void writeFull(ByteBuffer out) {
+        out.put((byte) rows).put((byte) cols).putShort((short) piece).putInt(score).putShort((short) lines).put((byte) level);
+        for (int[] row : board) VersusProtocol.putRow(out, row);
+    }
+
+    /**
+     * Applies the body of a delta frame.
+     *
+     * @param in the frame, positioned at the flags byte
+     * @param sequence the frame's sequence number
+     * @return false if the frame carried a checksum that does not match the new state
+     */
+    boolean applyDelta(ByteBuffer in, int sequence) {
+        int flags = in.get() & 0xFF;
+        if ((flags & SyncProtocol.MERGE) != 0) {
+            int value = in.get() & 0xFF;
+            int count = in.get() & 0xFF;
+            for (int i = 0; i < count; i++) {
+                int cell = in.get() & 0xFF;
+                board[cell / cols][cell % cols] = value;
+            }
+        }
+        if ((flags & SyncProtocol.CLEAR) != 0) {
+            int count = in.get() & 0xFF;
+            for (int i = 0; i < count; i++) removeRow(in.get() & 0xFF);
+        }
+        if ((flags & SyncProtocol.PIECE) != 0) piece = in.getShort() & 0xFFFF;
+        if ((flags & SyncProtocol.STATS) != 0) {
+            score = in.getInt();
+            lines = in.getShort() & 0xFFFF;
+            level = in.get() & 0xFF;
+        }
+        this.sequence = sequence;
+        return (flags & SyncProtocol.CHECKSUM) == 0 || in.getInt() == checksum();
+    }
+
+    /**
+     * Removes a row, moving the rows above it down and leaving an empty row at the top.
+     * Rows are removed in ascending order, so the rows above have not moved yet.
+     */
+    private void removeRow(int index) {
+        int[] removed = board[index];
+        System.arraycopy(board, 0, board, 1, index);
+        Arrays.fill(removed, 0);
+        board[0] = removed;
+    }
+
+    /**
+     * Computes a CRC32 of the board, piece, score, lines and level.
+     *
+     * @return the checksum
+     */
+    public int checksum() {
+        byte[] bytes = checksumScratch;
+        int k = 0;
+        for (int[] row : board) {
+            for (int cell : row) bytes[k++] = (byte) cell;
+        }
+        bytes[k++] = (byte) (piece >>> 8);
+        bytes[k++] = (byte) piece;
+        bytes[k++] = (byte) (score >>> 24);
+        bytes[k++] = (byte) (score >>> 16);
+        bytes[k++] = (byte) (score >>> 8);
+        bytes[k++] = (byte) score;
+        bytes[k++] = (byte) (lines >>> 8);
+        bytes[k++] = (byte) lines;
+        bytes[k] = (byte) level;
+        crc.reset();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gets the board. The array is live and must not be changed.
+     *
+     * @return the board cells by row and column
+     */
+    public int[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the falling piece.
+     *
+     * @return the piece packed by {@link SyncProtocol#packPiece}
+     */
+    public int getPiece() {
+        return piece;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the number of lines cleared.
+     *
+     * @return the line count
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the sequence number of the last frame applied.
+     *
+     * @return the sequence number
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the number of board rows.
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of board columns.
+     *
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+}
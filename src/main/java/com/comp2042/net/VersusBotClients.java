@@ -0,0 +1,356 @@
+package com.comp2042.net;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.event.DownData;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.input.InputAction;
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.model.Board;
+import com.comp2042.net.SyncDecoder.Result;
+import com.comp2042.view.ViewData;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A group of simulated players connected to a {@link VersusServer}, all driven by one
+ * thread and one {@link Selector}, for loopback testing and load generation.
+ * <p>
+ * Each client rebuilds its board from the server's delta frames with a
+ * {@link SyncDecoder}, asking for a full frame if it loses sync, and plays it with a
+ * {@link BotPlayer}, sending the bot's moves as press and release codes. A client acts
+ * only once the server reports that all its previous inputs were applied, so its
+ * decisions always rest on the authoritative state. To make matches end, each action is
+ * replaced by a hard drop with the configured mistake rate.
+ */
+public class VersusBotClients implements Runnable {
+
+    private final InetSocketAddress server;
+    private final List<Client> clients = new ArrayList<>();
+    private final Selector selector;
+    private final Thread thread;
+    private volatile boolean alive = true;
+    private volatile long matchesPlayed;
+    private volatile long matchesWon;
+    private volatile long framesReceived;
+    private volatile long bytesReceived;
+    private volatile long garbageRowsSeen;
+
+    /**
+     * Constructs a group of bot clients. Nothing connects until {@link #start()} is called.
+     *
+     * @param server the server address
+     * @param count the number of clients
+     * @param seed the seed of the clients' mistakes
+     * @param mistakeRate the chance that an action is replaced by a hard drop, from 0 to 1
+     * @throws IOException if the selector cannot be opened
+     */
+    public VersusBotClients(InetSocketAddress server, int count, long seed, double mistakeRate) throws IOException {
+        this.server = server;
+        this.selector = Selector.open();
+        for (int i = 0; i < count; i++) {
+            clients.add(new Client(new SplittableRandom(seed + i), mistakeRate));
+        }
+        this.thread = new Thread(this, "versus-bots");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Connects all clients and starts the client thread.
+     *
+     * @throws IOException if a connection cannot be started
+     */
+    public void start() throws IOException {
+        for (Client client : clients) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            client.channel = channel;
+            client.key = channel.register(selector,
+                    channel.connect(server) ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, client);
+        }
+        thread.start();
+    }
+
+    /**
+     * Main loop: reads frames, lets the bots act and writes their inputs.
+     */
+    @Override
+    public void run() {
+        try {
+            while (alive) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+                    try {
+                        if (key.isConnectable() && client.channel.finishConnect()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                        }
+                        if (key.isValid() && key.isReadable()) client.read();
+                        if (key.isValid() && key.isWritable()) client.flush();
+                    } catch (IOException e) {
+                        client.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Versus bots stopped: " + e.getMessage());
+        } finally {
+            for (Client client : clients) client.close();
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Disconnects every client and stops the client thread.
+     */
+    public void shutdown() {
+        alive = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Gets the number of matches the clients finished, counted once per client.
+     *
+     * @return the match count
+     */
+    public long getMatchesPlayed() {
+        return matchesPlayed;
+    }
+
+    /**
+     * Gets the number of matches the clients won.
+     *
+     * @return the win count
+     */
+    public long getMatchesWon() {
+        return matchesWon;
+    }
+
+    /**
+     * Gets the number of frames received.
+     *
+     * @return the frame count
+     */
+    public long getFramesReceived() {
+        return framesReceived;
+    }
+
+    /**
+     * Gets the number of bytes received.
+     *
+     * @return the byte count
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Gets the number of garbage rows that appeared on the clients' own boards.
+     *
+     * @return the garbage row count
+     */
+    public long getGarbageRowsSeen() {
+        return garbageRowsSeen;
+    }
+
+    /**
+     * State of one simulated player. Implements the engine's input interface so the bot
+     * can play it like a local game; every move becomes a press and a release code.
+     */
+    private final class Client implements InputEventListener {
+
+        private final SplittableRandom random;
+        private final double mistakeRate;
+        private final BotPlayer bot = new BotPlayer();
+        private final ByteBuffer in = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + VersusProtocol.MAX_FRAME);
+        private final ByteBuffer out = ByteBuffer.allocate(4096);
+        private SocketChannel channel;
+        private SelectionKey key;
+
+        private int player = -1;
+        private int matchNumber;
+        private SyncDecoder decoder;
+        private int boardVersion;
+        private int garbageRows;
+        private int inputsSent;
+        private boolean playing;
+        private boolean closed;
+
+        Client(SplittableRandom random, double mistakeRate) {
+            this.random = random;
+            this.mistakeRate = mistakeRate;
+        }
+
+        void read() throws IOException {
+            int read = channel.read(in);
+            if (read < 0) {
+                close();
+                return;
+            }
+            bytesReceived += read;
+            in.flip();
+            while (in.remaining() >= VersusProtocol.LENGTH_BYTES) {
+                int length = in.getShort(in.position()) & 0xFFFF;
+                if (in.remaining() < VersusProtocol.LENGTH_BYTES + length) break;
+                int end = in.position() + VersusProtocol.LENGTH_BYTES + length;
+                int limit = in.limit();
+                in.position(in.position() + VersusProtocol.LENGTH_BYTES).limit(end);
+                handleFrame(in);
+                in.limit(limit).position(end);
+                framesReceived++;
+            }
+            in.compact();
+            flush();
+        }
+
+        private void handleFrame(ByteBuffer frame) {
+            byte type = frame.get();
+            if (type == VersusProtocol.MATCH_START) {
+                player = frame.get();
+                frame.getLong();
+                decoder = new SyncDecoder(frame.get() & 0xFF, frame.get() & 0xFF);
+                matchNumber++;
+                inputsSent = 0;
+                garbageRows = 0;
+                playing = true;
+            } else if (type == VersusProtocol.MATCH_END) {
+                playing = false;
+                matchesPlayed++;
+                if ((frame.get() & 0xFF) == player) matchesWon++;
+            } else if (type == VersusProtocol.BOARD) {
+                onBoard(frame);
+            }
+        }
+
+        private void onBoard(ByteBuffer frame) {
+            int boardPlayer = frame.get();
+            int applied = frame.getInt();
+            // Only the client's own board is rebuilt; the opponent's is skipped
+            if (boardPlayer != player || decoder == null) return;
+            if (frame.remaining() > VersusProtocol.LENGTH_BYTES) {
+                frame.position(frame.position() + VersusProtocol.LENGTH_BYTES);
+                byte syncType = frame.get(frame.position());
+                // The flags of a delta follow its type and sequence number
+                boolean boardChanged = syncType == SyncProtocol.SYNC_FULL || (syncType == SyncProtocol.SYNC_DELTA
+                        && (frame.get(frame.position() + 3) & (SyncProtocol.MERGE | SyncProtocol.CLEAR)) != 0);
+                Result result = decoder.read(frame);
+                if (result == Result.RESYNC && out.remaining() >= VersusProtocol.LENGTH_BYTES + 3) {
+                    decoder.writeResync(out);
+                } else if (result == Result.APPLIED && boardChanged) {
+                    boardVersion++;
+                    countGarbage();
+                }
+            }
+            int piece = decoder.getState().getPiece();
+            BrickFactory.BrickType type = SyncProtocol.pieceType(piece);
+            if (!playing || !decoder.isSynced() || type == null || applied != inputsSent) return;
+            int rotation = SyncProtocol.pieceRotation(piece);
+            int x = SyncProtocol.pieceX(piece);
+            int y = SyncProtocol.pieceY(piece);
+
+            if (random.nextDouble() < mistakeRate) {
+                onHardDropEvent(null);
+                return;
+            }
+            int[][] shape = BrickFactory.createBrick(type).getShapeMatrix().get(rotation);
+            ViewData view = new ViewData(shape, x, y, y, shape, shape, type, new BrickFactory.BrickType[0]);
+            bot.act(matchNumber, boardVersion, decoder.getState().getBoard(), view, this);
+        }
+
+        private void countGarbage() {
+            int rows = 0;
+            for (int[] cells : decoder.getState().getBoard()) {
+                for (int cell : cells) {
+                    if (cell == Board.GARBAGE) {
+                        rows++;
+                        break;
+                    }
+                }
+            }
+            if (rows > garbageRows) garbageRowsSeen += rows - garbageRows;
+            garbageRows = rows;
+        }
+
+        private void tap(InputAction action) {
+            if (out.remaining() < VersusProtocol.LENGTH_BYTES + 4) return;
+            int start = VersusProtocol.beginFrame(out, VersusProtocol.INPUT);
+            out.put((byte) 2).put((byte) action.encode(true)).put((byte) action.encode(false));
+            VersusProtocol.endFrame(out, start);
+            inputsSent += 2;
+        }
+
+        void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            boolean pending = out.hasRemaining();
+            out.compact();
+            if (key.isValid()) {
+                key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            if (key != null) key.cancel();
+            try {
+                if (channel != null) channel.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+
+        @Override
+        public DownData onDownEvent(MoveEvent event) {
+            tap(InputAction.SOFT_DROP);
+            return null;
+        }
+
+        @Override
+        public ViewData onLeftEvent(MoveEvent event) {
+            tap(InputAction.LEFT);
+            return null;
+        }
+
+        @Override
+        public ViewData onRightEvent(MoveEvent event) {
+            tap(InputAction.RIGHT);
+            return null;
+        }
+
+        @Override
+        public ViewData onRotateEvent(MoveEvent event) {
+            tap(InputAction.ROTATE);
+            return null;
+        }
+
+        @Override
+        public DownData onHardDropEvent(MoveEvent event) {
+            tap(InputAction.HARD_DROP);
+            return null;
+        }
+
+        @Override
+        public void createNewGame() {
+            // New matches are started by the server
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.comp2042.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * One client connected to the {@link VersusServer}, with its read and write buffers.
+ * Owned by the server thread.
+ */
+final class VersusConnection {
+
+    /** Bytes of output that may wait for a client before it is dropped as too slow. */
+    static final int OUT_CAPACITY = 8 * 1024;
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ByteBuffer in = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + VersusProtocol.MAX_FRAME);
+    final ByteBuffer out = ByteBuffer.allocate(OUT_CAPACITY);
+
+    VersusMatch match;
+    int player;
+    boolean closed;
+    boolean dirty;
+
+    VersusConnection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    /**
+     * Queues a complete frame for sending.
+     *
+     * @param frame the frame, from its position to its limit; left unchanged
+     * @return false if the client has fallen too far behind to take it
+     */
+    boolean enqueue(ByteBuffer frame) {
+        if (closed || frame.remaining() > out.remaining()) return false;
+        out.put(frame.duplicate());
+        return true;
+    }
+
+    /**
+     * Writes as much queued output as the socket takes without blocking, and asks to be
+     * told when it can take more if anything is left.
+     *
+     * @throws IOException if the connection failed
+     */
+    void flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+}
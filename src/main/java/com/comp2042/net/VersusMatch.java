@@ -0,0 +1,177 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameClock;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.GameLoop;
+import com.comp2042.input.InputConfig;
+import com.comp2042.input.InputRingBuffer;
+import com.comp2042.input.KeyStateTracker;
+import com.comp2042.model.GameMode;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * One 1v1 game on the {@link VersusServer}: two authoritative engines, one per player,
+ * playing the same brick sequence. Inputs received from each player are applied at the
+ * start of every simulation step through a {@link KeyStateTracker}, exactly as in a local
+ * game, and lines cleared by one player push garbage rows under the other's stack.
+ * Owned by the server thread.
+ */
+final class VersusMatch {
+
+    /** Garbage rows sent for a clear of 0 to 4 lines. */
+    static final int[] GARBAGE_FOR_LINES = {0, 0, 1, 2, 4};
+
+    private static final int INPUT_CAPACITY = 256;
+
+    private final VersusConnection[] players;
+    private final GameEngine[] engines = new GameEngine[2];
+    private final GameLoop[] loops = new GameLoop[2];
+    private final KeyStateTracker[] keys = new KeyStateTracker[2];
+    private final InputRingBuffer[] inputs = new InputRingBuffer[2];
+    private final BoardEncoder[] encoders = new BoardEncoder[2];
+    private final int[] applied = new int[2];
+    private final int[] garbageSent = new int[2];
+    private final SplittableRandom holes;
+    private final long seed;
+
+    VersusMatch(VersusConnection first, VersusConnection second, long seed, GameClock clock) {
+        this.players = new VersusConnection[] {first, second};
+        this.seed = seed;
+        this.holes = new SplittableRandom(seed);
+        for (int p = 0; p < 2; p++) {
+            int player = p;
+            GameEngine engine = new GameEngine(GameMode.CLASSIC, clock, seed);
+            KeyStateTracker tracker = new KeyStateTracker(InputConfig.DEFAULT);
+            GameLoop loop = new GameLoop(engine::tick, engine.getLevel().getSpeedForCurrentLevel(), clock);
+            loop.setStepCallback(() -> processInput(player));
+            engine.setClearListener(lines -> sendGarbage(player, lines));
+            tracker.setGravityNanos(engine.getLevel().getGravityNanos());
+            engines[p] = engine;
+            keys[p] = tracker;
+            loops[p] = loop;
+            inputs[p] = new InputRingBuffer(INPUT_CAPACITY);
+            encoders[p] = new BoardEncoder(engine);
+            players[p].match = this;
+            players[p].player = p;
+        }
+    }
+
+    /**
+     * Writes the match start for a player.
+     *
+     * @param player the player index
+     * @param out the buffer to write the frame to
+     */
+    void writeStart(int player, ByteBuffer out) {
+        int start = VersusProtocol.beginFrame(out, VersusProtocol.MATCH_START);
+        out.put((byte) player).putLong(seed).put((byte) encoders[player].rows()).put((byte) encoders[player].cols());
+        VersusProtocol.endFrame(out, start);
+    }
+
+    /**
+     * Starts both engines.
+     *
+     * @param now the current time
+     */
+    void start(long now) {
+        for (int p = 0; p < 2; p++) {
+            engines[p].resumeTimer(now);
+            loops[p].start();
+        }
+    }
+
+    /**
+     * Queues an input code received from a player. Codes beyond the queue's capacity
+     * within one step are dropped.
+     *
+     * @param player the player index
+     * @param code the press or release code
+     */
+    void onInput(int player, int code) {
+        inputs[player].offer(code);
+    }
+
+    private void processInput(int player) {
+        int code;
+        while ((code = inputs[player].poll()) != InputRingBuffer.EMPTY) {
+            keys[player].onInput(code, engines[player]);
+            applied[player]++;
+        }
+        keys[player].update(GameLoop.STEP_NANOS, engines[player]);
+    }
+
+    private void sendGarbage(int player, int lines) {
+        int rows = GARBAGE_FOR_LINES[Math.min(lines, GARBAGE_FOR_LINES.length - 1)];
+        if (rows == 0) return;
+        garbageSent[player] += rows;
+        engines[1 - player].addGarbage(rows, holes.nextInt(encoders[player].cols()));
+    }
+
+    /**
+     * Advances both engines to the current time.
+     */
+    void advance() {
+        for (int p = 0; p < 2; p++) {
+            GameEngine engine = engines[p];
+            loops[p].advance();
+            loops[p].setIntervalNanos(engine.getLevel().getGravityNanos());
+            keys[p].setGravityNanos(engine.getLevel().getGravityNanos());
+        }
+    }
+
+    /**
+     * Writes a board frame if the board, its brick or the player's applied inputs changed
+     * since the last frame of that board.
+     *
+     * @param player the player whose board to write
+     * @param out the buffer to write the frame to
+     * @return true if a frame was written
+     */
+    boolean writeBoard(int player, ByteBuffer out) {
+        return encoders[player].write(player, applied[player], out);
+    }
+
+    /**
+     * Makes the next frame of both boards carry their whole state, after a player sent
+     * {@link SyncProtocol#SYNC_RESYNC}.
+     */
+    void requestFull() {
+        for (BoardEncoder encoder : encoders) encoder.requestFull();
+    }
+
+    /**
+     * Gets the result once the match is decided: a player topped out or left.
+     *
+     * @return the winner's index, {@link VersusProtocol#DRAW}, or -1 while undecided
+     */
+    int result() {
+        boolean firstOut = engines[0].isFinished() || players[0].closed;
+        boolean secondOut = engines[1].isFinished() || players[1].closed;
+        if (firstOut && secondOut) return VersusProtocol.DRAW;
+        if (firstOut) return 1;
+        if (secondOut) return 0;
+        return -1;
+    }
+
+    /**
+     * Gets the connection of a player.
+     *
+     * @param player the player index
+     * @return the connection
+     */
+    VersusConnection player(int player) {
+        return players[player];
+    }
+
+    /**
+     * Gets the garbage rows a player has sent to the opponent.
+     *
+     * @param player the player index
+     * @return the garbage row count
+     */
+    int getGarbageSent(int player) {
+        return garbageSent[player];
+    }
+}
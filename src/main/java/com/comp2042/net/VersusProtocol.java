@@ -0,0 +1,120 @@
+package com.comp2042.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the versus mode, shared by {@link VersusServer}, {@link LeagueServer}
+ * and their clients.
+ * <p>
+ * Every message is a frame: an unsigned 16-bit length followed by that many bytes, the
+ * first of which is the message type. All numbers are big-endian.
+ * <ul>
+ *     <li>{@link #INPUT}, client to server: a count and that many
+ *     {@link com.comp2042.input.InputAction} press or release codes, one byte each.</li>
+ *     <li>{@link SyncProtocol#SYNC_RESYNC}, client to server: the client lost sync with a
+ *     board, so the next frames of the match's boards carry their whole state.</li>
+ *     <li>{@link #MATCH_START}: the receiver's player index, the match seed and the board
+ *     rows and columns. Every board sent afterwards starts from an empty board.</li>
+ *     <li>{@link #BOARD}: the player index of the board and the number of that player's
+ *     inputs applied so far, followed, if the game changed, by one complete
+ *     {@link SyncProtocol} frame, length prefix included, with the changes since the
+ *     previous frame of that board.</li>
+ *     <li>{@link #MATCH_END}: the index of the winner, or {@link #DRAW}.</li>
+ *     <li>{@link #GAME_OVER}: the final score and lines of a single-player game that
+ *     ended; the next game starts at once on the same board, so no new start is sent.</li>
+ * </ul>
+ */
+public final class VersusProtocol {
+
+    /** Client input codes. */
+    public static final byte INPUT = 1;
+
+    /** Start of a match. */
+    public static final byte MATCH_START = 16;
+
+    /** Changes to one player's board. */
+    public static final byte BOARD = 17;
+
+    /** End of a match. */
+    public static final byte MATCH_END = 18;
+
+    /** End of a single-player game. */
+    public static final byte GAME_OVER = 19;
+
+    /** Winner index of a match that ended in a draw. */
+    public static final int DRAW = 0xFF;
+
+    /** Largest frame body, in bytes. */
+    public static final int MAX_FRAME = 1024;
+
+    /** Size of the frame length prefix, in bytes. */
+    public static final int LENGTH_BYTES = 2;
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private VersusProtocol() {
+
+    }
+
+    /**
+     * Starts a frame by reserving its length prefix. Finish it with {@link #endFrame}.
+     *
+     * @param out the buffer to write to
+     * @param type the message type
+     * @return the position of the length prefix
+     */
+    public static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putShort((short) 0).put(type);
+        return start;
+    }
+
+    /**
+     * Fills in the length prefix of a frame started with {@link #beginFrame}.
+     *
+     * @param out the buffer the frame was written to
+     * @param start the position returned by {@link #beginFrame}
+     */
+    public static void endFrame(ByteBuffer out, int start) {
+        out.putShort(start, (short) (out.position() - start - LENGTH_BYTES));
+    }
+
+    /**
+     * Writes a packed board row.
+     *
+     * @param out the buffer to write to
+     * @param row the cell values, each between 0 and 15
+     */
+    public static void putRow(ByteBuffer out, int[] row) {
+        for (int j = 0; j < row.length; j += 2) {
+            int high = j + 1 < row.length ? row[j + 1] : 0;
+            out.put((byte) ((row[j] & 0x0F) | (high << 4)));
+        }
+    }
+
+    /**
+     * Reads a packed board row.
+     *
+     * @param in the buffer to read from
+     * @param row receives the cell values
+     */
+    public static void getRow(ByteBuffer in, int[] row) {
+        for (int j = 0; j < row.length; j += 2) {
+            int packed = in.get() & 0xFF;
+            row[j] = packed & 0x0F;
+            if (j + 1 < row.length) row[j + 1] = packed >>> 4;
+        }
+    }
+
+    /**
+     * Gets the number of bytes a packed row of the given width takes.
+     *
+     * @param cols the number of columns
+     * @return the packed row size
+     */
+    public static int rowBytes(int cols) {
+        return (cols + 1) / 2;
+    }
+}
@@ -0,0 +1,407 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameClock;
+import com.comp2042.core.GameLoop;
+import com.comp2042.core.SystemGameClock;
+import com.comp2042.input.InputAction;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authoritative server for 1v1 versus games.
+ * <p>
+ * One thread does everything: a {@link Selector} accepts clients and reads their input
+ * frames without blocking, clients are paired in the order they arrive, and every
+ * simulation step each {@link VersusMatch} advances both of its headless engines and
+ * sends each board's changes to both players as one small delta frame, encoded once and
+ * copied to both. Output is queued per client and written as the socket accepts it; a
+ * client that falls more than {@value VersusConnection#OUT_CAPACITY} bytes behind is
+ * dropped and loses its match. When a match ends both players are queued for the next one.
+ * No per-match threads or blocking calls are involved, so one process serves thousands
+ * of concurrent matches. See {@link VersusProtocol} for the wire format.
+ */
+public class VersusServer implements Runnable {
+
+    private static final int MAX_INPUT_CODE = InputAction.values().length * 2;
+
+    private final GameClock clock = new SystemGameClock();
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread thread;
+    private final ArrayDeque<VersusConnection> waiting = new ArrayDeque<>();
+    private final List<VersusMatch> matches = new ArrayList<>();
+    private final List<VersusConnection> dirty = new ArrayList<>();
+    private final ByteBuffer frame = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + VersusProtocol.MAX_FRAME);
+    private long nextSeed;
+
+    private volatile boolean alive = true;
+    private volatile int connections;
+    private volatile int activeMatches;
+    private volatile long finishedMatches;
+    private volatile long framesSent;
+    private volatile long bytesSent;
+    private volatile long garbageRows;
+    private volatile long droppedClients;
+
+    /**
+     * Constructs a VersusServer listening on the given address. The server does not run
+     * until {@link #start()} is called.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param seed the seed of the first match; later matches use the following seeds
+     * @throws IOException if the address cannot be bound
+     */
+    public VersusServer(InetSocketAddress address, long seed) throws IOException {
+        this.nextSeed = seed;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        this.server.bind(address, 1024);
+        this.server.configureBlocking(false);
+        this.server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this, "versus-server");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the server thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Main loop: waits for network events until the next simulation step is due, handles
+     * them, then steps every match and writes the queued output.
+     */
+    @Override
+    public void run() {
+        long nextStep = clock.nanoTime();
+        try {
+            while (alive) {
+                long wait = nextStep - clock.nanoTime();
+                if (wait > 0) {
+                    selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait)));
+                } else {
+                    selector.selectNow();
+                }
+                handleKeys();
+                long now = clock.nanoTime();
+                if (now >= nextStep) {
+                    pairWaiting(now);
+                    stepMatches();
+                    // Skip missed steps instead of bursting; the game loops catch up on their own
+                    nextStep = Math.max(nextStep + GameLoop.STEP_NANOS, now);
+                }
+                flushDirty();
+            }
+        } catch (IOException e) {
+            System.err.println("Versus server stopped: " + e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void handleKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) continue;
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            VersusConnection connection = (VersusConnection) key.attachment();
+            try {
+                if (key.isReadable()) read(connection);
+                if (!connection.closed && key.isValid() && key.isWritable()) connection.flush();
+            } catch (IOException e) {
+                close(connection);
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = server.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                VersusConnection connection = new VersusConnection(channel, key);
+                key.attach(connection);
+                waiting.add(connection);
+                connections++;
+            }
+        } catch (IOException e) {
+            System.err.println("Could not accept versus client: " + e.getMessage());
+        }
+    }
+
+    private void read(VersusConnection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        if (connection.channel.read(in) < 0) {
+            close(connection);
+            return;
+        }
+        in.flip();
+        while (in.remaining() >= VersusProtocol.LENGTH_BYTES) {
+            int length = in.getShort(in.position()) & 0xFFFF;
+            if (length == 0 || length > VersusProtocol.MAX_FRAME) {
+                close(connection);
+                return;
+            }
+            if (in.remaining() < VersusProtocol.LENGTH_BYTES + length) break;
+            int end = in.position() + VersusProtocol.LENGTH_BYTES + length;
+            in.position(in.position() + VersusProtocol.LENGTH_BYTES);
+            if (!handleFrame(connection, in, end)) {
+                close(connection);
+                return;
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    /**
+     * Handles one frame from a client.
+     *
+     * @return false if the frame breaks the protocol
+     */
+    private boolean handleFrame(VersusConnection connection, ByteBuffer in, int end) {
+        byte type = in.get();
+        if (type == SyncProtocol.SYNC_RESYNC) {
+            if (end - in.position() != 2) return false;
+            if (connection.match != null) connection.match.requestFull();
+            return true;
+        }
+        if (type != VersusProtocol.INPUT || end - in.position() < 1) return false;
+        int count = in.get() & 0xFF;
+        if (end - in.position() != count) return false;
+        for (int i = 0; i < count; i++) {
+            int code = in.get() & 0xFF;
+            if (code >= MAX_INPUT_CODE) return false;
+            // Input sent between matches is ignored
+            if (connection.match != null) connection.match.onInput(connection.player, code);
+        }
+        return true;
+    }
+
+    private void pairWaiting(long now) {
+        while (true) {
+            while (!waiting.isEmpty() && waiting.peekFirst().closed) waiting.pollFirst();
+            if (waiting.size() < 2) return;
+            VersusConnection first = waiting.pollFirst();
+            VersusConnection second = waiting.pollFirst();
+            if (second.closed) {
+                waiting.addFirst(first);
+                continue;
+            }
+            VersusMatch match = new VersusMatch(first, second, nextSeed++, clock);
+            for (int p = 0; p < 2; p++) {
+                frame.clear();
+                match.writeStart(p, frame);
+                send(match.player(p), frame.flip());
+            }
+            match.start(now);
+            matches.add(match);
+        }
+    }
+
+    private void stepMatches() {
+        for (int i = matches.size() - 1; i >= 0; i--) {
+            VersusMatch match = matches.get(i);
+            match.advance();
+            for (int p = 0; p < 2; p++) {
+                frame.clear();
+                if (!match.writeBoard(p, frame)) continue;
+                frame.flip();
+                send(match.player(0), frame);
+                send(match.player(1), frame);
+            }
+            int result = match.result();
+            if (result >= 0) {
+                // Swap-remove; order of matches does not matter
+                matches.set(i, matches.get(matches.size() - 1));
+                matches.remove(matches.size() - 1);
+                endMatch(match, result);
+            }
+        }
+        activeMatches = matches.size();
+    }
+
+    private void endMatch(VersusMatch match, int result) {
+        garbageRows += match.getGarbageSent(0) + match.getGarbageSent(1);
+        finishedMatches++;
+        frame.clear();
+        int start = VersusProtocol.beginFrame(frame, VersusProtocol.MATCH_END);
+        frame.put((byte) result);
+        VersusProtocol.endFrame(frame, start);
+        frame.flip();
+        for (int p = 0; p < 2; p++) {
+            VersusConnection player = match.player(p);
+            player.match = null;
+            send(player, frame);
+            if (!player.closed) waiting.add(player);
+        }
+    }
+
+    /**
+     * Queues a frame for a client, dropping the client if it has fallen too far behind.
+     */
+    private void send(VersusConnection connection, ByteBuffer frame) {
+        if (connection.closed) return;
+        if (!connection.enqueue(frame)) {
+            droppedClients++;
+            close(connection);
+            return;
+        }
+        framesSent++;
+        bytesSent += frame.remaining();
+        if (!connection.dirty) {
+            connection.dirty = true;
+            dirty.add(connection);
+        }
+    }
+
+    private void flushDirty() {
+        for (VersusConnection connection : dirty) {
+            connection.dirty = false;
+            if (connection.closed) continue;
+            try {
+                connection.flush();
+            } catch (IOException e) {
+                close(connection);
+            }
+        }
+        dirty.clear();
+    }
+
+    private void close(VersusConnection connection) {
+        if (connection.closed) return;
+        connection.closed = true;
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        connections--;
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof VersusConnection connection) close(connection);
+        }
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Could not close versus server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the server and disconnects every client.
+     */
+    public void shutdown() {
+        alive = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Waits for the server thread to end after {@link #shutdown()}.
+     *
+     * @param millis the longest time to wait
+     * @return true if the thread has ended
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long millis) throws InterruptedException {
+        thread.join(millis);
+        return !thread.isAlive();
+    }
+
+    /**
+     * Gets the number of connected clients.
+     *
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connections;
+    }
+
+    /**
+     * Gets the number of matches being played.
+     *
+     * @return the active match count
+     */
+    public int getActiveMatchCount() {
+        return activeMatches;
+    }
+
+    /**
+     * Gets the number of matches decided so far.
+     *
+     * @return the finished match count
+     */
+    public long getFinishedMatchCount() {
+        return finishedMatches;
+    }
+
+    /**
+     * Gets the number of frames queued for clients so far.
+     *
+     * @return the frame count
+     */
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    /**
+     * Gets the number of bytes queued for clients so far.
+     *
+     * @return the byte count
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the number of garbage rows sent in finished matches.
+     *
+     * @return the garbage row count
+     */
+    public long getGarbageRows() {
+        return garbageRows;
+    }
+
+    /**
+     * Gets the number of clients dropped for falling too far behind.
+     *
+     * @return the dropped client count
+     */
+    public long getDroppedClients() {
+        return droppedClients;
+    }
+}
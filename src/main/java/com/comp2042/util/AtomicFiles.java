@@ -0,0 +1,50 @@
+package com.comp2042.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for replacing files so that a crash never leaves a partial file behind.
+ * The data is written to a temporary file next to the target, forced to disk, and then
+ * moved over the target atomically, so readers see either the old or the new contents.
+ */
+public final class AtomicFiles {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private AtomicFiles() {
+
+    }
+
+    /**
+     * Replaces a file with the remaining bytes of a buffer.
+     * Falls back to a plain replacing move on file systems without atomic moves.
+     *
+     * @param file the file to replace
+     * @param data the new contents, from its position to its limit
+     * @throws IOException if the data cannot be written or moved into place
+     */
+    public static void write(Path file, ByteBuffer data) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.comp2042.util;
+
+/**
+ * Formats elapsed times as {@code mm:ss} followed by a fraction of a second, writing into
+ * a reusable character buffer. A new String is only built when the formatted text
+ * actually changes, so a timer label can be refreshed every frame without
+ * format strings, boxing or intermediate garbage.
+ */
+public final class TimeFormatter {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final char[] buffer;
+    private final int offset;
+    private final int fractionDigits;
+    private String text;
+
+    /**
+     * Constructs a TimeFormatter.
+     *
+     * @param prefix text placed before the time, such as "Time: "
+     * @param fractionDigits the number of fractional second digits to show (1 to 3)
+     */
+    public TimeFormatter(String prefix, int fractionDigits) {
+        this.fractionDigits = Math.max(1, Math.min(3, fractionDigits));
+        this.offset = prefix.length();
+        this.buffer = new char[offset + 6 + this.fractionDigits];
+        prefix.getChars(0, offset, buffer, 0);
+        buffer[offset + 2] = ':';
+        buffer[offset + 5] = '.';
+        format(0);
+        text = new String(buffer);
+    }
+
+    /**
+     * Formats the given elapsed time into the buffer.
+     *
+     * @param nanos the elapsed time in nanoseconds
+     * @return true if the formatted text differs from the previous call
+     */
+    public boolean update(long nanos) {
+        if (!format(nanos)) return false;
+        text = new String(buffer);
+        return true;
+    }
+
+    /**
+     * Gets the formatted text for the last time passed to {@link #update(long)}.
+     *
+     * @return the formatted time
+     */
+    public String getText() {
+        return text;
+    }
+
+    private boolean format(long nanos) {
+        long millis = Math.max(0, nanos) / NANOS_PER_MILLI;
+        long minutes = Math.min(99, millis / 60_000);
+        long seconds = (millis / 1000) % 60;
+        long fraction = millis % 1000;
+        for (int i = fractionDigits; i < 3; i++) fraction /= 10;
+
+        boolean changed = put(offset, minutes, 2);
+        changed |= put(offset + 3, seconds, 2);
+        changed |= put(offset + 6, fraction, fractionDigits);
+        return changed;
+    }
+
+    private boolean put(int start, long value, int digits) {
+        boolean changed = false;
+        for (int i = start + digits - 1; i >= start; i--) {
+            char c = (char) ('0' + value % 10);
+            value /= 10;
+            if (buffer[i] != c) {
+                buffer[i] = c;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
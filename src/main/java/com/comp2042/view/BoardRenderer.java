@@ -1,24 +1,49 @@
 package com.comp2042.view;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
 import javafx.scene.layout.GridPane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Renders the game board and falling bricks using JavaFX components.
  * Manages the visual representation of the game board, current falling brick,
  * ghost piece preview, and handles color mapping for different brick types.
+ * Each cell is a separate {@link Rectangle} node in the scene graph.
  */
-public class BoardRenderer {
+public class BoardRenderer implements BoardView {
+
+    /** Name of this renderer for the {@code tetris.renderer} property. */
+    public static final String NAME = "nodes";
 
     private static final int BRICK_SIZE = 20;
+    private static final int GHOST_POOL_SIZE = 4;
+    private static final int ARC = 9;
+    private static final Color SIMPLE_GHOST_FILL = Color.rgb(70, 70, 70);
 
     private final GridPane gamePanel;
     private final GridPane brickPanel;
     private Rectangle[][] displayMatrix;
     private Rectangle[][] previewRectangles;
-    private Rectangle[][] ghostRectangles;
+    private final List<Rectangle> ghostPool = new ArrayList<>(GHOST_POOL_SIZE);
+    private boolean ghostVisible;
+    private int lastGhostX = -1;
+    private int lastGhostY = -1;
+    private int[][] lastGhostShape;
+    private Rectangle[] flashBars;
+    private final DoubleProperty flashLevel = new SimpleDoubleProperty();
+    private Timeline flashTimeline;
+    private double arc = ARC;
+    private boolean translucentGhost = true;
 
     /**
      * Constructs a BoardRenderer with the specified game and brick panels.
@@ -38,6 +63,7 @@ public class BoardRenderer {
      * 
      * @param boardMatrix the initial game board matrix
      */
+    @Override
     public void initBoard(int[][] boardMatrix) {
         displayMatrix = new Rectangle[boardMatrix.length][boardMatrix[0].length];
         for (int i = 2; i < boardMatrix.length; i++) {
@@ -57,6 +83,7 @@ public class BoardRenderer {
      * 
      * @param brick the ViewData containing the initial brick information
      */
+    @Override
     public void initPreview(ViewData brick) {
         previewRectangles = new Rectangle[brick.getBrickData().length][brick.getBrickData()[0].length];
         for (int i = 0; i < brick.getBrickData().length; i++) {
@@ -77,6 +104,7 @@ public class BoardRenderer {
      * 
      * @param brick the ViewData containing updated brick information
      */
+    @Override
     public void refreshPreview(ViewData brick) {
         if (previewRectangles == null) return;
         updatePreviewLocation(brick);
@@ -95,6 +123,7 @@ public class BoardRenderer {
      * 
      * @param board the updated game board matrix
      */
+    @Override
     public void refreshBoard(int[][] board) {
         if (displayMatrix == null) return;
         for (int i = 2; i < board.length; i++) {
@@ -104,6 +133,93 @@ public class BoardRenderer {
         }
     }
 
+    private void styleGhost(Rectangle ghost) {
+        ghost.setFill(translucentGhost ? Color.GRAY : SIMPLE_GHOST_FILL);
+        ghost.setOpacity(translucentGhost ? 0.3 : 1.0);
+        ghost.setArcHeight(arc);
+        ghost.setArcWidth(arc);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Arcs and the ghost style are applied to the existing nodes right away.
+     */
+    @Override
+    public void setQuality(RenderQuality quality) {
+        double newArc = quality.arcsEnabled() ? ARC : 0;
+        boolean newTranslucentGhost = quality.translucentGhost();
+        if (newArc == arc && newTranslucentGhost == translucentGhost) return;
+        arc = newArc;
+        translucentGhost = newTranslucentGhost;
+
+        for (Rectangle[][] cells : new Rectangle[][][]{displayMatrix, previewRectangles}) {
+            if (cells == null) continue;
+            for (Rectangle[] row : cells) {
+                for (Rectangle cell : row) {
+                    if (cell != null) {
+                        cell.setArcHeight(arc);
+                        cell.setArcWidth(arc);
+                    }
+                }
+            }
+        }
+        for (Rectangle ghost : ghostPool) styleGhost(ghost);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Each display row has one white bar spanning the board, created on first use and
+     * then reused. All bars in a flash share one opacity value, animated by a single timeline.
+     */
+    @Override
+    public void flashRows(int[] rows) {
+        if (displayMatrix == null) return;
+        int visibleRows = displayMatrix.length - 2;
+        if (flashBars == null) flashBars = new Rectangle[visibleRows];
+
+        for (int row : rows) {
+            int displayRow = row - 2;  // Adjust for hidden top rows
+            if (displayRow >= 0 && displayRow < visibleRows) {
+                flashBar(displayRow).setVisible(true);
+            }
+        }
+        if (flashTimeline == null) {
+            flashTimeline = new Timeline(
+                    new KeyFrame(Duration.ZERO, new KeyValue(flashLevel, 1)),
+                    new KeyFrame(Duration.millis(FLASH_MILLIS), new KeyValue(flashLevel, 0)));
+            flashTimeline.setOnFinished(e -> hideFlashBars());
+        }
+        flashTimeline.playFromStart();
+    }
+
+    private Rectangle flashBar(int displayRow) {
+        if (flashBars[displayRow] == null) {
+            int cols = displayMatrix[0].length;
+            Rectangle bar = new Rectangle(cols * (BRICK_SIZE + gamePanel.getHgap()) - gamePanel.getHgap(), BRICK_SIZE);
+            bar.setFill(Color.WHITE);
+            bar.opacityProperty().bind(flashLevel);
+            bar.setMouseTransparent(true);
+            bar.setVisible(false);
+            flashBars[displayRow] = bar;
+            gamePanel.add(bar, 0, displayRow, cols, 1);
+        }
+        return flashBars[displayRow];
+    }
+
+    private void hideFlashBars() {
+        for (Rectangle bar : flashBars) {
+            if (bar != null) bar.setVisible(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
     private void updatePreviewLocation(ViewData brick) {
         javafx.geometry.Bounds gameBounds = gamePanel.localToScene(gamePanel.getBoundsInLocal());
 
@@ -129,58 +245,73 @@ public class BoardRenderer {
      */
     private void setRectangle(Rectangle rectangle, int color) {
         rectangle.setFill(fillFor(color));
-        rectangle.setArcHeight(9);
-        rectangle.setArcWidth(9);
+        rectangle.setArcHeight(arc);
+        rectangle.setArcWidth(arc);
     }
 
     /**
      * Renders the ghost piece that shows where the current brick will land.
-     * Clears any previous ghost piece and creates a new semi-transparent ghost
-     * at the calculated landing position.
+     * The ghost is drawn with a fixed pool of semi-transparent rectangles that are added
+     * to the board once and then only moved or hidden, so fast input causes no changes
+     * to the board's child list. Nothing is touched when the ghost has not moved.
      * 
      * @param brick the ViewData containing brick and ghost position information
      */
     public void renderGhost(ViewData brick) {
-        // Clear previous ghost
-        if (ghostRectangles != null) {
-            for (Rectangle[] row : ghostRectangles) {
-                for (Rectangle rect : row) {
-                    if (rect != null) {
-                        gamePanel.getChildren().remove(rect);
-                    }
-                }
-            }
-        }
-
+        if (displayMatrix == null) return;
         int[][] brickData = brick.getBrickData();
-        ghostRectangles = new Rectangle[brickData.length][brickData[0].length];
-
         int ghostY = brick.getGhostY();
         int xPos = brick.getxPosition();
+        boolean visible = ghostY > brick.getyPosition();
 
-
-        if (ghostY <= brick.getyPosition()) {
+        if (visible == ghostVisible && ghostY == lastGhostY && xPos == lastGhostX
+                && java.util.Arrays.deepEquals(brickData, lastGhostShape)) {
             return;
         }
+        ghostVisible = visible;
+        lastGhostY = ghostY;
+        lastGhostX = xPos;
+        lastGhostShape = brickData;
 
-        for (int i = 0; i < brickData.length; i++) {
-            for (int j = 0; j < brickData[i].length; j++) {
-                if (brickData[i][j] != 0) {
+        int used = 0;
+        if (visible) {
+            int visibleRows = displayMatrix.length - 2;
+            int cols = displayMatrix[0].length;
+            for (int i = 0; i < brickData.length; i++) {
+                for (int j = 0; j < brickData[i].length; j++) {
+                    if (brickData[i][j] == 0) continue;
                     int displayY = ghostY + i - 2;
                     int displayX = xPos + j;
-
-                    if (displayY >= 0 && displayY < 23 && displayX >= 0 && displayX < 10) {
-                        Rectangle ghost = new Rectangle(BRICK_SIZE, BRICK_SIZE);
-                        ghost.setFill(Color.GRAY);
-                        ghost.setOpacity(0.3);
-                        ghost.setArcHeight(9);
-                        ghost.setArcWidth(9);
-                        ghostRectangles[i][j] = ghost;
-                        gamePanel.add(ghost, displayX, displayY);
+                    if (displayY >= 0 && displayY < visibleRows && displayX >= 0 && displayX < cols) {
+                        Rectangle ghost = ghostCell(used++);
+                        GridPane.setConstraints(ghost, displayX, displayY);
+                        ghost.setVisible(true);
                     }
                 }
             }
         }
+        for (int k = used; k < ghostPool.size(); k++) {
+            ghostPool.get(k).setVisible(false);
+        }
+    }
+
+    /**
+     * Gets a pooled ghost rectangle, creating it on first use. A brick has four cells,
+     * so the pool normally never grows beyond four.
+     * 
+     * @param index the index of the ghost cell within the pool
+     * @return the ghost rectangle
+     */
+    private Rectangle ghostCell(int index) {
+        while (ghostPool.size() <= index) {
+            Rectangle ghost = new Rectangle(BRICK_SIZE, BRICK_SIZE);
+            styleGhost(ghost);
+            ghost.setMouseTransparent(true);
+            ghost.setVisible(false);
+            ghostPool.add(ghost);
+            gamePanel.add(ghost, 0, 0);
+        }
+        return ghostPool.get(index);
     }
 
     /**
@@ -189,7 +320,7 @@ public class BoardRenderer {
      * @param i the color value (0-7)
      * @return the Paint color corresponding to the value
      */
-    private Paint fillFor(int i) {
+    static Paint fillFor(int i) {
         return switch (i) {
             case 0 -> Color.TRANSPARENT;
             case 1 -> Color.AQUA;
@@ -0,0 +1,97 @@
+package com.comp2042.view;
+
+import javafx.scene.layout.GridPane;
+
+/**
+ * Draws the game board, the falling brick and its ghost.
+ * Two implementations exist: {@link BoardRenderer}, which keeps one node per cell, and
+ * {@link CanvasBoardRenderer}, which paints all cells onto a single canvas. The renderer
+ * is chosen at startup with the {@code tetris.renderer} system property
+ * ({@code nodes} or {@code canvas}).
+ */
+public interface BoardView {
+
+    /** System property that selects the renderer. */
+    String RENDERER_PROPERTY = "tetris.renderer";
+
+    /** Length of the line-clear flash in milliseconds. */
+    double FLASH_MILLIS = 150;
+
+    /**
+     * Initializes the board display for a board of the given size.
+     *
+     * @param boardMatrix the initial game board matrix
+     */
+    void initBoard(int[][] boardMatrix);
+
+    /**
+     * Initializes the display of the falling brick.
+     *
+     * @param brick the ViewData containing the initial brick information
+     */
+    void initPreview(ViewData brick);
+
+    /**
+     * Redraws the falling brick and its ghost at their new position.
+     *
+     * @param brick the ViewData containing updated brick information
+     */
+    void refreshPreview(ViewData brick);
+
+    /**
+     * Redraws the background board.
+     *
+     * @param board the updated game board matrix
+     */
+    void refreshBoard(int[][] board);
+
+    /**
+     * Flashes the given board rows white after a line clear. The rows are addressed
+     * directly by index and animated together; when the flash ends the board is shown
+     * as it was last refreshed, without reading it again.
+     *
+     * @param rows the board row indices to flash
+     */
+    void flashRows(int[] rows);
+
+    /**
+     * Changes the render quality, trading looks for speed on slow hardware.
+     *
+     * @param quality the quality to render at
+     */
+    void setQuality(RenderQuality quality);
+
+    /**
+     * Gets the name of this renderer, as accepted by {@link #create(String, GridPane, GridPane)}.
+     *
+     * @return the renderer name
+     */
+    String getName();
+
+    /**
+     * Creates the renderer named by the {@code tetris.renderer} system property,
+     * defaulting to the node-based renderer.
+     *
+     * @param gamePanel the GridPane holding the game board
+     * @param brickPanel the GridPane used for the falling brick by the node renderer
+     * @return the selected renderer
+     */
+    static BoardView fromSystemProperties(GridPane gamePanel, GridPane brickPanel) {
+        return create(System.getProperty(RENDERER_PROPERTY, BoardRenderer.NAME), gamePanel, brickPanel);
+    }
+
+    /**
+     * Creates a renderer by name. Unknown names fall back to the node-based renderer.
+     *
+     * @param name the renderer name ({@code nodes} or {@code canvas})
+     * @param gamePanel the GridPane holding the game board
+     * @param brickPanel the GridPane used for the falling brick by the node renderer
+     * @return the renderer
+     */
+    static BoardView create(String name, GridPane gamePanel, GridPane brickPanel) {
+        if (CanvasBoardRenderer.NAME.equalsIgnoreCase(name)) {
+            return new CanvasBoardRenderer(gamePanel, brickPanel);
+        }
+        return new BoardRenderer(gamePanel, brickPanel);
+    }
+}
@@ -0,0 +1,262 @@
+package com.comp2042.view;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+/**
+ * Renders the game board, falling brick and ghost piece onto a single {@link Canvas}.
+ * Instead of one node per cell, the board is one node, so CSS and layout passes stay
+ * cheap. Each cell color is pre-rendered once into a sprite, and every refresh composes
+ * the board, ghost and brick into a frame buffer and repaints only the cells that differ
+ * from what is already on the canvas.
+ */
+public class CanvasBoardRenderer implements BoardView {
+
+    /** Name of this renderer for the {@code tetris.renderer} property. */
+    public static final String NAME = "canvas";
+
+    private static final int BRICK_SIZE = 20;
+    private static final int CELL_PITCH = BRICK_SIZE + 1;
+    private static final int HIDDEN_ROWS = 2;
+    private static final int ARC = 9;
+    private static final int COLOR_COUNT = 8;
+
+    /** Frame buffer value for a ghost cell. */
+    private static final int GHOST = -1;
+
+    /** Frame buffer value for a cell whose contents are unknown, forcing a repaint. */
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private final GridPane gamePanel;
+    private final GridPane brickPanel;
+    private Canvas canvas;
+    private GraphicsContext graphics;
+    private Image[] sprites;
+    private Image ghostSprite;
+    private Image defaultSprite;
+
+    private int[][] board;
+    private ViewData brick;
+    private int[][] frame;
+    private int[][] drawn;
+    private boolean[] flashing;
+    private PauseTransition flashEnd;
+    private RenderQuality quality = RenderQuality.FULL;
+
+    /**
+     * Constructs a CanvasBoardRenderer drawing into the specified game panel.
+     *
+     * @param gamePanel the GridPane the canvas is placed in
+     * @param brickPanel the falling brick panel, which is hidden because the canvas draws the brick itself
+     */
+    public CanvasBoardRenderer(GridPane gamePanel, GridPane brickPanel) {
+        this.gamePanel = gamePanel;
+        this.brickPanel = brickPanel;
+    }
+
+    /**
+     * Initializes the canvas for the board size and pre-renders the cell sprites.
+     * Only rows starting from index 2 are displayed (the top 2 rows are used for spawning).
+     *
+     * @param boardMatrix the initial game board matrix
+     */
+    @Override
+    public void initBoard(int[][] boardMatrix) {
+        int rows = boardMatrix.length;
+        int cols = boardMatrix[0].length;
+        if (canvas == null) {
+            canvas = new Canvas(cols * CELL_PITCH - 1, (rows - HIDDEN_ROWS) * CELL_PITCH - 1);
+            graphics = canvas.getGraphicsContext2D();
+            gamePanel.add(canvas, 0, 0);
+            createSprites();
+        }
+        if (brickPanel != null) brickPanel.setVisible(false);
+
+        frame = new int[rows][cols];
+        drawn = new int[rows][cols];
+        flashing = new boolean[rows];
+        for (int[] row : drawn) java.util.Arrays.fill(row, UNKNOWN);
+        board = boardMatrix;
+        redraw();
+    }
+
+    /**
+     * Records the initial falling brick and draws it.
+     *
+     * @param brick the ViewData containing the initial brick information
+     */
+    @Override
+    public void initPreview(ViewData brick) {
+        this.brick = brick;
+        redraw();
+    }
+
+    /**
+     * Records the new brick position and repaints the cells it and its ghost moved across.
+     *
+     * @param brick the ViewData containing updated brick information
+     */
+    @Override
+    public void refreshPreview(ViewData brick) {
+        if (canvas == null) return;
+        this.brick = brick;
+        redraw();
+    }
+
+    /**
+     * Records the new board and repaints the cells that changed.
+     *
+     * @param board the updated game board matrix
+     */
+    @Override
+    public void refreshBoard(int[][] board) {
+        if (canvas == null) return;
+        this.board = board;
+        redraw();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The rows are painted white directly and left alone by redraws while they flash.
+     * They are marked as unknown, so the redraw at the end of the flash repaints exactly
+     * those rows from the renderer's own frame.
+     */
+    @Override
+    public void flashRows(int[] rows) {
+        if (canvas == null) return;
+        graphics.setFill(Color.WHITE);
+        for (int row : rows) {
+            if (row < HIDDEN_ROWS || row >= drawn.length) continue;
+            graphics.fillRect(0, (row - HIDDEN_ROWS) * CELL_PITCH, canvas.getWidth(), BRICK_SIZE);
+            java.util.Arrays.fill(drawn[row], UNKNOWN);
+            flashing[row] = true;
+        }
+        if (flashEnd == null) {
+            flashEnd = new PauseTransition(Duration.millis(FLASH_MILLIS));
+            flashEnd.setOnFinished(e -> {
+                java.util.Arrays.fill(flashing, false);
+                redraw();
+            });
+        }
+        flashEnd.playFromStart();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The sprites are rendered again for the new quality and every cell is repainted once.
+     */
+    @Override
+    public void setQuality(RenderQuality quality) {
+        boolean changed = quality.arcsEnabled() != this.quality.arcsEnabled()
+                || quality.translucentGhost() != this.quality.translucentGhost();
+        this.quality = quality;
+        if (!changed || canvas == null) return;
+        createSprites();
+        for (int[] row : drawn) java.util.Arrays.fill(row, UNKNOWN);
+        redraw();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    private void redraw() {
+        composeFrame();
+        for (int i = HIDDEN_ROWS; i < frame.length; i++) {
+            if (flashing[i]) continue;
+            int[] wanted = frame[i];
+            int[] current = drawn[i];
+            for (int j = 0; j < wanted.length; j++) {
+                if (wanted[j] != current[j]) {
+                    paintCell(i, j, wanted[j]);
+                    current[j] = wanted[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the board, then the ghost, then the falling brick into the frame buffer.
+     */
+    private void composeFrame() {
+        for (int i = 0; i < frame.length; i++) {
+            System.arraycopy(board[i], 0, frame[i], 0, frame[i].length);
+        }
+        if (brick == null) return;
+
+        int[][] shape = brick.getBrickData();
+        int x = brick.getxPosition();
+        if (brick.getGhostY() > brick.getyPosition()) {
+            overlay(shape, x, brick.getGhostY(), true);
+        }
+        overlay(shape, x, brick.getyPosition(), false);
+    }
+
+    private void overlay(int[][] shape, int x, int y, boolean ghost) {
+        for (int i = 0; i < shape.length; i++) {
+            int row = y + i;
+            if (row < 0 || row >= frame.length) continue;
+            for (int j = 0; j < shape[i].length; j++) {
+                int col = x + j;
+                if (shape[i][j] == 0 || col < 0 || col >= frame[row].length) continue;
+                if (ghost) {
+                    if (frame[row][col] == 0) frame[row][col] = GHOST;
+                } else {
+                    frame[row][col] = shape[i][j];
+                }
+            }
+        }
+    }
+
+    private void paintCell(int row, int col, int value) {
+        double x = col * CELL_PITCH;
+        double y = (row - HIDDEN_ROWS) * CELL_PITCH;
+        graphics.clearRect(x, y, BRICK_SIZE, BRICK_SIZE);
+        if (value != 0) {
+            graphics.drawImage(spriteFor(value), x, y);
+        }
+    }
+
+    private Image spriteFor(int value) {
+        if (value == GHOST) return ghostSprite;
+        if (value > 0 && value < COLOR_COUNT) return sprites[value];
+        return defaultSprite;
+    }
+
+    /**
+     * Pre-renders one cell image per brick color, plus the ghost cell, with rounded
+     * corners and a translucent ghost unless the quality rules them out.
+     */
+    private void createSprites() {
+        double arc = quality.arcsEnabled() ? ARC : 0;
+        sprites = new Image[COLOR_COUNT];
+        for (int i = 1; i < COLOR_COUNT; i++) {
+            sprites[i] = renderSprite(BoardRenderer.fillFor(i), 1.0, arc);
+        }
+        ghostSprite = quality.translucentGhost()
+                ? renderSprite(Color.GRAY, 0.3, arc)
+                : renderSprite(Color.rgb(70, 70, 70), 1.0, arc);
+        defaultSprite = renderSprite(Color.WHITE, 1.0, arc);
+    }
+
+    private static Image renderSprite(javafx.scene.paint.Paint fill, double opacity, double arc) {
+        Canvas cell = new Canvas(BRICK_SIZE, BRICK_SIZE);
+        GraphicsContext g = cell.getGraphicsContext2D();
+        g.setGlobalAlpha(opacity);
+        g.setFill(fill);
+        g.fillRoundRect(0, 0, BRICK_SIZE, BRICK_SIZE, arc, arc);
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return cell.snapshot(parameters, null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.comp2042.view;
+
+import java.util.Arrays;
+
+/**
+ * Collects frame times so renderers can be compared on the target hardware.
+ * The most recent samples are kept in a fixed-size ring, so recording never allocates;
+ * totals and the maximum cover every frame since the last reset.
+ * Screens print their summaries when they are left only if the {@code tetris.frameStats}
+ * system property is {@code true}, so that
+ * {@code -Dtetris.renderer=nodes -Dtetris.frameStats=true} and
+ * {@code -Dtetris.renderer=canvas -Dtetris.frameStats=true} give comparable lines.
+ */
+public class FrameTimeStats {
+
+    /** System property that prints frame-time summaries to standard error. */
+    public static final String PRINT_PROPERTY = "tetris.frameStats";
+
+    private static final int DEFAULT_WINDOW = 1024;
+
+    private final long[] samples;
+    private long frameCount;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Constructs a FrameTimeStats keeping the last 1024 samples for percentiles.
+     */
+    public FrameTimeStats() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Constructs a FrameTimeStats keeping the specified number of recent samples.
+     *
+     * @param window the number of recent samples used for percentiles
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public FrameTimeStats(int window) {
+        if (window <= 0) throw new IllegalArgumentException("window must be positive: " + window);
+        this.samples = new long[window];
+    }
+
+    /**
+     * Records the duration of one frame.
+     *
+     * @param nanos the frame time in nanoseconds
+     */
+    public void record(long nanos) {
+        samples[(int) (frameCount % samples.length)] = nanos;
+        frameCount++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * Gets the number of frames recorded.
+     *
+     * @return the frame count
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the mean frame time.
+     *
+     * @return the average frame time in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getAverageNanos() {
+        return frameCount == 0 ? 0 : totalNanos / frameCount;
+    }
+
+    /**
+     * Gets the longest frame recorded.
+     *
+     * @return the maximum frame time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets a percentile of the recent frame times.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the frame time at that percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        int count = (int) Math.min(frameCount, samples.length);
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    /**
+     * Clears all recorded frames.
+     */
+    public void reset() {
+        frameCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Tells whether frame-time summaries should be printed, as set by {@code tetris.frameStats}.
+     *
+     * @return true if summaries are printed
+     */
+    public static boolean isPrintEnabled() {
+        return Boolean.getBoolean(PRINT_PROPERTY);
+    }
+
+    /**
+     * Formats the statistics as a single line, in milliseconds.
+     *
+     * @param label a label identifying what was measured
+     * @return the summary line
+     */
+    public String summary(String label) {
+        return String.format("%s: frames=%d avg=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                label, frameCount, getAverageNanos() / 1e6, getPercentileNanos(50) / 1e6,
+                getPercentileNanos(99) / 1e6, maxNanos / 1e6);
+    }
+}
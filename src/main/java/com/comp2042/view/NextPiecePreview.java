@@ -0,0 +1,150 @@
+package com.comp2042.view;
+
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.logic.bricks.RandomBrickGenerator;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shows the upcoming bricks in a row of preview slots.
+ * One image per {@link BrickFactory.BrickType} is rendered the first time that type is shown
+ * and shared by all slots. Each slot holds a single {@link ImageView} whose image is only
+ * swapped when the brick queue actually advances, so moving the falling brick causes no
+ * work here. The number of slots is set with the {@code tetris.previewSlots} system property.
+ */
+public class NextPiecePreview {
+
+    /** System property that sets the number of preview slots. */
+    public static final String SLOTS_PROPERTY = "tetris.previewSlots";
+
+    private static final int DEFAULT_SLOTS = 2;
+    private static final int CELL_SIZE = 12;
+    private static final int CELL_PITCH = CELL_SIZE + 1;
+    private static final int ARC = 4;
+    private static final int GRID = 4;
+
+    private final Map<BrickFactory.BrickType, Image> images = new EnumMap<>(BrickFactory.BrickType.class);
+    private final ImageView[] slots;
+    private final BrickFactory.BrickType[] shown;
+
+    /**
+     * Constructs a NextPiecePreview using the given panels as the first slots. Extra slots
+     * are added beside the last panel's container, styled like it; unused panels are hidden.
+     *
+     * @param slotCount the number of upcoming bricks to show
+     * @param panels the preview panels declared in the layout
+     */
+    public NextPiecePreview(int slotCount, GridPane... panels) {
+        int count = Math.max(1, Math.min(slotCount, RandomBrickGenerator.MAX_PREVIEW_COUNT));
+        slots = new ImageView[count];
+        shown = new BrickFactory.BrickType[count];
+
+        for (int i = 0; i < panels.length; i++) {
+            GridPane panel = panels[i];
+            if (panel == null) continue;
+            panel.getChildren().clear();
+            if (i < count) {
+                slots[i] = new ImageView();
+                panel.add(slots[i], 0, 0);
+            } else {
+                containerOf(panel).setVisible(false);
+                containerOf(panel).setManaged(false);
+            }
+        }
+        GridPane last = panels.length > 0 ? panels[panels.length - 1] : null;
+        for (int i = panels.length; i < count && last != null; i++) {
+            slots[i] = new ImageView();
+            addSlotBeside(last, slots[i]);
+        }
+    }
+
+    /**
+     * Reads the number of preview slots from the {@code tetris.previewSlots} system property.
+     *
+     * @return the configured slot count, 2 by default
+     */
+    public static int slotCountFromSystemProperties() {
+        return Integer.getInteger(SLOTS_PROPERTY, DEFAULT_SLOTS);
+    }
+
+    /**
+     * Gets the number of preview slots.
+     *
+     * @return the slot count
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * Shows the upcoming bricks listed in the view data. Slots whose brick did not change
+     * are left untouched.
+     *
+     * @param viewData the view data listing the upcoming brick types
+     */
+    public void show(ViewData viewData) {
+        for (int i = 0; i < slots.length; i++) {
+            BrickFactory.BrickType type = i < viewData.getNextBrickCount() ? viewData.getNextBrickType(i) : null;
+            if (type == shown[i] || slots[i] == null) continue;
+            shown[i] = type;
+            slots[i].setImage(type == null ? null : imageFor(type));
+        }
+    }
+
+    private Image imageFor(BrickFactory.BrickType type) {
+        return images.computeIfAbsent(type, NextPiecePreview::renderImage);
+    }
+
+    /**
+     * Renders a brick type in its spawn orientation on a 4x4 grid of rounded cells.
+     *
+     * @param type the brick type to render
+     * @return the rendered image
+     */
+    private static Image renderImage(BrickFactory.BrickType type) {
+        int[][] shape = BrickFactory.createBrick(type).getShapeMatrix().get(0);
+        Canvas canvas = new Canvas(GRID * CELL_PITCH - 1, GRID * CELL_PITCH - 1);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] == 0) continue;
+                g.setFill(BoardRenderer.fillFor(shape[i][j]));
+                g.fillRoundRect(j * CELL_PITCH, i * CELL_PITCH, CELL_SIZE, CELL_SIZE, ARC, ARC);
+            }
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, null);
+    }
+
+    private static Node containerOf(GridPane panel) {
+        return panel.getParent() != null ? panel.getParent() : panel;
+    }
+
+    private static void addSlotBeside(GridPane last, ImageView view) {
+        Node template = containerOf(last);
+        Parent row = template.getParent();
+        if (!(row instanceof Pane pane)) return;
+
+        VBox slot = new VBox(view);
+        slot.getStyleClass().setAll(template.getStyleClass());
+        slot.setAlignment(Pos.CENTER);
+        if (template instanceof VBox box) {
+            slot.setPrefSize(box.getPrefWidth(), box.getPrefHeight());
+        }
+        pane.getChildren().add(slot);
+    }
+}
@@ -3,12 +3,8 @@ package com.comp2042.view;
 import javafx.animation.FadeTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.TranslateTransition;
-import javafx.collections.ObservableList;
-import javafx.event.ActionEvent;
-import javafx.event.EventHandler;
-import javafx.scene.Node;
+import javafx.scene.CacheHint;
 import javafx.scene.control.Label;
-import javafx.scene.effect.Effect;
 import javafx.scene.effect.Glow;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.paint.Color;
@@ -16,11 +12,26 @@ import javafx.util.Duration;
 
 /**
  * Animated panel component that displays score bonus notifications.
- * Shows a glowing text notification that fades out and moves upward,
- * then removes itself from the parent container.
+ * Shows a glowing text notification that fades out and moves upward, then hides itself.
+ * Panels are reusable: the glowing label is cached as a bitmap, so the glow effect is only
+ * rendered again when the text changes, and the animation is built once and restarted
+ * for every notification. See {@link NotificationPool}.
  */
 public class NotificationPanel extends BorderPane {
 
+    private final Label score;
+    private final Glow glow = new Glow(0.6);
+    private final ParallelTransition transition;
+    private long shownAt;
+
+    /**
+     * Constructs a hidden NotificationPanel with no text.
+     */
+    public NotificationPanel() {
+        this("");
+        setVisible(false);
+    }
+
     /**
      * Constructs a NotificationPanel with the specified text to display.
      * Creates a styled label with glow effect for the notification.
@@ -30,34 +41,87 @@ public class NotificationPanel extends BorderPane {
     public NotificationPanel(String text) {
         setMinHeight(200);
         setMinWidth(220);
-        final Label score = new Label(text);
+        setMouseTransparent(true);
+        score = new Label(text);
         score.getStyleClass().add("bonusStyle");
-        final Effect glow = new Glow(0.6);
         score.setEffect(glow);
         score.setTextFill(Color.WHITE);
+        score.setCache(true);
+        score.setCacheHint(CacheHint.SPEED);
         setCenter(score);
 
+        FadeTransition ft = new FadeTransition(Duration.millis(2000), this);
+        ft.setFromValue(1);
+        ft.setToValue(0);
+        TranslateTransition tt = new TranslateTransition(Duration.millis(2500), this);
+        tt.setFromY(0);
+        tt.setToY(-40);
+        transition = new ParallelTransition(tt, ft);
+        transition.setOnFinished(event -> setVisible(false));
     }
 
     /**
-     * Animates the notification panel by fading it out and translating it upward.
-     * After the animation completes, the panel removes itself from the specified list.
+     * Shows the given text and restarts the fade and rise animation from the beginning.
      * 
-     * @param list the ObservableList containing this panel, from which it will be removed
+     * @param text the text to display
+     * @param sequence a number that increases with every notification, used to find the oldest panel
      */
-    public void showScore(ObservableList<Node> list) {
-        FadeTransition ft = new FadeTransition(Duration.millis(2000), this);
-        TranslateTransition tt = new TranslateTransition(Duration.millis(2500), this);
-        tt.setToY(this.getLayoutY() - 40);
-        ft.setFromValue(1);
-        ft.setToValue(0);
-        ParallelTransition transition = new ParallelTransition(tt, ft);
-        transition.setOnFinished(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                list.remove(NotificationPanel.this);
-            }
-        });
-        transition.play();
+    public void show(String text, long sequence) {
+        if (!text.equals(score.getText())) score.setText(text);
+        shownAt = sequence;
+        setOpacity(1);
+        setTranslateY(0);
+        setVisible(true);
+        toFront();
+        transition.playFromStart();
+    }
+
+    /**
+     * Turns the glow effect on or off.
+     * 
+     * @param enabled true to draw the glow
+     */
+    public void setEffectEnabled(boolean enabled) {
+        score.setEffect(enabled ? glow : null);
+    }
+
+    /**
+     * Pauses the animation where it is.
+     */
+    public void pause() {
+        if (isShowing()) transition.pause();
+    }
+
+    /**
+     * Continues a paused animation.
+     */
+    public void resume() {
+        if (isShowing()) transition.play();
+    }
+
+    /**
+     * Stops the animation and hides the panel.
+     */
+    public void dismiss() {
+        transition.stop();
+        setVisible(false);
+    }
+
+    /**
+     * Checks whether the panel is currently showing a notification.
+     * 
+     * @return true if the animation is running
+     */
+    public boolean isShowing() {
+        return isVisible();
+    }
+
+    /**
+     * Gets the sequence number passed to the most recent {@link #show(String, long)}.
+     * 
+     * @return the sequence number of the current notification
+     */
+    public long getShownAt() {
+        return shownAt;
     }
 }
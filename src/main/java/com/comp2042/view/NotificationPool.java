@@ -0,0 +1,95 @@
+package com.comp2042.view;
+
+import javafx.scene.Group;
+
+/**
+ * Fixed pool of {@link NotificationPanel}s for score popups.
+ * The panels are added to the notification group once and reused, which caps the number
+ * of popups on screen; when all of them are showing, a new notification replaces the
+ * oldest one instead of stacking another set of effects on top.
+ */
+public class NotificationPool {
+
+    /** Default number of notifications that can be on screen at once. */
+    public static final int DEFAULT_SIZE = 3;
+
+    private final NotificationPanel[] panels;
+    private long sequence;
+
+    /**
+     * Constructs a NotificationPool and adds its panels, hidden, to the specified group.
+     * 
+     * @param group the group the notifications are shown in
+     * @param size the maximum number of notifications shown at once
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public NotificationPool(Group group, int size) {
+        if (size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+        panels = new NotificationPanel[size];
+        for (int i = 0; i < size; i++) {
+            panels[i] = new NotificationPanel();
+            group.getChildren().add(panels[i]);
+        }
+    }
+
+    /**
+     * Shows a notification on an idle panel, or on the panel showing the oldest
+     * notification if all of them are busy.
+     * 
+     * @param text the text to display
+     */
+    public void show(String text) {
+        NotificationPanel target = panels[0];
+        for (NotificationPanel panel : panels) {
+            if (!panel.isShowing()) {
+                target = panel;
+                break;
+            }
+            if (panel.getShownAt() < target.getShownAt()) target = panel;
+        }
+        target.show(text, ++sequence);
+    }
+
+    /**
+     * Turns the glow effect of all notifications on or off.
+     * 
+     * @param enabled true to draw the glow
+     */
+    public void setEffectsEnabled(boolean enabled) {
+        for (NotificationPanel panel : panels) panel.setEffectEnabled(enabled);
+    }
+
+    /**
+     * Pauses the animations of all showing notifications.
+     */
+    public void pauseAll() {
+        for (NotificationPanel panel : panels) panel.pause();
+    }
+
+    /**
+     * Continues the animations paused by {@link #pauseAll()}.
+     */
+    public void resumeAll() {
+        for (NotificationPanel panel : panels) panel.resume();
+    }
+
+    /**
+     * Stops and hides all notifications.
+     */
+    public void dismissAll() {
+        for (NotificationPanel panel : panels) panel.dismiss();
+    }
+
+    /**
+     * Gets the number of notifications currently on screen.
+     * 
+     * @return the number of showing panels
+     */
+    public int getShowingCount() {
+        int count = 0;
+        for (NotificationPanel panel : panels) {
+            if (panel.isShowing()) count++;
+        }
+        return count;
+    }
+}
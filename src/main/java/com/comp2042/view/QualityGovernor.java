@@ -0,0 +1,138 @@
+package com.comp2042.view;
+
+import java.util.function.Consumer;
+
+/**
+ * Adjusts the {@link RenderQuality} to the measured frame time.
+ * Frame times are smoothed with an exponential moving average. When the average stays
+ * over the frame budget for a number of frames, quality drops one step; when it stays
+ * well under the budget for a longer period, quality is raised one step again. The
+ * longer wait before raising keeps the governor from flipping between two steps.
+ * Frame times are pulse intervals, which vsync holds at the display's refresh period
+ * however cheap a frame is. Running at that period therefore also counts as under budget.
+ * Only rendering is affected; the simulation runs on its own thread and is never throttled.
+ */
+public class QualityGovernor {
+
+    /** System property that sets the frame budget in milliseconds. */
+    public static final String BUDGET_PROPERTY = "tetris.frameBudgetMs";
+
+    private static final double DEFAULT_BUDGET_MS = 1000.0 / 60 * 1.25;
+    private static final double SMOOTHING = 0.1;
+    private static final double HEADROOM = 0.6;
+    private static final long DEFAULT_PERIOD_NANOS = 1_000_000_000L / 60;
+    private static final double PERIOD_SLACK = 1.1;
+    private static final int FRAMES_TO_DEGRADE = 30;
+    private static final int FRAMES_TO_RESTORE = 180;
+
+    private final long budgetNanos;
+    private final double restoreNanos;
+    private final Consumer<RenderQuality> listener;
+    private RenderQuality quality = RenderQuality.FULL;
+    private double averageNanos = -1;
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+
+    /**
+     * Constructs a QualityGovernor for a 60 Hz display.
+     *
+     * @param budgetNanos the frame time budget in nanoseconds
+     * @param listener called with the new quality whenever it changes
+     */
+    public QualityGovernor(long budgetNanos, Consumer<RenderQuality> listener) {
+        this(budgetNanos, DEFAULT_PERIOD_NANOS, listener);
+    }
+
+    /**
+     * Constructs a QualityGovernor. Quality is raised again once frames average well under
+     * the budget, or no more than a tenth over the display period, whichever is longer,
+     * but never at or over the budget itself.
+     *
+     * @param budgetNanos the frame time budget in nanoseconds
+     * @param periodNanos the display's refresh period in nanoseconds
+     * @param listener called with the new quality whenever it changes
+     */
+    public QualityGovernor(long budgetNanos, long periodNanos, Consumer<RenderQuality> listener) {
+        this.budgetNanos = budgetNanos;
+        this.restoreNanos = Math.max(budgetNanos * HEADROOM, Math.min(periodNanos * PERIOD_SLACK, budgetNanos * 0.9));
+        this.listener = listener;
+    }
+
+    /**
+     * Constructs a QualityGovernor with the budget from the {@code tetris.frameBudgetMs}
+     * system property, which defaults to a quarter above one 60 Hz frame.
+     *
+     * @param listener called with the new quality whenever it changes
+     * @return the governor
+     */
+    public static QualityGovernor fromSystemProperties(Consumer<RenderQuality> listener) {
+        double budgetMs;
+        try {
+            budgetMs = Double.parseDouble(System.getProperty(BUDGET_PROPERTY, String.valueOf(DEFAULT_BUDGET_MS)));
+        } catch (NumberFormatException e) {
+            budgetMs = DEFAULT_BUDGET_MS;
+        }
+        return new QualityGovernor((long) (budgetMs * 1_000_000), listener);
+    }
+
+    /**
+     * Records one frame time and changes the quality if it has been consistently
+     * over or under budget.
+     *
+     * @param frameNanos the duration of the frame in nanoseconds
+     */
+    public void onFrame(long frameNanos) {
+        averageNanos = averageNanos < 0 ? frameNanos : averageNanos + SMOOTHING * (frameNanos - averageNanos);
+
+        if (averageNanos > budgetNanos) {
+            underBudgetFrames = 0;
+            if (++overBudgetFrames >= FRAMES_TO_DEGRADE) {
+                overBudgetFrames = 0;
+                change(quality.lower());
+            }
+        } else if (averageNanos <= restoreNanos) {
+            overBudgetFrames = 0;
+            if (++underBudgetFrames >= FRAMES_TO_RESTORE) {
+                underBudgetFrames = 0;
+                change(quality.higher());
+            }
+        } else {
+            overBudgetFrames = 0;
+            underBudgetFrames = 0;
+        }
+    }
+
+    /**
+     * Forgets the frame history, for example after rendering was suspended,
+     * so the gap is not mistaken for a slow frame.
+     */
+    public void reset() {
+        averageNanos = -1;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+
+    private void change(RenderQuality next) {
+        if (next == quality) return;
+        quality = next;
+        if (listener != null) listener.accept(next);
+    }
+
+    /**
+     * Gets the current quality.
+     *
+     * @return the render quality
+     */
+    public RenderQuality getQuality() {
+        return quality;
+    }
+
+    /**
+     * Gets the smoothed frame time.
+     *
+     * @return the average frame time in nanoseconds, or -1 before the first frame
+     */
+    public long getAverageNanos() {
+        return (long) averageNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.comp2042.view;
+
+/**
+ * Render quality steps used by the {@link QualityGovernor}, from best to cheapest.
+ * Each step keeps the savings of the steps before it.
+ */
+public enum RenderQuality {
+    /** Everything enabled. */
+    FULL,
+    /** Glow effects are dropped. */
+    NO_EFFECTS,
+    /** Cells are drawn with square corners. */
+    NO_ARCS,
+    /** The ghost piece is drawn as an opaque outline color without blending. */
+    SIMPLE_GHOST,
+    /** The board is rendered at most on every other pulse. */
+    REDUCED_RATE;
+
+    /**
+     * Checks whether effects such as glow should be drawn.
+     *
+     * @return true at full quality
+     */
+    public boolean effectsEnabled() {
+        return this == FULL;
+    }
+
+    /**
+     * Checks whether cells should have rounded corners.
+     *
+     * @return true if arcs are still drawn at this quality
+     */
+    public boolean arcsEnabled() {
+        return compareTo(NO_ARCS) < 0;
+    }
+
+    /**
+     * Checks whether the ghost piece should be drawn semi-transparent.
+     *
+     * @return true if the ghost is still blended at this quality
+     */
+    public boolean translucentGhost() {
+        return compareTo(SIMPLE_GHOST) < 0;
+    }
+
+    /**
+     * Checks whether the render rate is reduced.
+     *
+     * @return true at the lowest quality
+     */
+    public boolean reducedRate() {
+        return this == REDUCED_RATE;
+    }
+
+    /**
+     * Gets the next cheaper quality step.
+     *
+     * @return the lower step, or this one if it is already the lowest
+     */
+    public RenderQuality lower() {
+        RenderQuality[] all = values();
+        return all[Math.min(ordinal() + 1, all.length - 1)];
+    }
+
+    /**
+     * Gets the next better quality step.
+     *
+     * @return the higher step, or this one if it is already the highest
+     */
+    public RenderQuality higher() {
+        return values()[Math.max(ordinal() - 1, 0)];
+    }
+}
@@ -0,0 +1,150 @@
+package com.comp2042.view;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Coalesces render requests into at most one render per JavaFX pulse.
+ * Any thread may call {@link #markDirty()}, for example whenever the simulation publishes
+ * a new snapshot; however many requests arrive between two pulses, the render task runs
+ * once on the next pulse and only the latest state is drawn. Counters of pulses, renders
+ * and coalesced requests are kept so the behavior can be checked.
+ */
+public class RenderScheduler {
+
+    private final AtomicLong pendingRequests = new AtomicLong();
+    private final Runnable renderTask;
+    private final LongConsumer pulseTask;
+    private AnimationTimer timer;
+    private boolean running;
+
+    private long pulseCount;
+    private long renderCount;
+    private long coalescedCount;
+    private int lastPulseRenders;
+    private int pulsesPerRender = 1;
+    private int pulsesSinceRender = Integer.MAX_VALUE;
+
+    /**
+     * Constructs a RenderScheduler.
+     *
+     * @param renderTask the task that draws the latest state, run only on pulses after a request
+     * @param pulseTask a task run on every pulse with the pulse time, for example to update a clock display, or null
+     */
+    public RenderScheduler(Runnable renderTask, LongConsumer pulseTask) {
+        this.renderTask = renderTask;
+        this.pulseTask = pulseTask;
+    }
+
+    /**
+     * Requests a render on the next pulse. Safe to call from any thread.
+     */
+    public void markDirty() {
+        pendingRequests.incrementAndGet();
+    }
+
+    /**
+     * Runs one pulse: renders once if any request arrived since the previous render and
+     * enough pulses have passed, then runs the pulse task. Called by the animation timer on the JavaFX thread.
+     *
+     * @param now the pulse time in nanoseconds
+     */
+    public void pulse(long now) {
+        pulseCount++;
+        if (pulsesSinceRender < Integer.MAX_VALUE) pulsesSinceRender++;
+        long requests = pulsesSinceRender >= pulsesPerRender ? pendingRequests.getAndSet(0) : 0;
+        if (requests > 0) {
+            pulsesSinceRender = 0;
+            renderTask.run();
+            renderCount++;
+            coalescedCount += requests - 1;
+            lastPulseRenders = 1;
+        } else {
+            lastPulseRenders = 0;
+        }
+        if (pulseTask != null) pulseTask.accept(now);
+    }
+
+    /**
+     * Limits rendering to at most one render every given number of pulses. Requests made
+     * in between are kept and handled on the next allowed pulse.
+     *
+     * @param pulsesPerRender the minimum number of pulses from one render to the next, 1 for every pulse
+     */
+    public void setPulsesPerRender(int pulsesPerRender) {
+        this.pulsesPerRender = Math.max(1, pulsesPerRender);
+    }
+
+    /**
+     * Starts rendering on JavaFX pulses. A render is requested so the current state is drawn.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    pulse(now);
+                }
+            };
+        }
+        markDirty();
+        timer.start();
+        running = true;
+    }
+
+    /**
+     * Stops rendering on JavaFX pulses. Requests keep accumulating until the next start.
+     */
+    public void stop() {
+        if (timer != null) timer.stop();
+        running = false;
+    }
+
+    /**
+     * Checks whether the scheduler is receiving pulses.
+     *
+     * @return true between {@link #start()} and {@link #stop()}
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the number of pulses seen.
+     *
+     * @return the pulse count
+     */
+    public long getPulseCount() {
+        return pulseCount;
+    }
+
+    /**
+     * Gets the number of renders performed.
+     *
+     * @return the render count
+     */
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * Gets the number of render requests that were absorbed by another request
+     * handled on the same pulse.
+     *
+     * @return the coalesced request count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Gets the number of renders performed on the most recent pulse, which is always 0 or 1.
+     *
+     * @return the renders in the last pulse
+     */
+    public int getLastPulseRenders() {
+        return lastPulseRenders;
+    }
+}
@@ -0,0 +1,257 @@
+package com.comp2042.view;
+
+import com.comp2042.core.GameSnapshot;
+import com.comp2042.core.SpectatorFeed;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * Draws every board of a {@link SpectatorFeed} as a tile in a grid on a single canvas.
+ * Only tiles whose snapshot changed since the last pulse are redrawn, at most once per
+ * pulse through a {@link RenderScheduler}. How much is drawn depends on the cell size a
+ * tile can afford:
+ * <ul>
+ *   <li>{@link Detail#FULL}: separated cells, the falling brick and the score;</li>
+ *   <li>{@link Detail#BLOCKS}: runs of equal cells in a row merged into one rectangle,
+ *       and the falling brick;</li>
+ *   <li>{@link Detail#SKYLINE}: one bar per column showing the stack height.</li>
+ * </ul>
+ */
+public class SpectatorWall {
+
+    /**
+     * Level of detail used for the tiles.
+     */
+    public enum Detail {
+        /** Every cell with a gap, the falling brick and the score. */
+        FULL,
+        /** Merged cell runs and the falling brick. */
+        BLOCKS,
+        /** Column heights only. */
+        SKYLINE
+    }
+
+    private static final int HIDDEN_ROWS = 2;
+    private static final int TILE_PADDING = 2;
+    private static final int FULL_MIN_CELL = 6;
+    private static final int BLOCKS_MIN_CELL = 2;
+    private static final Color BACKGROUND = Color.rgb(20, 20, 30);
+    private static final Color FINISHED_TINT = Color.rgb(0, 0, 0, 0.5);
+
+    private final SpectatorFeed feed;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final RenderScheduler scheduler;
+    private final FrameTimeStats renderStats = new FrameTimeStats();
+    private final GameSnapshot[] drawn;
+    private final Paint[] palette = new Paint[8];
+
+    private final int gridCols;
+    private final double tileWidth;
+    private final double tileHeight;
+    private final int cellSize;
+    private final Detail detail;
+
+    /**
+     * Constructs a SpectatorWall for the feed, sized to the given canvas dimensions.
+     *
+     * @param feed the boards to show
+     * @param width the canvas width in pixels
+     * @param height the canvas height in pixels
+     */
+    public SpectatorWall(SpectatorFeed feed, double width, double height) {
+        this.feed = feed;
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        this.drawn = new GameSnapshot[feed.size()];
+        for (int i = 1; i < palette.length; i++) {
+            palette[i] = BoardRenderer.fillFor(i);
+        }
+
+        int boards = feed.size();
+        GameSnapshot first = feed.latest(0);
+        int boardRows = first.getBoardMatrix().length - HIDDEN_ROWS;
+        int boardCols = first.getBoardMatrix()[0].length;
+
+        // Pick the column count that gives the largest cells
+        int bestCols = 1;
+        int bestCell = -1;
+        for (int cols = 1; cols <= boards; cols++) {
+            int rows = (boards + cols - 1) / cols;
+            int cell = (int) Math.min((width / cols - 2 * TILE_PADDING) / boardCols,
+                    (height / rows - 2 * TILE_PADDING) / boardRows);
+            if (cell > bestCell) {
+                bestCell = cell;
+                bestCols = cols;
+            }
+        }
+        this.gridCols = bestCols;
+        this.tileWidth = width / gridCols;
+        this.tileHeight = height / ((boards + gridCols - 1) / gridCols);
+        this.cellSize = Math.max(1, bestCell);
+        this.detail = cellSize >= FULL_MIN_CELL ? Detail.FULL
+                : cellSize >= BLOCKS_MIN_CELL ? Detail.BLOCKS : Detail.SKYLINE;
+
+        this.scheduler = new RenderScheduler(this::render, null);
+        feed.setPublishListener(scheduler::markDirty);
+    }
+
+    /**
+     * Gets the canvas the wall is drawn on.
+     *
+     * @return the canvas
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    /**
+     * Gets the level of detail chosen for the tile size.
+     *
+     * @return the level of detail
+     */
+    public Detail getDetail() {
+        return detail;
+    }
+
+    /**
+     * Gets the time spent drawing on each pulse that drew something.
+     *
+     * @return the render statistics
+     */
+    public FrameTimeStats getRenderStats() {
+        return renderStats;
+    }
+
+    /**
+     * Gets the scheduler that runs the wall's renders.
+     *
+     * @return the render scheduler
+     */
+    public RenderScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Starts drawing on JavaFX pulses.
+     */
+    public void start() {
+        graphics.setFill(BACKGROUND);
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        java.util.Arrays.fill(drawn, null);
+        scheduler.start();
+    }
+
+    /**
+     * Stops drawing.
+     */
+    public void stop() {
+        scheduler.stop();
+    }
+
+    private void render() {
+        long start = System.nanoTime();
+        for (int i = 0; i < drawn.length; i++) {
+            GameSnapshot snapshot = feed.latest(i);
+            if (snapshot != drawn[i]) {
+                drawn[i] = snapshot;
+                drawTile(i, snapshot);
+            }
+        }
+        renderStats.record(System.nanoTime() - start);
+    }
+
+    private void drawTile(int index, GameSnapshot snapshot) {
+        double tileX = (index % gridCols) * tileWidth;
+        double tileY = (index / gridCols) * tileHeight;
+        graphics.setFill(BACKGROUND);
+        graphics.fillRect(tileX, tileY, tileWidth, tileHeight);
+
+        int[][] board = snapshot.getBoardMatrix();
+        int rows = board.length - HIDDEN_ROWS;
+        int cols = board[0].length;
+        double originX = tileX + (tileWidth - cols * cellSize) / 2;
+        double originY = tileY + (tileHeight - rows * cellSize) / 2;
+
+        graphics.setFill(Color.BLACK);
+        graphics.fillRect(originX, originY, cols * cellSize, rows * cellSize);
+
+        switch (detail) {
+            case FULL, BLOCKS -> {
+                drawCells(board, originX, originY);
+                drawBrick(snapshot, originX, originY);
+            }
+            case SKYLINE -> drawSkyline(board, originX, originY);
+        }
+
+        if (detail == Detail.FULL) {
+            graphics.setFill(Color.WHITE);
+            graphics.fillText(String.valueOf(snapshot.getScore()), originX + 2, originY + 10);
+        }
+        if (snapshot.isGameOver() || snapshot.isGameWon()) {
+            graphics.setFill(FINISHED_TINT);
+            graphics.fillRect(originX, originY, cols * cellSize, rows * cellSize);
+        }
+    }
+
+    private void drawCells(int[][] board, double originX, double originY) {
+        double gap = detail == Detail.FULL ? 1 : 0;
+        for (int i = HIDDEN_ROWS; i < board.length; i++) {
+            int[] row = board[i];
+            double y = originY + (i - HIDDEN_ROWS) * cellSize;
+            int j = 0;
+            while (j < row.length) {
+                int value = row[j];
+                int end = j + 1;
+                if (gap == 0) {
+                    while (end < row.length && row[end] == value) end++;
+                }
+                if (value != 0) {
+                    graphics.setFill(paintFor(value));
+                    graphics.fillRect(originX + j * cellSize, y, (end - j) * cellSize - gap, cellSize - gap);
+                }
+                j = end;
+            }
+        }
+    }
+
+    private void drawBrick(GameSnapshot snapshot, double originX, double originY) {
+        ViewData view = snapshot.getViewData();
+        int[][] shape = view.getBrickData();
+        double gap = detail == Detail.FULL ? 1 : 0;
+        for (int i = 0; i < shape.length; i++) {
+            int row = view.getyPosition() + i - HIDDEN_ROWS;
+            if (row < 0) continue;
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] == 0) continue;
+                graphics.setFill(paintFor(shape[i][j]));
+                graphics.fillRect(originX + (view.getxPosition() + j) * cellSize, originY + row * cellSize,
+                        cellSize - gap, cellSize - gap);
+            }
+        }
+    }
+
+    private void drawSkyline(int[][] board, double originX, double originY) {
+        int rows = board.length - HIDDEN_ROWS;
+        graphics.setFill(Color.LIGHTGRAY);
+        for (int j = 0; j < board[0].length; j++) {
+            int height = 0;
+            for (int i = HIDDEN_ROWS; i < board.length; i++) {
+                if (board[i][j] != 0) {
+                    height = board.length - i;
+                    break;
+                }
+            }
+            if (height > 0) {
+                graphics.fillRect(originX + j * cellSize, originY + (rows - height) * cellSize,
+                        cellSize, height * cellSize);
+            }
+        }
+    }
+
+    private Paint paintFor(int value) {
+        return value > 0 && value < palette.length ? palette[value] : Color.WHITE;
+    }
+}
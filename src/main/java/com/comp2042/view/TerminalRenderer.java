@@ -0,0 +1,242 @@
+package com.comp2042.view;
+
+import com.comp2042.core.GameSnapshot;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws the game board, the falling brick and its ghost in a terminal using ANSI escape codes.
+ * Needs no display and no JavaFX toolkit, so games can be watched over SSH. Like
+ * {@link CanvasBoardRenderer} it composes each frame into a buffer and writes only the cells
+ * that differ from what is already on screen: a changed run of cells costs one cursor move
+ * and one color change per color, and unchanged cells cost nothing. Frames are limited to a
+ * target rate and skipped entirely when the snapshot has not changed, and each frame is sent
+ * with a single write.
+ */
+public class TerminalRenderer {
+
+    /** Default frame rate limit. */
+    public static final int DEFAULT_FPS = 20;
+
+    private static final String ESC = "\u001b[";
+    private static final int HIDDEN_ROWS = 2;
+    private static final int GHOST = -1;
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+    private static final int BOARD_TOP = 2;
+    private static final int BOARD_LEFT = 2;
+    private static final int CELL_WIDTH = 2;
+
+    private final PrintStream out;
+    private final long frameNanos;
+    private final StringBuilder buffer = new StringBuilder(4096);
+
+    private int[][] frame;
+    private int[][] drawn;
+    private String drawnStatus;
+    private long drawnVersion = -1;
+    private long lastFrameAt;
+    private boolean started;
+
+    private long frameCount;
+    private long bytesWritten;
+
+    /**
+     * Constructs a TerminalRenderer.
+     *
+     * @param out the stream connected to the terminal
+     * @param fps the largest number of frames written per second
+     */
+    public TerminalRenderer(OutputStream out, int fps) {
+        this.out = out instanceof PrintStream printStream ? printStream : new PrintStream(out, false, StandardCharsets.UTF_8);
+        this.frameNanos = 1_000_000_000L / Math.max(1, fps);
+    }
+
+    /**
+     * Draws the snapshot if it changed since the last frame and the frame interval has passed.
+     *
+     * @param snapshot the state to draw
+     * @param now the current time in nanoseconds
+     * @return true if a frame was written
+     */
+    public boolean render(GameSnapshot snapshot, long now) {
+        if (snapshot.getVersion() == drawnVersion) return false;
+        if (started && now - lastFrameAt < frameNanos) return false;
+        lastFrameAt = now;
+        drawnVersion = snapshot.getVersion();
+        draw(snapshot.getBoardMatrix(), snapshot.getViewData(), statusLine(snapshot));
+        return true;
+    }
+
+    /**
+     * Draws a board and falling brick immediately, ignoring the frame rate limit.
+     *
+     * @param board the background board matrix
+     * @param brick the falling brick, or null for none
+     * @param status the text shown under the board
+     */
+    public void draw(int[][] board, ViewData brick, String status) {
+        buffer.setLength(0);
+        if (frame == null || frame.length != board.length || frame[0].length != board[0].length) {
+            frame = new int[board.length][board[0].length];
+            drawn = new int[board.length][board[0].length];
+            started = false;
+        }
+        if (!started) {
+            // Clear the screen, hide the cursor and forget what was drawn
+            buffer.append(ESC).append("2J").append(ESC).append("?25l");
+            for (int[] row : drawn) {
+                Arrays.fill(row, UNKNOWN);
+            }
+            drawnStatus = null;
+            drawBorder(board.length - HIDDEN_ROWS, board[0].length);
+            started = true;
+        }
+
+        composeFrame(board, brick);
+        int color = UNKNOWN;
+        for (int i = HIDDEN_ROWS; i < frame.length; i++) {
+            int[] wanted = frame[i];
+            int[] current = drawn[i];
+            int cursorCol = -1;
+            for (int j = 0; j < wanted.length; j++) {
+                if (wanted[j] == current[j]) continue;
+                if (cursorCol != j) moveTo(BOARD_TOP + i - HIDDEN_ROWS, BOARD_LEFT + j * CELL_WIDTH);
+                if (wanted[j] != color) {
+                    color = wanted[j];
+                    buffer.append(ESC).append(sgrFor(color)).append('m');
+                }
+                buffer.append(wanted[j] == GHOST ? "[]" : "  ");
+                current[j] = wanted[j];
+                cursorCol = j + 1;
+            }
+        }
+        if (color != UNKNOWN) buffer.append(ESC).append("0m");
+
+        if (!status.equals(drawnStatus)) {
+            drawnStatus = status;
+            moveTo(BOARD_TOP + frame.length - HIDDEN_ROWS + 1, 1);
+            buffer.append(status).append(ESC).append('K');
+        }
+        flush();
+        frameCount++;
+    }
+
+    /**
+     * Restores the terminal: resets colors, shows the cursor and moves it below the board.
+     * The next frame redraws the whole screen.
+     */
+    public void close() {
+        buffer.setLength(0);
+        if (frame != null) moveTo(BOARD_TOP + frame.length - HIDDEN_ROWS + 2, 1);
+        buffer.append(ESC).append("0m").append(ESC).append("?25h");
+        flush();
+        started = false;
+        drawnVersion = -1;
+    }
+
+    /**
+     * Gets the number of frames written.
+     *
+     * @return the frame count
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the number of bytes written to the terminal, including escape codes.
+     *
+     * @return the byte count
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void drawBorder(int rows, int cols) {
+        String horizontal = "+" + "-".repeat(cols * CELL_WIDTH) + "+";
+        moveTo(BOARD_TOP - 1, BOARD_LEFT - 1);
+        buffer.append(horizontal);
+        for (int i = 0; i < rows; i++) {
+            moveTo(BOARD_TOP + i, BOARD_LEFT - 1);
+            buffer.append('|');
+            moveTo(BOARD_TOP + i, BOARD_LEFT + cols * CELL_WIDTH);
+            buffer.append('|');
+        }
+        moveTo(BOARD_TOP + rows, BOARD_LEFT - 1);
+        buffer.append(horizontal);
+    }
+
+    /**
+     * Writes the board, then the ghost, then the falling brick into the frame buffer.
+     */
+    private void composeFrame(int[][] board, ViewData brick) {
+        for (int i = 0; i < frame.length; i++) {
+            System.arraycopy(board[i], 0, frame[i], 0, frame[i].length);
+        }
+        if (brick == null) return;
+
+        int[][] shape = brick.getBrickData();
+        int x = brick.getxPosition();
+        if (brick.getGhostY() > brick.getyPosition()) {
+            overlay(shape, x, brick.getGhostY(), true);
+        }
+        overlay(shape, x, brick.getyPosition(), false);
+    }
+
+    private void overlay(int[][] shape, int x, int y, boolean ghost) {
+        for (int i = 0; i < shape.length; i++) {
+            int row = y + i;
+            if (row < 0 || row >= frame.length) continue;
+            for (int j = 0; j < shape[i].length; j++) {
+                int col = x + j;
+                if (shape[i][j] == 0 || col < 0 || col >= frame[row].length) continue;
+                if (ghost) {
+                    if (frame[row][col] == 0) frame[row][col] = GHOST;
+                } else {
+                    frame[row][col] = shape[i][j];
+                }
+            }
+        }
+    }
+
+    private void moveTo(int row, int col) {
+        buffer.append(ESC).append(row).append(';').append(col).append('H');
+    }
+
+    private void flush() {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        out.write(bytes, 0, bytes.length);
+        out.flush();
+        bytesWritten += bytes.length;
+    }
+
+    private static String statusLine(GameSnapshot snapshot) {
+        String status = "Score " + snapshot.getScore() + "  Level " + snapshot.getLevel()
+                + "  Lines " + snapshot.getLinesCleared();
+        if (snapshot.isGameWon()) return status + "  CLEARED";
+        if (snapshot.isGameOver()) return status + "  GAME OVER";
+        return status;
+    }
+
+    /**
+     * Gets the select-graphic-rendition parameters for a cell value, using the basic
+     * colors closest to the palette of {@link BoardRenderer}.
+     */
+    private static String sgrFor(int value) {
+        return switch (value) {
+            case 0 -> "0";
+            case GHOST -> "0;90";
+            case 1 -> "46";
+            case 2 -> "45";
+            case 3 -> "42";
+            case 4 -> "43";
+            case 5 -> "41";
+            case 6 -> "48;5;230";
+            case 7 -> "48;5;180";
+            default -> "107";
+        };
+    }
+}
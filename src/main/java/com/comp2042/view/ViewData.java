@@ -1,11 +1,12 @@
 package com.comp2042.view;
 
+import com.comp2042.logic.bricks.BrickFactory;
 import com.comp2042.util.MatrixOperations;
 
 /**
  * Data class containing all information needed to render the game view.
  * Includes the current falling brick, its position, ghost piece position,
- * and the next two upcoming bricks for preview.
+ * the next two upcoming bricks for preview, and the types of all previewable bricks.
  */
 public final class ViewData {
 
@@ -15,6 +16,8 @@ public final class ViewData {
     private final int ghostY;
     private final int[][] nextBrickData;
     private final int[][] secondNextBrickData;
+    private final BrickFactory.BrickType brickType;
+    private final BrickFactory.BrickType[] nextBrickTypes;
 
     /**
      * Constructs a ViewData object with all necessary rendering information.
@@ -27,12 +30,32 @@ public final class ViewData {
      * @param secondNextBrickData the matrix representation of the second upcoming brick
      */
     public ViewData(int[][] brickData, int xPosition, int yPosition, int ghostY, int[][] nextBrickData, int[][] secondNextBrickData) {
+        this(brickData, xPosition, yPosition, ghostY, nextBrickData, secondNextBrickData, null, new BrickFactory.BrickType[0]);
+    }
+
+    /**
+     * Constructs a ViewData object that also records the type of the falling brick
+     * and lists the types of the upcoming bricks.
+     * 
+     * @param brickData the matrix representation of the current falling brick
+     * @param xPosition the x-coordinate (column) of the current brick on the board
+     * @param yPosition the y-coordinate (row) of the current brick on the board
+     * @param ghostY the y-coordinate (row) where the ghost piece should be displayed
+     * @param nextBrickData the matrix representation of the next upcoming brick
+     * @param secondNextBrickData the matrix representation of the second upcoming brick
+     * @param brickType the type of the falling brick
+     * @param nextBrickTypes the types of the upcoming bricks, nearest first
+     */
+    public ViewData(int[][] brickData, int xPosition, int yPosition, int ghostY, int[][] nextBrickData, int[][] secondNextBrickData,
+                    BrickFactory.BrickType brickType, BrickFactory.BrickType[] nextBrickTypes) {
         this.brickData = brickData;
         this.xPosition = xPosition;
         this.yPosition = yPosition;
         this.ghostY = ghostY;
         this.nextBrickData = nextBrickData;
         this.secondNextBrickData = secondNextBrickData;
+        this.brickType = brickType;
+        this.nextBrickTypes = nextBrickTypes.clone();
     }
 
     /**
@@ -89,4 +112,32 @@ public final class ViewData {
     public int[][] getSecondNextBrickData() {
         return MatrixOperations.copy(secondNextBrickData);
     }
+
+    /**
+     * Gets the type of the falling brick.
+     * 
+     * @return the brick type, or null if it is not known
+     */
+    public BrickFactory.BrickType getBrickType() {
+        return brickType;
+    }
+
+    /**
+     * Gets the number of upcoming bricks whose types are known.
+     * 
+     * @return the number of previewable bricks
+     */
+    public int getNextBrickCount() {
+        return nextBrickTypes.length;
+    }
+
+    /**
+     * Gets the type of an upcoming brick.
+     * 
+     * @param index the position in the queue, 0 being the next brick
+     * @return the brick type at that position
+     */
+    public BrickFactory.BrickType getNextBrickType(int index) {
+        return nextBrickTypes[index];
+    }
 }
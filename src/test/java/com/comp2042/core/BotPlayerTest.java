@@ -0,0 +1,42 @@
+package com.comp2042.core;
+
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotPlayerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("bot should clear lines in a headless game")
+    void botShouldClearLines() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 3);
+        runner.setStepHook(new BotPlayer());
+        runner.run(120 * SECOND);
+        assertTrue(runner.getEngine().snapshot().getLinesCleared() >= 10);
+    }
+
+    @Test
+    @DisplayName("spectator feed should publish snapshots for every board")
+    void spectatorFeedShouldPublishBoards() {
+        ManualGameClock clock = new ManualGameClock();
+        SpectatorFeed feed = new SpectatorFeed(4, 11, clock, 1);
+        int[] publishes = {0};
+        feed.setPublishListener(() -> publishes[0]++);
+        GameSnapshot[] initial = new GameSnapshot[feed.size()];
+        for (int i = 0; i < feed.size(); i++) initial[i] = feed.latest(i);
+
+        for (int step = 0; step < 600; step++) {
+            clock.advance(GameLoop.STEP_NANOS);
+            feed.step();
+        }
+
+        assertTrue(publishes[0] > 0);
+        for (int i = 0; i < feed.size(); i++) {
+            assertNotSame(initial[i], feed.latest(i));
+        }
+    }
+}
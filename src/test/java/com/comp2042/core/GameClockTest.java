@@ -0,0 +1,78 @@
+package com.comp2042.core;
+
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("accelerated clock should scale elapsed time by its multiplier")
+    void acceleratedClockShouldScaleTime() {
+        ManualGameClock base = new ManualGameClock();
+        AcceleratedGameClock fast = new AcceleratedGameClock(base, 4);
+        long start = fast.nanoTime();
+        base.advance(SECOND);
+        assertEquals(4 * SECOND, fast.nanoTime() - start);
+    }
+
+    @Test
+    @DisplayName("accelerated clock should reject non-positive multipliers")
+    void acceleratedClockShouldRejectBadMultiplier() {
+        assertThrows(IllegalArgumentException.class, () -> new AcceleratedGameClock(new ManualGameClock(), 0));
+    }
+
+    @Test
+    @DisplayName("headless runs with the same seed should produce identical games")
+    void sameSeedShouldProduceIdenticalGames() {
+        HeadlessRunner first = new HeadlessRunner(GameMode.CLASSIC, 42);
+        HeadlessRunner second = new HeadlessRunner(GameMode.CLASSIC, 42);
+        first.setStepHook(GameClockTest::dropLeftEveryOtherStep);
+        second.setStepHook(GameClockTest::dropLeftEveryOtherStep);
+
+        long firstElapsed = first.run(3600 * SECOND);
+        long secondElapsed = second.run(3600 * SECOND);
+
+        GameSnapshot a = first.getEngine().snapshot();
+        GameSnapshot b = second.getEngine().snapshot();
+        assertEquals(firstElapsed, secondElapsed);
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getElapsedNanos(0), b.getElapsedNanos(0));
+        assertTrue(Arrays.deepEquals(a.getBoardMatrix(), b.getBoardMatrix()));
+    }
+
+    @Test
+    @DisplayName("headless run should measure play time on the manual clock")
+    void headlessRunShouldTimeOnManualClock() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 7);
+        long elapsed = runner.run(2 * SECOND);
+        assertEquals(elapsed, runner.getEngine().snapshot().getElapsedNanos(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("play time should be measured on a clock with negative readings")
+    void negativeClockShouldTimePlay() {
+        ManualGameClock base = new ManualGameClock();
+        GameClock negative = () -> Long.MIN_VALUE / 2 + base.nanoTime();
+        GameEngine engine = new GameEngine(GameMode.SPRINT, negative, 3);
+        engine.pauseTimer(negative.nanoTime());
+        engine.resumeTimer(negative.nanoTime());
+        base.advance(2 * SECOND);
+        assertEquals(2 * SECOND, engine.snapshot().getElapsedNanos(negative.nanoTime()));
+        engine.pauseTimer(negative.nanoTime());
+        base.advance(SECOND);
+        assertEquals(2 * SECOND, engine.snapshot().getElapsedNanos(negative.nanoTime()));
+    }
+
+    private static void dropLeftEveryOtherStep(GameEngine engine) {
+        if (engine.getClock().nanoTime() / GameLoop.STEP_NANOS % 2 == 0) {
+            engine.onLeftEvent(null);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.comp2042.core;
+
+import com.comp2042.model.Board;
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEngineTest {
+
+    @Test
+    @DisplayName("garbage should push the stack up with one hole per row")
+    void garbageShouldPushStackUp() {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1);
+        engine.addGarbage(3, 4);
+        int[][] board = engine.snapshot().getBoardMatrix();
+        for (int i = board.length - 3; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                assertEquals(j == 4 ? 0 : Board.GARBAGE, board[i][j]);
+            }
+        }
+        assertFalse(engine.isFinished());
+        engine.addGarbage(board.length, 0);
+        assertTrue(engine.isFinished());
+    }
+
+    @Test
+    @DisplayName("garbage with its hole outside the board should be rejected")
+    void garbageHoleOutsideBoardShouldBeRejected() {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1);
+        int cols = engine.snapshot().getBoardMatrix()[0].length;
+        assertThrows(IllegalArgumentException.class, () -> engine.addGarbage(1, cols));
+        assertThrows(IllegalArgumentException.class, () -> engine.addGarbage(1, -1));
+        assertEquals(0, engine.snapshot().getBoardMatrix()[engine.snapshot().getBoardMatrix().length - 1][0]);
+    }
+}
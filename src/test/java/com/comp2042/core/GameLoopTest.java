@@ -0,0 +1,88 @@
+package com.comp2042.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLoopTest {
+
+    private static final long MS = 1_000_000L;
+
+    private int ticks;
+    private ManualGameClock clock;
+    private GameLoop loop;
+
+    @BeforeEach
+    void setUp() {
+        ticks = 0;
+        clock = new ManualGameClock();
+        loop = new GameLoop(() -> ticks++, 100, clock);
+        loop.start();
+        loop.advance();
+    }
+
+    private void advanceTo(long nanos) {
+        clock.advance(nanos - clock.nanoTime());
+        loop.advance();
+    }
+
+    @Test
+    @DisplayName("advance should fire one tick per elapsed interval")
+    void advanceShouldFireTickPerInterval() {
+        for (long t = 10; t <= 1010; t += 10) {
+            advanceTo(t * MS);
+        }
+        assertEquals(10, ticks);
+    }
+
+    @Test
+    @DisplayName("short intervals should fire several ticks in one frame")
+    void shortIntervalShouldFireSeveralTicksPerFrame() {
+        loop.setInterval(1);
+        advanceTo(GameLoop.STEP_NANOS);
+        assertTrue(ticks >= 8);
+    }
+
+    @Test
+    @DisplayName("setInterval should keep accumulated gravity time")
+    void setIntervalShouldKeepPhase() {
+        advanceTo(60 * MS);
+        loop.setInterval(80);
+        advanceTo(90 * MS);
+        assertEquals(1, ticks);
+    }
+
+    @Test
+    @DisplayName("stopped loop should not tick")
+    void stoppedLoopShouldNotTick() {
+        loop.stop();
+        advanceTo(1000 * MS);
+        assertEquals(0, ticks);
+        assertFalse(loop.isRunning());
+    }
+
+    @Test
+    @DisplayName("a clock with negative readings should still drive the loop")
+    void negativeClockShouldTick() {
+        long base = Long.MIN_VALUE / 2;
+        GameLoop negative = new GameLoop(() -> ticks++, 100, () -> base + clock.nanoTime());
+        negative.start();
+        negative.advance();
+        for (long t = 10; t <= 1010; t += 10) {
+            clock.advance(10 * MS);
+            negative.advance();
+        }
+        assertEquals(10, ticks);
+    }
+
+    @Test
+    @DisplayName("render callback should receive interpolation factor below one")
+    void renderCallbackShouldReceiveInterpolation() {
+        double[] alpha = {-1};
+        loop.setRenderCallback(a -> alpha[0] = a);
+        advanceTo(GameLoop.STEP_NANOS + GameLoop.STEP_NANOS / 2);
+        assertEquals(0.5, alpha[0], 0.01);
+    }
+}
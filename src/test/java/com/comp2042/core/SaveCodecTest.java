@@ -0,0 +1,121 @@
+package com.comp2042.core;
+
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveCodecTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    private static GameEngine playedEngine() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 5);
+        runner.setStepHook(new BotPlayer());
+        runner.run(30 * SECOND);
+        return runner.getEngine();
+    }
+
+    private static void assertSameState(GameEngine expected, GameEngine actual) {
+        GameSnapshot a = expected.snapshot();
+        GameSnapshot b = actual.snapshot();
+        assertArrayEquals(a.getBoardMatrix(), b.getBoardMatrix());
+        assertEquals(a.getViewData().getBrickType(), b.getViewData().getBrickType());
+        assertArrayEquals(a.getViewData().getBrickData(), b.getViewData().getBrickData());
+        assertEquals(a.getViewData().getxPosition(), b.getViewData().getxPosition());
+        assertEquals(a.getViewData().getyPosition(), b.getViewData().getyPosition());
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getLinesCleared(), b.getLinesCleared());
+        assertEquals(a.getClearCount(), b.getClearCount());
+        assertEquals(a.isGameOver(), b.isGameOver());
+    }
+
+    @Test
+    @DisplayName("a restored game should play on exactly like the original")
+    void restoredGameShouldContinueIdentically() throws IOException {
+        GameEngine original = playedEngine();
+        byte[] save = SaveCodec.encode(original);
+        GameEngine restored = SaveCodec.decode(save, new ManualGameClock());
+
+        assertArrayEquals(save, SaveCodec.encode(restored));
+        assertEquals(original.getSeed(), restored.getSeed());
+        assertEquals(original.getGameMode(), restored.getGameMode());
+        assertSameState(original, restored);
+
+        MoveEvent rotate = new MoveEvent(EventType.ROTATE, EventSource.USER);
+        MoveEvent left = new MoveEvent(EventType.LEFT, EventSource.USER);
+        MoveEvent drop = new MoveEvent(EventType.HARD_DROP, EventSource.USER);
+        for (int i = 0; i < 300 && !original.isFinished(); i++) {
+            for (GameEngine engine : new GameEngine[] {original, restored}) {
+                if (i % 3 == 0) engine.onRotateEvent(rotate);
+                if (i % 5 == 0) engine.onLeftEvent(left);
+                engine.tick();
+                if (i % 7 == 0) engine.onHardDropEvent(drop);
+            }
+            assertSameState(original, restored);
+        }
+    }
+
+    @Test
+    @DisplayName("the practice mark should survive a round trip")
+    void practiceMarkShouldSurviveRoundTrip() throws IOException {
+        GameEngine original = playedEngine();
+        byte[] practice = SaveCodec.encode(original, true);
+        byte[] ranked = SaveCodec.encode(original);
+
+        assertTrue(SaveCodec.isPractice(practice));
+        assertFalse(SaveCodec.isPractice(ranked));
+        GameEngine restored = SaveCodec.decode(practice, new ManualGameClock());
+        assertSameState(original, restored);
+        assertArrayEquals(practice, SaveCodec.encode(restored, true));
+    }
+
+    @Test
+    @DisplayName("a save should take a few hundred bytes at most")
+    void saveShouldBeCompact() {
+        byte[] empty = SaveCodec.encode(new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1));
+        byte[] played = SaveCodec.encode(playedEngine());
+        assertTrue(empty.length < 120, "empty board: " + empty.length + " bytes");
+        assertTrue(played.length < 300, "played board: " + played.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("a corrupt or truncated save should be rejected")
+    void corruptSaveShouldBeRejected() {
+        byte[] save = SaveCodec.encode(playedEngine());
+        byte[] flipped = save.clone();
+        flipped[20] ^= 1;
+        assertThrows(IOException.class, () -> SaveCodec.decode(flipped, new ManualGameClock()));
+        byte[] truncated = Arrays.copyOf(save, 40);
+        assertThrows(IOException.class, () -> SaveCodec.decode(truncated, new ManualGameClock()));
+    }
+
+    @Test
+    @DisplayName("a stored save should be loaded again and deleted")
+    void storeShouldKeepSave() throws Exception {
+        Path file = dir.resolve("savegame.dat");
+        byte[] save = SaveCodec.encode(playedEngine());
+        SaveStore store = new SaveStore(file);
+        assertNull(store.loaded().join());
+        store.save(save).join();
+
+        assertArrayEquals(save, new SaveStore(file).loaded().join());
+        assertFalse(Files.exists(dir.resolve("savegame.dat.tmp")));
+        store.delete().join();
+        assertFalse(Files.exists(file));
+        assertNull(new SaveStore(file).loaded().join());
+    }
+}
@@ -0,0 +1,60 @@
+package com.comp2042.core;
+
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationThreadTest {
+
+    private SimulationThread simulation;
+
+    @AfterEach
+    void tearDown() {
+        if (simulation != null) simulation.shutdown();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached in time");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @DisplayName("finished game should park the simulation until a new game is requested")
+    void finishedGameShouldParkSimulation() throws InterruptedException {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 5);
+        MoveEvent drop = new MoveEvent(EventType.HARD_DROP, EventSource.USER);
+        while (!engine.isFinished()) {
+            engine.onHardDropEvent(drop);
+        }
+
+        simulation = new SimulationThread(engine);
+        simulation.start();
+        await(simulation::isIdle);
+
+        int gameNumber = simulation.requestNewGame();
+        await(() -> simulation.latestSnapshot().getGameNumber() == gameNumber);
+        assertFalse(simulation.latestSnapshot().isGameOver());
+    }
+
+    @Test
+    @DisplayName("paused simulation should be idle")
+    void pausedSimulationShouldBeIdle() throws InterruptedException {
+        simulation = new SimulationThread(new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 5));
+        simulation.start();
+        simulation.setPaused(true);
+        await(simulation::isIdle);
+        simulation.setPaused(false);
+        await(() -> !simulation.isIdle());
+    }
+}
@@ -0,0 +1,95 @@
+package com.comp2042.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private static final long MS = 1_000_000L;
+
+    private ManualGameClock clock;
+    private TimerWheel wheel;
+    private List<Long> fired;
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualGameClock();
+        wheel = new TimerWheel(clock, 10 * MS, 8);
+        fired = new ArrayList<>();
+    }
+
+    private void schedule(long delayMs) {
+        wheel.schedule(() -> fired.add(delayMs), delayMs * MS);
+    }
+
+    private void advanceTo(long ms) {
+        clock.advance(ms * MS - clock.nanoTime());
+        wheel.advance();
+    }
+
+    @Test
+    @DisplayName("timeouts should fire by the end of their tick and never early")
+    void timeoutsShouldFireAtTheirTick() {
+        schedule(25);
+        schedule(5);
+        advanceTo(9);
+        assertTrue(fired.isEmpty());
+        advanceTo(10);
+        assertEquals(List.of(5L), fired);
+        advanceTo(29);
+        assertEquals(List.of(5L), fired);
+        advanceTo(30);
+        assertEquals(List.of(5L, 25L), fired);
+        assertTrue(wheel.getMaxLagNanos() < 10 * MS);
+    }
+
+    @Test
+    @DisplayName("timeouts beyond one turn of the wheel should wait for their round")
+    void timeoutsShouldWaitForTheirRound() {
+        // 8 buckets of 10 ms: 85 and 165 ms share a bucket with 5 ms
+        schedule(165);
+        schedule(85);
+        schedule(5);
+        advanceTo(80);
+        assertEquals(List.of(5L), fired);
+        advanceTo(90);
+        assertEquals(List.of(5L, 85L), fired);
+        advanceTo(160);
+        assertEquals(2, fired.size());
+        advanceTo(170);
+        assertEquals(List.of(5L, 85L, 165L), fired);
+        assertEquals(3, wheel.getExpiredCount());
+    }
+
+    @Test
+    @DisplayName("cancelled timeouts should never fire")
+    void cancelledTimeoutsShouldNotFire() {
+        TimerWheel.Timeout first = wheel.schedule(() -> fired.add(1L), 15 * MS);
+        wheel.schedule(() -> fired.add(2L), 15 * MS);
+        advanceTo(10);
+        first.cancel();
+        advanceTo(20);
+        assertTrue(first.isCancelled());
+        assertEquals(List.of(2L), fired);
+    }
+
+    @Test
+    @DisplayName("timeouts scheduled by a firing task should run after their own delay")
+    void rescheduledTimeoutsShouldFire() {
+        wheel.schedule(() -> {
+            fired.add(1L);
+            wheel.schedule(() -> fired.add(2L), 10 * MS);
+        }, 0);
+        // The first task fires late, at 30 ms, so the second is due at 40 ms
+        advanceTo(30);
+        assertEquals(List.of(1L), fired);
+        advanceTo(50);
+        assertEquals(List.of(1L, 2L), fired);
+    }
+}
@@ -0,0 +1,51 @@
+package com.comp2042.input;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRingBufferTest {
+
+    @Test
+    @DisplayName("poll should return codes in the order they were offered")
+    void pollShouldPreserveOrder() {
+        InputRingBuffer queue = new InputRingBuffer(8);
+        queue.offer(3);
+        queue.offer(5);
+        assertEquals(3, queue.poll());
+        assertEquals(5, queue.poll());
+        assertEquals(InputRingBuffer.EMPTY, queue.poll());
+    }
+
+    @Test
+    @DisplayName("offer should fail when the queue is full")
+    void offerShouldFailWhenFull() {
+        InputRingBuffer queue = new InputRingBuffer(4);
+        for (int i = 0; i < queue.capacity(); i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(99));
+        assertEquals(0, queue.poll());
+        assertTrue(queue.offer(99));
+    }
+
+    @Test
+    @DisplayName("codes should cross threads without loss")
+    void codesShouldCrossThreads() throws InterruptedException {
+        InputRingBuffer queue = new InputRingBuffer(16);
+        int count = 10_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!queue.offer(i)) Thread.yield();
+            }
+        });
+        producer.start();
+        for (int expected = 0; expected < count; expected++) {
+            int code;
+            while ((code = queue.poll()) == InputRingBuffer.EMPTY) Thread.yield();
+            assertEquals(expected, code);
+        }
+        producer.join();
+    }
+}
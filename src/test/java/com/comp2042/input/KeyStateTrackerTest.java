@@ -0,0 +1,133 @@
+package com.comp2042.input;
+
+import com.comp2042.event.DownData;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.InputEventListener;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.view.ViewData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyStateTrackerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private CountingListener listener;
+    private KeyStateTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        listener = new CountingListener();
+        tracker = new KeyStateTracker(new InputConfig(100, 20, 10));
+        tracker.setGravityNanos(400 * MS);
+    }
+
+    private void runFor(long nanos) {
+        for (long t = 0; t < nanos; t += MS) {
+            tracker.update(MS, listener);
+        }
+    }
+
+    @Test
+    @DisplayName("press should move once immediately")
+    void pressShouldMoveOnce() {
+        tracker.onInput(InputAction.LEFT.encode(true), listener);
+        assertEquals(1, listener.left);
+    }
+
+    @Test
+    @DisplayName("repeated presses while held should be ignored")
+    void repeatedPressShouldBeIgnored() {
+        tracker.onInput(InputAction.LEFT.encode(true), listener);
+        tracker.onInput(InputAction.LEFT.encode(true), listener);
+        tracker.onInput(InputAction.LEFT.encode(true), listener);
+        assertEquals(1, listener.left);
+    }
+
+    @Test
+    @DisplayName("held direction should wait for DAS then repeat at ARR")
+    void heldDirectionShouldAutoShift() {
+        tracker.onInput(InputAction.RIGHT.encode(true), listener);
+        runFor(99 * MS);
+        assertEquals(1, listener.right);
+        runFor(1 * MS);
+        assertEquals(2, listener.right);
+        runFor(60 * MS);
+        assertEquals(5, listener.right);
+    }
+
+    @Test
+    @DisplayName("release should stop auto shift")
+    void releaseShouldStopAutoShift() {
+        tracker.onInput(InputAction.LEFT.encode(true), listener);
+        tracker.onInput(InputAction.LEFT.encode(false), listener);
+        runFor(500 * MS);
+        assertEquals(1, listener.left);
+        assertFalse(tracker.isHeld(InputAction.LEFT));
+    }
+
+    @Test
+    @DisplayName("soft drop should fall at gravity times the soft drop factor")
+    void softDropShouldUseFactor() {
+        tracker.onInput(InputAction.SOFT_DROP.encode(true), listener);
+        runFor(400 * MS);
+        assertEquals(11, listener.down);
+    }
+
+    @Test
+    @DisplayName("moves repeated by a held key should not count as presses")
+    void repeatsShouldNotCountAsPresses() {
+        tracker.onInput(InputAction.RIGHT.encode(true), listener);
+        tracker.onInput(InputAction.SOFT_DROP.encode(true), listener);
+        runFor(400 * MS);
+        assertTrue(listener.right > 10);
+        assertTrue(listener.down > 10);
+        assertEquals(2, listener.presses);
+    }
+
+    private static final class CountingListener implements InputEventListener {
+        int left, right, down, presses;
+
+        private void count(MoveEvent event) {
+            if (event.getEventSource() == EventSource.USER) presses++;
+        }
+
+        @Override
+        public DownData onDownEvent(MoveEvent event) {
+            count(event);
+            down++;
+            return null;
+        }
+
+        @Override
+        public ViewData onLeftEvent(MoveEvent event) {
+            count(event);
+            left++;
+            return null;
+        }
+
+        @Override
+        public ViewData onRightEvent(MoveEvent event) {
+            count(event);
+            right++;
+            return null;
+        }
+
+        @Override
+        public ViewData onRotateEvent(MoveEvent event) {
+            return null;
+        }
+
+        @Override
+        public DownData onHardDropEvent(MoveEvent event) {
+            return null;
+        }
+
+        @Override
+        public void createNewGame() {
+        }
+    }
+}
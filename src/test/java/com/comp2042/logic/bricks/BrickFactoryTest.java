@@ -51,4 +51,24 @@ class BrickFactoryTest {
         BrickFactory.BrickType[] types = BrickFactory.getAllTypes();
         assertEquals(7, types.length);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("created bricks should report their type")
+    void createdBricksShouldReportType() {
+        for (BrickFactory.BrickType type : BrickFactory.getAllTypes()) {
+            assertEquals(type, BrickFactory.createBrick(type).getType());
+        }
+    }
+
+    @Test
+    @DisplayName("preview bricks should match the order bricks are dealt")
+    void previewBricksShouldMatchDealOrder() {
+        RandomBrickGenerator generator = new RandomBrickGenerator(1);
+        generator.getBrick();
+        Brick[] preview = generator.getPreviewBricks();
+        assertEquals(RandomBrickGenerator.MAX_PREVIEW_COUNT, preview.length);
+        for (Brick expected : preview) {
+            assertEquals(expected.getType(), generator.getBrick().getType());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.comp2042.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("highscore.dat");
+        leaderboard = new Leaderboard(dir.resolve("leaderboard.dat"), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboard.close();
+    }
+
+    private ScoreService loadedService() {
+        return new ScoreService(file, leaderboard).loaded().join();
+    }
+
+    @Test
+    @DisplayName("a new record should be saved and loaded again")
+    void recordShouldSurviveReload() throws Exception {
+        ScoreService service = loadedService();
+        HighScore highScore = new HighScore(service, Runnable::run);
+        assertTrue(highScore.checkAndUpdate(1200));
+        assertTrue(service.getWriter().flushAndWait(5000));
+        assertEquals(1200, loadedService().getHighScore());
+        assertFalse(Files.exists(dir.resolve("highscore.dat.tmp")));
+    }
+
+    @Test
+    @DisplayName("a burst of records should be coalesced into few writes")
+    void recordsShouldBeCoalesced() throws Exception {
+        ScoreService service = loadedService();
+        HighScore highScore = new HighScore(service, Runnable::run);
+        for (int score = 1; score <= 1000; score++) {
+            highScore.checkAndUpdate(score);
+        }
+        assertTrue(service.getWriter().flushAndWait(5000));
+        assertTrue(service.getWriter().getWriteCount() < 10, "writes: " + service.getWriter().getWriteCount());
+        assertEquals(1000, HighScoreWriter.read(file));
+    }
+
+    @Test
+    @DisplayName("a corrupt file should be rejected")
+    void corruptFileShouldBeRejected() throws Exception {
+        HighScoreWriter writer = new HighScoreWriter(file, 0);
+        writer.submit(500);
+        assertTrue(writer.flushAndWait(5000));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[11] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> HighScoreWriter.read(file));
+        assertEquals(0, loadedService().getHighScore());
+    }
+
+    @Test
+    @DisplayName("a failed write should not count as written and should be retried")
+    void failedWriteShouldBeRetried() throws Exception {
+        // A non-empty directory in place of the file makes the replacing move fail
+        Files.createDirectories(file.resolve("blocker"));
+        HighScoreWriter writer = new HighScoreWriter(file, 0);
+        writer.submit(700);
+        assertFalse(writer.flushAndWait(200));
+        assertEquals(0, writer.getWriteCount());
+
+        Files.delete(file.resolve("blocker"));
+        Files.delete(file);
+        assertTrue(writer.flushAndWait(5000));
+        assertEquals(1, writer.getWriteCount());
+        assertEquals(700, HighScoreWriter.read(file));
+    }
+
+    @Test
+    @DisplayName("a record set while a higher stored score is loading should not overwrite it")
+    void recordDuringLoadShouldNotOverwriteStoredScore() throws Exception {
+        HighScoreWriter stored = new HighScoreWriter(file, 0);
+        stored.submit(5000);
+        assertTrue(stored.flushAndWait(5000));
+
+        CountDownLatch slowLoad = new CountDownLatch(1);
+        ScoreService service = new ScoreService(file, leaderboard, () -> {
+            slowLoad.await();
+            return HighScoreWriter.read(file);
+        });
+        assertTrue(service.submitScore(300));
+        slowLoad.countDown();
+        service.loaded().join();
+
+        assertEquals(5000, service.getHighScore());
+        assertTrue(service.getWriter().flushAndWait(5000));
+        assertEquals(5000, HighScoreWriter.read(file));
+        assertTrue(service.submitScore(6000));
+        assertTrue(service.getWriter().flushAndWait(5000));
+        assertEquals(6000, HighScoreWriter.read(file));
+    }
+
+    @Test
+    @DisplayName("a file in the old single-int format should still load")
+    void legacyFileShouldLoad() throws Exception {
+        Files.write(file, ByteBuffer.allocate(4).putInt(321).array());
+        assertEquals(321, loadedService().getHighScore());
+    }
+
+    @Test
+    @DisplayName("every view of the service should see a new record")
+    void recordShouldBePublishedToAllViews() throws Exception {
+        ScoreService service = loadedService();
+        HighScore first = new HighScore(service, Runnable::run);
+        HighScore second = new HighScore(service, Runnable::run);
+        List<Integer> published = new ArrayList<>();
+        IntConsumer listener = published::add;
+        service.addListener(listener, Runnable::run);
+
+        first.checkAndUpdate(900);
+        assertEquals(900, second.getHighScore());
+        assertEquals(List.of(900), published);
+        assertFalse(second.checkAndUpdate(800));
+        assertTrue(service.getWriter().flushAndWait(5000));
+    }
+
+    @Test
+    @DisplayName("a removed listener should no longer be notified")
+    void removedListenerShouldNotBeNotified() throws Exception {
+        ScoreService service = loadedService();
+        HighScore view = new HighScore(service, Runnable::run);
+        view.dispose();
+        service.submitScore(50);
+        assertEquals(0, view.getHighScore());
+        assertEquals(50, service.getHighScore());
+        assertTrue(service.getWriter().flushAndWait(5000));
+    }
+}
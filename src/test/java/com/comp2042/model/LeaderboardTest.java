@@ -0,0 +1,127 @@
+package com.comp2042.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("leaderboard.dat");
+        leaderboard = new Leaderboard(file, 10);
+        leaderboard.loaded().join();
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderboard.close();
+    }
+
+    private static LeaderboardEntry classic(int score) {
+        return new LeaderboardEntry(GameMode.CLASSIC, score, score / 100, 60_000_000_000L, 1000L + score, 7L);
+    }
+
+    private static LeaderboardEntry sprint(long seconds) {
+        return new LeaderboardEntry(GameMode.SPRINT, 300, 3, seconds * 1_000_000_000L, 2000L, 9L);
+    }
+
+    @Test
+    @DisplayName("entries should be kept best first and per mode")
+    void entriesShouldBeRankedPerMode() {
+        leaderboard.record(classic(300));
+        leaderboard.record(classic(900));
+        leaderboard.record(classic(500));
+        leaderboard.record(sprint(50));
+        leaderboard.record(sprint(40));
+        leaderboard.flush().join();
+
+        List<LeaderboardEntry> top = leaderboard.top(GameMode.CLASSIC, 5);
+        assertEquals(List.of(900, 500, 300), top.stream().map(LeaderboardEntry::getScore).toList());
+        assertEquals(40_000_000_000L, leaderboard.best(GameMode.SPRINT).getPlayNanos());
+        assertEquals(2, leaderboard.size(GameMode.SPRINT));
+    }
+
+    @Test
+    @DisplayName("rank should count strictly better entries")
+    void rankShouldCountBetterEntries() {
+        for (int score = 100; score <= 1000; score += 100) {
+            leaderboard.record(classic(score));
+        }
+        leaderboard.flush().join();
+        assertEquals(1, leaderboard.rankOf(GameMode.CLASSIC, 5000));
+        assertEquals(1, leaderboard.rankOf(GameMode.CLASSIC, 1000));
+        assertEquals(3, leaderboard.rankOf(GameMode.CLASSIC, 850));
+        assertEquals(11, leaderboard.rankOf(GameMode.CLASSIC, 50));
+    }
+
+    @Test
+    @DisplayName("entries should survive reopening the log")
+    void entriesShouldSurviveReopen() {
+        leaderboard.record(classic(700));
+        leaderboard.record(sprint(30));
+        leaderboard.close();
+
+        leaderboard = new Leaderboard(file, 10);
+        leaderboard.loaded().join();
+        assertEquals(700, leaderboard.best(GameMode.CLASSIC).getScore());
+        assertEquals(30_000_000_000L, leaderboard.best(GameMode.SPRINT).getPlayNanos());
+        assertEquals(7L, leaderboard.best(GameMode.CLASSIC).getReplayId());
+    }
+
+    @Test
+    @DisplayName("entries pushed out of the top should be compacted away")
+    void deadEntriesShouldBeCompacted() throws Exception {
+        for (int score = 1; score <= 200_000; score++) {
+            leaderboard.record(classic(score));
+        }
+        leaderboard.flush().join();
+        assertTrue(leaderboard.getCompactionCount() > 0);
+        assertTrue(leaderboard.getLogRecordCount() < 2_000, "records: " + leaderboard.getLogRecordCount());
+        assertEquals(200_000, leaderboard.best(GameMode.CLASSIC).getScore());
+        assertEquals(10, leaderboard.size(GameMode.CLASSIC));
+        leaderboard.close();
+        // Compaction moved the log to a new generation and deleted the mapped old ones
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("leaderboard.dat." + leaderboard.getCompactionCount()),
+                    files.map(path -> path.getFileName().toString()).filter(name -> name.startsWith("leaderboard")).toList());
+        }
+
+        leaderboard = new Leaderboard(file, 10);
+        leaderboard.loaded().join();
+        assertEquals(199_991, leaderboard.top(GameMode.CLASSIC, 10).get(9).getScore());
+    }
+
+    @Test
+    @DisplayName("a torn record should end the log without losing earlier entries")
+    void tornRecordShouldBeIgnored() throws Exception {
+        leaderboard.record(classic(400));
+        leaderboard.flush().join();
+        leaderboard.record(classic(800));
+        leaderboard.close();
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[16 + 40 + 6] ^= 1;
+        Files.write(file, bytes);
+
+        leaderboard = new Leaderboard(file, 10);
+        leaderboard.loaded().join();
+        assertEquals(1, leaderboard.size(GameMode.CLASSIC));
+        assertEquals(400, leaderboard.best(GameMode.CLASSIC).getScore());
+    }
+}
@@ -0,0 +1,133 @@
+package com.comp2042.model;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.HeadlessRunner;
+import com.comp2042.core.ManualGameClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Monday 2024-01-01 at noon UTC
+    private static final long MONDAY = LocalDate.of(2024, 1, 1).toEpochDay() * DAY_MILLIS + DAY_MILLIS / 2;
+
+    @TempDir
+    Path dir;
+
+    private static GameStats stats(GameMode mode, long dateMillis, int pieces, int inputs, int singles) {
+        int[] levelMillis = new int[GameStats.LEVEL_SLOTS];
+        levelMillis[0] = 10_000;
+        return new GameStats(mode, mode == GameMode.CLASSIC, mode == GameMode.SPRINT, false, dateMillis, 7,
+                10 * SECOND, 10 * SECOND, 100, singles, 1, pieces, inputs, new int[] {singles, 0, 0, 0},
+                12, levelMillis);
+    }
+
+    @Test
+    @DisplayName("the engine should report the statistics of a finished sprint")
+    void engineShouldReportSprintStats() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.SPRINT, 3);
+        List<GameStats> reported = new ArrayList<>();
+        runner.getEngine().setStatsListener(reported::add);
+        runner.setStepHook(new BotPlayer());
+        runner.run(120 * SECOND);
+
+        assertEquals(1, reported.size());
+        GameStats game = reported.get(0);
+        assertTrue(game.isGameWon());
+        assertTrue(game.getPieces() > 0 && game.getInputs() > 0);
+        int clearedLines = 0;
+        for (int lines = 1; lines <= GameStats.MAX_CLEAR; lines++) clearedLines += lines * game.getClears(lines);
+        assertEquals(game.getLines(), clearedLines);
+        assertEquals(game.getPlayNanos(), game.getTrackedNanos());
+        assertEquals(game.getPlayNanos() / 1_000_000, game.getLevelMillis(1));
+        assertTrue(game.getPiecesPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("a game left to gravity should top out with no inputs counted")
+    void idleGameShouldTopOut() {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1);
+        List<GameStats> reported = new ArrayList<>();
+        engine.setStatsListener(reported::add);
+        while (!engine.isFinished()) engine.tick();
+
+        GameStats game = reported.get(0);
+        assertTrue(game.isGameOver());
+        assertEquals(0, game.getInputs());
+        assertTrue(game.getDeathHeight() > 0);
+        assertEquals(engine.getStatsCollector().getPieces(), game.getPieces());
+    }
+
+    @Test
+    @DisplayName("games should be aggregated per mode and week")
+    void gamesShouldBeSummarizedPerModeAndWeek() throws Exception {
+        StatsStore store = new StatsStore(dir.resolve("stats.dat"));
+        store.append(stats(GameMode.CLASSIC, MONDAY, 20, 60, 2));
+        store.append(stats(GameMode.CLASSIC, MONDAY + 6 * DAY_MILLIS, 30, 60, 4));
+        store.append(stats(GameMode.CLASSIC, MONDAY + 7 * DAY_MILLIS, 10, 10, 1));
+        store.append(stats(GameMode.SPRINT, MONDAY, 15, 45, 3));
+        store.flush().join();
+
+        Map<StatsStore.ModeWeek, StatsSummary> weeks = store.summarizeByModeAndWeek(ZoneOffset.UTC);
+        assertEquals(3, weeks.size());
+        StatsSummary first = weeks.get(new StatsStore.ModeWeek(GameMode.CLASSIC, LocalDate.of(2024, 1, 1)));
+        assertEquals(2, first.getGames());
+        assertEquals(2.5, first.getPiecesPerSecond(), 1e-9);
+        assertEquals(2.4, first.getInputsPerPiece(), 1e-9);
+        assertEquals(6, first.getClears(1));
+        assertEquals(12, first.getAverageDeathHeight(), 1e-9);
+        assertEquals(10_000, first.getAverageLevelMillis(1), 1e-9);
+        assertEquals(1, weeks.get(new StatsStore.ModeWeek(GameMode.CLASSIC, LocalDate.of(2024, 1, 8))).getGames());
+        assertEquals(0, weeks.get(new StatsStore.ModeWeek(GameMode.SPRINT, LocalDate.of(2024, 1, 1)))
+                .getAverageDeathHeight());
+        store.close();
+    }
+
+    @Test
+    @DisplayName("a scan should stream across mapping windows and skip damaged records")
+    void scanShouldStreamWindowsAndSkipDamage() throws Exception {
+        Path file = dir.resolve("stats.dat");
+        StatsStore store = new StatsStore(file, 3 * StatsRecord.RECORD_BYTES);
+        for (int i = 0; i < 10; i++) {
+            store.append(stats(GameMode.CLASSIC, MONDAY + i, i + 1, 0, 0));
+        }
+        store.close();
+
+        // Corrupt the fifth record and tear off the end of the last one
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[16 + 4 * StatsRecord.RECORD_BYTES + 40] ^= 1;
+        Files.write(file, bytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(bytes.length - 10);
+        }
+
+        List<Integer> pieces = new ArrayList<>();
+        StatsStore reader = new StatsStore(file, 3 * StatsRecord.RECORD_BYTES);
+        assertEquals(8, reader.scan(record -> pieces.add(record.getPieces())));
+        assertEquals(List.of(1, 2, 3, 4, 6, 7, 8, 9), pieces);
+
+        // The torn record is cut off before the next append
+        reader.append(stats(GameMode.CLASSIC, MONDAY, 11, 0, 0));
+        reader.close();
+        pieces.clear();
+        reader = new StatsStore(file);
+        reader.scan(record -> pieces.add(record.toStats().getPieces()));
+        assertEquals(List.of(1, 2, 3, 4, 6, 7, 8, 9, 11), pieces);
+    }
+}
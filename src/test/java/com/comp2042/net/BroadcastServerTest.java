@@ -0,0 +1,199 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameLoop;
+import com.comp2042.core.ManualGameClock;
+import com.comp2042.core.SpectatorFeed;
+import com.comp2042.core.SystemGameClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastServerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final byte[] WATCH = {0, 1, BroadcastServer.WATCH};
+
+    /**
+     * An in-process viewer that decodes everything written to it on the viewer's thread.
+     * Failures there are recorded and asserted on the test thread.
+     */
+    private static class Sink extends OutputStream {
+
+        private final ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+        private final SyncDecoder[] decoders = {new SyncDecoder(25, 10), new SyncDecoder(25, 10)};
+        private final CountDownLatch gate;
+        private long received;
+        private String failure;
+
+        Sink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            synchronized (this) {
+                received += len;
+                pending.put(b, off, len).flip();
+                while (pending.remaining() >= 2 && pending.remaining() >= 2 + (pending.getShort(pending.position()) & 0xFFFF)) {
+                    int end = pending.position() + 2 + (pending.getShort() & 0xFFFF);
+                    try {
+                        byte type = pending.get();
+                        if (type != BroadcastServer.TICK) throw new IllegalStateException("unexpected frame type " + type);
+                        int board = pending.get();
+                        pending.getShort();
+                        if (decoders[board].read(pending) == SyncDecoder.Result.RESYNC) {
+                            throw new IllegalStateException("board " + board + " lost sync");
+                        }
+                    } catch (RuntimeException e) {
+                        if (failure == null) failure = e.toString();
+                    }
+                    pending.position(end);
+                }
+                pending.compact();
+            }
+        }
+
+        synchronized boolean mirrors(SpectatorFeed feed) {
+            assertNull(failure);
+            for (int i = 0; i < decoders.length; i++) {
+                if (!decoders[i].isSynced()
+                        || !Arrays.deepEquals(decoders[i].getState().getBoard(), feed.latest(i).getBoardMatrix())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized long received() {
+            return received;
+        }
+    }
+
+    private static boolean allMirror(Sink[] sinks, SpectatorFeed feed) throws InterruptedException {
+        long deadline = System.nanoTime() + 5 * SECOND;
+        while (System.nanoTime() < deadline) {
+            if (Arrays.stream(sinks).allMatch(sink -> sink.mirrors(feed))) return true;
+            Thread.sleep(10);
+        }
+        return false;
+    }
+
+    private static SpectatorFeed runFeed(BroadcastServer server, ManualGameClock clock, int steps) {
+        SpectatorFeed feed = new SpectatorFeed(2, 3, clock, 1);
+        feed.setStepListener(server::publish);
+        for (int i = 0; i < steps; i++) {
+            clock.advance(GameLoop.STEP_NANOS);
+            feed.step();
+        }
+        return feed;
+    }
+
+    @Test
+    @DisplayName("every viewer should receive the same bytes, encoded once, and mirror the boards")
+    void viewersShouldShareEncodedPackets() throws Exception {
+        BroadcastServer server = new BroadcastServer(null);
+        CountDownLatch open = new CountDownLatch(0);
+        Sink[] sinks = new Sink[50];
+        for (int i = 0; i < sinks.length; i++) {
+            sinks[i] = new Sink(open);
+            server.open(new ByteArrayInputStream(WATCH), sinks[i], () -> { });
+        }
+        SpectatorFeed feed = runFeed(server, new ManualGameClock(), 120 * 20);
+        try {
+            assertTrue(allMirror(sinks, feed));
+            assertEquals(sinks.length, server.getViewerCount());
+            assertEquals(0, server.getSkips());
+            assertTrue(server.getKeyframes() >= 10);
+            for (Sink sink : sinks) assertEquals(sinks[0].received(), sink.received());
+            assertEquals(sinks.length * sinks[0].received(), server.getBytesSent());
+        } finally {
+            server.shutdown();
+        }
+        assertEquals(0, server.getViewerCount());
+    }
+
+    @Test
+    @DisplayName("a stalled viewer should not hold up the game and should skip ahead to a keyframe")
+    void slowViewerShouldSkipToKeyframe() throws Exception {
+        BroadcastServer server = new BroadcastServer(null);
+        CountDownLatch stalled = new CountDownLatch(1);
+        Sink slow = new Sink(stalled);
+        Sink fast = new Sink(new CountDownLatch(0));
+        server.open(new ByteArrayInputStream(WATCH), slow, () -> { });
+        server.open(new ByteArrayInputStream(WATCH), fast, () -> { });
+
+        SpectatorFeed feed = runFeed(server, new ManualGameClock(), 3 * BroadcastServer.RING_SIZE);
+        try {
+            assertTrue(server.getPackets() > BroadcastServer.RING_SIZE);
+            stalled.countDown();
+            assertTrue(allMirror(new Sink[] {slow, fast}, feed));
+            assertTrue(server.getSkips() >= 1);
+            assertTrue(slow.received() < fast.received());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("an HTTP client should get the broadcast as Server-Sent Events")
+    void httpClientShouldReceiveEvents() throws Exception {
+        BroadcastServer server = new BroadcastServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        SpectatorFeed feed = new SpectatorFeed(2, 3, new SystemGameClock(), 1);
+        feed.setStepListener(server::publish);
+        feed.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write("GET /match HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            assertEquals("HTTP/1.1 200 OK", in.readLine());
+            assertEquals("Content-Type: text/event-stream", in.readLine());
+
+            String line;
+            do {
+                line = in.readLine();
+                assertNotNull(line, "stream ended before the first event");
+            } while (!line.startsWith("data: "));
+            // A new viewer starts at a keyframe, which holds full frames of both boards
+            ByteBuffer packet = ByteBuffer.wrap(Base64.getDecoder().decode(line.substring("data: ".length())));
+            for (int board = 0; board < 2; board++) {
+                packet.getShort();
+                assertEquals(BroadcastServer.TICK, packet.get());
+                assertEquals(board, packet.get());
+                packet.getShort();
+                assertEquals(SyncProtocol.SYNC_FULL, packet.get());
+                packet.position(packet.position() - 1);
+                SyncDecoder decoder = new SyncDecoder(25, 10);
+                assertEquals(SyncDecoder.Result.APPLIED, decoder.read(packet));
+            }
+        } finally {
+            feed.shutdown();
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.comp2042.net;
+
+import com.comp2042.input.InputAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeagueServerTest {
+
+    private static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        byte[] body = new byte[in.readUnsignedShort()];
+        in.readFully(body);
+        return ByteBuffer.wrap(body);
+    }
+
+    @Test
+    @DisplayName("a session should apply input and let gravity move the brick")
+    void sessionShouldApplyInputAndGravity() throws Exception {
+        LeagueServer server = new LeagueServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+        server.start();
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            ByteBuffer start = readFrame(in);
+            assertEquals(VersusProtocol.MATCH_START, start.get());
+            assertEquals(0, start.get());
+            start.getLong();
+            SyncDecoder decoder = new SyncDecoder(start.get(), start.get());
+
+            // Hard drop: press and release
+            ByteBuffer input = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + 4);
+            int frameStart = VersusProtocol.beginFrame(input, VersusProtocol.INPUT);
+            input.put((byte) 2)
+                    .put((byte) InputAction.HARD_DROP.encode(true))
+                    .put((byte) InputAction.HARD_DROP.encode(false));
+            VersusProtocol.endFrame(input, frameStart);
+            socket.getOutputStream().write(input.array(), 0, input.position());
+
+            int firstY = -1;
+            boolean dropped = false;
+            boolean fell = false;
+            while (!dropped || !fell) {
+                ByteBuffer frame = readFrame(in);
+                assertEquals(VersusProtocol.BOARD, frame.get());
+                assertEquals(0, frame.get());
+                int applied = frame.getInt();
+                if (frame.hasRemaining()) {
+                    frame.getShort();
+                    assertEquals(SyncDecoder.Result.APPLIED, decoder.read(frame));
+                }
+                int y = SyncProtocol.pieceY(decoder.getState().getPiece());
+                if (applied == 2 && !dropped) {
+                    dropped = true;
+                    firstY = y;
+                } else if (dropped && y > firstY) {
+                    fell = true;
+                }
+            }
+            assertEquals(1, server.getSessionCount());
+            assertTrue(server.getGravityTicks() > 0);
+
+            // A resync request is answered with the whole state
+            ByteBuffer resync = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + 3);
+            decoder.writeResync(resync);
+            socket.getOutputStream().write(resync.array(), 0, resync.position());
+            byte syncType;
+            do {
+                ByteBuffer frame = readFrame(in);
+                // Type, player and applied inputs come before the sync frame's length prefix
+                int syncStart = 1 + 1 + 4 + VersusProtocol.LENGTH_BYTES;
+                boolean hasSync = frame.get(0) == VersusProtocol.BOARD && frame.limit() > syncStart;
+                syncType = hasSync ? frame.get(syncStart) : 0;
+            } while (syncType != SyncProtocol.SYNC_FULL);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("sessions opened on in-process streams should be closed on shutdown")
+    void sessionsShouldCloseOnShutdown() throws Exception {
+        LeagueServer server = new LeagueServer(null, 1);
+        server.start();
+        PipedOutputStream client = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(client);
+        server.open(input, OutputStream.nullOutputStream(), input);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (server.getWrites() == 0 && System.nanoTime() < deadline) Thread.sleep(10);
+        assertEquals(1, server.getSessionCount());
+        assertEquals(-1, server.getPort());
+        server.shutdown();
+        assertEquals(0, server.getSessionCount());
+    }
+}
@@ -0,0 +1,139 @@
+package com.comp2042.net;
+
+import com.comp2042.core.GameLoop;
+import com.comp2042.core.SaveCodec;
+import com.comp2042.input.InputAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollbackSessionTest {
+
+    private static final long MILLIS = 1_000_000L;
+    private static final byte HARD_DROP = (byte) (1 << InputAction.HARD_DROP.ordinal());
+
+    /** Sends a session's inputs over the link. */
+    private static void send(RollbackSession session, LoopbackLink link, long now, ByteBuffer out) {
+        out.clear();
+        session.writeInputs(out);
+        link.send(1 - session.getLocalPlayer(), now, out.flip());
+    }
+
+    /** Reads every frame that has arrived for a session. */
+    private static void receive(RollbackSession session, LoopbackLink link, long now) {
+        ByteBuffer frame;
+        while ((frame = link.poll(session.getLocalPlayer(), now)) != null) {
+            session.readInputs(frame.position(VersusProtocol.LENGTH_BYTES));
+        }
+    }
+
+    /** Replays both players' inputs in a session that never has to predict. */
+    private static RollbackSession replay(long seed, byte[] first, byte[] second, int ticks) {
+        RollbackSession session = new RollbackSession(0, seed);
+        for (int t = 0; t < ticks; t++) {
+            session.addRemoteInput(t, second[t]);
+            assertTrue(session.advance(first[t]));
+        }
+        assertEquals(0, session.getRollbacks());
+        return session;
+    }
+
+    @Test
+    @DisplayName("peers on a laggy, jittery link should roll back and end up in the same state as a replay")
+    void peersShouldConvergeOverJitteryLink() {
+        long seed = 11;
+        int delay = 2;
+        LoopbackLink link = new LoopbackLink(40 * MILLIS, 30 * MILLIS, 0.05, seed);
+        RollbackSession[] peers = {new RollbackSession(0, seed, delay, 24), new RollbackSession(1, seed, delay, 24)};
+        RollbackBot[] bots = {new RollbackBot(1, 0.02), new RollbackBot(2, 0.02)};
+        ByteBuffer out = ByteBuffer.allocate(peers[0].maxFrameBytes());
+        byte[][] inputs = new byte[2][120 * 90];
+        int[] recorded = new int[2];
+
+        long now = 0;
+        for (int step = 0; step < 120 * 60; step++) {
+            now += GameLoop.STEP_NANOS;
+            for (int p = 0; p < 2; p++) {
+                receive(peers[p], link, now);
+                bots[p].step(peers[p]);
+                send(peers[p], link, now, out);
+                // Record each player's inputs as the opponent confirms them
+                RollbackSession opponent = peers[1 - p];
+                for (; recorded[p] < opponent.getConfirmedTick(); recorded[p]++) {
+                    inputs[p][recorded[p]] = (byte) opponent.getInput(p, recorded[p]);
+                }
+            }
+        }
+        // Bring both peers to the same tick with empty inputs, then let every input arrive
+        int end = Math.max(peers[0].getTick(), peers[1].getTick());
+        while (peers[0].getConfirmedTick() < end + delay || peers[1].getConfirmedTick() < end + delay
+                || peers[0].getTick() < end || peers[1].getTick() < end) {
+            now += GameLoop.STEP_NANOS;
+            for (int p = 0; p < 2; p++) {
+                receive(peers[p], link, now);
+                if (peers[p].getTick() < end) peers[p].advance(0);
+                send(peers[p], link, now, out);
+                RollbackSession opponent = peers[1 - p];
+                for (; recorded[p] < opponent.getConfirmedTick(); recorded[p]++) {
+                    inputs[p][recorded[p]] = (byte) opponent.getInput(p, recorded[p]);
+                }
+            }
+        }
+
+        for (RollbackSession peer : peers) {
+            peer.rollback();
+            long[] histogram = peer.getRollbackHistogram();
+            assertTrue(peer.getRollbacks() > 0);
+            assertEquals(peer.getRollbacks(), Arrays.stream(histogram).sum());
+            assertEquals(0, histogram[0]);
+        }
+        assertTrue(peers[0].getEngine(0).snapshot().getLinesCleared() > 0);
+        RollbackSession expected = replay(seed, inputs[0], inputs[1], end);
+        for (int p = 0; p < 2; p++) {
+            byte[] state = SaveCodec.encode(expected.getEngine(p));
+            assertArrayEquals(state, SaveCodec.encode(peers[0].getEngine(p)));
+            assertArrayEquals(state, SaveCodec.encode(peers[1].getEngine(p)));
+        }
+    }
+
+    @Test
+    @DisplayName("a late input that contradicts the prediction should be simulated again from its tick")
+    void lateInputShouldRollBack() {
+        long seed = 3;
+        byte[] first = new byte[40];
+        byte[] second = new byte[40];
+        second[4] = HARD_DROP;
+        RollbackSession session = new RollbackSession(0, seed);
+        for (int t = 0; t < 10; t++) assertTrue(session.advance(first[t]));
+        for (int t = 0; t < 10; t++) session.addRemoteInput(t, second[t]);
+        assertEquals(10, session.getConfirmedTick());
+        for (int t = 10; t < 40; t++) {
+            session.addRemoteInput(t, second[t]);
+            assertTrue(session.advance(first[t]));
+        }
+
+        assertEquals(1, session.getRollbacks());
+        assertEquals(1, session.getRollbackHistogram()[6]);
+        RollbackSession expected = replay(seed, first, second, 40);
+        for (int p = 0; p < 2; p++) {
+            assertArrayEquals(SaveCodec.encode(expected.getEngine(p)), SaveCodec.encode(session.getEngine(p)));
+        }
+    }
+
+    @Test
+    @DisplayName("a peer should stall instead of predicting past its window")
+    void shouldStallPastPredictionWindow() {
+        RollbackSession session = new RollbackSession(0, 5, 0, 8);
+        for (int t = 0; t < 8; t++) assertTrue(session.advance(0));
+        assertFalse(session.advance(0));
+        assertEquals(1, session.getStalls());
+
+        session.addRemoteInput(0, 0);
+        assertTrue(session.advance(0));
+        assertEquals(9, session.getTick());
+    }
+}
@@ -0,0 +1,126 @@
+package com.comp2042.net;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.core.GameEngine;
+import com.comp2042.core.HeadlessRunner;
+import com.comp2042.core.ManualGameClock;
+import com.comp2042.event.EventSource;
+import com.comp2042.event.EventType;
+import com.comp2042.event.MoveEvent;
+import com.comp2042.logic.bricks.BrickFactory;
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncProtocolTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static ByteBuffer body(ByteBuffer out) {
+        out.flip();
+        out.position(VersusProtocol.LENGTH_BYTES);
+        return out;
+    }
+
+    @Test
+    @DisplayName("a packed piece should unpack to the same type, rotation and position")
+    void pieceShouldRoundTrip() {
+        int piece = SyncProtocol.packPiece(BrickFactory.BrickType.T, 3, -2, 23);
+        assertEquals(BrickFactory.BrickType.T, SyncProtocol.pieceType(piece));
+        assertEquals(3, SyncProtocol.pieceRotation(piece));
+        assertEquals(-2, SyncProtocol.pieceX(piece));
+        assertEquals(23, SyncProtocol.pieceY(piece));
+        assertNull(SyncProtocol.pieceType(SyncProtocol.packPiece(null, 0, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("the decoder should mirror a bot-played game from small deltas")
+    void decoderShouldMirrorGame() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 7);
+        GameEngine engine = runner.getEngine();
+        SyncEncoder encoder = new SyncEncoder(engine);
+        SyncDecoder decoder = new SyncDecoder(25, 10);
+        BotPlayer bot = new BotPlayer();
+        ByteBuffer out = ByteBuffer.allocate(encoder.maxFrameBytes());
+        runner.setStepHook(e -> {
+            bot.accept(e);
+            out.clear();
+            if (!encoder.write(out)) return;
+            assertEquals(SyncDecoder.Result.APPLIED, decoder.read(body(out)));
+            assertArrayEquals(e.snapshot().getBoardMatrix(), decoder.getState().getBoard());
+            assertEquals(e.snapshot().getScore(), decoder.getState().getScore());
+            int piece = decoder.getState().getPiece();
+            if (e.isFinished()) {
+                assertEquals(SyncProtocol.NO_PIECE, piece);
+            } else {
+                assertEquals(e.snapshot().getViewData().getBrickType(), SyncProtocol.pieceType(piece));
+                assertEquals(e.getBrickRotation(), SyncProtocol.pieceRotation(piece));
+                assertEquals(e.snapshot().getViewData().getyPosition(), SyncProtocol.pieceY(piece));
+            }
+        });
+        runner.run(120 * SECOND);
+
+        assertTrue(engine.snapshot().getLinesCleared() > 0);
+        assertEquals(0, decoder.getDesyncs());
+        assertTrue(encoder.getDeltaFrames() > 100 * encoder.getFullFrames());
+        double bytesPerFrame = (double) encoder.getBytesWritten() / (encoder.getDeltaFrames() + encoder.getFullFrames());
+        assertTrue(bytesPerFrame * 10 < encoder.fullFrameBytes(), "bytes per frame: " + bytesPerFrame);
+    }
+
+    @Test
+    @DisplayName("a lost delta should be detected and repaired by a full frame")
+    void lostDeltaShouldTriggerResync() {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1);
+        SyncEncoder encoder = new SyncEncoder(engine);
+        SyncDecoder decoder = new SyncDecoder(25, 10);
+        ByteBuffer out = ByteBuffer.allocate(encoder.maxFrameBytes());
+        assertTrue(encoder.write(out));
+        assertEquals(SyncDecoder.Result.APPLIED, decoder.read(body(out)));
+
+        engine.tick();
+        out.clear();
+        assertTrue(encoder.write(out));
+        // The frame is lost; the next one arrives out of sequence
+        engine.onHardDropEvent(new MoveEvent(EventType.HARD_DROP, EventSource.USER));
+        out.clear();
+        assertTrue(encoder.write(out));
+        assertEquals(SyncDecoder.Result.RESYNC, decoder.read(body(out)));
+        assertFalse(decoder.isSynced());
+
+        ByteBuffer request = ByteBuffer.allocate(8);
+        decoder.writeResync(request);
+        assertEquals(SyncProtocol.SYNC_RESYNC, body(request).get());
+        encoder.requestFull();
+        engine.tick();
+        out.clear();
+        assertTrue(encoder.write(out));
+        assertEquals(SyncDecoder.Result.APPLIED, decoder.read(body(out)));
+        assertArrayEquals(engine.snapshot().getBoardMatrix(), decoder.getState().getBoard());
+        assertEquals(1, decoder.getDesyncs());
+    }
+
+    @Test
+    @DisplayName("a diverged state should be caught by the next checksum")
+    void checksumShouldCatchDivergence() {
+        GameEngine engine = new GameEngine(GameMode.CLASSIC, new ManualGameClock(), 1);
+        SyncEncoder encoder = new SyncEncoder(engine);
+        SyncDecoder decoder = new SyncDecoder(25, 10);
+        ByteBuffer out = ByteBuffer.allocate(encoder.maxFrameBytes());
+        encoder.write(out);
+        decoder.read(body(out));
+        decoder.getState().getBoard()[24][0] = 3;
+
+        SyncDecoder.Result result = SyncDecoder.Result.APPLIED;
+        for (int i = 0; i < SyncEncoder.CHECKSUM_INTERVAL && result == SyncDecoder.Result.APPLIED; i++) {
+            engine.tick();
+            out.clear();
+            assertTrue(encoder.write(out));
+            result = decoder.read(body(out));
+        }
+        assertEquals(SyncDecoder.Result.RESYNC, result);
+    }
+}
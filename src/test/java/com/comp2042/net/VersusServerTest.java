@@ -0,0 +1,106 @@
+package com.comp2042.net;
+
+import com.comp2042.input.InputAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersusServerTest {
+
+    private static VersusServer startServer() throws IOException {
+        VersusServer server = new VersusServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+        server.start();
+        return server;
+    }
+
+    private static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        byte[] body = new byte[in.readUnsignedShort()];
+        in.readFully(body);
+        return ByteBuffer.wrap(body);
+    }
+
+    @Test
+    @DisplayName("two clients should be paired and receive both boards as deltas")
+    void clientsShouldBePairedAndReceiveDeltas() throws Exception {
+        VersusServer server = startServer();
+        try (Socket first = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+             Socket second = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            DataInputStream in = new DataInputStream(first.getInputStream());
+            ByteBuffer start = readFrame(in);
+            assertEquals(VersusProtocol.MATCH_START, start.get());
+            int player = start.get();
+            start.getLong();
+            int rows = start.get();
+            int cols = start.get();
+            assertTrue(rows > 0 && cols > 0);
+            ByteBuffer secondStart = readFrame(new DataInputStream(second.getInputStream()));
+            assertEquals(VersusProtocol.MATCH_START, secondStart.get());
+            assertEquals(1 - player, secondStart.get());
+
+            // Hard drop: press and release
+            ByteBuffer input = ByteBuffer.allocate(VersusProtocol.LENGTH_BYTES + 4);
+            int frameStart = VersusProtocol.beginFrame(input, VersusProtocol.INPUT);
+            input.put((byte) 2)
+                    .put((byte) InputAction.HARD_DROP.encode(true))
+                    .put((byte) InputAction.HARD_DROP.encode(false));
+            VersusProtocol.endFrame(input, frameStart);
+            first.getOutputStream().write(input.array(), 0, input.position());
+
+            SyncDecoder[] decoders = {new SyncDecoder(rows, cols), new SyncDecoder(rows, cols)};
+            int deltas = 0;
+            boolean locked = false;
+            while (!locked) {
+                ByteBuffer frame = readFrame(in);
+                assertEquals(VersusProtocol.BOARD, frame.get());
+                int board = frame.get();
+                int applied = frame.getInt();
+                if (frame.hasRemaining()) {
+                    assertEquals(frame.remaining() - VersusProtocol.LENGTH_BYTES, frame.getShort() & 0xFFFF);
+                    if (frame.get(frame.position()) == SyncProtocol.SYNC_DELTA) deltas++;
+                    assertEquals(SyncDecoder.Result.APPLIED, decoders[board].read(frame));
+                }
+                if (board == player && applied == 2) {
+                    locked = Arrays.stream(decoders[player].getState().getBoard()).flatMapToInt(Arrays::stream).anyMatch(cell -> cell != 0);
+                }
+            }
+            assertTrue(decoders[0].isSynced() && decoders[1].isSynced());
+            assertTrue(deltas > 0);
+            assertEquals(1, server.getActiveMatchCount());
+        } finally {
+            server.shutdown();
+            assertTrue(server.awaitTermination(5000));
+        }
+    }
+
+    @Test
+    @DisplayName("bot clients should finish matches over loopback")
+    void botClientsShouldFinishMatches() throws Exception {
+        VersusServer server = startServer();
+        VersusBotClients bots = new VersusBotClients(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                8, 5, 0.5);
+        bots.start();
+        try {
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (server.getFinishedMatchCount() < 8 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertTrue(server.getFinishedMatchCount() >= 8, "finished: " + server.getFinishedMatchCount());
+            assertEquals(0, server.getDroppedClients());
+            assertTrue(bots.getMatchesWon() > 0);
+            assertTrue(bots.getFramesReceived() > 0);
+        } finally {
+            bots.shutdown();
+            server.shutdown();
+            assertTrue(server.awaitTermination(5000));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.comp2042.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeFormatterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("update should format minutes, seconds and milliseconds")
+    void updateShouldFormatMillis() {
+        TimeFormatter formatter = new TimeFormatter("", 3);
+        formatter.update((83_456) * MS);
+        assertEquals("01:23.456", formatter.getText());
+    }
+
+    @Test
+    @DisplayName("update should truncate to the requested fraction digits")
+    void updateShouldTruncateFraction() {
+        TimeFormatter formatter = new TimeFormatter("Time: ", 2);
+        formatter.update(5_999 * MS);
+        assertEquals("Time: 00:05.99", formatter.getText());
+    }
+
+    @Test
+    @DisplayName("update should report whether the text changed")
+    void updateShouldReportChange() {
+        TimeFormatter formatter = new TimeFormatter("", 2);
+        assertTrue(formatter.update(10 * MS));
+        String text = formatter.getText();
+        assertFalse(formatter.update(19 * MS));
+        assertSame(text, formatter.getText());
+    }
+}
@@ -0,0 +1,43 @@
+package com.comp2042.view;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameTimeStatsTest {
+
+    @Test
+    @DisplayName("should report average, max and percentiles of recorded frames")
+    void shouldReportStatistics() {
+        FrameTimeStats stats = new FrameTimeStats();
+        for (int i = 1; i <= 100; i++) {
+            stats.record(i * 1000L);
+        }
+        assertEquals(100, stats.getFrameCount());
+        assertEquals(50_500, stats.getAverageNanos());
+        assertEquals(100_000, stats.getMaxNanos());
+        assertEquals(50_000, stats.getPercentileNanos(50));
+        assertEquals(99_000, stats.getPercentileNanos(99));
+    }
+
+    @Test
+    @DisplayName("percentiles should only use the most recent window")
+    void percentilesShouldUseRecentWindow() {
+        FrameTimeStats stats = new FrameTimeStats(4);
+        stats.record(1_000_000);
+        for (int i = 0; i < 4; i++) {
+            stats.record(10);
+        }
+        assertEquals(10, stats.getPercentileNanos(100));
+        assertEquals(1_000_000, stats.getMaxNanos());
+    }
+
+    @Test
+    @DisplayName("empty stats should report zero")
+    void emptyStatsShouldReportZero() {
+        FrameTimeStats stats = new FrameTimeStats();
+        assertEquals(0, stats.getAverageNanos());
+        assertEquals(0, stats.getPercentileNanos(99));
+    }
+}
@@ -0,0 +1,81 @@
+package com.comp2042.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QualityGovernorTest {
+
+    private static final long BUDGET = 20_000_000L;
+
+    private final List<RenderQuality> changes = new ArrayList<>();
+    private QualityGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        changes.clear();
+        governor = new QualityGovernor(BUDGET, changes::add);
+    }
+
+    private void frames(int count, long nanos) {
+        for (int i = 0; i < count; i++) {
+            governor.onFrame(nanos);
+        }
+    }
+
+    @Test
+    @DisplayName("sustained slow frames should lower quality one step at a time")
+    void slowFramesShouldLowerQuality() {
+        frames(30, 40_000_000L);
+        assertEquals(RenderQuality.NO_EFFECTS, governor.getQuality());
+        frames(1000, 40_000_000L);
+        assertEquals(RenderQuality.REDUCED_RATE, governor.getQuality());
+        assertEquals(List.of(RenderQuality.NO_EFFECTS, RenderQuality.NO_ARCS,
+                RenderQuality.SIMPLE_GHOST, RenderQuality.REDUCED_RATE), changes);
+    }
+
+    @Test
+    @DisplayName("a single slow frame should not lower quality")
+    void singleSlowFrameShouldNotLowerQuality() {
+        frames(100, 16_000_000L);
+        governor.onFrame(100_000_000L);
+        frames(100, 16_000_000L);
+        assertEquals(RenderQuality.FULL, governor.getQuality());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("headroom should restore quality")
+    void headroomShouldRestoreQuality() {
+        frames(60, 40_000_000L);
+        RenderQuality degraded = governor.getQuality();
+        assertNotEquals(RenderQuality.FULL, degraded);
+        frames(5000, 5_000_000L);
+        assertEquals(RenderQuality.FULL, governor.getQuality());
+    }
+
+    @Test
+    @DisplayName("pulses held at the 60 Hz vsync period should restore quality")
+    void vsyncPacedPulsesShouldRestoreQuality() {
+        governor = new QualityGovernor(20_833_333L, 16_666_667L, changes::add);
+        frames(60, 40_000_000L);
+        assertNotEquals(RenderQuality.FULL, governor.getQuality());
+        frames(5000, 16_700_000L);
+        assertEquals(RenderQuality.FULL, governor.getQuality());
+    }
+
+    @Test
+    @DisplayName("quality steps should keep the savings of cheaper steps")
+    void qualityStepsShouldAccumulate() {
+        assertTrue(RenderQuality.FULL.effectsEnabled());
+        assertFalse(RenderQuality.NO_ARCS.effectsEnabled());
+        assertFalse(RenderQuality.SIMPLE_GHOST.arcsEnabled());
+        assertFalse(RenderQuality.REDUCED_RATE.translucentGhost());
+        assertTrue(RenderQuality.REDUCED_RATE.reducedRate());
+    }
+}
@@ -0,0 +1,69 @@
+package com.comp2042.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderSchedulerTest {
+
+    private int renders;
+    private int pulses;
+    private RenderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        renders = 0;
+        pulses = 0;
+        scheduler = new RenderScheduler(() -> renders++, now -> pulses++);
+    }
+
+    @Test
+    @DisplayName("a burst of requests should render once on the next pulse")
+    void burstShouldRenderOnce() {
+        for (int i = 0; i < 5; i++) {
+            scheduler.markDirty();
+        }
+        scheduler.pulse(0);
+        assertEquals(1, renders);
+        assertEquals(1, scheduler.getLastPulseRenders());
+        assertEquals(4, scheduler.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("pulses without requests should not render")
+    void cleanPulseShouldNotRender() {
+        scheduler.markDirty();
+        scheduler.pulse(0);
+        scheduler.pulse(1);
+        scheduler.pulse(2);
+        assertEquals(1, renders);
+        assertEquals(0, scheduler.getLastPulseRenders());
+        assertEquals(3, scheduler.getPulseCount());
+        assertEquals(3, pulses);
+    }
+
+    @Test
+    @DisplayName("requests after a render should trigger another render")
+    void laterRequestShouldRenderAgain() {
+        scheduler.markDirty();
+        scheduler.pulse(0);
+        scheduler.markDirty();
+        scheduler.pulse(1);
+        assertEquals(2, scheduler.getRenderCount());
+    }
+
+    @Test
+    @DisplayName("pulses per render should defer requests to a later pulse")
+    void pulsesPerRenderShouldDeferRequests() {
+        scheduler.setPulsesPerRender(2);
+        scheduler.markDirty();
+        scheduler.pulse(0);
+        scheduler.markDirty();
+        scheduler.pulse(1);
+        assertEquals(1, renders);
+        scheduler.pulse(2);
+        assertEquals(2, renders);
+    }
+}
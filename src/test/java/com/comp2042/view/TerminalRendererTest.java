@@ -0,0 +1,78 @@
+package com.comp2042.view;
+
+import com.comp2042.core.BotPlayer;
+import com.comp2042.core.HeadlessRunner;
+import com.comp2042.model.GameMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerminalRendererTest {
+
+    private ByteArrayOutputStream out;
+    private TerminalRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+        renderer = new TerminalRenderer(out, 20);
+    }
+
+    private static int[][] emptyBoard() {
+        return new int[22][10];
+    }
+
+    @Test
+    @DisplayName("an unchanged frame should write no cells")
+    void unchangedFrameShouldWriteNoCells() {
+        int[][] board = emptyBoard();
+        board[21][0] = 1;
+        renderer.draw(board, null, "status");
+        out.reset();
+        renderer.draw(board, null, "status");
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    @DisplayName("a changed cell should be written with one cursor move")
+    void changedCellShouldBeAddressedDirectly() {
+        int[][] board = emptyBoard();
+        renderer.draw(board, null, "status");
+        out.reset();
+        board[21][3] = 5;
+        renderer.draw(board, null, "status");
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertEquals("\u001b[21;8H\u001b[41m  \u001b[0m", written);
+    }
+
+    @Test
+    @DisplayName("frames should be limited to the target rate")
+    void framesShouldBeThrottled() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 7L);
+        runner.setStepHook(new BotPlayer(6));
+        assertTrue(renderer.render(runner.getEngine().snapshot(), 0));
+        runner.run(1_000_000_000L);
+        assertFalse(renderer.render(runner.getEngine().snapshot(), 10_000_000L));
+        assertTrue(renderer.render(runner.getEngine().snapshot(), 50_000_000L));
+    }
+
+    @Test
+    @DisplayName("a bot game should stay under a few kilobytes per second")
+    void botGameShouldUseLittleBandwidth() {
+        HeadlessRunner runner = new HeadlessRunner(GameMode.CLASSIC, 42L);
+        BotPlayer bot = new BotPlayer(6);
+        runner.setStepHook(engine -> {
+            bot.accept(engine);
+            renderer.render(engine.snapshot(), runner.getClock().nanoTime());
+        });
+        long elapsed = runner.run(60_000_000_000L);
+        double bytesPerSecond = renderer.getBytesWritten() / (elapsed / 1e9);
+        assertTrue(renderer.getFrameCount() > 100, "frames: " + renderer.getFrameCount());
+        assertTrue(bytesPerSecond < 4096, "bytes per second: " + bytesPerSecond);
+    }
+}